@@ -0,0 +1,356 @@
+package carga;
+
+import com.clinicos.backend.ClientesApp;
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.utility.ClienteGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga HTTP de ClientesApp con una mezcla de consultas individuales, consultas múltiples e inserciones.
+ * <p>
+ * Sin {@code --url}, arranca ClientesApp en este proceso con el perfil {@code local} (H2 en memoria), en un
+ * puerto libre, y la puebla con {@code --filas} clientes de {@link ClienteGenerator}. Con {@code --url} usa
+ * una instancia ya levantada, que debe estar poblada con la misma cantidad y semilla.
+ * <ul>
+ *   <li><b>Operaciones:</b> {@code GET /clientes/{tipo}/{numero}} de una clave existente al azar,
+ *       {@code POST /clientes/consulta} con {@code --claves-por-consulta} claves existentes y
+ *       {@code POST /clientes/importacion} (NDJSON) con {@code --clientes-por-insercion} clientes nuevos.
+ *       Los pesos de la mezcla son {@code --lecturas}, {@code --consultas} e {@code --inserciones}.</li>
+ *   <li><b>Carga:</b> {@code --concurrencia} clientes en lazo cerrado (cada uno envía la siguiente solicitud
+ *       al recibir la respuesta). El lazo cerrado subestima las colas: si el servidor se detiene, también
+ *       dejan de llegar solicitudes. Los percentiles describen la latencia del servidor bajo esa concurrencia,
+ *       no la de un tráfico abierto con la misma tasa.</li>
+ *   <li><b>Medición:</b> se descarta {@code --calentamiento} y se mide durante {@code --duracion}. Cada
+ *       latencia se guarda completa, así que los percentiles son exactos. Cuentan como error las respuestas
+ *       distintas de 2xx, las excepciones y los clientes rechazados en una importación.</li>
+ * </ul>
+ * El resultado se imprime como tabla y se escribe en {@code --salida} (CSV). Los demás argumentos
+ * {@code --propiedad=valor} se pasan a ClientesApp, por ejemplo {@code --clientes.escritura.diferida.enabled=true}.
+ * <p>
+ * Ejecutar con: {@code ./gradlew pruebaCarga --args="--filas=100000 --duracion=30s"}
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public final class PruebaCargaClientes {
+
+    private static final double[] PERCENTILES = {0.50, 0.95, 0.99};
+
+    enum Operacion {
+        LECTURA("GET /clientes/{tipo}/{numero}"),
+        CONSULTA("POST /clientes/consulta"),
+        INSERCION("POST /clientes/importacion");
+
+        private final String ruta;
+
+        Operacion(String ruta) {
+            this.ruta = ruta;
+        }
+    }
+
+    private final Map<String, String> opciones;
+    private final long filas;
+    private final long semilla;
+    private final Duration calentamiento;
+    private final Duration duracion;
+    private final int concurrencia;
+    private final int[] pesos;
+    private final int clavesPorConsulta;
+    private final int clientesPorInsercion;
+    private final ClienteGenerator generador;
+    private final AtomicLong siguienteInsercion;
+    private final ObjectMapper json = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private String url;
+
+    private PruebaCargaClientes(Map<String, String> opciones) {
+        this.opciones = opciones;
+        this.filas = Long.parseLong(opciones.getOrDefault("filas", "100000"));
+        this.semilla = Long.parseLong(opciones.getOrDefault("semilla", "42"));
+        this.calentamiento = DurationStyle.detectAndParse(opciones.getOrDefault("calentamiento", "10s"));
+        this.duracion = DurationStyle.detectAndParse(opciones.getOrDefault("duracion", "30s"));
+        this.concurrencia = Integer.parseInt(opciones.getOrDefault("concurrencia", "16"));
+        this.pesos = new int[]{
+                Integer.parseInt(opciones.getOrDefault("lecturas", "80")),
+                Integer.parseInt(opciones.getOrDefault("consultas", "15")),
+                Integer.parseInt(opciones.getOrDefault("inserciones", "5"))};
+        this.clavesPorConsulta = Integer.parseInt(opciones.getOrDefault("claves-por-consulta", "20"));
+        this.clientesPorInsercion = Integer.parseInt(opciones.getOrDefault("clientes-por-insercion", "1"));
+        this.url = opciones.get("url");
+        if (filas <= 0 || concurrencia <= 0 || clavesPorConsulta <= 0 || clientesPorInsercion <= 0) {
+            throw new IllegalArgumentException("filas, concurrencia, claves-por-consulta y clientes-por-insercion deben ser mayores que 0");
+        }
+        if (Arrays.stream(pesos).anyMatch(p -> p < 0) || Arrays.stream(pesos).sum() == 0) {
+            throw new IllegalArgumentException("Los pesos de la mezcla no pueden ser negativos ni sumar 0");
+        }
+        // Bloques de un cliente: la clave de la fila i depende solo de la semilla y de i, no del tamaño de lote
+        // con que se pobló la tabla. Las inserciones usan filas siguientes a las existentes.
+        long inicioInserciones = Long.parseLong(opciones.getOrDefault("inicio-inserciones", String.valueOf(filas)));
+        this.generador = new ClienteGenerator(null, true, inicioInserciones + 10_000_000L, semilla, 1, 1);
+        this.siguienteInsercion = new AtomicLong(inicioInserciones);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = new LinkedHashMap<>();
+        Map<String, String> propiedadesApp = new LinkedHashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Argumento no válido (se espera --nombre=valor): " + arg);
+            }
+            String nombre = arg.substring(2, igual);
+            (nombre.contains(".") ? propiedadesApp : opciones).put(nombre, arg.substring(igual + 1));
+        }
+
+        PruebaCargaClientes prueba = new PruebaCargaClientes(opciones);
+        ConfigurableApplicationContext contexto = prueba.url == null ? prueba.arrancar(propiedadesApp) : null;
+        try {
+            prueba.ejecutar();
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext arrancar(Map<String, String> propiedadesApp) {
+        Map<String, String> propiedades = new LinkedHashMap<>();
+        propiedades.put("server.port", "0");
+        propiedades.put("clientes.seed.cantidad", String.valueOf(filas));
+        propiedades.put("clientes.seed.semilla", String.valueOf(semilla));
+        // Sin un log INFO por solicitud: el proceso comparte CPU con el generador de carga
+        propiedades.put("clientes.logging.nivel", "WARN");
+        propiedades.putAll(propiedadesApp);
+
+        SpringApplication aplicacion = new SpringApplication(ClientesApp.class);
+        aplicacion.setAdditionalProfiles("local");
+        long inicio = System.nanoTime();
+        ConfigurableApplicationContext contexto = aplicacion.run(propiedades.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new));
+        int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        url = "http://localhost:" + puerto;
+        System.out.printf("ClientesApp (perfil local) en %s con %,d clientes, lista en %.1f s%n",
+                url, filas, (System.nanoTime() - inicio) / 1e9);
+        return contexto;
+    }
+
+    private void ejecutar() throws Exception {
+        System.out.printf("Mezcla lecturas/consultas/inserciones = %d/%d/%d, concurrencia %d, calentamiento %s, duración %s%n",
+                pesos[0], pesos[1], pesos[2], concurrencia, calentamiento, duracion);
+
+        long inicioMedicion = System.nanoTime() + calentamiento.toNanos();
+        long finMedicion = inicioMedicion + duracion.toNanos();
+        List<Resultados> porCliente = new ArrayList<>(concurrencia);
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrencia; i++) {
+                Resultados resultados = new Resultados();
+                porCliente.add(resultados);
+                clientes.submit(() -> enviarHasta(resultados, inicioMedicion, finMedicion));
+            }
+        }
+
+        Resultados total = new Resultados();
+        porCliente.forEach(total::agregar);
+        informar(total);
+    }
+
+    private void enviarHasta(Resultados resultados, long inicioMedicion, long finMedicion) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int sumaPesos = pesos[0] + pesos[1] + pesos[2];
+        long ahora;
+        while ((ahora = System.nanoTime()) < finMedicion) {
+            int sorteo = random.nextInt(sumaPesos);
+            Operacion operacion = sorteo < pesos[0] ? Operacion.LECTURA
+                    : sorteo < pesos[0] + pesos[1] ? Operacion.CONSULTA : Operacion.INSERCION;
+            boolean correcta;
+            try {
+                correcta = enviar(operacion, random);
+            } catch (IOException e) {
+                correcta = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (ahora >= inicioMedicion) {
+                resultados.registrar(operacion, System.nanoTime() - ahora, correcta);
+            }
+        }
+    }
+
+    private boolean enviar(Operacion operacion, ThreadLocalRandom random) throws IOException, InterruptedException {
+        return switch (operacion) {
+            case LECTURA -> {
+                ClaveCliente clave = claveExistente(random);
+                HttpResponse<Void> respuesta = http.send(HttpRequest.newBuilder(
+                                URI.create(url + "/clientes/" + clave.tipoDocumento() + "/" + clave.numeroDocumento())).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                yield respuesta.statusCode() == 200;
+            }
+            case CONSULTA -> {
+                List<ClaveCliente> claves = new ArrayList<>(clavesPorConsulta);
+                for (int i = 0; i < clavesPorConsulta; i++) {
+                    claves.add(claveExistente(random));
+                }
+                HttpResponse<Void> respuesta = http.send(HttpRequest.newBuilder(URI.create(url + "/clientes/consulta"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(claves))).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                yield respuesta.statusCode() == 200;
+            }
+            case INSERCION -> {
+                StringBuilder ndjson = new StringBuilder(256 * clientesPorInsercion);
+                for (int i = 0; i < clientesPorInsercion; i++) {
+                    ndjson.append(json.writeValueAsString(clienteNuevo())).append('\n');
+                }
+                HttpResponse<String> respuesta = http.send(HttpRequest.newBuilder(URI.create(url + "/clientes/importacion?formato=ndjson"))
+                                .header("Content-Type", "application/x-ndjson")
+                                .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString(), StandardCharsets.UTF_8)).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (respuesta.statusCode() != 200) {
+                    yield false;
+                }
+                JsonNode resultado = json.readTree(respuesta.body());
+                yield resultado.path("rechazados").asLong(-1) == 0;
+            }
+        };
+    }
+
+    private ClaveCliente claveExistente(ThreadLocalRandom random) {
+        return ClaveCliente.de(generador.generarBloque(random.nextLong(filas)).getFirst());
+    }
+
+    private Cliente clienteNuevo() {
+        return generador.generarBloque(siguienteInsercion.getAndIncrement()).getFirst();
+    }
+
+    private void informar(Resultados total) throws IOException {
+        double segundos = duracion.toNanos() / 1e9;
+        Path salida = Path.of(opciones.getOrDefault("salida", "build/reports/carga/resultados.csv"));
+        Files.createDirectories(salida.toAbsolutePath().getParent());
+
+        System.out.printf("%n%-32s %10s %8s %10s %9s %9s %9s %9s%n",
+                "Operación", "Solicitudes", "Errores", "Sol/s", "p50 ms", "p95 ms", "p99 ms", "máx ms");
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(salida, StandardCharsets.UTF_8))) {
+            csv.println("operacion,solicitudes,errores,solicitudes_por_segundo,p50_ms,p95_ms,p99_ms,max_ms");
+            Muestras todas = new Muestras();
+            long errores = 0;
+            for (Operacion operacion : Operacion.values()) {
+                Muestras muestras = total.latencias.get(operacion);
+                long erroresOperacion = total.errores.get(operacion).get();
+                todas.agregar(muestras);
+                errores += erroresOperacion;
+                imprimir(csv, operacion.ruta, muestras, erroresOperacion, segundos);
+            }
+            imprimir(csv, "Total", todas, errores, segundos);
+        }
+        System.out.println("\nResultados en " + salida.toAbsolutePath());
+    }
+
+    private static void imprimir(PrintWriter csv, String nombre, Muestras muestras, long errores, double segundos) {
+        long[] ordenadas = muestras.ordenadas();
+        double[] valores = new double[PERCENTILES.length + 1];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            valores[i] = milisegundos(ordenadas, PERCENTILES[i]);
+        }
+        valores[PERCENTILES.length] = milisegundos(ordenadas, 1.0);
+        double porSegundo = ordenadas.length / segundos;
+        System.out.printf("%-32s %,10d %,8d %,10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                nombre, ordenadas.length, errores, porSegundo, valores[0], valores[1], valores[2], valores[3]);
+        csv.printf(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f%n",
+                nombre, ordenadas.length, errores, porSegundo, valores[0], valores[1], valores[2], valores[3]);
+    }
+
+    /** Percentil por rango más cercano, en milisegundos; 0 sin muestras. */
+    private static double milisegundos(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int rango = (int) Math.ceil(percentil * ordenadas.length);
+        return ordenadas[Math.max(rango, 1) - 1] / 1e6;
+    }
+
+    /** Latencias y errores de un cliente de carga; solo lo escribe su hilo. */
+    private static final class Resultados {
+        private final Map<Operacion, Muestras> latencias = new EnumMap<>(Operacion.class);
+        private final Map<Operacion, AtomicLong> errores = new EnumMap<>(Operacion.class);
+
+        Resultados() {
+            for (Operacion operacion : Operacion.values()) {
+                latencias.put(operacion, new Muestras());
+                errores.put(operacion, new AtomicLong());
+            }
+        }
+
+        void registrar(Operacion operacion, long nanos, boolean correcta) {
+            latencias.get(operacion).agregar(nanos);
+            if (!correcta) {
+                errores.get(operacion).incrementAndGet();
+            }
+        }
+
+        void agregar(Resultados otros) {
+            for (Operacion operacion : Operacion.values()) {
+                latencias.get(operacion).agregar(otros.latencias.get(operacion));
+                errores.get(operacion).addAndGet(otros.errores.get(operacion).get());
+            }
+        }
+    }
+
+    /** Arreglo creciente de latencias en nanosegundos, sin envolver cada valor en un {@code Long}. */
+    private static final class Muestras {
+        private long[] valores = new long[1024];
+        private int cantidad;
+
+        void agregar(long nanos) {
+            if (cantidad == valores.length) {
+                valores = Arrays.copyOf(valores, cantidad * 2);
+            }
+            valores[cantidad++] = nanos;
+        }
+
+        void agregar(Muestras otras) {
+            for (int i = 0; i < otras.cantidad; i++) {
+                agregar(otras.valores[i]);
+            }
+        }
+
+        long[] ordenadas() {
+            long[] copia = Arrays.copyOf(valores, cantidad);
+            Arrays.sort(copia);
+            return copia;
+        }
+    }
+}
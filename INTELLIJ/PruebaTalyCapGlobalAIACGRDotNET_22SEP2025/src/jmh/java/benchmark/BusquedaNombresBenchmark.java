@@ -0,0 +1,63 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.repository.IndiceNombresClientes;
+import com.clinicos.backend.utility.ClienteGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la búsqueda por nombre con {@link IndiceNombresClientes} contra un recorrido completo que
+ * normaliza y compara cada cliente (el equivalente en memoria de un {@code LIKE '%...%'}), sobre
+ * clientes de {@link ClienteGenerator}.
+ * <p>
+ * Consultas: un prefijo de apellido frecuente, dos palabras (nombre y apellido) y una combinación de
+ * tres palabras con pocos resultados, que obliga a revisar más candidatos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BusquedaNombresBenchmark {
+
+    private static final int LIMITE = 20;
+    private static final int TAMANO_LOTE = 10_000;
+
+    @Param({"1000000"})
+    private long cantidad;
+
+    @Param({"rodr", "sofia velas", "thiago cordoba quint"})
+    private String texto;
+
+    private IndiceNombresClientes indice;
+    private RepositorioEnMemoria repositorio;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        indice = new IndiceNombresClientes();
+        repositorio = new RepositorioEnMemoria();
+        ClienteGenerator generador = new ClienteGenerator(new ClienteService(repositorio), true, cantidad, 42L, 1, TAMANO_LOTE);
+        for (long bloque = 0; bloque * TAMANO_LOTE < cantidad; bloque++) {
+            List<Cliente> clientes = generador.generarBloque(bloque);
+            repositorio.insertarClientes(clientes);
+            clientes.forEach(indice::agregar);
+        }
+        indice.marcarListo();
+    }
+
+    @Benchmark
+    public List<ClaveCliente> indice() {
+        return indice.buscar(texto, LIMITE);
+    }
+
+    @Benchmark
+    public List<Cliente> recorrido() {
+        return repositorio.buscarClientesPorNombre(texto, LIMITE);
+    }
+}
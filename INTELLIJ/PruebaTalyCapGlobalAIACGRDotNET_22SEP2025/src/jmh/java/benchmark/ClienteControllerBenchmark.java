@@ -0,0 +1,46 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.controller.ClienteController;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la ruta completa {@link ClienteController#obtenerCliente} → {@link ClienteService} → repositorio,
+ * usando un repositorio en memoria en lugar de SQL Server.
+ * <p>
+ * {@code encontrado} cubre la respuesta 200; {@code noEncontrado} cubre la respuesta 404, que se
+ * devuelve como valor sin lanzar excepciones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClienteControllerBenchmark {
+
+    private ClienteController controller;
+
+    @Setup
+    public void setUp() {
+        RepositorioEnMemoria repositorio = new RepositorioEnMemoria();
+        repositorio.insertarCliente(new Cliente("C", 12_345_678L, "Sofía", "María", "Rodríguez", "Vásquez",
+                "300-1234567", "Calle 10 # 20-30", "Bogotá"));
+        controller = new ClienteController(new ClienteService(repositorio), Duration.ofHours(1));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> encontrado() {
+        return controller.obtenerCliente("C", 12_345_678L);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> noEncontrado() {
+        return controller.obtenerCliente("C", 99_999_999L);
+    }
+}
@@ -0,0 +1,41 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.utility.ClienteGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la producción de filas de {@link ClienteGenerator} (sin inserción), en clientes por segundo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClienteGeneratorBenchmark {
+
+    private static final int TAMANO_LOTE = 5000;
+
+    private ClienteGenerator generador;
+    private long bloque;
+    private long bloques;
+
+    @Setup
+    public void setUp() {
+        long cantidad = 10_000_000L;
+        generador = new ClienteGenerator(new ClienteService(new RepositorioEnMemoria()), true, cantidad, 42L, 1, TAMANO_LOTE);
+        bloques = cantidad / TAMANO_LOTE;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_LOTE)
+    public List<Cliente> generarBloque() {
+        bloque = (bloque + 1) % bloques;
+        return generador.generarBloque(bloque);
+    }
+}
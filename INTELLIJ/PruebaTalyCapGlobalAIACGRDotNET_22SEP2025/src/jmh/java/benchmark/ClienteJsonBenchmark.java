@@ -0,0 +1,36 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la serialización JSON de {@link Cliente} con Jackson, como la realiza Spring MVC en cada respuesta 200.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClienteJsonBenchmark {
+
+    private ObjectWriter writer;
+    private Cliente cliente;
+
+    @Setup
+    public void setUp() {
+        writer = new ObjectMapper().writerFor(Cliente.class);
+        cliente = new Cliente("C", 12_345_678L, "Sofía", "María", "Rodríguez", "Vásquez",
+                "300-1234567", "Calle 10 # 20-30", "Bogotá");
+    }
+
+    @Benchmark
+    public byte[] serializar() throws JsonProcessingException {
+        return writer.writeValueAsBytes(cliente);
+    }
+}
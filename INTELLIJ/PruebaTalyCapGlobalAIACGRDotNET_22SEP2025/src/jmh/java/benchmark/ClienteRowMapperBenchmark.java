@@ -0,0 +1,77 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRowMapper;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el mapeo de una fila de Clientes a {@link Cliente} con {@link ClienteRowMapper}.
+ * <p>
+ * Se usa un {@link SimpleResultSet} de H2 en memoria para aislar el costo del mapeo
+ * (resolución de columnas por nombre y creación del objeto) del costo de red y del driver.
+ * <p>
+ * {@code mapRow} resuelve las columnas por nombre en cada fila; {@code mapRowPorConsulta} usa
+ * {@link ClienteRowMapper#paraConsulta()}, que las resuelve una vez por {@code ResultSet}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClienteRowMapperBenchmark {
+
+    private static final int FILAS = 1024;
+
+    private final ClienteRowMapper mapper = new ClienteRowMapper();
+    private RowMapper<Cliente> mapperPorConsulta;
+    private SimpleResultSet resultSet;
+    private int fila;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws SQLException {
+        resultSet = new SimpleResultSet();
+        resultSet.setAutoClose(false);
+        resultSet.addColumn("TipoDocumento", Types.VARCHAR, 2, 0);
+        resultSet.addColumn("NumeroDocumento", Types.BIGINT, 19, 0);
+        resultSet.addColumn("PrimerNombre", Types.VARCHAR, 50, 0);
+        resultSet.addColumn("SegundoNombre", Types.VARCHAR, 50, 0);
+        resultSet.addColumn("PrimerApellido", Types.VARCHAR, 50, 0);
+        resultSet.addColumn("SegundoApellido", Types.VARCHAR, 50, 0);
+        resultSet.addColumn("Telefono", Types.VARCHAR, 20, 0);
+        resultSet.addColumn("Direccion", Types.VARCHAR, 100, 0);
+        resultSet.addColumn("CiudadResidencia", Types.VARCHAR, 50, 0);
+        for (int i = 0; i < FILAS; i++) {
+            resultSet.addRow("C", 10_000_000L + i, "Sofía", "María", "Rodríguez", "Vásquez",
+                    "300-1234567", "Calle 10 # 20-30", "Bogotá");
+        }
+        fila = FILAS;
+        mapperPorConsulta = mapper.paraConsulta();
+    }
+
+    @Benchmark
+    public Cliente mapRow() throws SQLException {
+        if (fila == FILAS) {
+            resultSet.beforeFirst();
+            fila = 0;
+        }
+        resultSet.next();
+        return mapper.mapRow(resultSet, fila++);
+    }
+
+    @Benchmark
+    public Cliente mapRowPorConsulta() throws SQLException {
+        if (fila == FILAS) {
+            resultSet.beforeFirst();
+            fila = 0;
+        }
+        resultSet.next();
+        return mapperPorConsulta.mapRow(resultSet, fila++);
+    }
+}
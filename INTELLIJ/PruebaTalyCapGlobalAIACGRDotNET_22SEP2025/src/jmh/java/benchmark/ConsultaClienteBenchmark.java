@@ -0,0 +1,81 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRepositoryImpl;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRepositoryImpl.ConsultaCliente;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRowMapper;
+import com.clinicos.backend.api.rest.infrastructure.repository.ProcedimientosH2;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de {@link ClienteRepositoryImpl#obtenerCliente} según {@link ConsultaCliente}, sobre una tabla
+ * Clientes de {@value #FILAS} filas en H2 en memoria, creada con {@code db/local/schema.sql} como en el
+ * perfil local: mismos índices e intercalación y {@code sp_ObtenerCliente} emulado por {@link ProcedimientosH2}.
+ * <ul>
+ *   <li><b>texto:</b> el procedimiento invocado como texto en un {@code PreparedStatement} y mapeado por
+ *       nombre de columna, como antes de las estrategias. H2 no acepta {@code EXEC}; es su equivalente.</li>
+ *   <li><b>select:</b> {@code SELECT} parametrizado.</li>
+ *   <li><b>call:</b> {@code CallableStatement} sobre el procedimiento.</li>
+ * </ul>
+ * H2 guarda en cada sesión las últimas sentencias preparadas ({@code QUERY_CACHE_SIZE}), como el pool de
+ * sentencias del driver de SQL Server; sin red, la diferencia mide el trabajo de preparar e invocar de
+ * cada estrategia, no el ahorro de viajes al servidor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConsultaClienteBenchmark {
+
+    private static final long FILAS = 100_000L;
+
+    @Param({"texto", "select", "call"})
+    private String estrategia;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ClienteRepositoryImpl repositorio;
+    private final ClienteRowMapper mapeoPorNombre = new ClienteRowMapper();
+    private ResultSetExtractor<Cliente> primeroPorNombre;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:consulta-" + estrategia + ";MODE=MSSQLServer", "", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/local/schema.sql")).execute(dataSource);
+        jdbcTemplate.update("INSERT INTO Clientes SELECT 'C', 10000000 + X, 'Nombre' || MOD(X, 97), NULL, " +
+                "'Apellido' || MOD(X * 7, 50), 'Apellido' || MOD(X, 50), '300-' || X, 'Calle ' || MOD(X, 200), " +
+                "'Ciudad' || MOD(X * 13, 20) FROM SYSTEM_RANGE(1, ?)", FILAS);
+
+        ConsultaCliente consulta = estrategia.equals("call") ? ConsultaCliente.CALL : ConsultaCliente.SELECT;
+        repositorio = new ClienteRepositoryImpl(jdbcTemplate, 1000, false, 5000, consulta, "", new SimpleMeterRegistry());
+        primeroPorNombre = rs -> rs.next() ? mapeoPorNombre.mapRow(rs, 0) : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public Optional<Cliente> obtenerCliente() {
+        long numero = 10_000_001L + random.nextLong(FILAS);
+        if (estrategia.equals("texto")) {
+            return Optional.ofNullable(jdbcTemplate.query("CALL sp_ObtenerCliente(?, ?)", primeroPorNombre, "C", numero));
+        }
+        return repositorio.obtenerCliente("C", numero);
+    }
+}
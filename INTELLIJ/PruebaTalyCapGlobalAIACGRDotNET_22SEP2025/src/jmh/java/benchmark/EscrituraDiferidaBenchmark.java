@@ -0,0 +1,91 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRepositoryImpl;
+import com.clinicos.backend.api.rest.infrastructure.repository.EscrituraDiferidaClienteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compara {@link ClienteService#crearCliente(Cliente)} síncrono (un {@code INSERT} y un commit por cliente)
+ * con {@link EscrituraDiferidaClienteRepository} (cola acotada y lotes con un commit cada uno) sobre una
+ * tabla Clientes en H2 en archivo ({@code build/jmh-datos}, recreada en cada ejecución con
+ * {@code db/local/schema.sql}, así que cada inserción mantiene también los índices de listado).
+ * <p>
+ * {@value #HILOS} hilos crean clientes sin pausa. La latencia es la que ve la solicitud; el rendimiento es
+ * {@code HILOS / latencia}. Con la escritura diferida la cola se llena enseguida y la contrapresión limita
+ * a los productores al ritmo real de escritura, así que el rendimiento medido es el sostenido, no solo el
+ * de encolar. Al terminar se verifica que todas las filas aceptadas estén en la tabla.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(EscrituraDiferidaBenchmark.HILOS)
+@Fork(1)
+public class EscrituraDiferidaBenchmark {
+
+    static final int HILOS = 4;
+
+    @Param({"sincrona", "diferida"})
+    private String escritura;
+
+    private JdbcConnectionPool conexiones;
+    private JdbcTemplate jdbcTemplate;
+    private ClienteRepository repositorio;
+    private ClienteService clienteService;
+    private final AtomicLong siguienteDocumento = new AtomicLong(1);
+    private final AtomicLong aceptados = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path directorio = Path.of("build", "jmh-datos").toAbsolutePath();
+        Files.createDirectories(directorio);
+        Path archivo = directorio.resolve("escritura-" + escritura);
+        Files.deleteIfExists(Path.of(archivo + ".mv.db"));
+        conexiones = JdbcConnectionPool.create("jdbc:h2:file:" + archivo + ";MODE=MSSQLServer", "", "");
+        conexiones.setMaxConnections(HILOS + 1);
+        jdbcTemplate = new JdbcTemplate(conexiones);
+        new ResourceDatabasePopulator(new ClassPathResource("db/local/schema.sql")).execute(conexiones);
+        ClienteRepository jdbc = new ClienteRepositoryImpl(jdbcTemplate, 1000, false);
+        repositorio = escritura.equals("diferida")
+                ? new EscrituraDiferidaClienteRepository(jdbc, 10_000, 500, Duration.ofMillis(10), Duration.ofSeconds(30),
+                        new SimpleMeterRegistry())
+                : jdbc;
+        clienteService = new ClienteService(repositorio);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (repositorio instanceof EscrituraDiferidaClienteRepository diferida) {
+            diferida.close();
+        }
+        Long filas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Clientes", Long.class);
+        if (filas == null || filas != aceptados.get()) {
+            throw new IllegalStateException("Se aceptaron " + aceptados.get() + " clientes y la tabla tiene " + filas);
+        }
+        conexiones.dispose();
+    }
+
+    @Benchmark
+    public void crearCliente() {
+        long numero = siguienteDocumento.getAndIncrement();
+        clienteService.crearCliente(new Cliente("CC", numero, "Nombre", null, "Apellido", "Segundo",
+                "300-" + numero, "Calle " + numero, "Bogotá"));
+        aceptados.incrementAndGet();
+    }
+}
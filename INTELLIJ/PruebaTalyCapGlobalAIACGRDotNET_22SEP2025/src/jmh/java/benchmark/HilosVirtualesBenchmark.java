@@ -0,0 +1,115 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.cache.CaffeineClienteCache;
+import com.clinicos.backend.api.rest.infrastructure.repository.ConcurrenciaLimitadaClienteRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga del modo de ejecución con hilos virtuales frente al pool de hilos de plataforma de Tomcat.
+ * <p>
+ * Cada invocación simula una ráfaga: primero {@code consultasDb} solicitudes de clientes no cacheados
+ * (bloqueadas {@value #LATENCIA_DB_MS} ms en un JDBC simulado, limitado a {@value #CONEXIONES} conexiones por
+ * {@link ConcurrenciaLimitadaClienteRepository}) y luego {@value #CONSULTAS_CACHE} solicitudes servidas desde caché.
+ * Se mide el tiempo hasta que terminan las solicitudes de caché:
+ * <ul>
+ *   <li>{@code plataforma}: 200 hilos, como {@code server.tomcat.threads.max}; las solicitudes de caché esperan
+ *       a que se libere un hilo ocupado por una consulta bloqueada.</li>
+ *   <li>{@code virtual}: un hilo virtual por solicitud; solo las consultas a DB esperan en el semáforo.</li>
+ * </ul>
+ * El rendimiento por ráfaga es {@code (consultasDb + CONSULTAS_CACHE) / tiempo}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HilosVirtualesBenchmark {
+
+    private static final int CONEXIONES = 10;
+    private static final long LATENCIA_DB_MS = 20;
+    private static final int CONSULTAS_CACHE = 2000;
+    private static final int CLIENTES_CACHEADOS = 100;
+
+    @Param({"plataforma", "virtual"})
+    public String modo;
+
+    @Param({"400"})
+    public int consultasDb;
+
+    private ExecutorService executor;
+    private ClienteService clienteService;
+    private final AtomicLong documentoFrio = new AtomicLong(50_000_000L);
+    private final List<Future<?>> pendientes = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        executor = "virtual".equals(modo)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(200);
+        ClienteRepository lento = new RepositorioEnMemoria() {
+            @Override
+            public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
+                try {
+                    Thread.sleep(LATENCIA_DB_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Optional.of(new Cliente(tipoDocumento, numeroDocumento, "Sofía", "María", "Rodríguez",
+                        "Vásquez", "300-1234567", "Calle 10 # 20-30", "Bogotá"));
+            }
+        };
+        clienteService = new ClienteService(
+                new ConcurrenciaLimitadaClienteRepository(lento, CONEXIONES, Duration.ofMinutes(1)),
+                new CaffeineClienteCache(100_000, Duration.ofHours(1)));
+        for (int i = 0; i < CLIENTES_CACHEADOS; i++) {
+            clienteService.obtenerCliente("C", 10_000_000L + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int rafaga() throws Exception {
+        for (int i = 0; i < consultasDb; i++) {
+            long documento = documentoFrio.incrementAndGet();
+            pendientes.add(executor.submit(() -> clienteService.obtenerCliente("C", documento)));
+        }
+        List<Future<?>> cacheadas = new ArrayList<>(CONSULTAS_CACHE);
+        for (int i = 0; i < CONSULTAS_CACHE; i++) {
+            long documento = 10_000_000L + (i % CLIENTES_CACHEADOS);
+            cacheadas.add(executor.submit(() -> clienteService.obtenerCliente("C", documento)));
+        }
+        for (Future<?> futuro : cacheadas) {
+            futuro.get();
+        }
+        return cacheadas.size();
+    }
+
+    /**
+     * Las consultas a DB de la ráfaga terminan fuera del tiempo medido, para que no se acumulen entre invocaciones.
+     */
+    @TearDown(Level.Invocation)
+    public void esperarConsultasDb() throws Exception {
+        for (Future<?> futuro : pendientes) {
+            futuro.get();
+        }
+        pendientes.clear();
+    }
+}
@@ -0,0 +1,85 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoImportacion;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.infrastructure.controller.FormatoArchivoClientes;
+import com.clinicos.backend.utility.ClienteGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importa un archivo de 1 000 000 de clientes (CSV o NDJSON) con el lector en streaming y
+ * {@link ClienteService#importarClientes}, sin base de datos: los bloques se descartan tras contarlos.
+ * <p>
+ * Cada operación es una importación completa: el tiempo por operación da el throughput
+ * (registros/s = 1 000 000 / tiempo) y {@code gc.alloc.rate.norm} los bytes asignados por archivo.
+ * El fork corre con {@code -Xmx128m}, muy por debajo de lo que ocuparía el archivo en memoria:
+ * si el lector acumulara registros, la importación fallaría por falta de heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx128m")
+public class ImportacionClientesBenchmark {
+
+    private static final long REGISTROS = 1_000_000L;
+    private static final int TAMANO_LOTE = 5000;
+
+    @Param({"csv", "ndjson"})
+    public String formato;
+
+    private FormatoArchivoClientes formatoArchivo;
+    private Path archivo;
+    private ClienteService servicio;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        formatoArchivo = FormatoArchivoClientes.desde(formato);
+        RepositorioEnMemoria descarte = new RepositorioEnMemoria() {
+            @Override
+            public ResultadoLote insertarClientes(List<Cliente> lote) {
+                return new ResultadoLote(lote.size(), lote.size(), List.of());
+            }
+        };
+        servicio = new ClienteService(descarte);
+
+        ClienteGenerator generador = new ClienteGenerator(servicio, true, REGISTROS, 42L, 1, TAMANO_LOTE);
+        archivo = Files.createTempFile("clientes-importacion-", "." + formatoArchivo.getExtension());
+        try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(archivo));
+             FormatoArchivoClientes.Escritor escritor = formatoArchivo.abrirEscritor(salida)) {
+            for (long bloque = 0; bloque < REGISTROS / TAMANO_LOTE; bloque++) {
+                for (Cliente cliente : generador.generarBloque(bloque)) {
+                    escritor.escribir(cliente);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    @Benchmark
+    public ResultadoImportacion importar() throws IOException {
+        try (InputStream entrada = Files.newInputStream(archivo)) {
+            ResultadoImportacion resultado = servicio.importarClientes(formatoArchivo.abrirLector(entrada));
+            if (resultado.insertados() != REGISTROS) {
+                throw new IllegalStateException("Se esperaban " + REGISTROS + " insertados: " + resultado);
+            }
+            return resultado;
+        }
+    }
+}
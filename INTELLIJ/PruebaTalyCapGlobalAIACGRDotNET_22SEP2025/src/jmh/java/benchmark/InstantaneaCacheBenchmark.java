@@ -0,0 +1,145 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.cache.CaffeineClienteCache;
+import com.clinicos.backend.api.rest.infrastructure.cache.InstantaneaClienteCache;
+import com.clinicos.backend.utility.ClienteGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el arranque en caliente de la caché con {@link InstantaneaClienteCache}.
+ * <p>
+ * El tráfico sigue una distribución Zipf (exponente 0,99) sobre {@code clientes} documentos; una caché de
+ * {@code tamanoCache} entradas se calienta con ese tráfico y se escribe su instantánea. Luego:
+ * <ul>
+ *   <li>{@code cargar}: tiempo de leer la instantánea y precargar una caché nueva.</li>
+ *   <li>{@code primerasConsultas}: las primeras {@code consultas} búsquedas tras un reinicio, con la caché
+ *       {@code fria} o precargada desde la {@code instantanea}. Los contadores auxiliares {@code aciertos} y
+ *       {@code fallos} se suman entre invocaciones; su proporción es la tasa de aciertos tras el reinicio.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstantaneaCacheBenchmark {
+
+    private static final double EXPONENTE_ZIPF = 0.99;
+
+    @Param({"200000"})
+    private int clientes;
+
+    @Param({"20000"})
+    private int tamanoCache;
+
+    @Param({"20000"})
+    private int consultas;
+
+    @Param({"fria", "instantanea"})
+    private String arranque;
+
+    private Map<ClaveCliente, Cliente> baseDatos;
+    private ClaveCliente[] trafico;
+    private Path archivo;
+    private CaffeineClienteCache cache;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Aciertos {
+        public long aciertos;
+        public long fallos;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ClienteGenerator generador = new ClienteGenerator(new ClienteService(new RepositorioEnMemoria()), true,
+                clientes, 42L, 1, clientes);
+        ClaveCliente[] claves = new ClaveCliente[clientes];
+        baseDatos = new HashMap<>(clientes * 2);
+        int i = 0;
+        for (Cliente cliente : generador.generarBloque(0)) {
+            claves[i++] = ClaveCliente.de(cliente);
+            baseDatos.put(ClaveCliente.de(cliente), cliente);
+        }
+
+        double[] acumulada = new double[clientes];
+        double suma = 0;
+        for (int rango = 0; rango < clientes; rango++) {
+            suma += 1 / Math.pow(rango + 1, EXPONENTE_ZIPF);
+            acumulada[rango] = suma;
+        }
+        SplittableRandom aleatorio = new SplittableRandom(7L);
+        ClaveCliente[] previo = new ClaveCliente[consultas * 25];
+        trafico = new ClaveCliente[consultas];
+        for (int n = 0; n < previo.length + consultas; n++) {
+            int rango = Arrays.binarySearch(acumulada, aleatorio.nextDouble(suma));
+            ClaveCliente clave = claves[rango < 0 ? -rango - 1 : rango];
+            if (n < previo.length) {
+                previo[n] = clave;
+            } else {
+                trafico[n - previo.length] = clave;
+            }
+        }
+
+        CaffeineClienteCache anterior = new CaffeineClienteCache(tamanoCache, Duration.ofHours(1));
+        for (ClaveCliente clave : previo) {
+            anterior.obtener(clave, this::consultarBaseDatos);
+        }
+        archivo = Files.createTempFile("instantanea-clientes", ".bin");
+        new InstantaneaClienteCache(anterior, archivo, tamanoCache, Duration.ofHours(1)).guardar();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    private Optional<Cliente> consultarBaseDatos(ClaveCliente clave) {
+        return Optional.ofNullable(baseDatos.get(clave));
+    }
+
+    private CaffeineClienteCache reiniciar() {
+        CaffeineClienteCache nueva = new CaffeineClienteCache(tamanoCache, Duration.ofHours(1));
+        if (arranque.equals("instantanea")) {
+            new InstantaneaClienteCache(nueva, archivo, tamanoCache, Duration.ofHours(1)).cargar();
+        }
+        return nueva;
+    }
+
+    @Setup(Level.Invocation)
+    public void reiniciarCache() {
+        cache = reiniciar();
+    }
+
+    @Benchmark
+    public CaffeineClienteCache cargar() {
+        return reiniciar();
+    }
+
+    @Benchmark
+    public long primerasConsultas(Aciertos contador) {
+        long fallosAntes = cache.estadisticas().missCount();
+        for (ClaveCliente clave : trafico) {
+            cache.obtener(clave, this::consultarBaseDatos);
+        }
+        long fallos = cache.estadisticas().missCount() - fallosAntes;
+        contador.fallos += fallos;
+        contador.aciertos += trafico.length - fallos;
+        return fallos;
+    }
+}
@@ -0,0 +1,129 @@
+package benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.controller.ClienteController;
+import com.clinicos.backend.api.rest.infrastructure.controller.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el costo de logging por solicitud antes y después del modo de ruta caliente.
+ * <p>
+ * Los logs se escriben con un encoder real hacia un {@link OutputStream} nulo, de modo que se mide el
+ * formateo y el appender sin la E/S de consola.
+ * <ul>
+ *   <li>{@code legado*}: la misma ruta del controlador más los mensajes que emitía antes, en INFO y con
+ *       appender síncrono (tres INFO con el cliente en aciertos; una excepción y dos stacktraces en
+ *       los 404).</li>
+ *   <li>{@code rutaCaliente*}: la ruta actual con {@code com.clinicos} en INFO y {@link AsyncAppender},
+ *       como en {@code logback-spring.xml}.</li>
+ * </ul>
+ * Ejecutar con el perfilador {@code gc} (configurado en build.gradle) para ver {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingRutaCalienteBenchmark {
+
+    private static final Logger LEGADO = LoggerFactory.getLogger("com.clinicos.backend.legado");
+
+    private ClienteController controller;
+    private GlobalExceptionHandler exceptionHandler;
+    private AsyncAppender asincrono;
+
+    @Setup
+    public void setUp() {
+        LoggerContext contexto = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        ch.qos.logback.classic.Logger aplicacion = contexto.getLogger("com.clinicos");
+        aplicacion.setLevel(Level.INFO);
+        aplicacion.setAdditive(false);
+        asincrono = new AsyncAppender();
+        asincrono.setContext(contexto);
+        asincrono.setQueueSize(8192);
+        asincrono.setNeverBlock(true);
+        asincrono.addAppender(appenderNulo(contexto, "nulo-asincrono"));
+        asincrono.start();
+        aplicacion.addAppender(asincrono);
+
+        ch.qos.logback.classic.Logger legado = contexto.getLogger("com.clinicos.backend.legado");
+        legado.setAdditive(false);
+        legado.addAppender(appenderNulo(contexto, "nulo-sincrono"));
+
+        RepositorioEnMemoria repositorio = new RepositorioEnMemoria();
+        repositorio.insertarCliente(new Cliente("C", 12_345_678L, "Sofía", "María", "Rodríguez", "Vásquez",
+                "300-1234567", "Calle 10 # 20-30", "Bogotá"));
+        controller = new ClienteController(new ClienteService(repositorio), Duration.ofHours(1));
+        exceptionHandler = new GlobalExceptionHandler();
+    }
+
+    @TearDown
+    public void tearDown() {
+        asincrono.stop();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> legadoEncontrado() {
+        LEGADO.info("🔍 Iniciando búsqueda de cliente con tipoDocumento={} y numeroDocumento={}", "C", 12_345_678L);
+        LEGADO.info("🔍 Buscando cliente con tipoDocumento={} y numeroDocumento={}", "C", 12_345_678L);
+        LEGADO.info("🔍 Consultando cliente en DB con tipoDocumento={} y numeroDocumento={}", "C", 12_345_678L);
+        ResponseEntity<Cliente> respuesta = controller.obtenerCliente("C", 12_345_678L);
+        LEGADO.info("✅ Cliente encontrado en DB: {}", respuesta.getBody());
+        LEGADO.info("✅ Cliente encontrado: {}", respuesta.getBody());
+        LEGADO.info("✅ Cliente encontrado: {}", respuesta.getBody());
+        return respuesta;
+    }
+
+    @Benchmark
+    public ResponseEntity<?> rutaCalienteEncontrado() {
+        return controller.obtenerCliente("C", 12_345_678L);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> legadoNoEncontrado() {
+        LEGADO.info("🔍 Iniciando búsqueda de cliente con tipoDocumento={} y numeroDocumento={}", "C", 99_999_999L);
+        controller.obtenerCliente("C", 99_999_999L);
+        NoSuchElementException e = new NoSuchElementException("Cliente no encontrado");
+        LEGADO.warn("❌ Cliente no encontrado con tipoDocumento={} y numeroDocumento={}", "C", 99_999_999L);
+        LEGADO.info("❌ Cliente no encontrado en la base de datos: {}", e.getMessage(), e);
+        LEGADO.info("❌ Recurso no encontrado", e);
+        return exceptionHandler.handleNotFound(e);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> rutaCalienteNoEncontrado() {
+        return controller.obtenerCliente("C", 99_999_999L);
+    }
+
+    private static OutputStreamAppender<ILoggingEvent> appenderNulo(LoggerContext contexto, String nombre) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contexto);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger{36} - %m %kvp{NONE}%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setName(nombre);
+        appender.setContext(contexto);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,104 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteCache;
+import com.clinicos.backend.api.rest.infrastructure.cache.CaffeineClienteCache;
+import com.clinicos.backend.api.rest.infrastructure.cache.CodificadorClientes;
+import com.clinicos.backend.api.rest.infrastructure.cache.CompactaClienteCache;
+import com.clinicos.backend.utility.ClienteGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la memoria retenida por cliente y el costo de un acierto entre {@link CaffeineClienteCache}
+ * (objetos {@link Cliente}) y {@link CompactaClienteCache} (clientes codificados con {@link CodificadorClientes}).
+ * <p>
+ * Los clientes de {@link ClienteGenerator} comparten las cadenas de su vocabulario; aquí cada campo se
+ * copia a un {@code String} propio, como los que entrega el driver JDBC al leer cada fila. La memoria se
+ * mide como la diferencia de heap usado, después de un GC completo, antes y después de llenar la caché;
+ * incluye los nodos de Caffeine y las claves. Se reporta en el contador auxiliar {@code bytesPorCliente};
+ * JMH suma estos contadores entre iteraciones, por eso la medición es una sola iteración.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 1, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class MemoriaCacheClientesBenchmark {
+
+    private static final int TAMANO_LOTE = 10_000;
+
+    @Param({"1000000"})
+    private int cantidad;
+
+    @Param({"cliente", "compacta"})
+    private String representacion;
+
+    private ClienteCache cache;
+    private String[] tipos;
+    private long[] numeros;
+    private long bytesPorCliente;
+    private int siguiente;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memoria {
+        public long bytesPorCliente;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ClienteGenerator generador = new ClienteGenerator(new ClienteService(new RepositorioEnMemoria()), true,
+                cantidad, 42L, 1, TAMANO_LOTE);
+        tipos = new String[cantidad];
+        numeros = new long[cantidad];
+        long antes = heapUsadoTrasGc();
+
+        cache = representacion.equals("compacta")
+                ? new CompactaClienteCache(cantidad, Duration.ofHours(1), new CodificadorClientes())
+                : new CaffeineClienteCache(cantidad, Duration.ofHours(1));
+        int i = 0;
+        for (long bloque = 0; bloque * TAMANO_LOTE < cantidad; bloque++) {
+            for (Cliente generado : generador.generarBloque(bloque)) {
+                Cliente cliente = comoLeidoDeBaseDatos(generado);
+                tipos[i] = generado.getTipoDocumento(); // cadena compartida del vocabulario
+                numeros[i++] = generado.getNumeroDocumento();
+                cache.obtener(ClaveCliente.de(cliente), c -> Optional.of(cliente));
+            }
+        }
+        bytesPorCliente = (heapUsadoTrasGc() - antes) / cantidad;
+    }
+
+    private static Cliente comoLeidoDeBaseDatos(Cliente c) {
+        return new Cliente(copia(c.getTipoDocumento()), c.getNumeroDocumento(), copia(c.getPrimerNombre()),
+                copia(c.getSegundoNombre()), copia(c.getPrimerApellido()), copia(c.getSegundoApellido()),
+                copia(c.getTelefono()), copia(c.getDireccion()), copia(c.getCiudadResidencia()));
+    }
+
+    private static String copia(String valor) {
+        return valor == null ? null : new String(valor);
+    }
+
+    private static long heapUsadoTrasGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public Optional<Cliente> acierto(Memoria memoria) {
+        memoria.bytesPorCliente = bytesPorCliente;
+        int i = siguiente;
+        siguiente = i + 1 == numeros.length ? 0 : i + 1;
+        return cache.obtener(new ClaveCliente(tipos[i], numeros[i]), c -> Optional.empty());
+    }
+}
@@ -0,0 +1,97 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRepositoryImpl;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRowMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la paginación por clave (keyset) de {@link ClienteRepositoryImpl#listarClientes} con
+ * {@code OFFSET} sobre una tabla Clientes de 10 000 000 de filas en H2 (archivo en
+ * {@code build/jmh-datos}, que se reutiliza entre ejecuciones).
+ * <p>
+ * La tabla tiene 20 ciudades y 50 apellidos repartidos de forma uniforme, con los índices de
+ * {@code db/indices-clientes.sql}. Cada operación obtiene una página de {@value #TAMANO_PAGINA} clientes
+ * de una ciudad: la primera, o la que empieza en la fila {@value #PROFUNDIDAD} del filtro.
+ * Con keyset ambas cuestan lo mismo; con OFFSET la profunda recorre todas las filas anteriores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginacionClientesBenchmark {
+
+    private static final long FILAS = 10_000_000L;
+    private static final int TAMANO_PAGINA = 50;
+    private static final int PROFUNDIDAD = 400_000;
+    private static final String CIUDAD = "Ciudad7";
+
+    private static final String SQL_OFFSET = "SELECT TipoDocumento, NumeroDocumento, PrimerNombre, SegundoNombre, PrimerApellido, " +
+            "SegundoApellido, Telefono, Direccion, CiudadResidencia FROM Clientes WHERE CiudadResidencia = ? " +
+            "ORDER BY CiudadResidencia, TipoDocumento, NumeroDocumento OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+
+    private JdbcTemplate jdbcTemplate;
+    private ClienteRepositoryImpl repositorio;
+    private ClaveCliente cursorProfundo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Path archivo = Path.of("build", "jmh-datos", "clientes-" + FILAS).toAbsolutePath();
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(
+                "jdbc:h2:file:" + archivo + ";MODE=MSSQLServer;CACHE_SIZE=262144;QUERY_CACHE_SIZE=0", "", "", true));
+        repositorio = new ClienteRepositoryImpl(jdbcTemplate);
+
+        poblarSiHaceFalta();
+        List<ClaveCliente> cursor = jdbcTemplate.query(SQL_OFFSET,
+                (rs, i) -> new ClaveCliente(rs.getString(1), rs.getLong(2)), CIUDAD, PROFUNDIDAD - 1, 1);
+        cursorProfundo = cursor.get(0);
+    }
+
+    private void poblarSiHaceFalta() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS Clientes (TipoDocumento VARCHAR(2) NOT NULL, NumeroDocumento BIGINT NOT NULL, " +
+                "PrimerNombre VARCHAR(50), SegundoNombre VARCHAR(50), PrimerApellido VARCHAR(50), SegundoApellido VARCHAR(50), " +
+                "Telefono VARCHAR(20), Direccion VARCHAR(100), CiudadResidencia VARCHAR(50), " +
+                "PRIMARY KEY (TipoDocumento, NumeroDocumento))");
+        Long filas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Clientes", Long.class);
+        if (filas != null && filas == FILAS) {
+            return;
+        }
+        jdbcTemplate.execute("TRUNCATE TABLE Clientes");
+        jdbcTemplate.update("INSERT INTO Clientes SELECT CASE WHEN MOD(X, 2) = 0 THEN 'C' ELSE 'P' END, 10000000 + X, " +
+                "'Nombre' || MOD(X, 97), NULL, 'Apellido' || MOD(X * 7, 50), 'Apellido' || MOD(X, 50), '300-' || X, " +
+                "'Calle ' || MOD(X, 200), 'Ciudad' || MOD(X * 13, 20) FROM SYSTEM_RANGE(1, ?)", FILAS);
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS IX_Clientes_Ciudad_Apellido_Clave ON Clientes (CiudadResidencia, PrimerApellido, TipoDocumento, NumeroDocumento)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS IX_Clientes_Ciudad_Clave ON Clientes (CiudadResidencia, TipoDocumento, NumeroDocumento)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS IX_Clientes_Apellido_Clave ON Clientes (PrimerApellido, TipoDocumento, NumeroDocumento)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Benchmark
+    public List<Cliente> keysetPrimeraPagina() {
+        return repositorio.listarClientes(CIUDAD, null, null, TAMANO_PAGINA);
+    }
+
+    @Benchmark
+    public List<Cliente> keysetPaginaProfunda() {
+        return repositorio.listarClientes(CIUDAD, null, cursorProfundo, TAMANO_PAGINA);
+    }
+
+    @Benchmark
+    public List<Cliente> offsetPrimeraPagina() {
+        return jdbcTemplate.query(SQL_OFFSET, new ClienteRowMapper(), CIUDAD, 0, TAMANO_PAGINA);
+    }
+
+    @Benchmark
+    public List<Cliente> offsetPaginaProfunda() {
+        return jdbcTemplate.query(SQL_OFFSET, new ClienteRowMapper(), CIUDAD, PROFUNDIDAD, TAMANO_PAGINA);
+    }
+}
@@ -0,0 +1,99 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * {@link ClienteRepository} en memoria para aislar en los benchmarks las capas superiores de la base de datos.
+ */
+class RepositorioEnMemoria implements ClienteRepository {
+
+    private static final Comparator<Cliente> ORDEN_CLAVE = Comparator.comparing(Cliente::getTipoDocumento)
+            .thenComparingLong(Cliente::getNumeroDocumento);
+
+    private final Map<ClaveCliente, Cliente> clientes = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
+        return Optional.ofNullable(clientes.get(new ClaveCliente(tipoDocumento, numeroDocumento)));
+    }
+
+    @Override
+    public List<Cliente> obtenerClientes(Collection<ClaveCliente> claves) {
+        List<Cliente> encontrados = new ArrayList<>(claves.size());
+        for (ClaveCliente clave : claves) {
+            Cliente cliente = clientes.get(clave);
+            if (cliente != null) {
+                encontrados.add(cliente);
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public void insertarCliente(Cliente cliente) {
+        clientes.put(ClaveCliente.de(cliente), cliente);
+    }
+
+    @Override
+    public ResultadoLote insertarClientes(List<Cliente> lote) {
+        lote.forEach(this::insertarCliente);
+        return new ResultadoLote(lote.size(), lote.size(), List.of());
+    }
+
+    @Override
+    public List<Cliente> listarClientes(String ciudadResidencia, String primerApellido, ClaveCliente despuesDe, int limite) {
+        return clientes.values().stream()
+                .filter(c -> ciudadResidencia == null || ciudadResidencia.equals(c.getCiudadResidencia()))
+                .filter(c -> primerApellido == null || primerApellido.equals(c.getPrimerApellido()))
+                .filter(c -> despuesDe == null || c.getTipoDocumento().compareTo(despuesDe.tipoDocumento()) > 0
+                        || c.getTipoDocumento().equals(despuesDe.tipoDocumento()) && c.getNumeroDocumento() > despuesDe.numeroDocumento())
+                .sorted(ORDEN_CLAVE)
+                .limit(limite)
+                .toList();
+    }
+
+    /**
+     * Recorre todos los clientes comparando las palabras normalizadas, como un {@code LIKE} sin índice.
+     */
+    @Override
+    public List<Cliente> buscarClientesPorNombre(String texto, int limite) {
+        String[] consulta = normalizar(texto).split(" ");
+        return clientes.values().stream()
+                .filter(c -> {
+                    String nombre = " " + normalizar(c.getPrimerNombre() + " " + c.getSegundoNombre() + " "
+                            + c.getPrimerApellido() + " " + c.getSegundoApellido());
+                    for (String palabra : consulta) {
+                        if (!nombre.contains(" " + palabra)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                })
+                .limit(limite)
+                .toList();
+    }
+
+    private static String normalizar(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public long recorrerClientes(Consumer<Cliente> consumidor) {
+        clientes.values().forEach(consumidor);
+        return clientes.size();
+    }
+}
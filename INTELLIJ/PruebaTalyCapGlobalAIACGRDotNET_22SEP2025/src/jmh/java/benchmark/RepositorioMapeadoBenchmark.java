@@ -0,0 +1,141 @@
+package benchmark;
+
+import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.repository.MapeadoClienteRepository;
+import com.clinicos.backend.utility.ClienteGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compara la consulta por clave de {@link MapeadoClienteRepository} con un mapa en el heap
+ * ({@link RepositorioEnMemoria}) sobre {@value #CLIENTES} clientes de {@link ClienteGenerator}, en orden aleatorio.
+ * <p>
+ * Los archivos se crean una vez en {@code build/jmh-datos} y se reutilizan. {@code reabrir} mide el arranque
+ * del adaptador sobre archivos existentes (proyección de los archivos, sin leer los clientes).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RepositorioMapeadoBenchmark {
+
+    private static final int CLIENTES = 1_000_000;
+    private static final int TAMANO_LOTE = 10_000;
+    private static final Path DIRECTORIO = Path.of("build", "jmh-datos", "clientes-mapeado-" + CLIENTES);
+
+    @State(Scope.Benchmark)
+    public static class Claves {
+        String[] tipos = new String[CLIENTES];
+        long[] numeros = new long[CLIENTES];
+        ClienteGenerator generador;
+        int siguiente;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            generador = new ClienteGenerator(new ClienteService(new RepositorioEnMemoria()), true, CLIENTES, 42L, 1, TAMANO_LOTE);
+            int i = 0;
+            for (long bloque = 0; bloque * TAMANO_LOTE < CLIENTES; bloque++) {
+                for (Cliente cliente : generador.generarBloque(bloque)) {
+                    tipos[i] = cliente.getTipoDocumento();
+                    numeros[i++] = cliente.getNumeroDocumento();
+                }
+            }
+            SplittableRandom random = new SplittableRandom(7);
+            for (int j = CLIENTES - 1; j > 0; j--) {
+                int k = random.nextInt(j + 1);
+                String tipo = tipos[j];
+                tipos[j] = tipos[k];
+                tipos[k] = tipo;
+                long numero = numeros[j];
+                numeros[j] = numeros[k];
+                numeros[k] = numero;
+            }
+        }
+
+        int siguiente() {
+            int i = siguiente;
+            siguiente = i + 1 == CLIENTES ? 0 : i + 1;
+            return i;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Mapeado {
+        MapeadoClienteRepository repositorio;
+
+        @Setup(Level.Trial)
+        public void setUp(Claves claves) throws IOException {
+            repositorio = MapeadoClienteRepository.abrir(DIRECTORIO, CLIENTES);
+            if (repositorio.clientes() == CLIENTES) {
+                return;
+            }
+            repositorio.close();
+            borrar(DIRECTORIO);
+            repositorio = MapeadoClienteRepository.abrir(DIRECTORIO, CLIENTES);
+            for (long bloque = 0; bloque * TAMANO_LOTE < CLIENTES; bloque++) {
+                repositorio.insertarClientes(claves.generador.generarBloque(bloque));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            repositorio.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Memoria {
+        RepositorioEnMemoria repositorio = new RepositorioEnMemoria();
+
+        @Setup(Level.Trial)
+        public void setUp(Claves claves) {
+            for (long bloque = 0; bloque * TAMANO_LOTE < CLIENTES; bloque++) {
+                repositorio.insertarClientes(claves.generador.generarBloque(bloque));
+            }
+        }
+    }
+
+    private static void borrar(Path directorio) throws IOException {
+        if (!Files.exists(directorio)) {
+            return;
+        }
+        try (Stream<Path> rutas = Files.walk(directorio)) {
+            for (Path ruta : rutas.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(ruta);
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<Cliente> obtenerMapeado(Mapeado mapeado, Claves claves) {
+        int i = claves.siguiente();
+        return mapeado.repositorio.obtenerCliente(claves.tipos[i], claves.numeros[i]);
+    }
+
+    @Benchmark
+    public Optional<Cliente> obtenerMemoria(Memoria memoria, Claves claves) {
+        int i = claves.siguiente();
+        return memoria.repositorio.obtenerCliente(claves.tipos[i], claves.numeros[i]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public long reabrir(Mapeado mapeado) throws IOException {
+        try (MapeadoClienteRepository reabierto = MapeadoClienteRepository.abrir(DIRECTORIO, CLIENTES)) {
+            return reabierto.clientes();
+        }
+    }
+}
@@ -61,7 +61,7 @@ public class ClientesApp {
     CommandLineRunner seedDatabase(
             ClienteGenerator generator,
             @Value("${clientes.seed.enabled:false}") boolean seedEnabled,
-            @Value("${clientes.seed.cantidad:1000}") int cantidad
+            @Value("${clientes.seed.cantidad:1000}") long cantidad
     ) {
         return args -> {
             if (seedEnabled) {
@@ -1,22 +1,75 @@
 package com.clinicos.backend.api.rest.application;
 
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
 import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ErrorImportacion;
+import com.clinicos.backend.api.rest.domain.model.FalloInsercion;
+import com.clinicos.backend.api.rest.domain.model.LineaImportacion;
+import com.clinicos.backend.api.rest.domain.model.PaginaClientes;
+import com.clinicos.backend.api.rest.domain.model.ResultadoConsultaMultiple;
+import com.clinicos.backend.api.rest.domain.model.ResultadoImportacion;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteCache;
 import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.domain.ports.PublicadorCambiosCliente;
+import com.clinicos.backend.api.rest.domain.ports.RechazoPorIndisponibilidad;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Service
+@Timed(value = "clientes.servicio", description = "Latencia de las operaciones del servicio de clientes", histogram = true)
 public class ClienteService {
 
     private static final Logger logger = LoggerFactory.getLogger(ClienteService.class);
 
+    /** Clientes por bloque en la importación; acota la memoria usada sin importar el tamaño del archivo. */
+    static final int TAMANO_BLOQUE_IMPORTACION = 5000;
+
     private final ClienteRepository clienteRepository;
+    private final ClienteCache clienteCache;
+    private final PublicadorCambiosCliente publicadorCambios;
 
     public ClienteService(ClienteRepository clienteRepository) {
+        this(clienteRepository, ClienteCache.deshabilitada());
+    }
+
+    /**
+     * Constructor con caché de lectura.
+     *
+     * @param clienteRepository Puerto de persistencia de clientes.
+     * @param clienteCache Caché consultada antes del repositorio; se invalida al crear clientes.
+     */
+    public ClienteService(ClienteRepository clienteRepository, ClienteCache clienteCache) {
+        this(clienteRepository, clienteCache, PublicadorCambiosCliente.ninguno());
+    }
+
+    /**
+     * Constructor con caché de lectura invalidada también en las demás instancias.
+     *
+     * @param clienteRepository Puerto de persistencia de clientes.
+     * @param clienteCache Caché consultada antes del repositorio; se invalida al crear clientes.
+     * @param publicadorCambios Anuncia a las demás instancias las claves de los clientes creados.
+     */
+    @Autowired
+    public ClienteService(ClienteRepository clienteRepository, ClienteCache clienteCache,
+                          PublicadorCambiosCliente publicadorCambios) {
         this.clienteRepository = clienteRepository;
+        this.clienteCache = clienteCache;
+        this.publicadorCambios = publicadorCambios;
     }
 
     /**
@@ -37,10 +90,13 @@ public class ClienteService {
      *   <li>La lógica de negocio permanece desacoplada del controlador y del repositorio concreto.</li>
      * </ul>
      * <p>
+     * La consulta pasa primero por {@link ClienteCache} (read-through): los clientes más
+     * consultados se sirven desde memoria sin llegar a la base de datos.
+     * <p>
      * También se aplica un manejo robusto de logs:
      * <ul>
-     *   <li>INFO: cuando se inicia la búsqueda y cuando se encuentra un cliente.</li>
-     *   <li>WARN: cuando no se encuentra el cliente.</li>
+     *   <li>DEBUG: resultado de la búsqueda con campos estructurados, protegido por nivel para no
+     *       generar asignaciones en la ruta caliente cuando está deshabilitado.</li>
      *   <li>ERROR: captura de excepciones inesperadas con re-lanzamiento para el GlobalExceptionHandler.</li>
      * </ul>
      *
@@ -53,18 +109,70 @@ public class ClienteService {
      * Garzon Rodriguez
      * @since 23 Sep 2025
      */    public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
-        logger.info("🔍 Buscando cliente con tipoDocumento={} y numeroDocumento={}", tipoDocumento, numeroDocumento);
-
         try {
-            Optional<Cliente> cliente = clienteRepository.obtenerCliente(tipoDocumento, numeroDocumento);
-            if (cliente.isPresent()) {
-                logger.info("✅ Cliente encontrado: {}", cliente.get());
-            } else {
-                logger.warn("❌ Cliente no encontrado con tipoDocumento={} y numeroDocumento={}", tipoDocumento, numeroDocumento);
+            Optional<Cliente> cliente = clienteCache.obtener(
+                    new ClaveCliente(tipoDocumento, numeroDocumento),
+                    clave -> clienteRepository.obtenerCliente(clave.tipoDocumento(), clave.numeroDocumento()));
+            if (logger.isDebugEnabled()) {
+                logger.atDebug()
+                        .addKeyValue("tipoDocumento", tipoDocumento)
+                        .addKeyValue("numeroDocumento", numeroDocumento)
+                        .addKeyValue("encontrado", cliente.isPresent())
+                        .log("🔍 Búsqueda de cliente resuelta");
             }
             return cliente;
         } catch (Exception e) {
-            logger.error("💥 Error al obtener cliente con tipoDocumento={} y numeroDocumento={}", tipoDocumento, numeroDocumento, e);
+            registrarError(e, "💥 Error al obtener cliente con tipoDocumento={} y numeroDocumento={}", tipoDocumento, numeroDocumento);
+            throw e; // Re-lanzar para que el GlobalExceptionHandler lo capture
+        }
+    }
+
+    /**
+     * Obtiene varios clientes por sus claves.
+     * <p>
+     * Las claves presentes en {@link ClienteCache} se resuelven en memoria; las restantes se consultan
+     * juntas con una sola llamada a {@link ClienteRepository#obtenerClientes}. El resultado conserva
+     * el orden de la solicitud e informa explícitamente las claves inexistentes. Las filas se asocian a las
+     * claves pedidas por {@link ClaveCliente#normalizada()}, como las compara la base de datos: una clave
+     * pedida como {@code "cc"} recibe la fila guardada como {@code "CC"}.
+     *
+     * @param claves Claves a consultar, en el orden en que se desean los resultados.
+     * @return {@link ResultadoConsultaMultiple} con clientes encontrados y claves no encontradas.
+     * @throws RuntimeException Si ocurre un error inesperado durante la consulta.
+     */
+    public ResultadoConsultaMultiple obtenerClientes(List<ClaveCliente> claves) {
+        logger.debug("🔍 Buscando {} clientes", claves.size());
+
+        try {
+            Map<ClaveCliente, Cliente> encontrados = clienteCache.obtenerTodos(claves, ausentes -> {
+                Map<ClaveCliente, Cliente> porClaveNormalizada = new HashMap<>();
+                for (Cliente cliente : clienteRepository.obtenerClientes(ausentes)) {
+                    porClaveNormalizada.put(ClaveCliente.de(cliente).normalizada(), cliente);
+                }
+                Map<ClaveCliente, Cliente> porClave = new HashMap<>();
+                for (ClaveCliente clave : ausentes) {
+                    Cliente cliente = porClaveNormalizada.get(clave.normalizada());
+                    if (cliente != null) {
+                        porClave.put(clave, cliente);
+                    }
+                }
+                return porClave;
+            });
+
+            List<Cliente> clientes = new ArrayList<>(claves.size());
+            List<ClaveCliente> noEncontrados = new ArrayList<>();
+            for (ClaveCliente clave : claves) {
+                Cliente cliente = encontrados.get(clave);
+                if (cliente != null) {
+                    clientes.add(cliente);
+                } else {
+                    noEncontrados.add(clave);
+                }
+            }
+            logger.debug("✅ Clientes encontrados: {}, no encontrados: {}", clientes.size(), noEncontrados.size());
+            return new ResultadoConsultaMultiple(clientes, noEncontrados);
+        } catch (Exception e) {
+            registrarError(e, "💥 Error al obtener {} clientes", claves.size());
             throw e; // Re-lanzar para que el GlobalExceptionHandler lo capture
         }
     }
@@ -87,6 +195,9 @@ public class ClienteService {
      *   <li>La lógica de negocio está desacoplada de la infraestructura y controladores.</li>
      * </ul>
      * <p>
+     * Tras la inserción se invalida la entrada de {@link ClienteCache} con la misma clave y se publica
+     * el cliente con {@link PublicadorCambiosCliente} para que las demás instancias invaliden la suya.
+     * <p>
      * Manejo de logs:
      * <ul>
      *   <li>INFO: al iniciar la creación y al completar correctamente la operación.</li>
@@ -105,10 +216,226 @@ public class ClienteService {
 
         try {
             clienteRepository.insertarCliente(cliente);
+            ClaveCliente clave = ClaveCliente.de(cliente);
+            clienteCache.invalidar(clave);
+            publicadorCambios.publicar(List.of(cliente));
             logger.info("✅ Cliente creado correctamente: {}", cliente);
         } catch (Exception e) {
-            logger.error("💥 Error al crear cliente: {}", cliente, e);
+            registrarError(e, "💥 Error al crear cliente: {}", cliente);
+            throw e; // Re-lanzar para manejo global
+        }
+    }
+
+    /**
+     * Crea un lote de clientes con una sola operación del repositorio.
+     * <p>
+     * Pensado para cargas masivas (seed, importaciones). Las filas rechazadas no abortan el lote;
+     * se informan en el {@link ResultadoLote}. Se invalidan en {@link ClienteCache} las claves del lote
+     * y se publican juntos con {@link PublicadorCambiosCliente} los clientes insertados.
+     *
+     * @param clientes Clientes a crear. No puede ser {@code null}.
+     * @return Resultado con las filas insertadas y el detalle de los fallos.
+     * @throws RuntimeException Si ocurre un error inesperado de acceso a datos.
+     */
+    public ResultadoLote crearClientes(List<Cliente> clientes) {
+        logger.info("🆕 Creando lote de {} clientes", clientes.size());
+
+        try {
+            ResultadoLote resultado = clienteRepository.insertarClientes(clientes);
+            Set<Integer> rechazados = new HashSet<>(resultado.fallos().size() * 2);
+            for (FalloInsercion fallo : resultado.fallos()) {
+                rechazados.add(fallo.indice());
+            }
+            List<Cliente> insertados = new ArrayList<>(clientes.size() - rechazados.size());
+            for (int i = 0; i < clientes.size(); i++) {
+                Cliente cliente = clientes.get(i);
+                clienteCache.invalidar(ClaveCliente.de(cliente));
+                if (!rechazados.contains(i)) {
+                    insertados.add(cliente);
+                }
+            }
+            publicadorCambios.publicar(insertados);
+            logger.info("✅ Lote procesado: {} insertados, {} fallos", resultado.insertados(), resultado.fallos().size());
+            return resultado;
+        } catch (Exception e) {
+            registrarError(e, "💥 Error al crear lote de {} clientes", clientes.size());
+            throw e; // Re-lanzar para manejo global
+        }
+    }
+
+    /**
+     * Obtiene una página de clientes filtrada por ciudad y/o primer apellido.
+     * <p>
+     * Se piden al repositorio {@code tamano + 1} filas: la fila adicional solo indica si hay una
+     * página siguiente, sin una consulta extra ni una página final vacía. No pasa por
+     * {@link ClienteCache}, que solo atiende consultas por clave.
+     *
+     * @param ciudadResidencia Ciudad exacta a filtrar, o {@code null}.
+     * @param primerApellido Primer apellido exacto a filtrar, o {@code null}.
+     * @param despuesDe Cursor devuelto en la página anterior, o {@code null} para la primera página.
+     * @param tamano Número de clientes por página.
+     * @return {@link PaginaClientes} con los clientes y el cursor de la página siguiente.
+     * @throws RuntimeException Si ocurre un error inesperado durante la consulta.
+     */
+    public PaginaClientes listarClientes(String ciudadResidencia, String primerApellido, ClaveCliente despuesDe, int tamano) {
+        try {
+            List<Cliente> clientes = clienteRepository.listarClientes(ciudadResidencia, primerApellido, despuesDe, tamano + 1);
+            if (clientes.size() <= tamano) {
+                return new PaginaClientes(clientes, null);
+            }
+            List<Cliente> pagina = clientes.subList(0, tamano);
+            return new PaginaClientes(pagina, ClaveCliente.de(pagina.get(tamano - 1)));
+        } catch (Exception e) {
+            registrarError(e, "💥 Error al listar clientes con ciudadResidencia={} y primerApellido={}", ciudadResidencia, primerApellido);
+            throw e; // Re-lanzar para manejo global
+        }
+    }
+
+    /**
+     * Busca clientes por palabras de su nombre y apellidos, sin distinguir tildes ni mayúsculas.
+     * <p>
+     * No pasa por {@link ClienteCache}: el texto de búsqueda no es una clave de cliente.
+     *
+     * @param texto Texto de búsqueda con una o más palabras.
+     * @param limite Número máximo de clientes a devolver.
+     * @return Clientes encontrados, sin orden garantizado.
+     * @throws RuntimeException Si ocurre un error inesperado durante la búsqueda.
+     */
+    public List<Cliente> buscarClientes(String texto, int limite) {
+        try {
+            List<Cliente> clientes = clienteRepository.buscarClientesPorNombre(texto, limite);
+            if (logger.isDebugEnabled()) {
+                logger.atDebug()
+                        .addKeyValue("texto", texto)
+                        .addKeyValue("encontrados", clientes.size())
+                        .log("🔎 Búsqueda por nombre resuelta");
+            }
+            return clientes;
+        } catch (Exception e) {
+            registrarError(e, "💥 Error al buscar clientes con texto={}", texto);
+            throw e; // Re-lanzar para manejo global
+        }
+    }
+
+    /**
+     * Exporta todos los clientes, entregándolos uno a uno al consumidor a medida que se leen.
+     * <p>
+     * No pasa por {@link ClienteCache}: una exportación completa solo la contaminaría con
+     * entradas frías. La memoria usada es constante sin importar el número de clientes.
+     *
+     * @param consumidor Función que escribe cada cliente (por ejemplo, en la respuesta HTTP).
+     * @return Número de clientes exportados.
+     * @throws RuntimeException Si falla la lectura o el consumidor (por ejemplo, el cliente HTTP se desconecta).
+     */
+    public long exportarClientes(Consumer<Cliente> consumidor) {
+        logger.info("📤 Iniciando exportación de clientes");
+        long inicio = System.nanoTime();
+
+        try {
+            long total = clienteRepository.recorrerClientes(consumidor);
+            logger.info("✅ Exportación terminada: {} clientes en {} ms", total,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+            return total;
+        } catch (Exception e) {
+            registrarError(e, "💥 Error en la exportación de clientes");
             throw e; // Re-lanzar para manejo global
         }
     }
+
+    /**
+     * Importa clientes desde un flujo de registros, insertándolos por bloques.
+     * <p>
+     * Los registros se consumen a medida que llegan: solo se mantiene en memoria el bloque actual
+     * de {@value #TAMANO_BLOQUE_IMPORTACION} clientes, sin importar el tamaño del archivo. Cada
+     * registro se valida antes de insertarse; los errores de formato, de validación y de la base de
+     * datos (por ejemplo, clave duplicada) se informan con su número de línea y no detienen la
+     * importación.
+     *
+     * @param registros Registros del archivo en orden de lectura.
+     * @return Reporte con registros leídos, insertados, rechazados y el detalle de los errores.
+     * @throws RuntimeException Si ocurre un error de acceso a datos que impide continuar.
+     */
+    public ResultadoImportacion importarClientes(Iterator<LineaImportacion> registros) {
+        logger.info("📥 Iniciando importación de clientes");
+        long inicio = System.nanoTime();
+
+        long leidos = 0;
+        long insertados = 0;
+        long rechazados = 0;
+        List<ErrorImportacion> errores = new ArrayList<>();
+        List<Cliente> bloque = new ArrayList<>(TAMANO_BLOQUE_IMPORTACION);
+        long[] lineasBloque = new long[TAMANO_BLOQUE_IMPORTACION];
+
+        while (registros.hasNext()) {
+            LineaImportacion registro = registros.next();
+            leidos++;
+            String motivo = registro.error() != null ? registro.error() : validar(registro.cliente());
+            if (motivo != null) {
+                rechazados++;
+                agregarError(errores, registro.numeroLinea(), motivo);
+                continue;
+            }
+            lineasBloque[bloque.size()] = registro.numeroLinea();
+            bloque.add(registro.cliente());
+            if (bloque.size() == TAMANO_BLOQUE_IMPORTACION) {
+                ResultadoLote resultado = crearClientes(bloque);
+                insertados += resultado.insertados();
+                rechazados += resultado.fallos().size();
+                resultado.fallos().forEach(fallo -> agregarError(errores, lineasBloque[fallo.indice()], fallo.motivo()));
+                bloque.clear();
+            }
+        }
+        if (!bloque.isEmpty()) {
+            ResultadoLote resultado = crearClientes(bloque);
+            insertados += resultado.insertados();
+            rechazados += resultado.fallos().size();
+            resultado.fallos().forEach(fallo -> agregarError(errores, lineasBloque[fallo.indice()], fallo.motivo()));
+        }
+
+        long milisegundos = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        logger.info("✅ Importación terminada: {} registros, {} insertados, {} rechazados en {} ms ({} registros/s)",
+                leidos, insertados, rechazados, milisegundos, milisegundos == 0 ? leidos : leidos * 1000 / milisegundos);
+        return new ResultadoImportacion(leidos, insertados, rechazados, errores);
+    }
+
+    /**
+     * Reglas mínimas de un cliente importado: clave válida y primer nombre y apellido presentes.
+     *
+     * @return Motivo del rechazo, o {@code null} si el cliente es válido.
+     */
+    private static String validar(Cliente cliente) {
+        if (cliente.getTipoDocumento() == null || cliente.getTipoDocumento().isBlank()) {
+            return "El tipo de documento no puede estar vacío";
+        }
+        if (cliente.getNumeroDocumento() <= 0) {
+            return "El número de documento debe ser mayor que 0";
+        }
+        if (cliente.getPrimerNombre() == null || cliente.getPrimerNombre().isBlank()) {
+            return "El primer nombre no puede estar vacío";
+        }
+        if (cliente.getPrimerApellido() == null || cliente.getPrimerApellido().isBlank()) {
+            return "El primer apellido no puede estar vacío";
+        }
+        return null;
+    }
+
+    private static void agregarError(List<ErrorImportacion> errores, long linea, String motivo) {
+        if (errores.size() < ResultadoImportacion.MAXIMO_ERRORES_DETALLADOS) {
+            errores.add(new ErrorImportacion(linea, motivo));
+        }
+    }
+
+    /**
+     * Registra como ERROR una excepción que se va a re-lanzar, salvo un {@link RechazoPorIndisponibilidad}:
+     * durante una degradación hay uno por solicitud y el adaptador que lo lanzó ya registró la causa.
+     *
+     * @param e Excepción capturada; se adjunta al registro con su stacktrace.
+     * @param mensaje Mensaje con marcadores {@code {}}.
+     * @param argumentos Valores de los marcadores.
+     */
+    private static void registrarError(Exception e, String mensaje, Object... argumentos) {
+        if (!(e instanceof RechazoPorIndisponibilidad)) {
+            logger.atError().setCause(e).log(mensaje, argumentos);
+        }
+    }
 }
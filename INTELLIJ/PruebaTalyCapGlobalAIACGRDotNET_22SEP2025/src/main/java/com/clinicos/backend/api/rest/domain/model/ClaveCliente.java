@@ -0,0 +1,39 @@
+package com.clinicos.backend.api.rest.domain.model;
+
+import java.util.Locale;
+
+/**
+ * Clave natural de un {@link Cliente}: tipo y número de documento.
+ * <p>
+ * Se usa como llave en las estructuras en memoria (caché, filtros, índices) para
+ * no depender de la identidad del objeto {@link Cliente}.
+ *
+ * @param tipoDocumento Tipo de documento (C, P, CC, CE, etc.).
+ * @param numeroDocumento Número de documento del cliente.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public record ClaveCliente(String tipoDocumento, long numeroDocumento) {
+
+    /**
+     * Obtiene la clave de un cliente existente.
+     *
+     * @param cliente Cliente del que se toma la clave. No puede ser {@code null}.
+     * @return Clave del cliente.
+     */
+    public static ClaveCliente de(Cliente cliente) {
+        return new ClaveCliente(cliente.getTipoDocumento(), cliente.getNumeroDocumento());
+    }
+
+    /**
+     * Clave que iguala a las que la base de datos considera la misma: su intercalación no distingue
+     * mayúsculas ni espacios finales, así que {@code "cc"} encuentra la fila guardada como {@code "CC"}.
+     *
+     * @return Clave con el tipo de documento en mayúsculas y sin espacios finales.
+     */
+    public ClaveCliente normalizada() {
+        return new ClaveCliente(tipoDocumento.stripTrailing().toUpperCase(Locale.ROOT), numeroDocumento);
+    }
+}
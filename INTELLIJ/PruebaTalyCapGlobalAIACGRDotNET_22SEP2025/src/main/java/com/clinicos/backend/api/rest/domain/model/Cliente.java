@@ -133,4 +133,17 @@ public class Cliente {
     public void setCiudadResidencia(String ciudadResidencia) {
         this.ciudadResidencia = ciudadResidencia;
     }
+
+    /**
+     * Representación breve del cliente: solo su clave de negocio.
+     * <p>
+     * Evita volcar datos personales a los logs y mantiene barato el formateo cuando un
+     * cliente se pasa como argumento de un mensaje.
+     *
+     * @return Texto con el tipo y número de documento.
+     */
+    @Override
+    public String toString() {
+        return "Cliente[" + tipoDocumento + ":" + numeroDocumento + "]";
+    }
 }
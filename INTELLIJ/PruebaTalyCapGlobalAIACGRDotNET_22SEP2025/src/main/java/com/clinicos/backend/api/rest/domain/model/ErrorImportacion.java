@@ -0,0 +1,14 @@
+package com.clinicos.backend.api.rest.domain.model;
+
+/**
+ * Línea de un archivo de importación que no se insertó.
+ *
+ * @param linea Línea del archivo (base 1) donde empieza el registro.
+ * @param motivo Error de formato, de validación o de la base de datos.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public record ErrorImportacion(long linea, String motivo) {
+}
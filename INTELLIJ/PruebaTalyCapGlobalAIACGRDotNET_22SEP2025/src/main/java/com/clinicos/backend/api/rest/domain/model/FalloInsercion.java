@@ -0,0 +1,15 @@
+package com.clinicos.backend.api.rest.domain.model;
+
+/**
+ * Fila de un lote de clientes que no pudo insertarse.
+ *
+ * @param indice Posición (base 0) del cliente dentro del lote enviado.
+ * @param clave Clave del cliente rechazado.
+ * @param motivo Descripción del error devuelto por la fuente de datos.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public record FalloInsercion(int indice, ClaveCliente clave, String motivo) {
+}
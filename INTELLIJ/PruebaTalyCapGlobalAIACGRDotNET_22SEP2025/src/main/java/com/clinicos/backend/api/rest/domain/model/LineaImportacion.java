@@ -0,0 +1,26 @@
+package com.clinicos.backend.api.rest.domain.model;
+
+/**
+ * Registro leído de un archivo de importación de clientes.
+ * <p>
+ * Un registro que no pudo interpretarse (JSON o CSV mal formado, número inválido) lleva el
+ * motivo en {@code error} y {@code cliente} es {@code null}.
+ *
+ * @param numeroLinea Línea del archivo (base 1) donde empieza el registro.
+ * @param cliente Cliente interpretado, o {@code null} si el registro es inválido.
+ * @param error Motivo por el que no pudo interpretarse, o {@code null} si es válido.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public record LineaImportacion(long numeroLinea, Cliente cliente, String error) {
+
+    public static LineaImportacion valida(long numeroLinea, Cliente cliente) {
+        return new LineaImportacion(numeroLinea, cliente, null);
+    }
+
+    public static LineaImportacion invalida(long numeroLinea, String error) {
+        return new LineaImportacion(numeroLinea, null, error);
+    }
+}
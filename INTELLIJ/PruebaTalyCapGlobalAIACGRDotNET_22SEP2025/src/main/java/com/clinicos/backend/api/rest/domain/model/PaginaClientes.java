@@ -0,0 +1,24 @@
+package com.clinicos.backend.api.rest.domain.model;
+
+import java.util.List;
+
+/**
+ * Página de un listado de clientes con paginación por clave (keyset).
+ * <p>
+ * Los clientes vienen ordenados por tipo y número de documento. Para pedir la página siguiente se
+ * envía {@code siguiente} como cursor: la consulta continúa justo después de esa clave, por lo que
+ * cualquier página cuesta lo mismo que la primera.
+ *
+ * @param clientes Clientes de la página, ordenados por clave.
+ * @param siguiente Clave a partir de la cual empieza la página siguiente, o {@code null} si es la última.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public record PaginaClientes(List<Cliente> clientes, ClaveCliente siguiente) {
+
+    public PaginaClientes {
+        clientes = List.copyOf(clientes);
+    }
+}
@@ -0,0 +1,21 @@
+package com.clinicos.backend.api.rest.domain.model;
+
+import java.util.List;
+
+/**
+ * Resultado de la consulta de varios clientes en una sola operación.
+ *
+ * @param clientes Clientes encontrados, en el mismo orden en que se solicitaron sus claves.
+ * @param noEncontrados Claves solicitadas que no existen, en el orden de la solicitud.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public record ResultadoConsultaMultiple(List<Cliente> clientes, List<ClaveCliente> noEncontrados) {
+
+    public ResultadoConsultaMultiple {
+        clientes = List.copyOf(clientes);
+        noEncontrados = List.copyOf(noEncontrados);
+    }
+}
@@ -0,0 +1,37 @@
+package com.clinicos.backend.api.rest.domain.model;
+
+import java.util.List;
+
+/**
+ * Reporte de la importación de un archivo de clientes.
+ * <p>
+ * Para acotar el tamaño de la respuesta solo se detallan los primeros
+ * {@value #MAXIMO_ERRORES_DETALLADOS} errores; {@code rechazados} cuenta todos.
+ *
+ * @param registros Registros leídos del archivo (sin contar el encabezado CSV ni las líneas vacías).
+ * @param insertados Clientes insertados.
+ * @param rechazados Registros no insertados por error de formato, validación o base de datos.
+ * @param errores Detalle de los errores en el orden en que se detectan: los de formato y validación al
+ *                leer cada registro, los de base de datos al insertar el bloque que lo contiene.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public record ResultadoImportacion(long registros, long insertados, long rechazados, List<ErrorImportacion> errores) {
+
+    public static final int MAXIMO_ERRORES_DETALLADOS = 1000;
+
+    public ResultadoImportacion {
+        errores = List.copyOf(errores);
+    }
+
+    /**
+     * Indica si el detalle de errores se truncó.
+     *
+     * @return {@code true} si hubo más rechazos que errores detallados.
+     */
+    public boolean erroresTruncados() {
+        return rechazados > errores.size();
+    }
+}
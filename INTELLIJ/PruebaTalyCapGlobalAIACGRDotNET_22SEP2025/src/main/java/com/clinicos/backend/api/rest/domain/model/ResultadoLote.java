@@ -0,0 +1,33 @@
+package com.clinicos.backend.api.rest.domain.model;
+
+import java.util.List;
+
+/**
+ * Resultado de la inserción de un lote de clientes.
+ * <p>
+ * Una fila fallida no aborta el lote: el resultado informa cuántas filas se insertaron
+ * y el detalle de cada fila rechazada.
+ *
+ * @param total Número de clientes recibidos en el lote.
+ * @param insertados Número de clientes insertados correctamente.
+ * @param fallos Detalle de cada fila que no pudo insertarse, ordenado por índice.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public record ResultadoLote(int total, int insertados, List<FalloInsercion> fallos) {
+
+    public ResultadoLote {
+        fallos = List.copyOf(fallos);
+    }
+
+    /**
+     * Indica si todas las filas del lote se insertaron.
+     *
+     * @return {@code true} si no hubo fallos.
+     */
+    public boolean exitoso() {
+        return fallos.isEmpty();
+    }
+}
@@ -0,0 +1,78 @@
+package com.clinicos.backend.api.rest.domain.ports;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Puerto de caché de lectura para {@link Cliente}.
+ * <p>
+ * La capa de aplicación consulta este puerto antes de ir al {@link ClienteRepository}
+ * (patrón <b>read-through</b>). La implementación concreta (tamaño, expiración, política
+ * de desalojo) pertenece a la infraestructura, siguiendo la <b>arquitectura hexagonal</b>.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public interface ClienteCache {
+
+    /**
+     * Obtiene un cliente de la caché o, si no está, lo carga con {@code cargador}.
+     * <p>
+     * Solo se almacenan los clientes encontrados; las ausencias no se guardan.
+     *
+     * @param clave Clave del cliente.
+     * @param cargador Función que consulta la fuente de datos cuando hay un fallo de caché.
+     * @return {@link Optional} con el cliente si existe, vacío si no se encuentra.
+     */
+    Optional<Cliente> obtener(ClaveCliente clave, Function<ClaveCliente, Optional<Cliente>> cargador);
+
+    /**
+     * Obtiene varios clientes de la caché; las claves ausentes se cargan juntas con {@code cargador}.
+     *
+     * @param claves Claves a consultar.
+     * @param cargador Función que recibe las claves ausentes y devuelve los clientes encontrados por clave.
+     * @return Clientes encontrados por clave; las claves inexistentes no aparecen.
+     */
+    Map<ClaveCliente, Cliente> obtenerTodos(Collection<ClaveCliente> claves,
+                                            Function<Set<ClaveCliente>, Map<ClaveCliente, Cliente>> cargador);
+
+    /**
+     * Invalida la entrada asociada a la clave, si existe.
+     *
+     * @param clave Clave del cliente a invalidar.
+     */
+    void invalidar(ClaveCliente clave);
+
+    /**
+     * Caché deshabilitada: siempre delega en el cargador y no guarda nada.
+     *
+     * @return Implementación sin almacenamiento.
+     */
+    static ClienteCache deshabilitada() {
+        return new ClienteCache() {
+            @Override
+            public Optional<Cliente> obtener(ClaveCliente clave, Function<ClaveCliente, Optional<Cliente>> cargador) {
+                return cargador.apply(clave);
+            }
+
+            @Override
+            public Map<ClaveCliente, Cliente> obtenerTodos(Collection<ClaveCliente> claves,
+                                                           Function<Set<ClaveCliente>, Map<ClaveCliente, Cliente>> cargador) {
+                return cargador.apply(new HashSet<>(claves));
+            }
+
+            @Override
+            public void invalidar(ClaveCliente clave) {
+                // Nada que invalidar
+            }
+        };
+    }
+}
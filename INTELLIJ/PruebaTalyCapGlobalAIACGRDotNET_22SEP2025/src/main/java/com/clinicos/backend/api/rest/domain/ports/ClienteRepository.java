@@ -1,8 +1,13 @@
 package com.clinicos.backend.api.rest.domain.ports;
 
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
 import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Puerto de persistencia para operaciones sobre {@link Cliente}.
@@ -35,6 +40,9 @@ public interface ClienteRepository {
      * @param tipoDocumento Tipo de documento (CC, CE, Pasaporte, etc.). No puede ser {@code null} o vacío.
      * @param numeroDocumento Número de documento, mayor que 0.
      * @return {@link Optional} con el cliente si existe, vacío si no se encuentra.
+     *         Un cliente inexistente es un resultado normal, no una excepción.
+     * @throws org.springframework.dao.DataAccessException Si la consulta falla; un fallo de la base
+     *         de datos nunca se reporta como {@code Optional.empty()}.
      */
     Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento);
 
@@ -44,4 +52,63 @@ public interface ClienteRepository {
      * @param cliente Objeto {@link Cliente} a insertar. No puede ser {@code null}.
      */
     void insertarCliente(Cliente cliente); // nuevo método
+
+    /**
+     * Inserta un lote de clientes en el repositorio.
+     * <p>
+     * Las filas rechazadas (por ejemplo, por clave duplicada) no abortan el resto del lote;
+     * se informan individualmente en el {@link ResultadoLote}.
+     *
+     * @param clientes Clientes a insertar. No puede ser {@code null}.
+     * @return Resultado con el número de filas insertadas y el detalle de cada fallo.
+     */
+    ResultadoLote insertarClientes(List<Cliente> clientes);
+
+    /**
+     * Obtiene varios clientes por sus claves en una sola consulta.
+     *
+     * @param claves Claves a consultar. No puede ser {@code null}; puede contener repetidos.
+     * @return Clientes encontrados, sin orden garantizado. Las claves inexistentes simplemente no aparecen.
+     */
+    List<Cliente> obtenerClientes(Collection<ClaveCliente> claves);
+
+    /**
+     * Recorre todos los clientes del repositorio, entregándolos uno a uno a medida que se leen.
+     * <p>
+     * Las implementaciones no deben acumular los clientes en memoria: el consumo de memoria es
+     * constante sin importar el número de filas. Si el consumidor lanza una excepción, el recorrido
+     * se detiene y se liberan los recursos abiertos.
+     *
+     * @param consumidor Función que recibe cada cliente leído. No puede ser {@code null}.
+     * @return Número de clientes recorridos.
+     */
+    long recorrerClientes(Consumer<Cliente> consumidor);
+
+    /**
+     * Lista clientes ordenados por tipo y número de documento, con filtros opcionales y
+     * paginación por clave (keyset).
+     * <p>
+     * La consulta continúa justo después de {@code despuesDe}, sin {@code OFFSET}: el costo de una
+     * página no depende de su profundidad.
+     *
+     * @param ciudadResidencia Ciudad exacta a filtrar, o {@code null} para no filtrar.
+     * @param primerApellido Primer apellido exacto a filtrar, o {@code null} para no filtrar.
+     * @param despuesDe Última clave de la página anterior, o {@code null} para la primera página.
+     * @param limite Número máximo de clientes a devolver, mayor que 0.
+     * @return Hasta {@code limite} clientes con clave mayor que {@code despuesDe}, ordenados por clave.
+     */
+    List<Cliente> listarClientes(String ciudadResidencia, String primerApellido, ClaveCliente despuesDe, int limite);
+
+    /**
+     * Busca clientes por palabras de su nombre y apellidos, sin distinguir tildes ni mayúsculas.
+     * <p>
+     * Cada palabra del texto debe ser prefijo de alguna palabra de {@code primerNombre},
+     * {@code segundoNombre}, {@code primerApellido} o {@code segundoApellido}: "rodr velas" encuentra
+     * a "Ana Rodríguez Velásquez".
+     *
+     * @param texto Texto de búsqueda con una o más palabras. No puede ser {@code null}.
+     * @param limite Número máximo de clientes a devolver, mayor que 0.
+     * @return Hasta {@code limite} clientes que coinciden, sin orden garantizado.
+     */
+    List<Cliente> buscarClientesPorNombre(String texto, int limite);
 }
@@ -0,0 +1,40 @@
+package com.clinicos.backend.api.rest.domain.ports;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+
+import java.util.Collection;
+
+/**
+ * Puerto para anunciar a las demás instancias de la aplicación que unos clientes cambiaron.
+ * <p>
+ * Cada instancia tiene su propia {@link ClienteCache}; la que crea o modifica un cliente invalida su
+ * entrada local y publica el cliente para que las demás invaliden la suya. El aviso lleva los datos que
+ * las demás necesitan para indexarlo, de modo que no tengan que leerlo de la base de datos (con escritura
+ * diferida, el aviso puede llegar antes de que la fila exista). El transporte (Kafka u otro)
+ * pertenece a la infraestructura.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public interface PublicadorCambiosCliente {
+
+    /**
+     * Publica los clientes que cambiaron. No espera la confirmación del transporte:
+     * una publicación fallida se registra, pero no hace fallar la operación que la originó.
+     *
+     * @param clientes Clientes creados o modificados; puede contener claves repetidas.
+     */
+    void publicar(Collection<Cliente> clientes);
+
+    /**
+     * Publicador para una sola instancia: no hay a quién avisar.
+     *
+     * @return Implementación que no publica nada.
+     */
+    static PublicadorCambiosCliente ninguno() {
+        return clientes -> {
+            // Sin otras instancias que invalidar
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.clinicos.backend.api.rest.domain.ports;
+
+/**
+ * Marca las excepciones de un adaptador que rechazó la operación sin intentarla porque su dependencia no está
+ * sana o no tiene capacidad (circuito abierto, carga descartada).
+ * <p>
+ * Durante una degradación hay una por solicitud: la capa de aplicación las propaga sin registrarlas como
+ * errores, y el adaptador que las lanza ya registra la causa y las cuenta en sus métricas.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public interface RechazoPorIndisponibilidad {
+}
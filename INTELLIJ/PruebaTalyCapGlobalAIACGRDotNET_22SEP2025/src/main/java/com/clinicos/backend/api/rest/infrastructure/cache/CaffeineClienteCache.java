@@ -0,0 +1,108 @@
+package com.clinicos.backend.api.rest.infrastructure.cache;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Implementación de {@link ClienteCache} en memoria usando Caffeine.
+ * <p>
+ * Esta clase es un adaptador de infraestructura. Caffeine aplica desalojo <b>W-TinyLFU</b>
+ * (frecuencia + recencia), por lo que los clientes más consultados permanecen en memoria
+ * aunque haya ráfagas de consultas únicas.
+ * <ul>
+ *   <li><b>Tamaño máximo:</b> número de clientes que se conservan.</li>
+ *   <li><b>TTL:</b> tiempo máximo desde la escritura de la entrada.</li>
+ *   <li><b>Estadísticas:</b> aciertos, fallos y desalojos quedan registrados en {@link CacheStats}.</li>
+ * </ul>
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class CaffeineClienteCache implements ClienteCachePrecargable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaffeineClienteCache.class);
+
+    private final Cache<ClaveCliente, Cliente> cache;
+
+    /**
+     * Crea la caché con los límites indicados.
+     *
+     * @param tamanoMaximo Número máximo de clientes en caché, mayor que 0.
+     * @param ttl Tiempo de vida de cada entrada desde que se escribe.
+     */
+    public CaffeineClienteCache(long tamanoMaximo, Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        logger.info("🗃️ Caché de clientes creada con tamanoMaximo={} y ttl={}", tamanoMaximo, ttl);
+    }
+
+    @Override
+    public Optional<Cliente> obtener(ClaveCliente clave, Function<ClaveCliente, Optional<Cliente>> cargador) {
+        Cliente enCache = cache.getIfPresent(clave);
+        if (enCache != null) {
+            return Optional.of(enCache);
+        }
+        Optional<Cliente> cargado = cargador.apply(clave);
+        cargado.ifPresent(cliente -> cache.put(clave, cliente));
+        return cargado;
+    }
+
+    @Override
+    public Map<ClaveCliente, Cliente> obtenerTodos(Collection<ClaveCliente> claves,
+                                                   Function<Set<ClaveCliente>, Map<ClaveCliente, Cliente>> cargador) {
+        return cache.getAll(claves, ausentes -> cargador.apply(Set.copyOf(ausentes)));
+    }
+
+    @Override
+    public void invalidar(ClaveCliente clave) {
+        cache.invalidate(clave);
+    }
+
+    @Override
+    public List<Cliente> masConsultados(int limite) {
+        return cache.policy().eviction()
+                .map(desalojo -> List.copyOf(desalojo.hottest(limite).values()))
+                .orElse(List.of());
+    }
+
+    @Override
+    public void precargar(Cliente cliente) {
+        cache.put(ClaveCliente.de(cliente), cliente);
+    }
+
+    /**
+     * Estadísticas acumuladas de aciertos, fallos y desalojos.
+     *
+     * @return Instantánea de {@link CacheStats}.
+     */
+    public CacheStats estadisticas() {
+        return cache.stats();
+    }
+
+    /**
+     * Caché nativa de Caffeine, usada para registrar métricas.
+     *
+     * @return Instancia de {@link Cache} subyacente.
+     */
+    public Cache<ClaveCliente, Cliente> getNativeCache() {
+        return cache;
+    }
+}
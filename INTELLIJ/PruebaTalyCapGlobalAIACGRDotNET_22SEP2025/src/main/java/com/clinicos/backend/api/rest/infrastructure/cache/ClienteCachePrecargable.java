@@ -0,0 +1,35 @@
+package com.clinicos.backend.api.rest.infrastructure.cache;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteCache;
+
+import java.util.List;
+
+/**
+ * {@link ClienteCache} que puede entregar sus entradas más consultadas y recibir clientes sin
+ * pasar por un cargador.
+ * <p>
+ * Lo usa {@link InstantaneaClienteCache} para volcar la caché a disco y precargarla al arrancar.
+ * Es una interfaz de infraestructura: la capa de aplicación sigue dependiendo solo de {@link ClienteCache}.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public interface ClienteCachePrecargable extends ClienteCache {
+
+    /**
+     * Clientes con mayor probabilidad de volver a consultarse según la política de desalojo.
+     *
+     * @param limite Número máximo de clientes.
+     * @return Clientes del más al menos consultado.
+     */
+    List<Cliente> masConsultados(int limite);
+
+    /**
+     * Guarda un cliente en la caché como si se hubiera cargado.
+     *
+     * @param cliente Cliente a guardar. No puede ser {@code null}.
+     */
+    void precargar(Cliente cliente);
+}
@@ -0,0 +1,256 @@
+package com.clinicos.backend.api.rest.infrastructure.cache;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codifica un {@link Cliente} en un arreglo de bytes compacto para mantener millones de clientes en memoria.
+ * <p>
+ * Un {@code Cliente} leído de la base de datos tiene nueve {@code String} propios (unos 50 bytes cada uno
+ * aunque el valor se repita en miles de filas). Aquí cada campo se escribe así:
+ * <ul>
+ *   <li><b>Baja cardinalidad</b> (nombres, apellidos, ciudad): código de diccionario como varint, normalmente
+ *       1 o 2 bytes. Cada valor distinto se guarda una sola vez en el diccionario del campo.</li>
+ *   <li><b>Alta cardinalidad</b> (teléfono, dirección): bytes UTF-8 con la longitud como prefijo.</li>
+ *   <li>La clave (tipo y número de documento) no se repite en el arreglo: ya está en la clave de la caché.
+ *       El tipo de documento de la clave se canoniza con su propio diccionario.</li>
+ * </ul>
+ * Cada campo empieza con un varint {@code v}: {@code 0} es {@code null}; si {@code v} es impar, {@code v >> 1}
+ * es el código de diccionario; si es par, siguen {@code (v >> 1) - 1} bytes UTF-8. Cuando un diccionario
+ * llega a su máximo, los valores nuevos de ese campo se escriben en línea, de modo que un campo con más
+ * variedad de la esperada no hace crecer la memoria sin límite.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class CodificadorClientes {
+
+    /** Valores distintos por campo. Los códigos menores que 64 ocupan 1 byte y los menores que 8192, 2 bytes. */
+    public static final int MAXIMO_POR_DICCIONARIO_DEFECTO = 1 << 16;
+
+    private final Diccionario tipos;
+    private final Diccionario nombres;
+    private final Diccionario apellidos;
+    private final Diccionario ciudades;
+
+    public CodificadorClientes() {
+        this(MAXIMO_POR_DICCIONARIO_DEFECTO);
+    }
+
+    /**
+     * @param maximoPorDiccionario Valores distintos que admite cada diccionario antes de escribir en línea.
+     */
+    public CodificadorClientes(int maximoPorDiccionario) {
+        this.tipos = new Diccionario(maximoPorDiccionario);
+        this.nombres = new Diccionario(maximoPorDiccionario);
+        this.apellidos = new Diccionario(maximoPorDiccionario);
+        this.ciudades = new Diccionario(maximoPorDiccionario);
+    }
+
+    /**
+     * Devuelve una clave equivalente cuyo tipo de documento es la instancia compartida del diccionario,
+     * para no retener un {@code String} por entrada.
+     *
+     * @param clave Clave a canonizar.
+     * @return Clave igual a {@code clave}.
+     */
+    public ClaveCliente canonica(ClaveCliente clave) {
+        String tipo = tipos.canonico(clave.tipoDocumento());
+        return tipo == clave.tipoDocumento() ? clave : new ClaveCliente(tipo, clave.numeroDocumento());
+    }
+
+    /**
+     * Codifica los campos del cliente que no forman parte de su clave.
+     *
+     * @param cliente Cliente a codificar. No puede ser {@code null}.
+     * @return Arreglo con los campos codificados.
+     */
+    public byte[] codificar(Cliente cliente) {
+        Escritura escritura = new Escritura();
+        escritura.diccionario(nombres, cliente.getPrimerNombre());
+        escritura.diccionario(nombres, cliente.getSegundoNombre());
+        escritura.diccionario(apellidos, cliente.getPrimerApellido());
+        escritura.diccionario(apellidos, cliente.getSegundoApellido());
+        escritura.literal(cliente.getTelefono());
+        escritura.literal(cliente.getDireccion());
+        escritura.diccionario(ciudades, cliente.getCiudadResidencia());
+        return escritura.resultado();
+    }
+
+    /**
+     * Reconstruye el cliente. Los valores de diccionario son instancias compartidas.
+     *
+     * @param clave Clave del cliente (la misma con la que se guardó {@code datos}).
+     * @param datos Arreglo producido por {@link #codificar(Cliente)}.
+     * @return Cliente equivalente al original.
+     */
+    public Cliente decodificar(ClaveCliente clave, byte[] datos) {
+        Lectura lectura = new Lectura(datos);
+        String primerNombre = lectura.campo(nombres);
+        String segundoNombre = lectura.campo(nombres);
+        String primerApellido = lectura.campo(apellidos);
+        String segundoApellido = lectura.campo(apellidos);
+        String telefono = lectura.campo(null);
+        String direccion = lectura.campo(null);
+        String ciudadResidencia = lectura.campo(ciudades);
+        return new Cliente(clave.tipoDocumento(), clave.numeroDocumento(), primerNombre, segundoNombre,
+                primerApellido, segundoApellido, telefono, direccion, ciudadResidencia);
+    }
+
+    /**
+     * Valores distintos guardados en todos los diccionarios.
+     *
+     * @return Cantidad de valores.
+     */
+    public int valoresEnDiccionarios() {
+        return tipos.tamano() + nombres.tamano() + apellidos.tamano() + ciudades.tamano();
+    }
+
+    /**
+     * Asigna códigos consecutivos a valores distintos. Las lecturas no toman bloqueos; solo el
+     * alta de un valor nuevo se serializa.
+     */
+    private static final class Diccionario {
+
+        private final ConcurrentHashMap<String, Integer> codigos = new ConcurrentHashMap<>();
+        private final int maximo;
+        private volatile String[] valores = new String[64];
+        private volatile int tamano;
+
+        Diccionario(int maximo) {
+            this.maximo = maximo;
+        }
+
+        /**
+         * @return Código del valor, o {@code -1} si el diccionario está lleno.
+         */
+        int codigo(String valor) {
+            Integer codigo = codigos.get(valor);
+            return codigo != null ? codigo : agregar(valor);
+        }
+
+        private synchronized int agregar(String valor) {
+            Integer existente = codigos.get(valor);
+            if (existente != null) {
+                return existente;
+            }
+            int codigo = tamano;
+            if (codigo == maximo) {
+                return -1;
+            }
+            String[] actuales = valores;
+            if (codigo == actuales.length) {
+                actuales = Arrays.copyOf(actuales, codigo * 2);
+                valores = actuales;
+            }
+            actuales[codigo] = valor;
+            tamano = codigo + 1;
+            codigos.put(valor, codigo);
+            return codigo;
+        }
+
+        String valor(int codigo) {
+            return valores[codigo];
+        }
+
+        String canonico(String valor) {
+            int codigo = codigo(valor);
+            return codigo < 0 ? valor : valores[codigo];
+        }
+
+        int tamano() {
+            return tamano;
+        }
+    }
+
+    private static final class Escritura {
+
+        private byte[] bytes = new byte[48];
+        private int posicion;
+
+        void diccionario(Diccionario diccionario, String valor) {
+            if (valor == null) {
+                varint(0);
+                return;
+            }
+            int codigo = diccionario.codigo(valor);
+            if (codigo < 0) {
+                literal(valor);
+            } else {
+                varint(((long) codigo << 1) | 1);
+            }
+        }
+
+        void literal(String valor) {
+            if (valor == null) {
+                varint(0);
+                return;
+            }
+            byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+            varint((long) (utf8.length + 1) << 1);
+            asegurar(utf8.length);
+            System.arraycopy(utf8, 0, bytes, posicion, utf8.length);
+            posicion += utf8.length;
+        }
+
+        private void varint(long valor) {
+            asegurar(5);
+            while ((valor & ~0x7FL) != 0) {
+                bytes[posicion++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            bytes[posicion++] = (byte) valor;
+        }
+
+        private void asegurar(int adicionales) {
+            if (posicion + adicionales > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, posicion + adicionales));
+            }
+        }
+
+        byte[] resultado() {
+            return Arrays.copyOf(bytes, posicion);
+        }
+    }
+
+    private static final class Lectura {
+
+        private final byte[] bytes;
+        private int posicion;
+
+        Lectura(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        String campo(Diccionario diccionario) {
+            long valor = varint();
+            if (valor == 0) {
+                return null;
+            }
+            if ((valor & 1) == 1) {
+                return diccionario.valor((int) (valor >>> 1));
+            }
+            int longitud = (int) (valor >>> 1) - 1;
+            String texto = new String(bytes, posicion, longitud, StandardCharsets.UTF_8);
+            posicion += longitud;
+            return texto;
+        }
+
+        private long varint() {
+            long valor = 0;
+            int desplazamiento = 0;
+            byte b;
+            do {
+                b = bytes[posicion++];
+                valor |= (long) (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while (b < 0);
+            return valor;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.clinicos.backend.api.rest.infrastructure.cache;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Implementación de {@link ClienteCache} sobre Caffeine que guarda cada cliente codificado con
+ * {@link CodificadorClientes} en lugar del objeto {@link Cliente}.
+ * <p>
+ * Mismo desalojo W-TinyLFU, TTL y estadísticas que {@link CaffeineClienteCache}, con otra relación
+ * entre memoria y CPU:
+ * <ul>
+ *   <li><b>Memoria:</b> cada entrada retiene un {@code byte[]} en lugar de un {@code Cliente} con nueve
+ *       {@code String}; caben varias veces más clientes en el mismo heap.</li>
+ *   <li><b>CPU:</b> cada acierto decodifica un {@code Cliente} nuevo (los valores de diccionario son
+ *       compartidos; teléfono y dirección se copian).</li>
+ * </ul>
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class CompactaClienteCache implements ClienteCachePrecargable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactaClienteCache.class);
+
+    private final Cache<ClaveCliente, byte[]> cache;
+    private final CodificadorClientes codificador;
+
+    /**
+     * Crea la caché con los límites indicados.
+     *
+     * @param tamanoMaximo Número máximo de clientes en caché, mayor que 0.
+     * @param ttl Tiempo de vida de cada entrada desde que se escribe.
+     * @param codificador Codificador compartido por todas las entradas.
+     */
+    public CompactaClienteCache(long tamanoMaximo, Duration ttl, CodificadorClientes codificador) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.codificador = codificador;
+        logger.info("🗜️ Caché compacta de clientes creada con tamanoMaximo={} y ttl={}", tamanoMaximo, ttl);
+    }
+
+    @Override
+    public Optional<Cliente> obtener(ClaveCliente clave, Function<ClaveCliente, Optional<Cliente>> cargador) {
+        byte[] enCache = cache.getIfPresent(clave);
+        if (enCache != null) {
+            return Optional.of(codificador.decodificar(clave, enCache));
+        }
+        Optional<Cliente> cargado = cargador.apply(clave);
+        cargado.ifPresent(cliente -> cache.put(codificador.canonica(clave), codificador.codificar(cliente)));
+        return cargado;
+    }
+
+    @Override
+    public Map<ClaveCliente, Cliente> obtenerTodos(Collection<ClaveCliente> claves,
+                                                   Function<Set<ClaveCliente>, Map<ClaveCliente, Cliente>> cargador) {
+        List<ClaveCliente> canonicas = claves.stream().map(codificador::canonica).toList();
+        Map<ClaveCliente, Cliente> cargados = new HashMap<>();
+        Map<ClaveCliente, byte[]> codificados = cache.getAll(canonicas, ausentes -> {
+            Map<ClaveCliente, byte[]> nuevos = new HashMap<>();
+            cargador.apply(Set.copyOf(ausentes)).forEach((clave, cliente) -> {
+                cargados.put(clave, cliente);
+                nuevos.put(clave, codificador.codificar(cliente));
+            });
+            return nuevos;
+        });
+        Map<ClaveCliente, Cliente> resultado = new LinkedHashMap<>(codificados.size() * 2);
+        codificados.forEach((clave, datos) -> {
+            Cliente cargado = cargados.get(clave);
+            resultado.put(clave, cargado != null ? cargado : codificador.decodificar(clave, datos));
+        });
+        return resultado;
+    }
+
+    @Override
+    public void invalidar(ClaveCliente clave) {
+        cache.invalidate(clave);
+    }
+
+    @Override
+    public List<Cliente> masConsultados(int limite) {
+        return cache.policy().eviction()
+                .map(desalojo -> desalojo.hottest(limite).entrySet().stream()
+                        .map(entrada -> codificador.decodificar(entrada.getKey(), entrada.getValue()))
+                        .toList())
+                .orElse(List.of());
+    }
+
+    @Override
+    public void precargar(Cliente cliente) {
+        cache.put(codificador.canonica(ClaveCliente.de(cliente)), codificador.codificar(cliente));
+    }
+
+    /**
+     * Estadísticas acumuladas de aciertos, fallos y desalojos.
+     *
+     * @return Instantánea de {@link CacheStats}.
+     */
+    public CacheStats estadisticas() {
+        return cache.stats();
+    }
+
+    /**
+     * Codificador de las entradas, expuesto para publicar el tamaño de sus diccionarios.
+     *
+     * @return Codificador de esta caché.
+     */
+    public CodificadorClientes getCodificador() {
+        return codificador;
+    }
+
+    /**
+     * Caché nativa de Caffeine, usada para registrar métricas.
+     *
+     * @return Instancia de {@link Cache} subyacente.
+     */
+    public Cache<ClaveCliente, byte[]> getNativeCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,242 @@
+package com.clinicos.backend.api.rest.infrastructure.cache;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Instantánea en disco de los clientes más consultados de la caché, para arrancar con la caché caliente.
+ * <p>
+ * Tras un despliegue, una caché vacía envía todo el tráfico inicial a {@code sp_ObtenerCliente}. Con la
+ * instantánea, la caché arranca con los clientes que más se consultaban antes del reinicio.
+ * <ul>
+ *   <li><b>Escritura:</b> periódica y al cerrar la aplicación. Se escribe en un archivo temporal que luego
+ *       reemplaza al anterior con un movimiento atómico, así que una caída nunca deja una instantánea a medias.</li>
+ *   <li><b>Formato:</b> cabecera (magia, versión, fecha de escritura, cantidad), un registro binario por
+ *       cliente y un CRC32 final. Una instantánea dañada o de otra versión se descarta completa.</li>
+ *   <li><b>Lectura:</b> secuencial con búfer, antes de que la aplicación acepte tráfico.</li>
+ *   <li><b>Antigüedad:</b> una instantánea más antigua que {@code antiguedadMaxima} no se carga, para no
+ *       servir datos más viejos de lo que la caché ya tolera por su TTL.</li>
+ * </ul>
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class InstantaneaClienteCache implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstantaneaClienteCache.class);
+
+    private static final int MAGIA = 0x434C4953; // "CLIS"
+    private static final int VERSION = 1;
+    private static final int TAMANO_BUFER = 64 * 1024;
+
+    private final ClienteCachePrecargable cache;
+    private final Path archivo;
+    private final int maximoClientes;
+    private final Duration antiguedadMaxima;
+    private ScheduledExecutorService programador;
+    private volatile int cargados;
+    private volatile long milisegundosCarga;
+
+    /**
+     * @param cache Caché a volcar y precargar.
+     * @param archivo Archivo de la instantánea; su directorio se crea al escribir.
+     * @param maximoClientes Número máximo de clientes por instantánea.
+     * @param antiguedadMaxima Antigüedad a partir de la cual una instantánea se descarta al cargar.
+     */
+    public InstantaneaClienteCache(ClienteCachePrecargable cache, Path archivo, int maximoClientes, Duration antiguedadMaxima) {
+        this.cache = cache;
+        this.archivo = archivo;
+        this.maximoClientes = maximoClientes;
+        this.antiguedadMaxima = antiguedadMaxima;
+    }
+
+    /**
+     * Precarga en la caché los clientes de la instantánea, si existe, es válida y no está vencida.
+     * Ningún error de lectura se propaga: en el peor caso la caché arranca vacía.
+     *
+     * @return Número de clientes precargados.
+     */
+    public int cargar() {
+        if (!Files.exists(archivo)) {
+            logger.info("♨️ No hay instantánea de caché en {}; la caché arranca vacía", archivo);
+            return 0;
+        }
+        long inicio = System.nanoTime();
+        List<Cliente> clientes;
+        try {
+            clientes = leer();
+        } catch (IOException e) {
+            logger.warn("⚠️ No se pudo leer la instantánea de caché {}; la caché arranca vacía: {}", archivo, e.getMessage());
+            return 0;
+        }
+        if (clientes == null) {
+            return 0;
+        }
+        clientes.forEach(cache::precargar);
+        cargados = clientes.size();
+        milisegundosCarga = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+        logger.info("♨️ Instantánea de caché cargada: {} clientes en {} ms", cargados, milisegundosCarga);
+        return cargados;
+    }
+
+    /**
+     * @return Clientes leídos, o {@code null} si la instantánea no debe cargarse.
+     */
+    private List<Cliente> leer() throws IOException {
+        CheckedInputStream verificada = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(archivo), TAMANO_BUFER), new CRC32());
+        try (DataInputStream entrada = new DataInputStream(verificada)) {
+            if (entrada.readInt() != MAGIA || entrada.readInt() != VERSION) {
+                logger.warn("⚠️ {} no es una instantánea de caché de esta versión; se ignora", archivo);
+                return null;
+            }
+            Duration antiguedad = Duration.ofMillis(System.currentTimeMillis() - entrada.readLong());
+            if (antiguedad.compareTo(antiguedadMaxima) > 0) {
+                logger.info("♨️ Instantánea de caché vencida ({} > {}); la caché arranca vacía", antiguedad, antiguedadMaxima);
+                return null;
+            }
+            int cantidad = Math.min(entrada.readInt(), maximoClientes);
+            List<Cliente> clientes = new ArrayList<>(Math.max(cantidad, 0));
+            for (int i = 0; i < cantidad; i++) {
+                clientes.add(new Cliente(entrada.readUTF(), entrada.readLong(), campo(entrada), campo(entrada),
+                        campo(entrada), campo(entrada), campo(entrada), campo(entrada), campo(entrada)));
+            }
+            long esperado = verificada.getChecksum().getValue();
+            if (entrada.readLong() != esperado) {
+                logger.warn("⚠️ La instantánea de caché {} está dañada (CRC distinto); se ignora", archivo);
+                return null;
+            }
+            return clientes;
+        } catch (EOFException e) {
+            logger.warn("⚠️ La instantánea de caché {} está incompleta; se ignora", archivo);
+            return null;
+        }
+    }
+
+    private static String campo(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+
+    /**
+     * Escribe la instantánea con los clientes más consultados de la caché.
+     *
+     * @return Número de clientes escritos.
+     * @throws IOException Si no se puede escribir o reemplazar el archivo.
+     */
+    public synchronized int guardar() throws IOException {
+        long inicio = System.nanoTime();
+        List<Cliente> clientes = cache.masConsultados(maximoClientes);
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        CheckedOutputStream verificada = new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal), TAMANO_BUFER), new CRC32());
+        try (DataOutputStream salida = new DataOutputStream(verificada)) {
+            salida.writeInt(MAGIA);
+            salida.writeInt(VERSION);
+            salida.writeLong(System.currentTimeMillis());
+            salida.writeInt(clientes.size());
+            for (Cliente cliente : clientes) {
+                salida.writeUTF(cliente.getTipoDocumento());
+                salida.writeLong(cliente.getNumeroDocumento());
+                campo(salida, cliente.getPrimerNombre());
+                campo(salida, cliente.getSegundoNombre());
+                campo(salida, cliente.getPrimerApellido());
+                campo(salida, cliente.getSegundoApellido());
+                campo(salida, cliente.getTelefono());
+                campo(salida, cliente.getDireccion());
+                campo(salida, cliente.getCiudadResidencia());
+            }
+            salida.writeLong(verificada.getChecksum().getValue());
+        }
+        Files.move(temporal, archivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        if (logger.isDebugEnabled()) {
+            logger.debug("💾 Instantánea de caché escrita: {} clientes en {} ms", clientes.size(),
+                    Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+        }
+        return clientes.size();
+    }
+
+    private static void campo(DataOutputStream salida, String valor) throws IOException {
+        salida.writeBoolean(valor != null);
+        if (valor != null) {
+            salida.writeUTF(valor);
+        }
+    }
+
+    /**
+     * Escribe la instantánea cada {@code periodo} en un hilo propio.
+     *
+     * @param periodo Tiempo entre el final de una escritura y el inicio de la siguiente.
+     */
+    public synchronized void programar(Duration periodo) {
+        if (programador != null) {
+            throw new IllegalStateException("La instantánea de caché ya está programada");
+        }
+        programador = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("instantanea-cache").daemon().factory());
+        programador.scheduleWithFixedDelay(this::guardarSinPropagar, periodo.toMillis(), periodo.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("♨️ Instantánea de caché programada cada {} en {}", periodo, archivo);
+    }
+
+    private void guardarSinPropagar() {
+        try {
+            guardar();
+        } catch (Exception e) {
+            logger.error("💥 Error al escribir la instantánea de caché en {}", archivo, e);
+        }
+    }
+
+    /**
+     * Detiene la escritura periódica y escribe una última instantánea. Spring lo invoca al cerrar el contexto,
+     * justo antes de que el proceso termine en un despliegue.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (programador != null) {
+                programador.shutdownNow();
+            }
+        }
+        guardarSinPropagar();
+        logger.info("💾 Instantánea de caché escrita al cerrar en {}", archivo);
+    }
+
+    /**
+     * @return Clientes precargados en el último arranque.
+     */
+    public int cargados() {
+        return cargados;
+    }
+
+    /**
+     * @return Duración en milisegundos de la última carga.
+     */
+    public long milisegundosCarga() {
+        return milisegundosCarga;
+    }
+}
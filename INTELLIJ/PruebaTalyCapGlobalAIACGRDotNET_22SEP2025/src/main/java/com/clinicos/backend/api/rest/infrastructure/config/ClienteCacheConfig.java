@@ -0,0 +1,117 @@
+package com.clinicos.backend.api.rest.infrastructure.config;
+
+import com.clinicos.backend.api.rest.domain.ports.ClienteCache;
+import com.clinicos.backend.api.rest.infrastructure.cache.CaffeineClienteCache;
+import com.clinicos.backend.api.rest.infrastructure.cache.ClienteCachePrecargable;
+import com.clinicos.backend.api.rest.infrastructure.cache.CodificadorClientes;
+import com.clinicos.backend.api.rest.infrastructure.cache.CompactaClienteCache;
+import com.clinicos.backend.api.rest.infrastructure.cache.InstantaneaClienteCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuración de la caché de lectura de clientes.
+ * <p>
+ * Propiedades soportadas:
+ * <ul>
+ *   <li>{@code clientes.cache.enabled}: habilita la caché (por defecto {@code true}).</li>
+ *   <li>{@code clientes.cache.tamano-maximo}: número máximo de clientes en memoria.</li>
+ *   <li>{@code clientes.cache.ttl}: tiempo de vida de cada entrada (ej. {@code 10m}).</li>
+ *   <li>{@code clientes.cache.compacta}: guarda los clientes codificados con {@link CodificadorClientes}
+ *       (por defecto {@code false}). Reduce la memoria por cliente a cambio de decodificar en cada acierto.</li>
+ *   <li>{@code clientes.cache.instantanea.enabled}: guarda en disco los clientes más consultados y los
+ *       precarga al arrancar (por defecto {@code false}). Ver {@link InstantaneaClienteCache}.</li>
+ *   <li>{@code clientes.cache.instantanea.archivo}: archivo de la instantánea. Guarda nombres, teléfonos y
+ *       direcciones sin cifrar: debe estar en un directorio con acceso restringido.</li>
+ *   <li>{@code clientes.cache.instantanea.maximo-clientes}: clientes por instantánea (por defecto el
+ *       tamaño máximo de la caché).</li>
+ *   <li>{@code clientes.cache.instantanea.periodo}: tiempo entre escrituras.</li>
+ *   <li>{@code clientes.cache.instantanea.antiguedad-maxima}: antigüedad a partir de la cual la
+ *       instantánea no se carga (por defecto el TTL de la caché).</li>
+ * </ul>
+ * Los contadores de aciertos, fallos y desalojos se publican como métricas {@code cache.*}
+ * con la etiqueta {@code cache=clientes}. Con la caché compacta, {@code clientes.cache.diccionario.valores}
+ * indica cuántos valores distintos guardan sus diccionarios. Con la instantánea,
+ * {@code clientes.cache.instantanea.cargados} y {@code clientes.cache.instantanea.carga} indican cuántos
+ * clientes se precargaron y cuánto tardó la carga; la tasa de aciertos tras el reinicio se lee en {@code cache.gets}.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+@Configuration
+public class ClienteCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClienteCacheConfig.class);
+
+    static final String NOMBRE_CACHE = "clientes";
+
+    @Bean
+    ClienteCache clienteCache(
+            @Value("${clientes.cache.enabled:true}") boolean habilitada,
+            @Value("${clientes.cache.tamano-maximo:10000}") long tamanoMaximo,
+            @Value("${clientes.cache.ttl:10m}") Duration ttl,
+            @Value("${clientes.cache.compacta:false}") boolean compacta,
+            MeterRegistry meterRegistry
+    ) {
+        if (!habilitada) {
+            logger.info("⚡ Caché de clientes deshabilitada por configuración");
+            return ClienteCache.deshabilitada();
+        }
+        if (compacta) {
+            CompactaClienteCache cache = new CompactaClienteCache(tamanoMaximo, ttl, new CodificadorClientes());
+            CaffeineCacheMetrics.monitor(meterRegistry, cache.getNativeCache(), NOMBRE_CACHE);
+            Gauge.builder("clientes.cache.diccionario.valores", cache.getCodificador(), CodificadorClientes::valoresEnDiccionarios)
+                    .description("Valores distintos en los diccionarios de la caché compacta")
+                    .register(meterRegistry);
+            return cache;
+        }
+        CaffeineClienteCache cache = new CaffeineClienteCache(tamanoMaximo, ttl);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.getNativeCache(), NOMBRE_CACHE);
+        return cache;
+    }
+
+    /**
+     * Precarga la caché con la última instantánea y programa las siguientes escrituras.
+     * <p>
+     * La carga se hace al crear el bean, antes de que arranque el servidor web, así que la aplicación
+     * no recibe tráfico (ni se reporta lista) hasta tener la caché caliente. Al cerrar el contexto se
+     * escribe una última instantánea.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnExpression("${clientes.cache.enabled:true} and ${clientes.cache.instantanea.enabled:false}")
+    InstantaneaClienteCache instantaneaClienteCache(
+            ClienteCache clienteCache,
+            @Value("${clientes.cache.instantanea.archivo:datos/instantanea-clientes.bin}") Path archivo,
+            @Value("${clientes.cache.instantanea.maximo-clientes:${clientes.cache.tamano-maximo:10000}}") int maximoClientes,
+            @Value("${clientes.cache.instantanea.periodo:1m}") Duration periodo,
+            @Value("${clientes.cache.instantanea.antiguedad-maxima:${clientes.cache.ttl:10m}}") Duration antiguedadMaxima,
+            MeterRegistry meterRegistry
+    ) {
+        if (!(clienteCache instanceof ClienteCachePrecargable precargable)) {
+            throw new IllegalStateException("La caché de clientes no admite instantáneas: " + clienteCache.getClass().getName());
+        }
+        InstantaneaClienteCache instantanea = new InstantaneaClienteCache(precargable, archivo, maximoClientes, antiguedadMaxima);
+        instantanea.cargar();
+        instantanea.programar(periodo);
+        Gauge.builder("clientes.cache.instantanea.cargados", instantanea, InstantaneaClienteCache::cargados)
+                .description("Clientes precargados en la caché desde la instantánea al arrancar")
+                .register(meterRegistry);
+        TimeGauge.builder("clientes.cache.instantanea.carga", instantanea, TimeUnit.MILLISECONDS, InstantaneaClienteCache::milisegundosCarga)
+                .description("Duración de la carga de la instantánea de caché al arrancar")
+                .register(meterRegistry);
+        return instantanea;
+    }
+}
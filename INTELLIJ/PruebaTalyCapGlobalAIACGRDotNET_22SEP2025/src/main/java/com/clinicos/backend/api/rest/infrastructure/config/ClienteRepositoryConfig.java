@@ -0,0 +1,328 @@
+package com.clinicos.backend.api.rest.infrastructure.config;
+
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.CircuitoClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRepositoryImpl;
+import com.clinicos.backend.api.rest.infrastructure.repository.ConcurrenciaLimitadaClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.ConsultaCompartidaClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.EscrituraDiferidaClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.FiltroBloomClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.FiltroBloomClientes;
+import com.clinicos.backend.api.rest.infrastructure.repository.IndiceNombresClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.IndiceNombresClientes;
+import com.clinicos.backend.api.rest.infrastructure.repository.LecturaReplicaClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.LimiteAdaptativoClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.MapeadoClienteRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Ensambla el {@link ClienteRepository} que usa la capa de aplicación.
+ * <p>
+ * El adaptador base es el JDBC ({@link ClienteRepositoryImpl}) o, con {@code clientes.repositorio.tipo=mapeado},
+ * el de archivos proyectados en memoria ({@link MapeadoClienteRepository}). Se envuelve con los decoradores
+ * habilitados por configuración. El bean resultante es {@link Primary}, de modo que {@code ClienteService}
+ * sigue dependiendo solo del puerto.
+ * <p>
+ * Propiedades soportadas:
+ * <ul>
+ *   <li>{@code clientes.repositorio.tipo}: {@code jdbc} (por defecto) o {@code mapeado}.</li>
+ *   <li>{@code clientes.repositorio.mapeado.directorio}: directorio de los archivos del adaptador mapeado.</li>
+ *   <li>{@code clientes.repositorio.mapeado.capacidad-inicial}: clientes esperados, para dimensionar su índice.</li>
+ *   <li>{@code clientes.db.concurrencia-maxima}: operaciones simultáneas contra la base de datos; por defecto el
+ *       tamaño del pool ({@code clientes.db.pool.tamano-maximo}, ver {@link PoolConexionesConfig}).
+ *       Imprescindible con hilos virtuales ({@code spring.threads.virtual.enabled}).</li>
+ *   <li>{@code clientes.db.espera-maxima}: espera máxima por capacidad antes de fallar.</li>
+ *   <li>{@code clientes.db.replica.enabled}: cubre la búsqueda por documento con una réplica de lectura
+ *       (por defecto {@code false}). Ver {@link LecturaReplicaClienteRepository}; la réplica se define con
+ *       {@code .url}, {@code .username} y {@code .password}, y la cobertura con {@code .percentil},
+ *       {@code .retraso-inicial} y {@code .retraso-minimo}.</li>
+ *   <li>{@code clientes.db.limite-adaptativo.enabled}: descarta de inmediato las operaciones que exceden un límite
+ *       ajustado según la latencia (por defecto {@code true}). Ver {@link LimiteAdaptativoClienteRepository}; se
+ *       configura con {@code .inicial}, {@code .minimo}, {@code .maximo} y {@code .latencia-objetivo}.</li>
+ *   <li>{@code clientes.db.circuito.enabled}: deja de consultar la base de datos mientras falla o responde
+ *       lento (por defecto {@code true}). Ver {@link CircuitoClienteRepository}; se configura con
+ *       {@code .ventana}, {@code .minimo-llamadas}, {@code .umbral-errores}, {@code .umbral-lentas},
+ *       {@code .llamada-lenta}, {@code .espera-abierto} y {@code .llamadas-prueba}.</li>
+ *   <li>{@code clientes.db.consultas-compartidas.enabled}: las búsquedas simultáneas del mismo documento
+ *       comparten una sola llamada a la base de datos (por defecto {@code true}). Las solicitudes que
+ *       no consultaron se cuentan en {@code clientes.db.consultas.colapsadas}.</li>
+ *   <li>{@code clientes.escritura.diferida.enabled}: difiere las inserciones individuales y las escribe en
+ *       lotes (por defecto {@code false}). Ver {@link EscrituraDiferidaClienteRepository}; se configura con
+ *       {@code clientes.escritura.diferida.capacidad}, {@code .lote}, {@code .intervalo} y {@code .espera-maxima}.</li>
+ *   <li>{@code clientes.bloom.enabled}: habilita el filtro de Bloom de claves existentes (por defecto
+ *       {@code false}; solo con {@code jdbc}: el adaptador mapeado ya responde una clave inexistente sin salir
+ *       de memoria). El filtro se carga al arrancar y después solo aprende las inserciones de esta instancia
+ *       y, con {@code clientes.cache.invalidacion.enabled}, las que avisan las demás. Solo es seguro si toda
+ *       escritura en la tabla pasa por la aplicación: un cliente insertado por otra vía responde 404 hasta
+ *       el siguiente arranque.</li>
+ *   <li>{@code clientes.bloom.capacidad}: número de claves esperadas.</li>
+ *   <li>{@code clientes.bloom.tasa-falsos-positivos}: tasa objetivo de falsos positivos.</li>
+ *   <li>{@code clientes.busqueda.enabled}: habilita el índice en memoria para la búsqueda por nombre (por
+ *       defecto {@code false}). Cada instancia recorre la tabla completa al arrancar y retiene unos 70 bytes
+ *       de heap por cliente; ver {@link IndiceNombresClientes}.</li>
+ * </ul>
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+@Configuration
+public class ClienteRepositoryConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClienteRepositoryConfig.class);
+
+    private static final String FILTRO_BLOOM_HABILITADO =
+            "${clientes.bloom.enabled:false} and '${clientes.repositorio.tipo:jdbc}' == 'jdbc'";
+
+    @Bean
+    @ConditionalOnProperty(name = "clientes.repositorio.tipo", havingValue = "mapeado")
+    MapeadoClienteRepository mapeadoClienteRepository(
+            @Value("${clientes.repositorio.mapeado.directorio:datos/clientes}") Path directorio,
+            @Value("${clientes.repositorio.mapeado.capacidad-inicial:1000000}") long capacidadInicial,
+            MeterRegistry meterRegistry
+    ) {
+        MapeadoClienteRepository repositorio = MapeadoClienteRepository.abrir(directorio, capacidadInicial);
+        Gauge.builder("clientes.mapeado.clientes", repositorio, MapeadoClienteRepository::clientes)
+                .description("Clientes guardados en el repositorio mapeado")
+                .register(meterRegistry);
+        Gauge.builder("clientes.mapeado.datos", repositorio, MapeadoClienteRepository::bytesDatos)
+                .description("Bytes usados del archivo de datos del repositorio mapeado")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("clientes.mapeado.indice.capacidad", repositorio, MapeadoClienteRepository::capacidadIndice)
+                .description("Entradas del índice del repositorio mapeado")
+                .register(meterRegistry);
+        return repositorio;
+    }
+
+    @Bean
+    @ConditionalOnExpression(FILTRO_BLOOM_HABILITADO)
+    FiltroBloomClientes filtroBloomClientes(
+            @Value("${clientes.bloom.capacidad:1000000}") long capacidad,
+            @Value("${clientes.bloom.tasa-falsos-positivos:0.01}") double tasaFalsosPositivos,
+            MeterRegistry meterRegistry
+    ) {
+        FiltroBloomClientes filtro = new FiltroBloomClientes(capacidad, tasaFalsosPositivos);
+        Gauge.builder("clientes.bloom.falsos.positivos", filtro, FiltroBloomClientes::tasaFalsosPositivosEstimada)
+                .description("Tasa estimada de falsos positivos del filtro de Bloom")
+                .register(meterRegistry);
+        Gauge.builder("clientes.bloom.memoria", filtro, FiltroBloomClientes::memoriaBytes)
+                .description("Memoria ocupada por el filtro de Bloom")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("clientes.bloom.elementos", filtro, FiltroBloomClientes::elementos)
+                .description("Claves agregadas al filtro de Bloom")
+                .register(meterRegistry);
+        logger.info("🧮 Filtro de Bloom creado: capacidad={}, memoria={} bytes, hashes={}",
+                capacidad, filtro.memoriaBytes(), filtro.getNumeroHashes());
+        return filtro;
+    }
+
+    /**
+     * Carga el filtro de Bloom desde la tabla Clientes en un hilo aparte. Mientras la carga
+     * no termina, el filtro no descarta ninguna consulta.
+     */
+    @Bean
+    @ConditionalOnExpression(FILTRO_BLOOM_HABILITADO)
+    ApplicationRunner cargaFiltroBloom(FiltroBloomClientes filtro, ClienteRepositoryImpl clienteRepositoryImpl) {
+        return args -> Thread.ofPlatform().name("filtro-bloom-carga").daemon().start(() -> {
+            try {
+                long total = clienteRepositoryImpl.recorrerClaves(filtro::agregar);
+                filtro.marcarListo();
+                logger.info("✅ Filtro de Bloom listo con {} claves, tasa estimada de falsos positivos={}",
+                        total, filtro.tasaFalsosPositivosEstimada());
+            } catch (Exception e) {
+                logger.error("💥 Error al cargar el filtro de Bloom; las consultas irán siempre a la DB", e);
+            }
+        });
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "clientes.busqueda.enabled", havingValue = "true")
+    IndiceNombresClientes indiceNombresClientes(MeterRegistry meterRegistry) {
+        IndiceNombresClientes indice = new IndiceNombresClientes();
+        Gauge.builder("clientes.busqueda.clientes", indice, IndiceNombresClientes::clientes)
+                .description("Clientes agregados al índice de nombres")
+                .register(meterRegistry);
+        Gauge.builder("clientes.busqueda.palabras", indice, IndiceNombresClientes::palabrasDistintas)
+                .description("Palabras distintas en el índice de nombres")
+                .register(meterRegistry);
+        return indice;
+    }
+
+    /**
+     * Carga el índice de nombres desde el adaptador base (la tabla Clientes o el archivo mapeado) en un
+     * hilo aparte. Mientras la carga no termina, las búsquedas por nombre van al adaptador.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "clientes.busqueda.enabled", havingValue = "true")
+    ApplicationRunner cargaIndiceNombres(IndiceNombresClientes indice, ClienteRepositoryImpl clienteRepositoryImpl,
+                                         ObjectProvider<MapeadoClienteRepository> mapeado) {
+        return args -> Thread.ofPlatform().name("indice-nombres-carga").daemon().start(() -> {
+            try {
+                long inicio = System.nanoTime();
+                MapeadoClienteRepository repositorioMapeado = mapeado.getIfAvailable();
+                ClienteRepository origen = repositorioMapeado != null ? repositorioMapeado : clienteRepositoryImpl;
+                long total = origen.recorrerClientes(indice::agregar);
+                indice.marcarListo();
+                logger.info("✅ Índice de nombres listo con {} clientes y {} palabras en {} ms", total,
+                        indice.palabrasDistintas(), Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+            } catch (Exception e) {
+                logger.error("💥 Error al cargar el índice de nombres; las búsquedas irán siempre a la DB", e);
+            }
+        });
+    }
+
+    /**
+     * Pool de conexiones de la réplica de lectura. No es candidato por defecto: el {@code DataSource} y el
+     * {@code JdbcTemplate} autoconfigurados siguen siendo los del primario y solo se inyecta por nombre.
+     */
+    @Bean(defaultCandidate = false)
+    @ConditionalOnProperty(name = "clientes.db.replica.enabled", havingValue = "true")
+    HikariDataSource replicaDataSource(
+            @Value("${clientes.db.replica.url}") String url,
+            @Value("${clientes.db.replica.username:${spring.datasource.username:}}") String usuario,
+            @Value("${clientes.db.replica.password:${spring.datasource.password:}}") String clave
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(usuario)
+                .password(clave)
+                .build();
+        dataSource.setPoolName("clientes-replica");
+        dataSource.setReadOnly(true);
+        logger.info("🪞 Réplica de lectura configurada: {}", url);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    ClienteRepository clienteRepository(
+            ClienteRepositoryImpl clienteRepositoryImpl,
+            ObjectProvider<MapeadoClienteRepository> mapeado,
+            ObjectProvider<FiltroBloomClientes> filtroBloom,
+            ObjectProvider<IndiceNombresClientes> indiceNombres,
+            @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${clientes.db.concurrencia-maxima:${clientes.db.pool.tamano-maximo:10}}") int concurrenciaMaxima,
+            @Value("${clientes.db.espera-maxima:2s}") Duration esperaMaxima,
+            @Value("${clientes.db.replica.percentil:0.95}") double percentilReplica,
+            @Value("${clientes.db.replica.retraso-inicial:50ms}") Duration retrasoInicialReplica,
+            @Value("${clientes.db.replica.retraso-minimo:5ms}") Duration retrasoMinimoReplica,
+            @Value("${clientes.db.limite-adaptativo.enabled:true}") boolean limiteAdaptativo,
+            @Value("${clientes.db.limite-adaptativo.inicial:20}") int limiteInicial,
+            @Value("${clientes.db.limite-adaptativo.minimo:2}") int limiteMinimo,
+            @Value("${clientes.db.limite-adaptativo.maximo:200}") int limiteMaximo,
+            @Value("${clientes.db.limite-adaptativo.latencia-objetivo:500ms}") Duration latenciaObjetivo,
+            @Value("${clientes.db.circuito.enabled:true}") boolean circuito,
+            @Value("${clientes.db.circuito.ventana:50}") int ventanaCircuito,
+            @Value("${clientes.db.circuito.minimo-llamadas:20}") int minimoLlamadasCircuito,
+            @Value("${clientes.db.circuito.umbral-errores:0.5}") double umbralErrores,
+            @Value("${clientes.db.circuito.umbral-lentas:0.8}") double umbralLentas,
+            @Value("${clientes.db.circuito.llamada-lenta:2s}") Duration llamadaLenta,
+            @Value("${clientes.db.circuito.espera-abierto:10s}") Duration esperaAbierto,
+            @Value("${clientes.db.circuito.llamadas-prueba:5}") int llamadasPrueba,
+            @Value("${clientes.db.consultas-compartidas.enabled:true}") boolean consultasCompartidas,
+            @Value("${clientes.escritura.diferida.enabled:false}") boolean escrituraDiferida,
+            @Value("${clientes.escritura.diferida.capacidad:10000}") int capacidadEscritura,
+            @Value("${clientes.escritura.diferida.lote:500}") int loteEscritura,
+            @Value("${clientes.escritura.diferida.intervalo:10ms}") Duration intervaloEscritura,
+            @Value("${clientes.escritura.diferida.espera-maxima:1s}") Duration esperaEscritura
+    ) {
+        IndiceNombresClientes indice = indiceNombres.getIfAvailable();
+        MapeadoClienteRepository repositorioMapeado = mapeado.getIfAvailable();
+        if (repositorioMapeado != null) {
+            logger.info("🗺️ Repositorio de clientes: archivos mapeados en memoria");
+            return indice != null ? new IndiceNombresClienteRepository(repositorioMapeado, indice) : repositorioMapeado;
+        }
+        ConcurrenciaLimitadaClienteRepository limitado =
+                new ConcurrenciaLimitadaClienteRepository(clienteRepositoryImpl, concurrenciaMaxima, esperaMaxima, meterRegistry);
+        Gauge.builder("clientes.db.permisos.disponibles", limitado, ConcurrenciaLimitadaClienteRepository::permisosDisponibles)
+                .description("Operaciones de base de datos que pueden iniciar sin esperar")
+                .register(meterRegistry);
+        Gauge.builder("clientes.db.operaciones.en.espera", limitado, ConcurrenciaLimitadaClienteRepository::operacionesEnEspera)
+                .description("Operaciones esperando capacidad de base de datos")
+                .register(meterRegistry);
+        logger.info("🚦 Concurrencia máxima hacia la base de datos: {}", concurrenciaMaxima);
+
+        ClienteRepository repositorio = limitado;
+        HikariDataSource replica = replicaDataSource.getIfAvailable();
+        if (replica != null) {
+            // Debajo del límite adaptativo y del circuito: miden la latencia ya cubierta por la réplica
+            LecturaReplicaClienteRepository conReplica = new LecturaReplicaClienteRepository(repositorio,
+                    clienteRepositoryImpl.sobre(replica), percentilReplica, retrasoInicialReplica,
+                    retrasoMinimoReplica, meterRegistry);
+            Gauge.builder("clientes.db.replica.retraso", conReplica, l -> l.retrasoActual().toNanos() / 1e6)
+                    .description("Espera al primario antes de consultar también la réplica")
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            repositorio = conReplica;
+        }
+        if (limiteAdaptativo) {
+            LimiteAdaptativoClienteRepository adaptativo = new LimiteAdaptativoClienteRepository(repositorio,
+                    limiteInicial, limiteMinimo, limiteMaximo, latenciaObjetivo, meterRegistry);
+            Gauge.builder("clientes.db.limite.actual", adaptativo, LimiteAdaptativoClienteRepository::limiteActual)
+                    .description("Operaciones de base de datos en curso admitidas antes de descartar carga")
+                    .register(meterRegistry);
+            Gauge.builder("clientes.db.limite.en.curso", adaptativo, LimiteAdaptativoClienteRepository::operacionesEnCurso)
+                    .description("Operaciones de base de datos admitidas por el límite adaptativo que aún no terminan")
+                    .register(meterRegistry);
+            repositorio = adaptativo;
+        }
+        if (circuito) {
+            // Por encima del límite: con el circuito abierto las operaciones fallan sin ocupar capacidad
+            CircuitoClienteRepository conCircuito = new CircuitoClienteRepository(repositorio, ventanaCircuito,
+                    minimoLlamadasCircuito, umbralErrores, umbralLentas, llamadaLenta, esperaAbierto, llamadasPrueba,
+                    meterRegistry);
+            Gauge.builder("clientes.db.circuito.estado", conCircuito, c -> c.getEstado().ordinal())
+                    .description("Estado del circuito hacia la base de datos: 0 cerrado, 1 semiabierto, 2 abierto")
+                    .register(meterRegistry);
+            repositorio = conCircuito;
+        }
+        if (consultasCompartidas) {
+            ConsultaCompartidaClienteRepository compartida = new ConsultaCompartidaClienteRepository(repositorio,
+                    meterRegistry.counter("clientes.db.consultas.colapsadas"));
+            Gauge.builder("clientes.db.consultas.en.curso", compartida, ConsultaCompartidaClienteRepository::consultasEnCurso)
+                    .description("Búsquedas por documento en curso que otras solicitudes pueden compartir")
+                    .register(meterRegistry);
+            repositorio = compartida;
+        }
+        FiltroBloomClientes filtro = filtroBloom.getIfAvailable();
+        if (filtro != null) {
+            repositorio = new FiltroBloomClienteRepository(repositorio, filtro,
+                    meterRegistry.counter("clientes.bloom.descartes"));
+        }
+        if (indice != null) {
+            repositorio = new IndiceNombresClienteRepository(repositorio, indice);
+        }
+        if (escrituraDiferida) {
+            // Decorador externo: atiende primero las lecturas de clientes pendientes, y Spring lo cierra
+            // (escribiendo lo pendiente) al destruir este bean, después de detener el servidor web.
+            EscrituraDiferidaClienteRepository diferida = new EscrituraDiferidaClienteRepository(repositorio,
+                    capacidadEscritura, loteEscritura, intervaloEscritura, esperaEscritura, meterRegistry);
+            Gauge.builder("clientes.escritura.diferida.pendientes", diferida, EscrituraDiferidaClienteRepository::pendientes)
+                    .description("Clientes aceptados que aún no se escriben en la base de datos")
+                    .register(meterRegistry);
+            repositorio = diferida;
+        }
+        return repositorio;
+    }
+}
@@ -0,0 +1,130 @@
+package com.clinicos.backend.api.rest.infrastructure.config;
+
+import com.clinicos.backend.api.rest.domain.ports.ClienteCache;
+import com.clinicos.backend.api.rest.domain.ports.PublicadorCambiosCliente;
+import com.clinicos.backend.api.rest.infrastructure.eventos.InvalidacionClienteCacheListener;
+import com.clinicos.backend.api.rest.infrastructure.eventos.KafkaPublicadorCambiosCliente;
+import com.clinicos.backend.api.rest.infrastructure.repository.FiltroBloomClientes;
+import com.clinicos.backend.api.rest.infrastructure.repository.IndiceNombresClientes;
+import com.clinicos.backend.api.rest.infrastructure.repository.MapeadoClienteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/**
+ * Configuración de la invalidación de la caché de clientes entre instancias.
+ * <p>
+ * Con varias instancias detrás de un balanceador, cada una tiene su propia caché. La instancia que crea
+ * clientes publica sus claves en Kafka y todas las demás invalidan su entrada local al consumirlas, y las
+ * agregan a su filtro de Bloom y a su índice de nombres si están habilitados. Con el repositorio
+ * {@code mapeado} cada instancia tiene sus propios datos, así que el índice no se actualiza desde los avisos.
+ * <p>
+ * Propiedades soportadas:
+ * <ul>
+ *   <li>{@code clientes.cache.invalidacion.enabled}: habilita la publicación y el consumo (por defecto
+ *       {@code false}: una sola instancia no necesita avisar a nadie).</li>
+ *   <li>{@code clientes.cache.invalidacion.topico}: tópico compactado de cambios; se crea si no existe.</li>
+ *   <li>{@code clientes.cache.invalidacion.particiones}: particiones del tópico al crearlo.</li>
+ *   <li>{@code clientes.cache.invalidacion.instancia}: nombre estable de la instancia, único entre las que
+ *       comparten el tópico (por defecto el nombre del host). Define su grupo de consumo; con varias
+ *       instancias en un mismo host hay que fijarlo. Los avisos propios se reconocen por un identificador
+ *       aleatorio de cada arranque.</li>
+ *   <li>{@code spring.kafka.*}: conexión, lotes y compresión del productor.</li>
+ * </ul>
+ * Métricas: {@code clientes.cache.invalidacion.publicadas}, {@code clientes.cache.invalidacion.errores} y
+ * {@code clientes.cache.invalidacion.recibidas}.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+@Configuration
+public class InvalidacionCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidacionCacheConfig.class);
+
+    private static final String PROPIEDAD_HABILITADA = "clientes.cache.invalidacion.enabled";
+
+    private final String topico;
+    private final String instancia;
+    private final String origen = UUID.randomUUID().toString();
+
+    public InvalidacionCacheConfig(
+            @Value("${clientes.cache.invalidacion.topico:clientes-cambios}") String topico,
+            @Value("${clientes.cache.invalidacion.instancia:}") String instancia
+    ) {
+        this.topico = topico;
+        this.instancia = instancia;
+    }
+
+    /**
+     * Nombre estable de la instancia. Se resuelve solo con la invalidación habilitada.
+     */
+    private String instancia() {
+        if (!instancia.isBlank()) {
+            return instancia;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("No se pudo obtener el nombre del host; configure "
+                    + "clientes.cache.invalidacion.instancia", e);
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PROPIEDAD_HABILITADA, havingValue = "false", matchIfMissing = true)
+    PublicadorCambiosCliente publicadorCambiosCliente() {
+        return PublicadorCambiosCliente.ninguno();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PROPIEDAD_HABILITADA, havingValue = "true")
+    PublicadorCambiosCliente kafkaPublicadorCambiosCliente(KafkaTemplate<String, String> kafkaTemplate,
+                                                           MeterRegistry meterRegistry) {
+        logger.info("📣 Invalidación de caché entre instancias por el tópico {} (instancia {})", topico, instancia());
+        return new KafkaPublicadorCambiosCliente(kafkaTemplate, topico, origen,
+                meterRegistry.counter("clientes.cache.invalidacion.publicadas"),
+                meterRegistry.counter("clientes.cache.invalidacion.errores"));
+    }
+
+    /**
+     * Tópico compactado: Kafka conserva solo el último aviso de cada cliente.
+     */
+    @Bean
+    @ConditionalOnProperty(name = PROPIEDAD_HABILITADA, havingValue = "true")
+    NewTopic topicoCambiosClientes(@Value("${clientes.cache.invalidacion.particiones:3}") int particiones) {
+        return TopicBuilder.name(topico).partitions(particiones).compact().build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PROPIEDAD_HABILITADA, havingValue = "true")
+    ConcurrentMessageListenerContainer<String, String> invalidacionClienteCacheContenedor(
+            ClienteCache clienteCache,
+            ObjectProvider<FiltroBloomClientes> filtroBloom,
+            ObjectProvider<IndiceNombresClientes> indiceNombres,
+            ObjectProvider<MapeadoClienteRepository> mapeado,
+            ConsumerFactory<String, String> consumerFactory,
+            MeterRegistry meterRegistry
+    ) {
+        IndiceNombresClientes indice = mapeado.getIfAvailable() == null ? indiceNombres.getIfAvailable() : null;
+        InvalidacionClienteCacheListener listener = new InvalidacionClienteCacheListener(clienteCache,
+                filtroBloom.getIfAvailable(), indice, origen,
+                meterRegistry.counter("clientes.cache.invalidacion.recibidas"));
+        return listener.contenedor(consumerFactory, topico, instancia());
+    }
+}
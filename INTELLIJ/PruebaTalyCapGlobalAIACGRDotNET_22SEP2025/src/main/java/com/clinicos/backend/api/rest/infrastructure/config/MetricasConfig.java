@@ -0,0 +1,45 @@
+package com.clinicos.backend.api.rest.infrastructure.config;
+
+import com.clinicos.backend.api.rest.infrastructure.controller.MetricasRespuestaInterceptor;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración de métricas por capa.
+ * <p>
+ * <ul>
+ *   <li>{@link TimedAspect} habilita {@code @Timed} en controlador ({@code clientes.controlador}),
+ *       servicio ({@code clientes.servicio}) y repositorio ({@code clientes.repositorio}).</li>
+ *   <li>{@link MetricasRespuestaInterceptor} cuenta respuestas por código HTTP ({@code clientes.respuestas}).</li>
+ *   <li>Las métricas del pool de conexiones ({@code hikaricp.connections.*}) las registra Spring Boot Actuator.</li>
+ * </ul>
+ * Todo se publica en {@code /actuator/prometheus}.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+@Configuration
+public class MetricasConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricasConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    TimedAspect timedAspect() {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new MetricasRespuestaInterceptor(meterRegistry))
+                .addPathPatterns("/clientes/**");
+    }
+}
@@ -0,0 +1,89 @@
+package com.clinicos.backend.api.rest.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * Configuración del pool de conexiones y de los límites de cada consulta.
+ * <p>
+ * Sin tiempo máximo de consulta, una ejecución lenta de {@code sp_ObtenerCliente} retiene su conexión
+ * indefinidamente; con todas las conexiones retenidas, cada solicitud espera hasta agotar
+ * {@code clientes.db.espera-maxima}. Propiedades soportadas:
+ * <ul>
+ *   <li>{@code clientes.db.pool.tamano-maximo}: conexiones del pool. Es también el valor por defecto de
+ *       {@code clientes.db.concurrencia-maxima}.</li>
+ *   <li>{@code clientes.db.pool.minimo-inactivas}: conexiones inactivas que se conservan; por defecto
+ *       igual al máximo (pool de tamaño fijo, como recomienda Hikari).</li>
+ *   <li>{@code clientes.db.pool.espera-conexion}: espera máxima por una conexión del pool.</li>
+ *   <li>{@code clientes.db.timeout-consulta}: tiempo máximo de cada consulta, en segundos completos
+ *       ({@code 0} sin límite). No aplica a los recorridos completos de la tabla.</li>
+ *   <li>{@code clientes.db.fetch-size}: filas por viaje en las consultas de varias filas ({@code 0}: el
+ *       valor del driver).</li>
+ * </ul>
+ * Estas propiedades prevalecen sobre {@code spring.datasource.hikari.*} y {@code spring.jdbc.template.*}.
+ * <p>
+ * Métricas para dimensionar el pool (Spring Boot Actuator, etiqueta {@code pool=clientes}):
+ * {@code hikaricp.connections.acquire} (espera por conexión), {@code .active}, {@code .idle},
+ * {@code .pending} y {@code .timeout}; más {@code clientes.db.permisos.espera},
+ * {@code clientes.db.permisos.rechazados} y {@code clientes.db.consultas.timeout} de
+ * {@link com.clinicos.backend.api.rest.infrastructure.repository.ConcurrenciaLimitadaClienteRepository}.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+@Configuration
+public class PoolConexionesConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PoolConexionesConfig.class);
+
+    /**
+     * Se aplica después del enlace de {@code spring.datasource.hikari.*} y antes de que el pool se inicie,
+     * que ocurre con la primera conexión.
+     */
+    @Bean
+    static BeanPostProcessor configuracionPoolConexiones(
+            @Value("${clientes.db.pool.tamano-maximo:10}") int tamanoMaximo,
+            @Value("${clientes.db.pool.minimo-inactivas:-1}") int minimoInactivas,
+            @Value("${clientes.db.pool.espera-conexion:2s}") Duration esperaConexion,
+            @Value("${clientes.db.timeout-consulta:5s}") Duration timeoutConsulta,
+            @Value("${clientes.db.fetch-size:0}") int fetchSize
+    ) {
+        if (tamanoMaximo <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo del pool debe ser mayor que 0");
+        }
+        int inactivas = minimoInactivas < 0 ? tamanoMaximo : Math.min(minimoInactivas, tamanoMaximo);
+        int segundosConsulta = (int) Math.ceil(timeoutConsulta.toMillis() / 1000.0);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    if (dataSource.getPoolName() == null) {
+                        dataSource.setPoolName("clientes");
+                    }
+                    dataSource.setMaximumPoolSize(tamanoMaximo);
+                    dataSource.setMinimumIdle(inactivas);
+                    dataSource.setConnectionTimeout(esperaConexion.toMillis());
+                    logger.info("🔌 Pool de conexiones {}: máximo={}, inactivas={}, espera={}",
+                            dataSource.getPoolName(), tamanoMaximo, inactivas, esperaConexion);
+                } else if (bean instanceof JdbcTemplate jdbcTemplate) {
+                    jdbcTemplate.setQueryTimeout(segundosConsulta);
+                    if (fetchSize > 0) {
+                        jdbcTemplate.setFetchSize(fetchSize);
+                    }
+                    logger.info("⏱️ Consultas JDBC: tiempo máximo={} s, fetchSize={}", segundosConsulta,
+                            fetchSize > 0 ? fetchSize : "driver");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,15 +1,33 @@
 package com.clinicos.backend.api.rest.infrastructure.controller;
 
 import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
 import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.PaginaClientes;
+import com.clinicos.backend.api.rest.domain.model.ResultadoConsultaMultiple;
+import com.clinicos.backend.api.rest.domain.model.ResultadoImportacion;
+import com.clinicos.backend.api.rest.domain.ports.RechazoPorIndisponibilidad;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.NoSuchElementException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Controlador REST que expone operaciones sobre {@link Cliente}.
@@ -40,11 +58,31 @@ import java.util.NoSuchElementException;
 @RestController
 @RequestMapping("/clientes")
 @Tag(name = "Clientes", description = "Operaciones sobre clientes")
+@Timed(value = "clientes.controlador", description = "Latencia de los endpoints de clientes", histogram = true)
 public class ClienteController {
 
     private static final Logger logger = LoggerFactory.getLogger(ClienteController.class);
 
+    /** Respuesta 404 compartida: {@link ResponseEntity} es inmutable y no requiere cuerpo. */
+    private static final ResponseEntity<Cliente> NO_ENCONTRADO = ResponseEntity.notFound().build();
+
+    /**
+     * Número máximo de documentos aceptados en una consulta múltiple.
+     */
+    static final int MAXIMO_DOCUMENTOS_POR_CONSULTA = 1000;
+
+    /**
+     * Máximo de clientes por página del listado.
+     */
+    static final int MAXIMO_TAMANO_PAGINA = 500;
+
+    /**
+     * Máximo de clientes devueltos por una búsqueda por nombre.
+     */
+    static final int MAXIMO_RESULTADOS_BUSQUEDA = 100;
+
     private final ClienteService clienteService;
+    private final Duration tiempoMaximoExportacion;
 
     /**
      * Constructor que inyecta {@link ClienteService}.
@@ -53,9 +91,13 @@ public class ClienteController {
      * de la implementación concreta del servicio.
      *
      * @param clienteService Servicio de aplicación para manejar la lógica de negocio de clientes.
+     * @param tiempoMaximoExportacion Tiempo máximo de una exportación ({@code clientes.exportacion.tiempo-maximo}).
+     *                                Las demás solicitudes asíncronas conservan el tiempo de espera global.
      */
-    public ClienteController(ClienteService clienteService) {
+    public ClienteController(ClienteService clienteService,
+                             @Value("${clientes.exportacion.tiempo-maximo:1h}") Duration tiempoMaximoExportacion) {
         this.clienteService = clienteService;
+        this.tiempoMaximoExportacion = tiempoMaximoExportacion;
     }
 
     /**
@@ -64,12 +106,13 @@ public class ClienteController {
      * Este método:
      * <ul>
      *   <li>Valida los parámetros de entrada.</li>
-     *   <li>Registra logs de inicio, advertencias y errores.</li>
+     *   <li>Registra la búsqueda en DEBUG con campos estructurados; los 400/404 esperados no
+     *       registran stacktrace.</li>
      *   <li>Devuelve códigos HTTP adecuados:</li>
      *   <ul>
      *       <li>200 OK: cliente encontrado</li>
      *       <li>400 Bad Request: parámetros inválidos</li>
-     *       <li>404 Not Found: cliente no encontrado</li>
+     *       <li>404 Not Found: cliente no encontrado (valor de retorno, sin excepción)</li>
      *       <li>500 Internal Server Error: error inesperado</li>
      *   </ul>
      *   <li>Se adhiere al principio de <b>Single Responsibility</b> y mantiene el controlador
@@ -80,7 +123,6 @@ public class ClienteController {
      * @param numeroDocumento Número de documento, mayor que 0.
      * @return {@link ResponseEntity} con el cliente encontrado o error correspondiente.
      * @throws IllegalArgumentException Si los parámetros son inválidos (HTTP 400).
-     * @throws NoSuchElementException Si el cliente no se encuentra (HTTP 404).
      * @throws RuntimeException Para errores inesperados (HTTP 500).
      */
     @Operation(summary = "Obtener un cliente por tipo y número de documento")
@@ -89,7 +131,12 @@ public class ClienteController {
             @PathVariable String tipoDocumento,
             @PathVariable long numeroDocumento
     ) {
-        logger.info("🔍 Iniciando búsqueda de cliente con tipoDocumento={} y numeroDocumento={}", tipoDocumento, numeroDocumento);
+        if (logger.isDebugEnabled()) {
+            logger.atDebug()
+                    .addKeyValue("tipoDocumento", tipoDocumento)
+                    .addKeyValue("numeroDocumento", numeroDocumento)
+                    .log("🔍 Iniciando búsqueda de cliente");
+        }
 
         // Validación de parámetros
         if (tipoDocumento == null || tipoDocumento.isBlank()) {
@@ -101,25 +148,204 @@ public class ClienteController {
             throw new IllegalArgumentException("El número de documento debe ser mayor que 0");
         }
 
+        // Un cliente inexistente es un valor de retorno, no una excepción: 404 sin stacktrace.
         try {
             return clienteService.obtenerCliente(tipoDocumento, numeroDocumento)
-                    .map(cliente -> {
-                        logger.info("✅ Cliente encontrado: {}", cliente);
-                        return ResponseEntity.ok(cliente); // 200 OK
-                    })
-                    .orElseThrow(() -> {
-                        logger.warn("❌ Cliente no encontrado con tipoDocumento={} y numeroDocumento={}", tipoDocumento, numeroDocumento);
-                        return new NoSuchElementException("Cliente no encontrado");
-                    });
-        } catch (IllegalArgumentException e) {
-            logger.warn("❌ Error de validación: {}", e.getMessage(), e);
-            throw e; // Manejado por GlobalExceptionHandler -> 400
-        } catch (NoSuchElementException e) {
-            logger.info("❌ Cliente no encontrado en la base de datos: {}", e.getMessage(), e);
-            throw e; // Manejado por GlobalExceptionHandler -> 404
+                    .map(ResponseEntity::ok) // 200 OK
+                    .orElse(NO_ENCONTRADO); // 404 Not Found
         } catch (Exception e) {
-            logger.error("💥 Error inesperado al buscar cliente con tipoDocumento={} y numeroDocumento={}", tipoDocumento, numeroDocumento, e);
-            throw e; // Manejado por GlobalExceptionHandler -> 500
+            // Un rechazo durante una degradación es esperado (GlobalExceptionHandler -> 503); el resto lo
+            // registra con su stacktrace GlobalExceptionHandler -> 500
+            if (!(e instanceof RechazoPorIndisponibilidad)) {
+                logger.error("💥 Error inesperado al buscar cliente con tipoDocumento={} y numeroDocumento={}: {}", tipoDocumento, numeroDocumento, e.toString());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene varios clientes en una sola solicitud.
+     * <p>
+     * Reemplaza N solicitudes GET por una sola: el servicio resuelve todas las claves con una consulta
+     * basada en conjuntos. La respuesta contiene los clientes encontrados en el orden solicitado y la
+     * lista explícita de documentos no encontrados (HTTP 200 en ambos casos).
+     *
+     * @param claves Lista de documentos ({@code tipoDocumento}, {@code numeroDocumento}); entre 1 y
+     *               {@value #MAXIMO_DOCUMENTOS_POR_CONSULTA} elementos.
+     * @return {@link ResponseEntity} con el {@link ResultadoConsultaMultiple}.
+     * @throws IllegalArgumentException Si la lista está vacía, excede el máximo o contiene documentos inválidos (HTTP 400).
+     */
+    @Operation(summary = "Obtener varios clientes por tipo y número de documento")
+    @PostMapping("/consulta")
+    public ResponseEntity<ResultadoConsultaMultiple> obtenerClientes(@RequestBody List<ClaveCliente> claves) {
+        if (claves == null || claves.isEmpty()) {
+            logger.warn("⚠️ Consulta múltiple sin documentos");
+            throw new IllegalArgumentException("Debe indicar al menos un documento");
+        }
+        if (claves.size() > MAXIMO_DOCUMENTOS_POR_CONSULTA) {
+            logger.warn("⚠️ Consulta múltiple con {} documentos excede el máximo", claves.size());
+            throw new IllegalArgumentException("La consulta no puede superar " + MAXIMO_DOCUMENTOS_POR_CONSULTA + " documentos");
+        }
+        for (ClaveCliente clave : claves) {
+            if (clave == null || clave.tipoDocumento() == null || clave.tipoDocumento().isBlank()) {
+                throw new IllegalArgumentException("El tipo de documento no puede estar vacío");
+            }
+            if (clave.numeroDocumento() <= 0) {
+                throw new IllegalArgumentException("El número de documento debe ser mayor que 0");
+            }
+        }
+
+        logger.info("🔍 Iniciando consulta múltiple de {} clientes", claves.size());
+        return ResponseEntity.ok(clienteService.obtenerClientes(claves));
+    }
+
+    /**
+     * Busca clientes por palabras de su nombre y apellidos, sin distinguir tildes ni mayúsculas.
+     * <p>
+     * Cada palabra se compara como prefijo: {@code texto=rodr velas} encuentra a "Rodríguez Velásquez".
+     * Pensado para búsquedas interactivas; se resuelve con un índice en memoria.
+     *
+     * @param texto Palabras a buscar.
+     * @param limite Máximo de clientes a devolver, entre 1 y {@value #MAXIMO_RESULTADOS_BUSQUEDA}.
+     * @return {@link ResponseEntity} con los clientes encontrados, sin orden garantizado.
+     * @throws IllegalArgumentException Si el texto está vacío o el límite es inválido (HTTP 400).
+     */
+    @Operation(summary = "Buscar clientes por nombre o apellido (prefijo, sin tildes)")
+    @GetMapping("/busqueda")
+    public ResponseEntity<List<Cliente>> buscarClientes(
+            @RequestParam String texto,
+            @RequestParam(defaultValue = "20") int limite
+    ) {
+        if (texto.isBlank()) {
+            throw new IllegalArgumentException("El texto de búsqueda no puede estar vacío");
+        }
+        if (limite <= 0 || limite > MAXIMO_RESULTADOS_BUSQUEDA) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAXIMO_RESULTADOS_BUSQUEDA);
         }
+        return ResponseEntity.ok(clienteService.buscarClientes(texto, limite));
+    }
+
+    /**
+     * Lista clientes filtrando por ciudad de residencia y/o primer apellido, con paginación por clave.
+     * <p>
+     * Los clientes se ordenan por tipo y número de documento. La respuesta incluye en {@code siguiente}
+     * la clave desde la cual continuar; se envía como {@code despuesTipoDocumento} y
+     * {@code despuesNumeroDocumento} para obtener la página siguiente. A diferencia de {@code OFFSET},
+     * la página 10 000 cuesta lo mismo que la primera.
+     *
+     * @param ciudadResidencia Ciudad exacta (opcional).
+     * @param primerApellido Primer apellido exacto (opcional).
+     * @param despuesTipoDocumento Tipo de documento del cursor (opcional; junto con {@code despuesNumeroDocumento}).
+     * @param despuesNumeroDocumento Número de documento del cursor (opcional; junto con {@code despuesTipoDocumento}).
+     * @param tamano Clientes por página, entre 1 y {@value #MAXIMO_TAMANO_PAGINA}.
+     * @return {@link ResponseEntity} con la {@link PaginaClientes}.
+     * @throws IllegalArgumentException Si el tamaño o el cursor son inválidos (HTTP 400).
+     */
+    @Operation(summary = "Listar clientes por ciudad y/o primer apellido con paginación por clave")
+    @GetMapping
+    public ResponseEntity<PaginaClientes> listarClientes(
+            @RequestParam(required = false) String ciudadResidencia,
+            @RequestParam(required = false) String primerApellido,
+            @RequestParam(required = false) String despuesTipoDocumento,
+            @RequestParam(required = false) Long despuesNumeroDocumento,
+            @RequestParam(defaultValue = "50") int tamano
+    ) {
+        if (tamano <= 0 || tamano > MAXIMO_TAMANO_PAGINA) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + MAXIMO_TAMANO_PAGINA);
+        }
+        if ((despuesTipoDocumento == null) != (despuesNumeroDocumento == null)) {
+            throw new IllegalArgumentException("El cursor requiere despuesTipoDocumento y despuesNumeroDocumento");
+        }
+        ClaveCliente despuesDe = despuesTipoDocumento == null ? null
+                : new ClaveCliente(despuesTipoDocumento, despuesNumeroDocumento);
+
+        return ResponseEntity.ok(clienteService.listarClientes(
+                vacioComoNulo(ciudadResidencia), vacioComoNulo(primerApellido), despuesDe, tamano));
+    }
+
+    /**
+     * Exporta todos los clientes en streaming, como NDJSON o CSV.
+     * <p>
+     * La respuesta se escribe a medida que el repositorio lee las filas con un cursor de solo avance:
+     * la memoria usada es la misma con diez mil o con cincuenta millones de clientes. Se ejecuta de
+     * forma asíncrona ({@link StreamingResponseBody}) y no pasa por la caché. Solo esta solicitud usa
+     * {@code clientes.exportacion.tiempo-maximo} como tiempo de espera asíncrono: una exportación completa
+     * puede tardar mucho más que el {@code spring.mvc.async.request-timeout} del resto de endpoints.
+     * <p>
+     * Si el cliente HTTP se desconecta, la escritura falla, el recorrido se detiene y se libera el cursor.
+     *
+     * @param formato {@code ndjson} (por defecto) o {@code csv}.
+     * @param request Solicitud HTTP, para ajustar su tiempo de espera asíncrono.
+     * @return {@link ResponseEntity} con el cuerpo en streaming y el tipo de contenido del formato.
+     * @throws IllegalArgumentException Si el formato no está soportado (HTTP 400).
+     */
+    @Operation(summary = "Exportar todos los clientes en streaming (NDJSON o CSV)")
+    @GetMapping("/exportacion")
+    public ResponseEntity<StreamingResponseBody> exportarClientes(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            HttpServletRequest request
+    ) {
+        FormatoArchivoClientes formatoArchivo = FormatoArchivoClientes.desde(formato);
+        logger.info("📤 Exportación de clientes solicitada en formato {}", formatoArchivo);
+
+        // StreamingResponseBody no admite un tiempo propio: se ajusta el de esta solicitud antes de que empiece
+        AsyncWebRequest solicitudAsincrona = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (solicitudAsincrona != null) {
+            solicitudAsincrona.setTimeout(tiempoMaximoExportacion.toMillis());
+        }
+
+        StreamingResponseBody cuerpo = salida -> {
+            try (FormatoArchivoClientes.Escritor escritor = formatoArchivo.abrirEscritor(salida)) {
+                clienteService.exportarClientes(cliente -> {
+                    try {
+                        escritor.escribir(cliente);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoArchivo.getTipoContenido()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("clientes." + formatoArchivo.getExtension()).build().toString())
+                .body(cuerpo);
+    }
+
+    /**
+     * Importa clientes desde un archivo CSV o NDJSON enviado en el cuerpo de la solicitud.
+     * <p>
+     * El cuerpo se interpreta a medida que llega, sin cargar el archivo completo en memoria. Cada
+     * registro se valida y los clientes válidos se insertan por bloques con inserciones en lote.
+     * Los registros rechazados (formato, validación o base de datos) no detienen la importación y
+     * se informan con su número de línea.
+     *
+     * @param formato {@code ndjson} (por defecto) o {@code csv}. El CSV debe incluir encabezado.
+     * @param cuerpo Contenido del archivo, en UTF-8.
+     * @return {@link ResponseEntity} con el {@link ResultadoImportacion}.
+     * @throws IllegalArgumentException Si el formato o el encabezado CSV no son válidos (HTTP 400).
+     * @throws IOException Si falla la lectura del cuerpo de la solicitud.
+     */
+    @Operation(summary = "Importar clientes desde un archivo CSV o NDJSON")
+    @PostMapping("/importacion")
+    public ResponseEntity<ResultadoImportacion> importarClientes(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            InputStream cuerpo
+    ) throws IOException {
+        FormatoArchivoClientes formatoArchivo = FormatoArchivoClientes.desde(formato);
+        logger.info("📥 Importación de clientes solicitada en formato {}", formatoArchivo);
+
+        try {
+            return ResponseEntity.ok(clienteService.importarClientes(formatoArchivo.abrirLector(cuerpo)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String vacioComoNulo(String valor) {
+        return valor == null || valor.isBlank() ? null : valor;
     }
 }
@@ -0,0 +1,205 @@
+package com.clinicos.backend.api.rest.infrastructure.controller;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.LineaImportacion;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Formatos de archivo de clientes soportados por la exportación y la importación: NDJSON (un objeto
+ * JSON por línea) y CSV (RFC 4180, con encabezado).
+ * <p>
+ * Cada formato abre un {@link Escritor} sobre un {@link OutputStream} o un lector sobre un
+ * {@link InputStream}; ambos procesan los clientes uno a uno con un búfer de tamaño fijo, sin
+ * acumularlos en memoria.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public enum FormatoArchivoClientes {
+
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        public Escritor abrirEscritor(OutputStream salida) throws IOException {
+            JsonGenerator generador = ESCRITOR_JSON.createGenerator(salida);
+            generador.setRootValueSeparator(null);
+            return new Escritor() {
+                @Override
+                public void escribir(Cliente cliente) throws IOException {
+                    ESCRITOR_JSON.writeValue(generador, cliente);
+                    generador.writeRaw('\n');
+                }
+
+                @Override
+                public void close() throws IOException {
+                    generador.flush();
+                }
+            };
+        }
+
+        @Override
+        public Iterator<LineaImportacion> abrirLector(InputStream entrada) {
+            return new LectorArchivoClientes.Ndjson(entrada);
+        }
+    },
+
+    CSV("text/csv", "csv") {
+        @Override
+        public Escritor abrirEscritor(OutputStream salida) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFER);
+            writer.write(String.join(",", COLUMNAS_CSV));
+            writer.write("\r\n");
+            return new Escritor() {
+                @Override
+                public void escribir(Cliente cliente) throws IOException {
+                    campoCsv(writer, cliente.getTipoDocumento());
+                    writer.write(',');
+                    writer.write(Long.toString(cliente.getNumeroDocumento()));
+                    writer.write(',');
+                    campoCsv(writer, cliente.getPrimerNombre());
+                    writer.write(',');
+                    campoCsv(writer, cliente.getSegundoNombre());
+                    writer.write(',');
+                    campoCsv(writer, cliente.getPrimerApellido());
+                    writer.write(',');
+                    campoCsv(writer, cliente.getSegundoApellido());
+                    writer.write(',');
+                    campoCsv(writer, cliente.getTelefono());
+                    writer.write(',');
+                    campoCsv(writer, cliente.getDireccion());
+                    writer.write(',');
+                    campoCsv(writer, cliente.getCiudadResidencia());
+                    writer.write("\r\n");
+                }
+
+                @Override
+                public void close() throws IOException {
+                    writer.flush();
+                }
+            };
+        }
+
+        @Override
+        public Iterator<LineaImportacion> abrirLector(InputStream entrada) throws IOException {
+            return new LectorArchivoClientes.Csv(entrada);
+        }
+    };
+
+    /** Encabezado CSV; los nombres coinciden con las propiedades JSON de {@link Cliente}. */
+    static final String[] COLUMNAS_CSV = {
+            "tipoDocumento", "numeroDocumento", "primerNombre", "segundoNombre", "primerApellido",
+            "segundoApellido", "telefono", "direccion", "ciudadResidencia"
+    };
+
+    private static final int TAMANO_BUFER = 64 * 1024;
+
+    /** Sin flush por valor: el búfer se vacía al llenarse y al cerrar el {@link Escritor}. */
+    private static final ObjectWriter ESCRITOR_JSON = new ObjectMapper()
+            .writerFor(Cliente.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final String tipoContenido;
+    private final String extension;
+
+    FormatoArchivoClientes(String tipoContenido, String extension) {
+        this.tipoContenido = tipoContenido;
+        this.extension = extension;
+    }
+
+    /**
+     * Resuelve un formato a partir de su nombre, sin distinguir mayúsculas.
+     *
+     * @param nombre {@code ndjson} o {@code csv}.
+     * @return Formato correspondiente.
+     * @throws IllegalArgumentException Si el formato no está soportado (HTTP 400).
+     */
+    public static FormatoArchivoClientes desde(String nombre) {
+        if (nombre != null) {
+            for (FormatoArchivoClientes formato : values()) {
+                if (formato.extension.equals(nombre.toLowerCase(Locale.ROOT))) {
+                    return formato;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Formato no soportado: '" + nombre + "'. Use ndjson o csv");
+    }
+
+    public String getTipoContenido() {
+        return tipoContenido;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Abre un escritor de clientes sobre la salida indicada.
+     * <p>
+     * Cerrar el escritor vacía el búfer pero no cierra {@code salida}.
+     *
+     * @param salida Flujo de destino (por ejemplo, el cuerpo de la respuesta HTTP).
+     * @return Escritor listo para recibir clientes.
+     * @throws IOException Si falla la escritura del encabezado.
+     */
+    public abstract Escritor abrirEscritor(OutputStream salida) throws IOException;
+
+    /**
+     * Abre un lector que interpreta los registros a medida que se leen de la entrada.
+     * <p>
+     * Los registros mal formados se devuelven como {@link LineaImportacion} inválidas, sin detener
+     * la lectura. Los errores de E/S se propagan como {@link java.io.UncheckedIOException}.
+     *
+     * @param entrada Flujo de origen (por ejemplo, el cuerpo de la solicitud HTTP).
+     * @return Iterador de registros en orden de lectura.
+     * @throws IOException Si falla la lectura del encabezado.
+     * @throws IllegalArgumentException Si el encabezado CSV no es válido (HTTP 400).
+     */
+    public abstract Iterator<LineaImportacion> abrirLector(InputStream entrada) throws IOException;
+
+    /**
+     * Escribe clientes en un formato concreto.
+     */
+    public interface Escritor extends Closeable {
+
+        void escribir(Cliente cliente) throws IOException;
+    }
+
+    private static void campoCsv(Writer writer, String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        boolean requiereComillas = false;
+        for (int i = 0; i < valor.length() && !requiereComillas; i++) {
+            char c = valor.charAt(i);
+            requiereComillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!requiereComillas) {
+            writer.write(valor);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
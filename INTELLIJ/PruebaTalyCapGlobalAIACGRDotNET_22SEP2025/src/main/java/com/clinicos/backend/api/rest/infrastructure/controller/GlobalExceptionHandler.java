@@ -1,7 +1,9 @@
 package com.clinicos.backend.api.rest.infrastructure.controller;
 
+import com.clinicos.backend.api.rest.infrastructure.repository.BaseDatosNoDisponibleException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -40,14 +42,14 @@ public class GlobalExceptionHandler {
      * Maneja errores de validación o parámetros inválidos.
      * <p>
      * Devuelve un código HTTP 400 (Bad Request) y un mensaje descriptivo.
-     * Registra un log de advertencia con el detalle de la excepción.
+     * Es un resultado esperado: se registra solo el mensaje, sin stacktrace.
      *
      * @param ex Excepción de tipo {@link IllegalArgumentException}
      * @return {@link ResponseEntity} con mensaje de error y HTTP 400
      */
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleBadRequest(IllegalArgumentException ex) {
-        logger.warn("❌ Error de validación: {}", ex.getMessage(), ex);
+        logger.warn("❌ Error de validación: {}", ex.getMessage());
         return ResponseEntity.badRequest()
                 .body("❌ Error de validación: " + ex.getMessage());
     }
@@ -56,18 +58,36 @@ public class GlobalExceptionHandler {
      * Maneja casos donde el recurso no es encontrado.
      * <p>
      * Devuelve un código HTTP 404 (Not Found) y un mensaje genérico.
-     * Registra un log informativo con la excepción.
+     * Es un resultado esperado: se registra en DEBUG, sin stacktrace.
      *
      * @param ex Excepción de tipo {@link NoSuchElementException}
      * @return {@link ResponseEntity} con mensaje de error y HTTP 404
      */
     @ExceptionHandler(NoSuchElementException.class)
     public ResponseEntity<String> handleNotFound(NoSuchElementException ex) {
-        logger.info("❌ Recurso no encontrado", ex);
+        logger.debug("❌ Recurso no encontrado: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body("❌ Recurso no encontrado");
     }
 
+    /**
+     * Maneja las operaciones rechazadas porque la base de datos no está sana o no tiene capacidad.
+     * <p>
+     * Devuelve un código HTTP 503 (Service Unavailable) con la cabecera {@code Retry-After} en segundos,
+     * sin esperar al tiempo máximo de consulta. Durante una caída hay uno por solicitud: se registra en DEBUG,
+     * ya que los decoradores del repositorio registran la causa y cuentan los rechazos en sus métricas.
+     *
+     * @param ex Excepción de tipo {@link BaseDatosNoDisponibleException}
+     * @return {@link ResponseEntity} con mensaje de error, cabecera {@code Retry-After} y HTTP 503
+     */
+    @ExceptionHandler(BaseDatosNoDisponibleException.class)
+    public ResponseEntity<String> handleServiceUnavailable(BaseDatosNoDisponibleException ex) {
+        logger.debug("🚧 Servicio no disponible: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.segundosReintento()))
+                .body("🚧 Servicio no disponible temporalmente, reintente más tarde");
+    }
+
     /**
      * Maneja cualquier {@link RuntimeException} no capturada por otros handlers.
      * <p>
@@ -0,0 +1,344 @@
+package com.clinicos.backend.api.rest.infrastructure.controller;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.LineaImportacion;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lee un archivo de clientes registro a registro, sin cargarlo completo en memoria.
+ * <p>
+ * Cada registro se convierte en una {@link LineaImportacion}: un cliente o el motivo por el que no
+ * pudo interpretarse, con el número de línea donde empieza. Un registro mal formado no detiene la
+ * lectura. Los campos se identifican por los nombres de {@link FormatoArchivoClientes#COLUMNAS_CSV},
+ * que son también las propiedades JSON de {@link Cliente}.
+ * <p>
+ * Un registro de más de {@value #LONGITUD_MAXIMA_REGISTRO} caracteres se descarta sin acumularlo y se
+ * informa como inválido: un archivo sin saltos de línea no puede agotar el heap.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+abstract class LectorArchivoClientes implements Iterator<LineaImportacion> {
+
+    /** Caracteres de un registro, contando separadores y comillas; los nueve campos caben con holgura. */
+    static final int LONGITUD_MAXIMA_REGISTRO = 16 * 1024;
+    static final String REGISTRO_DEMASIADO_LARGO = "El registro supera el máximo de " + LONGITUD_MAXIMA_REGISTRO
+            + " caracteres";
+
+    private static final int TAMANO_BUFER = 64 * 1024;
+    private static final int NUMERO_DOCUMENTO = 1;
+
+    private final BufferedReader lector;
+    private final char[] bufer = new char[8192];
+    private int posicion;
+    private int limite;
+    private LineaImportacion siguiente;
+
+    protected LectorArchivoClientes(InputStream entrada) {
+        this.lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANO_BUFER);
+    }
+
+    /**
+     * Lee el siguiente registro.
+     *
+     * @return Registro leído, o {@code null} al final del archivo.
+     */
+    protected abstract LineaImportacion leer() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (siguiente == null) {
+            try {
+                siguiente = leer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return siguiente != null;
+    }
+
+    @Override
+    public LineaImportacion next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        LineaImportacion actual = siguiente;
+        siguiente = null;
+        return actual;
+    }
+
+    /** Lectura carácter a carácter sin el bloqueo por llamada de {@link BufferedReader#read()}. */
+    protected int leerCaracter() throws IOException {
+        if (posicion == limite) {
+            limite = lector.read(bufer, 0, bufer.length);
+            posicion = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return -1;
+            }
+        }
+        return bufer[posicion++];
+    }
+
+    /**
+     * Construye el cliente a partir de los valores en el orden de {@link FormatoArchivoClientes#COLUMNAS_CSV}.
+     * Los valores vacíos se tratan como ausentes.
+     */
+    static LineaImportacion construir(long linea, String[] valores) {
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] != null && valores[i].isEmpty()) {
+                valores[i] = null;
+            }
+        }
+        if (valores[NUMERO_DOCUMENTO] == null) {
+            return LineaImportacion.invalida(linea, "El número de documento es obligatorio");
+        }
+        long numeroDocumento;
+        try {
+            numeroDocumento = Long.parseLong(valores[NUMERO_DOCUMENTO].trim());
+        } catch (NumberFormatException e) {
+            return LineaImportacion.invalida(linea, "Número de documento inválido: '" + valores[NUMERO_DOCUMENTO] + "'");
+        }
+        return LineaImportacion.valida(linea, new Cliente(valores[0], numeroDocumento, valores[2], valores[3],
+                valores[4], valores[5], valores[6], valores[7], valores[8]));
+    }
+
+    static int indiceColumna(String nombre) {
+        for (int i = 0; i < FormatoArchivoClientes.COLUMNAS_CSV.length; i++) {
+            if (FormatoArchivoClientes.COLUMNAS_CSV[i].equals(nombre)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * CSV según RFC 4180: campos entre comillas con comas, comillas dobladas o saltos de línea.
+     * La primera fila es el encabezado y define el orden de las columnas; las columnas desconocidas
+     * se ignoran.
+     */
+    static final class Csv extends LectorArchivoClientes {
+
+        private final List<String> campos = new ArrayList<>(FormatoArchivoClientes.COLUMNAS_CSV.length);
+        private final StringBuilder campo = new StringBuilder(64);
+        private final int[] columnas;
+        private long linea = 1;
+        private String malformado;
+
+        Csv(InputStream entrada) throws IOException {
+            super(entrada);
+            if (!leerRegistro()) {
+                throw new IllegalArgumentException("El archivo CSV está vacío");
+            }
+            if (campos.isEmpty()) {
+                throw new IllegalArgumentException("Encabezado CSV inválido: " + malformado);
+            }
+            columnas = new int[campos.size()];
+            boolean tieneTipo = false;
+            boolean tieneNumero = false;
+            for (int i = 0; i < campos.size(); i++) {
+                String nombre = campos.get(i).trim();
+                if (i == 0 && nombre.startsWith("\uFEFF")) { // BOM de UTF-8
+                    nombre = nombre.substring(1);
+                }
+                columnas[i] = indiceColumna(nombre);
+                tieneTipo |= columnas[i] == 0;
+                tieneNumero |= columnas[i] == NUMERO_DOCUMENTO;
+            }
+            if (!tieneTipo || !tieneNumero) {
+                throw new IllegalArgumentException("El encabezado CSV debe incluir tipoDocumento y numeroDocumento");
+            }
+        }
+
+        @Override
+        protected LineaImportacion leer() throws IOException {
+            while (true) {
+                long inicio = linea;
+                if (!leerRegistro()) {
+                    return null;
+                }
+                if (campos.size() == 1 && campos.get(0).isEmpty() && malformado == null) {
+                    continue; // línea vacía
+                }
+                if (malformado != null) {
+                    return LineaImportacion.invalida(inicio, malformado);
+                }
+                if (campos.size() != columnas.length) {
+                    return LineaImportacion.invalida(inicio, "Se esperaban " + columnas.length
+                            + " campos y se encontraron " + campos.size());
+                }
+                String[] valores = new String[FormatoArchivoClientes.COLUMNAS_CSV.length];
+                for (int i = 0; i < columnas.length; i++) {
+                    if (columnas[i] >= 0) {
+                        valores[columnas[i]] = campos.get(i);
+                    }
+                }
+                return construir(inicio, valores);
+            }
+        }
+
+        /**
+         * Lee un registro completo en {@link #campos}; puede abarcar varias líneas si hay comillas. Si supera
+         * {@link #LONGITUD_MAXIMA_REGISTRO}, el resto se recorre solo para hallar su final y {@link #campos}
+         * queda vacío.
+         *
+         * @return {@code false} al final del archivo.
+         */
+        private boolean leerRegistro() throws IOException {
+            campos.clear();
+            campo.setLength(0);
+            malformado = null;
+            boolean entreComillas = false;
+            boolean comillasCerradas = false;
+            int longitud = 0;
+
+            int c = leerCaracter();
+            if (c == -1) {
+                return false;
+            }
+            while (true) {
+                if (c == -1) {
+                    if (entreComillas && longitud <= LONGITUD_MAXIMA_REGISTRO) {
+                        malformado = "Comillas sin cerrar";
+                    }
+                    agregarCampo(longitud);
+                    return true;
+                }
+                if (++longitud == LONGITUD_MAXIMA_REGISTRO + 1) {
+                    malformado = REGISTRO_DEMASIADO_LARGO;
+                    campos.clear();
+                }
+                if (longitud > LONGITUD_MAXIMA_REGISTRO && campo.length() > 1) {
+                    campo.setLength(1); // basta saber si el campo empezó, para reconocer sus comillas
+                }
+                if (entreComillas) {
+                    if (c == '"') {
+                        int s = leerCaracter();
+                        if (s == '"') {
+                            campo.append('"');
+                        } else {
+                            entreComillas = false;
+                            comillasCerradas = true;
+                            c = s;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            linea++;
+                        }
+                        campo.append((char) c);
+                    }
+                } else if (c == ',') {
+                    agregarCampo(longitud);
+                    campo.setLength(0);
+                    comillasCerradas = false;
+                } else if (c == '\n') {
+                    linea++;
+                    agregarCampo(longitud);
+                    return true;
+                } else if (c != '\r') {
+                    if (c == '"' && campo.length() == 0 && !comillasCerradas) {
+                        entreComillas = true;
+                    } else {
+                        if (comillasCerradas && malformado == null) {
+                            malformado = "Carácter inesperado después de las comillas de cierre";
+                        }
+                        campo.append((char) c);
+                    }
+                }
+                c = leerCaracter();
+            }
+        }
+
+        private void agregarCampo(int longitud) {
+            if (longitud <= LONGITUD_MAXIMA_REGISTRO) {
+                campos.add(campo.toString());
+            }
+        }
+    }
+
+    /**
+     * NDJSON: un objeto JSON por línea (terminada en {@code \n}; un {@code \r} final es espacio JSON).
+     * Las propiedades desconocidas se ignoran.
+     */
+    static final class Ndjson extends LectorArchivoClientes {
+
+        private static final JsonFactory FABRICA_JSON = new JsonFactory();
+
+        private final StringBuilder texto = new StringBuilder(512);
+        private long linea;
+
+        Ndjson(InputStream entrada) {
+            super(entrada);
+        }
+
+        @Override
+        protected LineaImportacion leer() throws IOException {
+            while (true) {
+                int c = leerCaracter();
+                if (c == -1) {
+                    return null;
+                }
+                linea++;
+                texto.setLength(0);
+                boolean demasiadoLarga = false;
+                while (c != -1 && c != '\n') {
+                    if (texto.length() < LONGITUD_MAXIMA_REGISTRO) {
+                        texto.append((char) c);
+                    } else {
+                        demasiadoLarga = true;
+                    }
+                    c = leerCaracter();
+                }
+                if (demasiadoLarga) {
+                    return LineaImportacion.invalida(linea, REGISTRO_DEMASIADO_LARGO);
+                }
+                String registro = texto.toString();
+                if (!registro.isBlank()) {
+                    return interpretar(linea, registro);
+                }
+            }
+        }
+
+        private static LineaImportacion interpretar(long linea, String texto) throws IOException {
+            String[] valores = new String[FormatoArchivoClientes.COLUMNAS_CSV.length];
+            try (JsonParser parser = FABRICA_JSON.createParser(texto)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return LineaImportacion.invalida(linea, "Se esperaba un objeto JSON");
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    int indice = indiceColumna(parser.currentName());
+                    JsonToken valor = parser.nextToken();
+                    if (indice < 0) {
+                        parser.skipChildren();
+                    } else if (valor.isScalarValue()) {
+                        valores[indice] = valor == JsonToken.VALUE_NULL ? null : parser.getText();
+                    } else {
+                        return LineaImportacion.invalida(linea, "Valor no escalar en '" + parser.currentName() + "'");
+                    }
+                }
+                if (parser.nextToken() != null) {
+                    return LineaImportacion.invalida(linea, "Contenido adicional después del objeto JSON");
+                }
+            } catch (JsonProcessingException e) {
+                return LineaImportacion.invalida(linea, "JSON inválido: " + e.getOriginalMessage());
+            }
+            return construir(linea, valores);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.clinicos.backend.api.rest.infrastructure.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cuenta las respuestas de los endpoints de clientes por código HTTP (métrica {@code clientes.respuestas},
+ * etiqueta {@code estado}).
+ * <p>
+ * Se evalúa al completar la solicitud, por lo que incluye tanto las respuestas del {@link ClienteController}
+ * (200) como las producidas por {@link GlobalExceptionHandler} (400, 404, 500). Una excepción que ningún
+ * manejador resolvió (por ejemplo, una {@link java.io.IOException} de la importación) llega en {@code ex} con
+ * el estado aún en 200; el contenedor responderá 500, así que se cuenta como 500 salvo que la respuesta ya
+ * se hubiera enviado.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class MetricasRespuestaInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Integer, Counter> contadores = new ConcurrentHashMap<>();
+
+    public MetricasRespuestaInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int estado = ex != null && !response.isCommitted()
+                ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR
+                : response.getStatus();
+        contadores.computeIfAbsent(estado, codigo -> Counter.builder("clientes.respuestas")
+                        .description("Respuestas de los endpoints de clientes por código HTTP")
+                        .tag("estado", String.valueOf(codigo))
+                        .register(meterRegistry))
+                .increment();
+    }
+}
@@ -0,0 +1,158 @@
+package com.clinicos.backend.api.rest.infrastructure.eventos;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteCache;
+import com.clinicos.backend.api.rest.infrastructure.repository.FiltroBloomClientes;
+import com.clinicos.backend.api.rest.infrastructure.repository.IndiceNombresClientes;
+import io.micrometer.core.instrument.Counter;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Consume los cambios publicados por {@link KafkaPublicadorCambiosCliente} e invalida las entradas
+ * correspondientes de la {@link ClienteCache} local.
+ * <p>
+ * Los avisos son de clientes creados, así que además se agregan a las estructuras en memoria que solo
+ * conocen las inserciones hechas por esta instancia:
+ * <ul>
+ *   <li>{@link FiltroBloomClientes}: la clave se agrega sin consultar nada; de lo contrario el filtro
+ *       respondería "no encontrado" para ese cliente hasta el siguiente arranque.</li>
+ *   <li>{@link IndiceNombresClientes}: el aviso trae el nombre y los apellidos, así que el cliente se agrega
+ *       sin leer la base de datos (con escritura diferida la fila aún puede no existir cuando llega el aviso).
+ *       Una clave ya indexada se omite. Los avisos sin nombres, del formato anterior, solo invalidan.</li>
+ * </ul>
+ * <p>
+ * Cada instancia consume con su propio grupo, así que todas reciben todos los avisos. El grupo se deriva del
+ * nombre estable de la instancia, no de su {@code origen} (aleatorio en cada arranque): así una instancia
+ * reiniciada retoma sus offsets y no deja en el broker un grupo abandonado por cada arranque.
+ * <ul>
+ *   <li>Los mensajes llegan por lotes; las claves repetidas de un lote se invalidan una vez.</li>
+ *   <li>Los avisos publicados por esta misma instancia durante este arranque se ignoran: ya invalidó su
+ *       entrada al publicarlos.</li>
+ *   <li>Se invalida en lugar de recargar: el cliente se vuelve a leer solo si alguien lo pide.</li>
+ *   <li>El primer arranque de una instancia consume desde el final del tópico; los siguientes retoman
+ *       los avisos publicados mientras estuvo detenida.</li>
+ * </ul>
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class InvalidacionClienteCacheListener implements BatchMessageListener<String, String> {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidacionClienteCacheListener.class);
+
+    private final ClienteCache clienteCache;
+    private final FiltroBloomClientes filtroBloom;
+    private final IndiceNombresClientes indiceNombres;
+    private final String origen;
+    private final Counter invalidadas;
+
+    /**
+     * Listener que solo invalida la caché.
+     *
+     * @param clienteCache Caché local a invalidar.
+     * @param origen Identificador de este arranque de la instancia, el mismo que usa su publicador.
+     * @param invalidadas Contador de claves invalidadas por avisos de otras instancias.
+     */
+    public InvalidacionClienteCacheListener(ClienteCache clienteCache, String origen, Counter invalidadas) {
+        this(clienteCache, null, null, origen, invalidadas);
+    }
+
+    /**
+     * @param clienteCache Caché local a invalidar.
+     * @param filtroBloom Filtro de Bloom de claves existentes, o {@code null} si no está habilitado.
+     * @param indiceNombres Índice de nombres, o {@code null} si no está habilitado.
+     * @param origen Identificador de este arranque de la instancia, el mismo que usa su publicador.
+     * @param invalidadas Contador de claves invalidadas por avisos de otras instancias.
+     */
+    public InvalidacionClienteCacheListener(ClienteCache clienteCache, FiltroBloomClientes filtroBloom,
+                                            IndiceNombresClientes indiceNombres, String origen, Counter invalidadas) {
+        this.clienteCache = clienteCache;
+        this.filtroBloom = filtroBloom;
+        this.indiceNombres = indiceNombres;
+        this.origen = origen;
+        this.invalidadas = invalidadas;
+    }
+
+    @Override
+    public void onMessage(List<ConsumerRecord<String, String>> mensajes) {
+        Set<ClaveCliente> claves = new HashSet<>(mensajes.size() * 2);
+        List<Cliente> nuevos = new ArrayList<>(indiceNombres == null ? 0 : mensajes.size());
+        for (ConsumerRecord<String, String> mensaje : mensajes) {
+            if (mensaje.key() == null || mensaje.value() == null) {
+                continue;
+            }
+            String[] campos = mensaje.value().split(KafkaPublicadorCambiosCliente.SEPARADOR_VALOR, -1);
+            if (origen.equals(campos[0])) {
+                continue;
+            }
+            try {
+                ClaveCliente clave = KafkaPublicadorCambiosCliente.desdeTexto(mensaje.key());
+                claves.add(clave);
+                if (indiceNombres != null && campos.length == 5) {
+                    nuevos.add(new Cliente(clave.tipoDocumento(), clave.numeroDocumento(), campos[1], campos[2],
+                            campos[3], campos[4], null, null, null));
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warn("⚠️ Aviso de cambio ignorado en {}-{}@{}: {}", mensaje.topic(), mensaje.partition(),
+                        mensaje.offset(), e.getMessage());
+            }
+        }
+        if (filtroBloom != null) {
+            claves.forEach(filtroBloom::agregar);
+        }
+        claves.forEach(clienteCache::invalidar);
+        invalidadas.increment(claves.size());
+        if (!nuevos.isEmpty()) {
+            indexar(nuevos);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("🧹 {} avisos de cambio recibidos, {} entradas invalidadas", mensajes.size(), claves.size());
+        }
+    }
+
+    private void indexar(List<Cliente> clientes) {
+        int agregados = 0;
+        for (Cliente cliente : clientes) {
+            if (indiceNombres.agregar(cliente)) {
+                agregados++;
+            }
+        }
+        logger.debug("🔎 {} clientes de otras instancias agregados al índice de nombres", agregados);
+    }
+
+    /**
+     * Crea el contenedor que consume el tópico con un grupo exclusivo de esta instancia.
+     *
+     * @param fabrica Fábrica de consumidores de Kafka.
+     * @param topico Tópico de cambios de clientes.
+     * @param instancia Nombre estable de la instancia, único entre las que comparten el tópico.
+     * @return Contenedor sin iniciar.
+     */
+    public ConcurrentMessageListenerContainer<String, String> contenedor(ConsumerFactory<String, String> fabrica,
+                                                                         String topico, String instancia) {
+        ContainerProperties propiedades = new ContainerProperties(topico);
+        propiedades.setGroupId("clientes-cache-" + instancia);
+        propiedades.setMessageListener(this);
+        Properties consumidor = new Properties();
+        consumidor.setProperty(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        propiedades.setKafkaConsumerProperties(consumidor);
+        ConcurrentMessageListenerContainer<String, String> contenedor = new ConcurrentMessageListenerContainer<>(fabrica, propiedades);
+        contenedor.setBeanName("invalidacion-cache-clientes");
+        return contenedor;
+    }
+}
@@ -0,0 +1,125 @@
+package com.clinicos.backend.api.rest.infrastructure.eventos;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.PublicadorCambiosCliente;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implementación de {@link PublicadorCambiosCliente} sobre un tópico de Kafka.
+ * <p>
+ * Cada cliente cambiado es un mensaje con clave {@code tipoDocumento:numeroDocumento} y, como valor, el
+ * identificador de la instancia que lo publica (para que ella misma lo ignore al consumirlo) seguido de
+ * primer nombre, segundo nombre, primer apellido y segundo apellido, separados por {@value #SEPARADOR_VALOR}
+ * ({@code U+001F}); un dato {@code null} se escribe vacío. Los nombres permiten a las demás instancias
+ * indexar el cliente sin leerlo.
+ * <ul>
+ *   <li><b>Agrupado:</b> el envío es asíncrono; el productor junta los mensajes de varias solicitudes en un
+ *       mismo lote ({@code linger.ms}, {@code batch.size}) y lo comprime.</li>
+ *   <li><b>Compactado:</b> las claves repetidas de una misma publicación se envían una sola vez, y el tópico
+ *       usa {@code cleanup.policy=compact}, de modo que conserva solo el último aviso de cada cliente.</li>
+ *   <li><b>Fallos:</b> se registran y se cuentan en {@code errores}; la operación que publicó ya terminó
+ *       y las demás instancias conservan su entrada hasta que venza su TTL.</li>
+ * </ul>
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class KafkaPublicadorCambiosCliente implements PublicadorCambiosCliente {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaPublicadorCambiosCliente.class);
+
+    private static final char SEPARADOR = ':';
+
+    /** Separador de los campos del valor del mensaje. */
+    public static final String SEPARADOR_VALOR = "\u001F";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topico;
+    private final String origen;
+    private final Counter publicados;
+    private final Counter errores;
+
+    /**
+     * @param kafkaTemplate Plantilla del productor.
+     * @param topico Tópico de cambios de clientes.
+     * @param origen Identificador de esta instancia.
+     * @param publicados Contador de avisos enviados.
+     * @param errores Contador de avisos que Kafka no confirmó.
+     */
+    public KafkaPublicadorCambiosCliente(KafkaTemplate<String, String> kafkaTemplate, String topico, String origen,
+                                         Counter publicados, Counter errores) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topico = topico;
+        this.origen = origen;
+        this.publicados = publicados;
+        this.errores = errores;
+    }
+
+    @Override
+    public void publicar(Collection<Cliente> clientes) {
+        Map<ClaveCliente, Cliente> unicos = new LinkedHashMap<>(clientes.size() * 2);
+        for (Cliente cliente : clientes) {
+            unicos.put(ClaveCliente.de(cliente), cliente);
+        }
+        for (Map.Entry<ClaveCliente, Cliente> entrada : unicos.entrySet()) {
+            String mensaje = comoTexto(entrada.getKey());
+            try {
+                kafkaTemplate.send(topico, mensaje, valor(entrada.getValue())).whenComplete((resultado, e) -> {
+                    if (e != null) {
+                        errores.increment();
+                        logger.error("💥 Error al publicar el cambio del cliente {} en {}", mensaje, topico, e);
+                    }
+                });
+                publicados.increment();
+            } catch (Exception e) {
+                errores.increment();
+                logger.error("💥 Error al publicar el cambio del cliente {} en {}", mensaje, topico, e);
+            }
+        }
+    }
+
+    private String valor(Cliente cliente) {
+        return String.join(SEPARADOR_VALOR, origen, vacioSiNulo(cliente.getPrimerNombre()),
+                vacioSiNulo(cliente.getSegundoNombre()), vacioSiNulo(cliente.getPrimerApellido()),
+                vacioSiNulo(cliente.getSegundoApellido()));
+    }
+
+    private static String vacioSiNulo(String texto) {
+        return texto == null ? "" : texto;
+    }
+
+    /**
+     * Clave de mensaje de un cliente.
+     *
+     * @param clave Clave del cliente.
+     * @return Texto {@code tipoDocumento:numeroDocumento}.
+     */
+    public static String comoTexto(ClaveCliente clave) {
+        return clave.tipoDocumento() + SEPARADOR + clave.numeroDocumento();
+    }
+
+    /**
+     * Inversa de {@link #comoTexto(ClaveCliente)}. Se separa por el último {@code ':'}, así que el tipo de
+     * documento puede contenerlo.
+     *
+     * @param texto Clave de mensaje.
+     * @return Clave del cliente.
+     * @throws IllegalArgumentException Si el texto no tiene el formato esperado.
+     */
+    public static ClaveCliente desdeTexto(String texto) {
+        int separador = texto.lastIndexOf(SEPARADOR);
+        if (separador <= 0) {
+            throw new IllegalArgumentException("Clave de cliente inválida: " + texto);
+        }
+        return new ClaveCliente(texto.substring(0, separador), Long.parseLong(texto.substring(separador + 1)));
+    }
+}
@@ -0,0 +1,134 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Archivo proyectado en memoria ({@code mmap}) por tramos de tamaño fijo, direccionable con posiciones
+ * {@code long}.
+ * <p>
+ * Un {@link MappedByteBuffer} no puede superar 2 GiB, así que el archivo se proyecta en tramos de
+ * {@code 2^bitsTramo} bytes que se agregan a medida que crece. Proyectar un tramo extiende el archivo
+ * hasta su final; el sistema de archivos lo guarda disperso, sin ocupar disco por las zonas no escritas.
+ * <ul>
+ *   <li>Los enteros se guardan en little-endian, de modo que el archivo es portable entre máquinas.</li>
+ *   <li>{@link #getLongAcquire(long)} y {@link #putLongRelease(long, long)} permiten publicar datos a
+ *       lectores sin bloqueo: lo escrito antes de un {@code putLongRelease} es visible para quien lea ese
+ *       valor con {@code getLongAcquire}. Requieren posiciones múltiplo de 8.</li>
+ *   <li>Un valor nunca cruza el límite de un tramo: quien escribe debe alinear sus registros.</li>
+ * </ul>
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+final class ArchivoMapeado implements Closeable {
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel canal;
+    private final int bitsTramo;
+    private final long mascara;
+    private volatile MappedByteBuffer[] tramos = new MappedByteBuffer[0];
+
+    /**
+     * Abre (o crea) el archivo y proyecta los tramos que ya tiene.
+     *
+     * @param ruta Archivo a proyectar.
+     * @param bitsTramo Logaritmo en base 2 del tamaño de tramo, entre 12 y 30.
+     * @throws IOException Si el archivo no puede abrirse o proyectarse.
+     */
+    ArchivoMapeado(Path ruta, int bitsTramo) throws IOException {
+        if (bitsTramo < 12 || bitsTramo > 30) {
+            throw new IllegalArgumentException("bitsTramo debe estar entre 12 y 30: " + bitsTramo);
+        }
+        this.canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.bitsTramo = bitsTramo;
+        this.mascara = (1L << bitsTramo) - 1;
+        asegurar(Math.max(canal.size(), 1));
+    }
+
+    /**
+     * Proyecta los tramos necesarios para que las posiciones {@code [0, fin)} sean accesibles.
+     *
+     * @param fin Primera posición que no necesita estar proyectada.
+     * @throws IOException Si falla la proyección.
+     */
+    synchronized void asegurar(long fin) throws IOException {
+        int necesarios = (int) ((fin + mascara) >>> bitsTramo);
+        MappedByteBuffer[] actuales = tramos;
+        if (necesarios <= actuales.length) {
+            return;
+        }
+        MappedByteBuffer[] nuevos = Arrays.copyOf(actuales, necesarios);
+        for (int i = actuales.length; i < necesarios; i++) {
+            nuevos[i] = canal.map(FileChannel.MapMode.READ_WRITE, (long) i << bitsTramo, tamanoTramo());
+            nuevos[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        tramos = nuevos;
+    }
+
+    long tamanoTramo() {
+        return 1L << bitsTramo;
+    }
+
+    /**
+     * Tramo que contiene la posición. Se usa junto con {@link #desplazamiento(long)} para leer un
+     * registro completo con accesos absolutos, sin volver a resolver el tramo en cada campo.
+     */
+    ByteBuffer tramo(long posicion) {
+        return tramos[(int) (posicion >>> bitsTramo)];
+    }
+
+    int desplazamiento(long posicion) {
+        return (int) (posicion & mascara);
+    }
+
+    long getLong(long posicion) {
+        return tramo(posicion).getLong(desplazamiento(posicion));
+    }
+
+    void putLong(long posicion, long valor) {
+        tramo(posicion).putLong(desplazamiento(posicion), valor);
+    }
+
+    long getLongAcquire(long posicion) {
+        return (long) LONGS.getAcquire(tramo(posicion), desplazamiento(posicion));
+    }
+
+    void putLongRelease(long posicion, long valor) {
+        LONGS.setRelease(tramo(posicion), desplazamiento(posicion), valor);
+    }
+
+    void put(long posicion, byte[] origen, int longitud) {
+        tramo(posicion).put(desplazamiento(posicion), origen, 0, longitud);
+    }
+
+    /**
+     * Escribe en disco las páginas modificadas de todos los tramos.
+     */
+    void forzar() {
+        for (MappedByteBuffer tramo : tramos) {
+            tramo.force();
+        }
+    }
+
+    /**
+     * Fuerza los cambios a disco y cierra el canal. Los tramos ya entregados siguen siendo válidos
+     * hasta que el recolector los libere.
+     */
+    @Override
+    public void close() throws IOException {
+        forzar();
+        canal.close();
+    }
+}
@@ -0,0 +1,44 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.ports.RechazoPorIndisponibilidad;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+
+/**
+ * La operación se rechazó sin llegar a la base de datos porque no está sana o no tiene capacidad.
+ * <p>
+ * La lanzan {@link CircuitoClienteRepository}, {@link LimiteAdaptativoClienteRepository} y
+ * {@link ConcurrenciaLimitadaClienteRepository}. Indica cuándo conviene reintentar; el
+ * {@code GlobalExceptionHandler} la traduce a HTTP 503 con la cabecera {@code Retry-After}.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class BaseDatosNoDisponibleException extends DataAccessResourceFailureException implements RechazoPorIndisponibilidad {
+
+    private final Duration reintentarEn;
+
+    /**
+     * @param mensaje Motivo del rechazo.
+     * @param reintentarEn Tiempo sugerido antes de reintentar.
+     */
+    public BaseDatosNoDisponibleException(String mensaje, Duration reintentarEn) {
+        super(mensaje);
+        this.reintentarEn = reintentarEn;
+    }
+
+    public Duration getReintentarEn() {
+        return reintentarEn;
+    }
+
+    /**
+     * Valor de la cabecera {@code Retry-After}: segundos completos, al menos uno.
+     *
+     * @return Segundos antes de reintentar.
+     */
+    public long segundosReintento() {
+        return Math.max(1L, (reintentarEn.toMillis() + 999L) / 1000L);
+    }
+}
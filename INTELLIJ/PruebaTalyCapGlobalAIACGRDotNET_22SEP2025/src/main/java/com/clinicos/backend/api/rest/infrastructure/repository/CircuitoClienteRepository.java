@@ -0,0 +1,296 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Decorador de {@link ClienteRepository} que deja de consultar la base de datos mientras no está sana
+ * (<b>circuit breaker</b>).
+ * <p>
+ * Sin él, durante una degradación de SQL Server cada solicitud espera su tiempo máximo de consulta antes de
+ * fallar, y esas esperas ocupan conexiones y permisos que necesitan las demás. Estados:
+ * <ul>
+ *   <li><b>CERRADO:</b> las operaciones pasan. Se registra el resultado de las últimas {@code ventana}; con al
+ *       menos {@code minimoLlamadas}, el circuito se abre si la proporción de fallos de disponibilidad alcanza
+ *       {@code umbralErrores} o la de llamadas más lentas que {@code llamadaLenta} alcanza {@code umbralLentas}.</li>
+ *   <li><b>ABIERTO:</b> las operaciones fallan de inmediato con {@link BaseDatosNoDisponibleException}, que
+ *       indica el tiempo restante hasta volver a probar. Dura {@code esperaAbierto}.</li>
+ *   <li><b>SEMIABIERTO:</b> pasan solo {@code llamadasPrueba} operaciones. Si todas terminan a tiempo y sin
+ *       fallos el circuito se cierra; la primera que falla o es lenta lo vuelve a abrir.</li>
+ * </ul>
+ * Son fallos de disponibilidad los errores transitorios, de recurso (conexión, tiempo agotado) y los no
+ * categorizados del driver. Una clave duplicada o un error de integridad significan que la base de datos
+ * respondió y cuentan como éxito. Los rechazos de los limitadores de concurrencia no se registran: son carga,
+ * no fallos de la base de datos.
+ * <p>
+ * {@link #recorrerClientes} no pasa por el circuito: es un recorrido completo de la tabla, sin tiempo máximo
+ * de consulta, cuya duración falsearía la proporción de llamadas lentas.
+ * <p>
+ * El circuito va debajo de {@code ClienteCache}: con el circuito abierto los clientes en caché se siguen
+ * sirviendo y solo fallan rápido los que requieren la base de datos. Métricas:
+ * <ul>
+ *   <li>{@code clientes.db.circuito.transiciones}: cambios de estado, con etiquetas {@code desde} y {@code hacia}.</li>
+ *   <li>{@code clientes.db.circuito.rechazados}: operaciones rechazadas sin consultar la base de datos.</li>
+ * </ul>
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class CircuitoClienteRepository extends ClienteRepositoryDecorador {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitoClienteRepository.class);
+
+    /** Reintento sugerido cuando el circuito está probando y no admite más operaciones. */
+    private static final Duration REINTENTO_EN_PRUEBA = Duration.ofSeconds(1);
+
+    public enum Estado { CERRADO, SEMIABIERTO, ABIERTO }
+
+    private final int minimoLlamadas;
+    private final double umbralErrores;
+    private final double umbralLentas;
+    private final long llamadaLentaNanos;
+    private final long esperaAbiertoNanos;
+    private final int llamadasPrueba;
+    private final MeterRegistry meterRegistry;
+    private final Counter rechazados;
+
+    // Ventana circular de resultados, protegida por el monitor de esta instancia
+    private final boolean[] fallos;
+    private final boolean[] lentas;
+    private int posicion;
+    private int registradas;
+    private int fallidas;
+    private int lentasEnVentana;
+
+    private volatile Estado estado = Estado.CERRADO;
+    private long abiertoHasta;
+    private int pruebasIniciadas;
+    private int pruebasExitosas;
+
+    /**
+     * @param delegado Repositorio que accede a la base de datos.
+     * @param ventana Últimas operaciones consideradas para decidir la apertura.
+     * @param minimoLlamadas Operaciones registradas necesarias antes de poder abrir.
+     * @param umbralErrores Proporción de fallos de disponibilidad que abre el circuito (0 a 1).
+     * @param umbralLentas Proporción de llamadas lentas que abre el circuito (0 a 1).
+     * @param llamadaLenta Duración a partir de la cual una operación cuenta como lenta.
+     * @param esperaAbierto Tiempo en estado abierto antes de probar de nuevo.
+     * @param llamadasPrueba Operaciones admitidas en estado semiabierto.
+     * @param meterRegistry Registro de las métricas del circuito.
+     */
+    public CircuitoClienteRepository(ClienteRepository delegado, int ventana, int minimoLlamadas,
+                                     double umbralErrores, double umbralLentas, Duration llamadaLenta,
+                                     Duration esperaAbierto, int llamadasPrueba, MeterRegistry meterRegistry) {
+        super(delegado);
+        if (ventana <= 0 || minimoLlamadas <= 0 || minimoLlamadas > ventana) {
+            throw new IllegalArgumentException("La ventana y el mínimo de llamadas deben ser mayores que 0, con mínimo <= ventana");
+        }
+        if (umbralErrores <= 0 || umbralErrores > 1 || umbralLentas <= 0 || umbralLentas > 1) {
+            throw new IllegalArgumentException("Los umbrales deben estar entre 0 (excluido) y 1");
+        }
+        if (llamadasPrueba <= 0) {
+            throw new IllegalArgumentException("Las llamadas de prueba deben ser mayores que 0");
+        }
+        this.minimoLlamadas = minimoLlamadas;
+        this.umbralErrores = umbralErrores;
+        this.umbralLentas = umbralLentas;
+        this.llamadaLentaNanos = llamadaLenta.toNanos();
+        this.esperaAbiertoNanos = esperaAbierto.toNanos();
+        this.llamadasPrueba = llamadasPrueba;
+        this.fallos = new boolean[ventana];
+        this.lentas = new boolean[ventana];
+        this.meterRegistry = meterRegistry;
+        this.rechazados = meterRegistry.counter("clientes.db.circuito.rechazados");
+    }
+
+    @Override
+    public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
+        return ejecutar(() -> delegado.obtenerCliente(tipoDocumento, numeroDocumento));
+    }
+
+    @Override
+    public List<Cliente> obtenerClientes(Collection<ClaveCliente> claves) {
+        return ejecutar(() -> delegado.obtenerClientes(claves));
+    }
+
+    @Override
+    public void insertarCliente(Cliente cliente) {
+        ejecutar(() -> {
+            delegado.insertarCliente(cliente);
+            return null;
+        });
+    }
+
+    @Override
+    public ResultadoLote insertarClientes(List<Cliente> clientes) {
+        return ejecutar(() -> delegado.insertarClientes(clientes));
+    }
+
+    @Override
+    public List<Cliente> listarClientes(String ciudadResidencia, String primerApellido, ClaveCliente despuesDe, int limite) {
+        return ejecutar(() -> delegado.listarClientes(ciudadResidencia, primerApellido, despuesDe, limite));
+    }
+
+    @Override
+    public List<Cliente> buscarClientesPorNombre(String texto, int limite) {
+        return ejecutar(() -> delegado.buscarClientesPorNombre(texto, limite));
+    }
+
+    /**
+     * Estado actual. Un circuito abierto cuya espera ya venció se informa abierto hasta la siguiente operación.
+     *
+     * @return Estado del circuito.
+     */
+    public Estado getEstado() {
+        return estado;
+    }
+
+    private <T> T ejecutar(Supplier<T> operacion) {
+        Estado admitido = admitir();
+        long inicio = System.nanoTime();
+        boolean registrada = false;
+        try {
+            T resultado = operacion.get();
+            registrar(admitido, false, System.nanoTime() - inicio);
+            registrada = true;
+            return resultado;
+        } catch (BaseDatosNoDisponibleException e) {
+            // Rechazo de un limitador interno: no dice nada de la salud de la base de datos
+            throw e;
+        } catch (RuntimeException e) {
+            registrar(admitido, esFalloDeDisponibilidad(e), System.nanoTime() - inicio);
+            registrada = true;
+            throw e;
+        } finally {
+            if (!registrada) {
+                // Sin resultado que registrar (rechazo interno o un Error): la prueba queda libre para otra llamada
+                liberarPrueba(admitido);
+            }
+        }
+    }
+
+    private Estado admitir() {
+        long restante;
+        synchronized (this) {
+            if (estado == Estado.CERRADO) {
+                return Estado.CERRADO;
+            }
+            if (estado == Estado.ABIERTO) {
+                restante = abiertoHasta - System.nanoTime();
+                if (restante <= 0) {
+                    cambiarEstado(Estado.SEMIABIERTO);
+                    pruebasIniciadas = 0;
+                    pruebasExitosas = 0;
+                }
+            } else {
+                restante = 0;
+            }
+            if (estado == Estado.SEMIABIERTO && pruebasIniciadas < llamadasPrueba) {
+                pruebasIniciadas++;
+                return Estado.SEMIABIERTO;
+            }
+        }
+        rechazados.increment();
+        throw new BaseDatosNoDisponibleException("La base de datos no está disponible (circuito abierto)",
+                restante > 0 ? Duration.ofNanos(restante) : REINTENTO_EN_PRUEBA);
+    }
+
+    private synchronized void registrar(Estado admitido, boolean fallo, long duracionNanos) {
+        if (admitido != estado) {
+            // La operación empezó en otro estado (p. ej. antes de abrir): su resultado ya no aplica
+            return;
+        }
+        boolean lenta = duracionNanos > llamadaLentaNanos;
+        if (estado == Estado.SEMIABIERTO) {
+            if (fallo || lenta) {
+                abrir(fallo ? "falló una operación de prueba" : "una operación de prueba fue lenta");
+            } else if (++pruebasExitosas >= llamadasPrueba) {
+                reiniciarVentana();
+                cambiarEstado(Estado.CERRADO);
+                logger.info("✅ Circuito de base de datos cerrado tras {} operaciones de prueba exitosas", pruebasExitosas);
+            }
+            return;
+        }
+        if (registradas == fallos.length) {
+            fallidas -= fallos[posicion] ? 1 : 0;
+            lentasEnVentana -= lentas[posicion] ? 1 : 0;
+        } else {
+            registradas++;
+        }
+        fallos[posicion] = fallo;
+        lentas[posicion] = lenta;
+        fallidas += fallo ? 1 : 0;
+        lentasEnVentana += lenta ? 1 : 0;
+        posicion = (posicion + 1) % fallos.length;
+        if (registradas < minimoLlamadas) {
+            return;
+        }
+        if (fallidas >= umbralErrores * registradas) {
+            abrir(String.format("%d de %d operaciones fallaron", fallidas, registradas));
+        } else if (lentasEnVentana >= umbralLentas * registradas) {
+            abrir(String.format("%d de %d operaciones superaron %d ms", lentasEnVentana, registradas,
+                    Duration.ofNanos(llamadaLentaNanos).toMillis()));
+        }
+    }
+
+    private synchronized void liberarPrueba(Estado admitido) {
+        if (admitido == Estado.SEMIABIERTO && estado == Estado.SEMIABIERTO) {
+            pruebasIniciadas--;
+        }
+    }
+
+    private void abrir(String motivo) {
+        abiertoHasta = System.nanoTime() + esperaAbiertoNanos;
+        reiniciarVentana();
+        cambiarEstado(Estado.ABIERTO);
+        logger.warn("🔌 Circuito de base de datos abierto durante {} ms: {}",
+                Duration.ofNanos(esperaAbiertoNanos).toMillis(), motivo);
+    }
+
+    private void reiniciarVentana() {
+        Arrays.fill(fallos, false);
+        Arrays.fill(lentas, false);
+        posicion = 0;
+        registradas = 0;
+        fallidas = 0;
+        lentasEnVentana = 0;
+    }
+
+    private void cambiarEstado(Estado nuevo) {
+        Estado anterior = estado;
+        estado = nuevo;
+        meterRegistry.counter("clientes.db.circuito.transiciones",
+                "desde", anterior.name().toLowerCase(), "hacia", nuevo.name().toLowerCase()).increment();
+    }
+
+    /**
+     * Indica si el error refleja que la base de datos no está disponible o no responde a tiempo.
+     *
+     * @param e Error de la operación.
+     * @return {@code true} para errores transitorios, de recurso o no categorizados del driver.
+     */
+    static boolean esFalloDeDisponibilidad(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof UncategorizedSQLException;
+    }
+}
@@ -0,0 +1,66 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Base para decoradores de {@link ClienteRepository}.
+ * <p>
+ * Reenvía todas las operaciones al repositorio envuelto; cada decorador sobrescribe
+ * únicamente las operaciones a las que agrega comportamiento (filtros, métricas, etc.).
+ * Sigue el <b>Open/Closed Principle</b>: se agregan capacidades sin modificar el adaptador JDBC.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public abstract class ClienteRepositoryDecorador implements ClienteRepository {
+
+    protected final ClienteRepository delegado;
+
+    protected ClienteRepositoryDecorador(ClienteRepository delegado) {
+        this.delegado = delegado;
+    }
+
+    @Override
+    public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
+        return delegado.obtenerCliente(tipoDocumento, numeroDocumento);
+    }
+
+    @Override
+    public void insertarCliente(Cliente cliente) {
+        delegado.insertarCliente(cliente);
+    }
+
+    @Override
+    public ResultadoLote insertarClientes(List<Cliente> clientes) {
+        return delegado.insertarClientes(clientes);
+    }
+
+    @Override
+    public List<Cliente> obtenerClientes(Collection<ClaveCliente> claves) {
+        return delegado.obtenerClientes(claves);
+    }
+
+    @Override
+    public long recorrerClientes(Consumer<Cliente> consumidor) {
+        return delegado.recorrerClientes(consumidor);
+    }
+
+    @Override
+    public List<Cliente> listarClientes(String ciudadResidencia, String primerApellido, ClaveCliente despuesDe, int limite) {
+        return delegado.listarClientes(ciudadResidencia, primerApellido, despuesDe, limite);
+    }
+
+    @Override
+    public List<Cliente> buscarClientesPorNombre(String texto, int limite) {
+        return delegado.buscarClientesPorNombre(texto, limite);
+    }
+}
@@ -1,16 +1,46 @@
 package com.clinicos.backend.api.rest.infrastructure.repository;
 
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
 import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.FalloInsercion;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
 import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+import com.microsoft.sqlserver.jdbc.SQLServerConnection;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.stereotype.Repository;
 
+import javax.sql.DataSource;
+import java.sql.BatchUpdateException;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
 
 /**
  * Implementación de {@link ClienteRepository} usando Spring JdbcTemplate.
@@ -32,43 +62,199 @@ import java.util.Optional;
  * </ul>
  * <p>
  * Se implementa <b>logging</b> usando SLF4J para trazabilidad de operaciones.
+ * <p>
+ * Cada operación pública se mide con el timer {@code clientes.repositorio} y el mapeo de filas con
+ * {@code clientes.mapeo}, ambos con histograma de percentiles.
  *
  * @author Aura
  * Cristina Garzon Rodriguez
  * @since 23 Sep 2025
  */
 @Repository
+@Timed(value = "clientes.repositorio", description = "Latencia de las operaciones del repositorio JDBC", histogram = true)
 public class ClienteRepositoryImpl implements ClienteRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(ClienteRepositoryImpl.class);
 
+    private static final String SQL_INSERTAR = "INSERT INTO Clientes (TipoDocumento, NumeroDocumento, PrimerNombre, SegundoNombre, PrimerApellido, SegundoApellido, Telefono, Direccion, CiudadResidencia) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Máximo de claves por consulta múltiple: 2 parámetros por clave, por debajo del límite de 2100 de SQL Server.
+     */
+    static final int MAXIMO_CLAVES_POR_CONSULTA = 1024;
+
+    private static final String SQL_OBTENER_VARIOS = "SELECT c.TipoDocumento, c.NumeroDocumento, c.PrimerNombre, c.SegundoNombre, c.PrimerApellido, " +
+            "c.SegundoApellido, c.Telefono, c.Direccion, c.CiudadResidencia FROM Clientes c " +
+            "JOIN (VALUES %s) AS k(TipoDocumento, NumeroDocumento) " +
+            "ON c.TipoDocumento = k.TipoDocumento AND c.NumeroDocumento = k.NumeroDocumento";
+
+    /** Relleno de {@code VALUES} que no coincide con ninguna fila; con tipo para que el driver no lo infiera. */
+    private static final SqlParameterValue TIPO_RELLENO = new SqlParameterValue(Types.VARCHAR, null);
+    private static final SqlParameterValue NUMERO_RELLENO = new SqlParameterValue(Types.BIGINT, null);
+
+    private static final String SQL_RECORRER = "SELECT TipoDocumento, NumeroDocumento, PrimerNombre, SegundoNombre, PrimerApellido, " +
+            "SegundoApellido, Telefono, Direccion, CiudadResidencia FROM Clientes";
+
+    private static final String SQL_LISTAR = "SELECT TipoDocumento, NumeroDocumento, PrimerNombre, SegundoNombre, PrimerApellido, " +
+            "SegundoApellido, Telefono, Direccion, CiudadResidencia FROM Clientes";
+
+    /**
+     * Nombre completo con un espacio inicial, comparado sin tildes ni mayúsculas: {@code '% rodr%'}
+     * encuentra las palabras que empiezan por "rodr".
+     */
+    private static final String SQL_BUSCAR_NOMBRE = "SELECT TOP (?) TipoDocumento, NumeroDocumento, PrimerNombre, SegundoNombre, " +
+            "PrimerApellido, SegundoApellido, Telefono, Direccion, CiudadResidencia FROM Clientes WHERE %s";
+
+    private static final String NOMBRE_COMPLETO = "(' ' + CONCAT_WS(' ', PrimerNombre, SegundoNombre, PrimerApellido, SegundoApellido))";
+
+    private static final String INTERCALACION_SQL_SERVER = "Latin1_General_CI_AI";
+
+    /**
+     * Forma de consultar un cliente por clave ({@code clientes.db.consulta-cliente}).
+     * <ul>
+     *   <li><b>{@code exec}:</b> texto T-SQL que invoca {@code sp_ObtenerCliente}; SQL Server lo compila como
+     *       lote ad hoc y solo reutiliza el plan del procedimiento. No funciona en H2.</li>
+     *   <li><b>{@code select}:</b> {@code SELECT} parametrizado sobre Clientes. El driver lo prepara en el
+     *       servidor y, con {@code statementPoolingCacheSize}, reutiliza el manejador preparado de cada conexión:
+     *       las ejecuciones siguientes solo envían el manejador y los parámetros.</li>
+     *   <li><b>{@code call}:</b> {@link CallableStatement} sobre {@code sp_ObtenerCliente}; el driver lo envía
+     *       como llamada RPC directa al procedimiento, sin lote de texto. Conserva la lógica del procedimiento.</li>
+     * </ul>
+     */
+    public enum ConsultaCliente {
+        EXEC("EXEC sp_ObtenerCliente @TipoDocumento = ?, @NumeroDocumento = ?"),
+        SELECT("SELECT TipoDocumento, NumeroDocumento, PrimerNombre, SegundoNombre, PrimerApellido, SegundoApellido, " +
+                "Telefono, Direccion, CiudadResidencia FROM Clientes WHERE TipoDocumento = ? AND NumeroDocumento = ?"),
+        CALL("{call sp_ObtenerCliente(?, ?)}");
+
+        private final String sql;
+
+        ConsultaCliente(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    /** Sin timer por fila: en una exportación completa el muestreo costaría más que el mapeo. */
+    private static final ClienteRowMapper MAPEO_RECORRIDO = new ClienteRowMapper();
+
     private final JdbcTemplate jdbcTemplate;
+    private final int tamanoLote;
+    private final boolean bulkCopyHabilitado;
+    private final int tamanoFetch;
+    private final ClienteRowMapper clienteRowMapper;
+    private final ResultSetExtractor<Cliente> primerCliente;
+    private final ConsultaCliente consultaCliente;
+    private final String predicadoNombre;
 
     public ClienteRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, 1000, true);
+    }
+
+    public ClienteRepositoryImpl(JdbcTemplate jdbcTemplate, int tamanoLote, boolean bulkCopyHabilitado) {
+        this(jdbcTemplate, tamanoLote, bulkCopyHabilitado, 5000, Metrics.globalRegistry);
+    }
+
+    public ClienteRepositoryImpl(JdbcTemplate jdbcTemplate, int tamanoLote, boolean bulkCopyHabilitado, int tamanoFetch,
+                                 MeterRegistry meterRegistry) {
+        this(jdbcTemplate, tamanoLote, bulkCopyHabilitado, tamanoFetch, ConsultaCliente.EXEC, INTERCALACION_SQL_SERVER, meterRegistry);
+    }
+
+    /**
+     * Constructor con la configuración de inserción por lotes.
+     *
+     * @param jdbcTemplate Plantilla JDBC de acceso a la base de datos.
+     * @param tamanoLote Número de filas por lote JDBC o bulk copy ({@code clientes.lote.tamano}).
+     * @param bulkCopyHabilitado Si se usa {@link SQLServerBulkCopy} cuando el driver es SQL Server ({@code clientes.lote.bulk-copy}).
+     * @param tamanoFetch Filas por viaje a la base de datos al recorrer la tabla ({@code clientes.exportacion.fetch-size}).
+     * @param consultaCliente Forma de consultar un cliente por clave ({@code clientes.db.consulta-cliente}).
+     * @param intercalacionBusqueda Intercalación insensible a tildes y mayúsculas de la búsqueda por nombre; vacía
+     *                              si la base de datos ya compara así ({@code clientes.db.intercalacion-busqueda}).
+     * @param meterRegistry Registro donde se publica el timer de mapeo de filas.
+     */
+    @Autowired
+    public ClienteRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${clientes.lote.tamano:1000}") int tamanoLote,
+            @Value("${clientes.lote.bulk-copy:true}") boolean bulkCopyHabilitado,
+            @Value("${clientes.exportacion.fetch-size:5000}") int tamanoFetch,
+            @Value("${clientes.db.consulta-cliente:exec}") ConsultaCliente consultaCliente,
+            @Value("${clientes.db.intercalacion-busqueda:" + INTERCALACION_SQL_SERVER + "}") String intercalacionBusqueda,
+            MeterRegistry meterRegistry
+    ) {
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser mayor que 0");
+        }
+        if (tamanoFetch <= 0) {
+            throw new IllegalArgumentException("El tamaño de fetch debe ser mayor que 0");
+        }
         this.jdbcTemplate = jdbcTemplate;
+        this.tamanoLote = tamanoLote;
+        this.bulkCopyHabilitado = bulkCopyHabilitado;
+        this.tamanoFetch = tamanoFetch;
+        this.clienteRowMapper = new ClienteRowMapper(Timer.builder("clientes.mapeo")
+                .description("Tiempo de mapeo de una fila de Clientes")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        this.primerCliente = rs -> rs.next() ? clienteRowMapper.mapRow(rs, 0) : null;
+        this.consultaCliente = consultaCliente;
+        this.predicadoNombre = intercalacionBusqueda.isBlank()
+                ? NOMBRE_COMPLETO + " LIKE ?"
+                : NOMBRE_COMPLETO + " COLLATE " + intercalacionBusqueda + " LIKE ?";
     }
 
-    private final RowMapper<Cliente> clienteRowMapper = new RowMapper<>() {
-        @Override
-        public Cliente mapRow(ResultSet rs, int rowNum) throws SQLException {
-            return new Cliente(
-                    rs.getString("TipoDocumento"),
-                    rs.getLong("NumeroDocumento"),
-                    rs.getString("PrimerNombre"),
-                    rs.getString("SegundoNombre"),
-                    rs.getString("PrimerApellido"),
-                    rs.getString("SegundoApellido"),
-                    rs.getString("Telefono"),
-                    rs.getString("Direccion"),
-                    rs.getString("CiudadResidencia")
-            );
+    private ClienteRepositoryImpl(ClienteRepositoryImpl original, JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanoLote = original.tamanoLote;
+        this.bulkCopyHabilitado = original.bulkCopyHabilitado;
+        this.tamanoFetch = original.tamanoFetch;
+        this.clienteRowMapper = original.clienteRowMapper;
+        this.primerCliente = original.primerCliente;
+        this.consultaCliente = original.consultaCliente;
+        this.predicadoNombre = original.predicadoNombre;
+    }
+
+    /**
+     * Copia de este repositorio sobre otra base de datos con el mismo esquema, como una réplica de lectura.
+     * <p>
+     * Conserva la configuración de consultas y el tiempo máximo y fetch de la plantilla original.
+     *
+     * @param dataSource Origen de datos de la otra base de datos.
+     * @return Repositorio con la misma configuración sobre {@code dataSource}.
+     */
+    public ClienteRepositoryImpl sobre(DataSource dataSource) {
+        JdbcTemplate otra = new JdbcTemplate(dataSource);
+        otra.setQueryTimeout(jdbcTemplate.getQueryTimeout());
+        otra.setFetchSize(jdbcTemplate.getFetchSize());
+        return new ClienteRepositoryImpl(this, otra);
+    }
+
+    /**
+     * Los recorridos completos de la tabla (exportación, carga del filtro de Bloom y del índice de nombres)
+     * duran lo que tarde el consumidor y fijan su propio tamaño de fetch: no deben heredar el tiempo máximo
+     * ni el fetch de las consultas cortas ({@code clientes.db.timeout-consulta}, {@code clientes.db.fetch-size}).
+     * Son operaciones poco frecuentes: crear la plantilla en cada una no cuesta nada apreciable.
+     */
+    private JdbcTemplate sinLimitesDeConsulta() {
+        if (jdbcTemplate.getQueryTimeout() <= 0 && jdbcTemplate.getFetchSize() <= 0) {
+            return jdbcTemplate;
         }
-    };
+        JdbcTemplate recorrido = new JdbcTemplate(jdbcTemplate.getDataSource());
+        recorrido.setExceptionTranslator(jdbcTemplate.getExceptionTranslator());
+        return recorrido;
+    }
 
     /**
      * Obtiene un cliente por tipo y número de documento.
      * <p>
-     * Se registran logs de información, advertencia y errores.
+     * Se usa {@code query} con un extractor de la primera fila en lugar de {@code queryForObject}: un
+     * cliente inexistente devuelve {@code Optional.empty()} sin lanzar ni capturar
+     * {@code EmptyResultDataAccessException}. Los errores de la base de datos se propagan como
+     * {@link org.springframework.dao.DataAccessException} para no confundirlos con un cliente inexistente.
+     * <p>
+     * La sentencia depende de {@link ConsultaCliente}; las tres devuelven las mismas columnas.
+     * <p>
+     * Los logs de la ruta caliente van en DEBUG protegidos por nivel.
      *
      * @param tipoDocumento Tipo de documento (CC, CE, Pasaporte, etc.). No puede ser {@code null} o vacío.
      * @param numeroDocumento Número de documento, debe ser mayor que 0.
@@ -76,21 +262,166 @@ public class ClienteRepositoryImpl implements ClienteRepository {
      */
     @Override
     public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
-        String sql = "EXEC sp_ObtenerCliente @TipoDocumento = ?, @NumeroDocumento = ?";
-        try {
-            logger.info("🔍 Consultando cliente en DB con tipoDocumento={} y numeroDocumento={}", tipoDocumento, numeroDocumento);
-            Cliente cliente = jdbcTemplate.queryForObject(sql, clienteRowMapper, tipoDocumento, numeroDocumento);
-            if (cliente != null) {
-                logger.info("✅ Cliente encontrado en DB: {}", cliente);
-                return Optional.of(cliente);
-            } else {
-                logger.warn("❌ Cliente no encontrado en DB con tipoDocumento={} y numeroDocumento={}", tipoDocumento, numeroDocumento);
-                return Optional.empty();
+        Cliente cliente = consultaCliente == ConsultaCliente.CALL
+                ? jdbcTemplate.query(con -> {
+                    CallableStatement cs = con.prepareCall(consultaCliente.sql);
+                    cs.setString(1, tipoDocumento);
+                    cs.setLong(2, numeroDocumento);
+                    return cs;
+                }, primerCliente)
+                : jdbcTemplate.query(consultaCliente.sql, primerCliente, tipoDocumento, numeroDocumento);
+        if (logger.isDebugEnabled()) {
+            logger.atDebug()
+                    .addKeyValue("tipoDocumento", tipoDocumento)
+                    .addKeyValue("numeroDocumento", numeroDocumento)
+                    .addKeyValue("encontrado", cliente != null)
+                    .log("🔍 Cliente consultado en DB");
+        }
+        return Optional.ofNullable(cliente);
+    }
+
+    /**
+     * Obtiene varios clientes con una sola consulta por bloque de hasta {@value #MAXIMO_CLAVES_POR_CONSULTA} claves.
+     * <p>
+     * Las claves se unen a la tabla Clientes mediante un constructor de filas {@code VALUES} (consulta basada en
+     * conjuntos, sin tipo de tabla en el servidor). El número de filas se redondea a la siguiente potencia de dos
+     * para que SQL Server reutilice unos pocos planes en lugar de uno por tamaño. Las filas de relleno son
+     * {@code (NULL, NULL)} tipadas: {@code NULL = NULL} no es verdadero, así que no coinciden con ningún cliente
+     * (repetir una clave real la devolvería una vez por copia).
+     *
+     * @param claves Claves a consultar; los repetidos se consultan una sola vez.
+     * @return Clientes encontrados.
+     */
+    @Override
+    public List<Cliente> obtenerClientes(Collection<ClaveCliente> claves) {
+        List<ClaveCliente> unicas = new ArrayList<>(new LinkedHashSet<>(claves));
+        List<Cliente> encontrados = new ArrayList<>(unicas.size());
+        logger.debug("🔍 Consultando {} clientes en DB", unicas.size());
+        for (int desde = 0; desde < unicas.size(); desde += MAXIMO_CLAVES_POR_CONSULTA) {
+            List<ClaveCliente> bloque = unicas.subList(desde, Math.min(desde + MAXIMO_CLAVES_POR_CONSULTA, unicas.size()));
+            int filas = Math.min(MAXIMO_CLAVES_POR_CONSULTA, Math.max(8, Integer.highestOneBit(bloque.size() - 1) << 1));
+            Object[] parametros = new Object[filas * 2];
+            for (int i = 0; i < bloque.size(); i++) {
+                ClaveCliente clave = bloque.get(i);
+                parametros[i * 2] = clave.tipoDocumento();
+                parametros[i * 2 + 1] = clave.numeroDocumento();
             }
-        } catch (Exception e) {
-            logger.error("💥 Error al consultar cliente en DB con tipoDocumento={} y numeroDocumento={}", tipoDocumento, numeroDocumento, e);
-            return Optional.empty();
+            for (int i = bloque.size(); i < filas; i++) {
+                parametros[i * 2] = TIPO_RELLENO;
+                parametros[i * 2 + 1] = NUMERO_RELLENO;
+            }
+            String valores = String.join(", ", Collections.nCopies(filas, "(?, ?)"));
+            encontrados.addAll(jdbcTemplate.query(String.format(SQL_OBTENER_VARIOS, valores), clienteRowMapper.paraConsulta(), parametros));
+        }
+        logger.debug("✅ Clientes encontrados en DB: {} de {}", encontrados.size(), unicas.size());
+        return encontrados;
+    }
+
+    /**
+     * Lista clientes con paginación por clave (keyset) sobre {@code (TipoDocumento, NumeroDocumento)}.
+     * <p>
+     * La consulta solo incluye los predicados de los filtros presentes, para que SQL Server compile un
+     * plan por combinación de filtros en lugar de uno genérico con {@code (? IS NULL OR ...)} que no
+     * puede buscar en índices. El cursor se resuelve con rangos simples: primero
+     * {@code TipoDocumento = ? AND NumeroDocumento > ?} y, solo si la página queda incompleta,
+     * {@code TipoDocumento > ?}. Cada consulta es una búsqueda (seek) que empieza justo después de la
+     * última clave entregada; una disyunción equivalente haría que el motor recorriera todo el tipo de
+     * documento, y aquí solo hay unos pocos tipos.
+     * <p>
+     * Los filtros de igualdad se repiten al inicio del {@code ORDER BY}: no cambian el orden, pero hacen
+     * explícito que coincide con el del índice (H2 solo evita el ordenamiento en ese caso). Con los índices
+     * de {@code db/indices-clientes.sql} cada página es una búsqueda más un recorrido de {@code limite} filas.
+     *
+     * @param ciudadResidencia Ciudad exacta a filtrar, o {@code null}.
+     * @param primerApellido Primer apellido exacto a filtrar, o {@code null}.
+     * @param despuesDe Última clave de la página anterior, o {@code null} para la primera página.
+     * @param limite Número máximo de clientes a devolver.
+     * @return Clientes ordenados por clave.
+     */
+    @Override
+    public List<Cliente> listarClientes(String ciudadResidencia, String primerApellido, ClaveCliente despuesDe, int limite) {
+        List<Cliente> clientes;
+        if (despuesDe == null) {
+            clientes = consultarPagina(ciudadResidencia, primerApellido, null, List.of(), limite);
+        } else {
+            clientes = consultarPagina(ciudadResidencia, primerApellido, "TipoDocumento = ? AND NumeroDocumento > ?",
+                    List.of(despuesDe.tipoDocumento(), despuesDe.numeroDocumento()), limite);
+            if (clientes.size() < limite) {
+                clientes = new ArrayList<>(clientes);
+                clientes.addAll(consultarPagina(ciudadResidencia, primerApellido, "TipoDocumento > ?",
+                        List.of(despuesDe.tipoDocumento()), limite - clientes.size()));
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.atDebug()
+                    .addKeyValue("ciudadResidencia", ciudadResidencia)
+                    .addKeyValue("primerApellido", primerApellido)
+                    .addKeyValue("despuesDe", despuesDe)
+                    .addKeyValue("filas", clientes.size())
+                    .log("📄 Página de clientes consultada en DB");
+        }
+        return clientes;
+    }
+
+    private List<Cliente> consultarPagina(String ciudadResidencia, String primerApellido,
+                                          String rangoClave, List<Object> parametrosRango, int limite) {
+        StringBuilder sql = new StringBuilder(SQL_LISTAR);
+        StringBuilder orden = new StringBuilder(" ORDER BY ");
+        List<Object> parametros = new ArrayList<>(5);
+        String conector = " WHERE ";
+        if (ciudadResidencia != null) {
+            sql.append(conector).append("CiudadResidencia = ?");
+            orden.append("CiudadResidencia, ");
+            parametros.add(ciudadResidencia);
+            conector = " AND ";
+        }
+        if (primerApellido != null) {
+            sql.append(conector).append("PrimerApellido = ?");
+            orden.append("PrimerApellido, ");
+            parametros.add(primerApellido);
+            conector = " AND ";
+        }
+        if (rangoClave != null) {
+            sql.append(conector).append(rangoClave);
+            parametros.addAll(parametrosRango);
+        }
+        sql.append(orden).append("TipoDocumento, NumeroDocumento OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY");
+        parametros.add(limite);
+        return jdbcTemplate.query(sql.toString(), clienteRowMapper.paraConsulta(), parametros.toArray());
+    }
+
+    /**
+     * Busca por nombre con {@code LIKE} sobre el nombre completo, con intercalación insensible a tildes.
+     * <p>
+     * El patrón empieza con comodín, así que SQL Server recorre la tabla completa: es la ruta de respaldo
+     * mientras {@link IndiceNombresClientes} no está listo o si está deshabilitado.
+     *
+     * @param texto Texto de búsqueda con una o más palabras.
+     * @param limite Número máximo de clientes a devolver.
+     * @return Clientes que coinciden; vacío si el texto no tiene palabras.
+     */
+    @Override
+    public List<Cliente> buscarClientesPorNombre(String texto, int limite) {
+        List<String> palabras = IndiceNombresClientes.palabras(texto);
+        if (palabras.isEmpty()) {
+            return List.of();
+        }
+        List<Object> parametros = new ArrayList<>(palabras.size() + 1);
+        parametros.add(limite);
+        StringJoiner predicados = new StringJoiner(" AND ");
+        for (String palabra : palabras) {
+            predicados.add(predicadoNombre);
+            parametros.add("% " + palabra + "%");
         }
+
+        List<Cliente> clientes = jdbcTemplate.query(String.format(SQL_BUSCAR_NOMBRE, predicados), clienteRowMapper.paraConsulta(), parametros.toArray());
+        if (logger.isDebugEnabled()) {
+            logger.atDebug()
+                    .addKeyValue("palabras", palabras)
+                    .addKeyValue("filas", clientes.size())
+                    .log("🔎 Búsqueda por nombre resuelta en DB");
+        }
+        return clientes;
     }
 
     /**
@@ -102,12 +433,10 @@ public class ClienteRepositoryImpl implements ClienteRepository {
      */
     @Override
     public void insertarCliente(Cliente cliente) {
-        String sql = "INSERT INTO Clientes (TipoDocumento, NumeroDocumento, PrimerNombre, SegundoNombre, PrimerApellido, SegundoApellido, Telefono, Direccion, CiudadResidencia) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
         try {
             logger.info("📝 Insertando cliente en DB: {}", cliente);
             jdbcTemplate.update(
-                    sql,
+                    SQL_INSERTAR,
                     cliente.getTipoDocumento(),
                     cliente.getNumeroDocumento(),
                     cliente.getPrimerNombre(),
@@ -124,4 +453,177 @@ public class ClienteRepositoryImpl implements ClienteRepository {
             throw e; // Re-lanzar para manejo global
         }
     }
+
+    /**
+     * Inserta un lote de clientes.
+     * <p>
+     * La lista se divide en bloques de {@code tamanoLote} filas. Cada bloque se envía:
+     * <ul>
+     *   <li>Con {@link SQLServerBulkCopy} si el driver es SQL Server y está habilitado (una transacción por bloque).</li>
+     *   <li>Con batch JDBC ({@code addBatch/executeBatch}) si no, o si el bulk copy rechaza el bloque;
+     *       así cada fila rechazada queda identificada en el resultado.</li>
+     * </ul>
+     *
+     * @param clientes Clientes a insertar. No puede ser {@code null}.
+     * @return {@link ResultadoLote} con filas insertadas y fallos por fila.
+     */
+    @Override
+    public ResultadoLote insertarClientes(List<Cliente> clientes) {
+        logger.info("📝 Insertando lote de {} clientes en DB (tamanoLote={})", clientes.size(), tamanoLote);
+        List<FalloInsercion> fallos = new ArrayList<>();
+        int insertados = 0;
+        for (int desde = 0; desde < clientes.size(); desde += tamanoLote) {
+            List<Cliente> bloque = clientes.subList(desde, Math.min(desde + tamanoLote, clientes.size()));
+            int inicio = desde;
+            Integer insertadosBloque = jdbcTemplate.execute((ConnectionCallback<Integer>) con -> insertarBloque(con, bloque, inicio, fallos));
+            insertados += insertadosBloque == null ? 0 : insertadosBloque;
+        }
+        ResultadoLote resultado = new ResultadoLote(clientes.size(), insertados, fallos);
+        if (resultado.exitoso()) {
+            logger.info("✅ Lote insertado correctamente: {} clientes", insertados);
+        } else {
+            logger.warn("⚠️ Lote insertado parcialmente: {} de {} clientes, {} fallos", insertados, clientes.size(), fallos.size());
+        }
+        return resultado;
+    }
+
+    private int insertarBloque(Connection con, List<Cliente> bloque, int inicio, List<FalloInsercion> fallos) throws SQLException {
+        if (bulkCopyHabilitado && con.isWrapperFor(SQLServerConnection.class)) {
+            try {
+                copiarMasivamente(con.unwrap(SQLServerConnection.class), bloque);
+                return bloque.size();
+            } catch (SQLException e) {
+                logger.warn("⚠️ Bulk copy rechazado para el bloque desde el índice {}; se reintenta con batch JDBC: {}", inicio, e.getMessage());
+            }
+        }
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try {
+            int insertados = insertarBloqueJdbc(con, bloque, inicio, fallos);
+            con.commit();
+            return insertados;
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void copiarMasivamente(SQLServerConnection con, List<Cliente> bloque) throws SQLException {
+        try (SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(con)) {
+            SQLServerBulkCopyOptions opciones = new SQLServerBulkCopyOptions();
+            opciones.setBatchSize(bloque.size());
+            opciones.setUseInternalTransaction(true);
+            opciones.setCheckConstraints(true);
+            opciones.setKeepNulls(true);
+            bulkCopy.setBulkCopyOptions(opciones);
+            bulkCopy.setDestinationTableName("Clientes");
+            for (int columna = 1; columna <= ClientesBulkData.COLUMNAS.length; columna++) {
+                bulkCopy.addColumnMapping(columna, ClientesBulkData.COLUMNAS[columna - 1]);
+            }
+            bulkCopy.writeToServer(new ClientesBulkData(bloque));
+        }
+    }
+
+    /**
+     * Ejecuta el bloque con batch JDBC. Si el driver se detiene en la primera fila fallida
+     * (menos conteos que filas), esa fila se registra como fallo y se reenvía el resto.
+     */
+    private int insertarBloqueJdbc(Connection con, List<Cliente> bloque, int inicio, List<FalloInsercion> fallos) throws SQLException {
+        int insertados = 0;
+        int pendiente = 0;
+        while (pendiente < bloque.size()) {
+            List<Cliente> resto = bloque.subList(pendiente, bloque.size());
+            try (PreparedStatement ps = con.prepareStatement(SQL_INSERTAR)) {
+                for (Cliente cliente : resto) {
+                    asignarParametros(ps, cliente);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                return insertados + resto.size();
+            } catch (BatchUpdateException e) {
+                int[] conteos = e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+                for (int i = 0; i < conteos.length && i < resto.size(); i++) {
+                    if (conteos[i] == Statement.EXECUTE_FAILED) {
+                        fallos.add(fallo(inicio + pendiente + i, resto.get(i), e));
+                    } else {
+                        insertados++;
+                    }
+                }
+                if (conteos.length >= resto.size()) {
+                    return insertados;
+                }
+                fallos.add(fallo(inicio + pendiente + conteos.length, resto.get(conteos.length), e));
+                pendiente += conteos.length + 1;
+            }
+        }
+        return insertados;
+    }
+
+    private static void asignarParametros(PreparedStatement ps, Cliente cliente) throws SQLException {
+        ps.setString(1, cliente.getTipoDocumento());
+        ps.setLong(2, cliente.getNumeroDocumento());
+        ps.setString(3, cliente.getPrimerNombre());
+        ps.setString(4, cliente.getSegundoNombre());
+        ps.setString(5, cliente.getPrimerApellido());
+        ps.setString(6, cliente.getSegundoApellido());
+        ps.setString(7, cliente.getTelefono());
+        ps.setString(8, cliente.getDireccion());
+        ps.setString(9, cliente.getCiudadResidencia());
+    }
+
+    private static FalloInsercion fallo(int indice, Cliente cliente, SQLException e) {
+        return new FalloInsercion(indice, ClaveCliente.de(cliente), e.getMessage());
+    }
+
+    /**
+     * Recorre todas las claves (tipo y número de documento) de la tabla Clientes.
+     * <p>
+     * Las filas se procesan a medida que se leen, sin acumularlas en memoria. Se usa para
+     * construir estructuras en memoria como el {@link FiltroBloomClientes}.
+     *
+     * @param consumidor Función que recibe cada clave leída.
+     * @return Número de claves recorridas.
+     */
+    public long recorrerClaves(Consumer<ClaveCliente> consumidor) {
+        String sql = "SELECT TipoDocumento, NumeroDocumento FROM Clientes";
+        long[] total = {0};
+        logger.info("🔍 Recorriendo claves de clientes en DB");
+        sinLimitesDeConsulta().query(sql, rs -> {
+            consumidor.accept(new ClaveCliente(rs.getString(1), rs.getLong(2)));
+            total[0]++;
+        });
+        logger.info("✅ Claves de clientes recorridas: {}", total[0]);
+        return total[0];
+    }
+
+    /**
+     * Recorre la tabla Clientes completa con un cursor de solo avance y solo lectura.
+     * <p>
+     * El driver trae {@code tamanoFetch} filas por viaje y cada fila se entrega al consumidor en
+     * cuanto se mapea, sin acumularlas: la memoria no depende del tamaño de la tabla. Con SQL Server
+     * esto se apoya en {@code responseBuffering=adaptive} (el valor por defecto del driver). Si el
+     * consumidor lanza una excepción (por ejemplo, el cliente HTTP cerró la conexión), JdbcTemplate
+     * cierra el cursor y la excepción se propaga.
+     *
+     * @param consumidor Función que recibe cada cliente leído.
+     * @return Número de clientes recorridos.
+     */
+    @Override
+    public long recorrerClientes(Consumer<Cliente> consumidor) {
+        long[] total = {0};
+        RowMapper<Cliente> mapeo = MAPEO_RECORRIDO.paraConsulta();
+        logger.info("📤 Recorriendo clientes en DB (fetchSize={})", tamanoFetch);
+        sinLimitesDeConsulta().query(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_RECORRER, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(tamanoFetch);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            consumidor.accept(mapeo.mapRow(rs, (int) total[0]));
+            total[0]++;
+        });
+        logger.info("✅ Clientes recorridos: {}", total[0]);
+        return total[0];
+    }
 }
@@ -0,0 +1,113 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Convierte una fila de la tabla Clientes (o del resultado de {@code sp_ObtenerCliente}) en {@link Cliente}.
+ * <p>
+ * Es un objeto sin estado y puede compartirse entre hilos. Si se construye con un {@link Timer},
+ * registra el tiempo de mapeo de cada fila (métrica {@code clientes.mapeo}).
+ * <p>
+ * {@link #mapRow(ResultSet, int)} busca las nueve columnas por nombre en cada fila; el driver compara el
+ * nombre con cada columna del resultado. Para consultas de varias filas, {@link #paraConsulta()} entrega
+ * un mapeador que resuelve los índices una vez por {@link ResultSet} y luego lee por posición.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class ClienteRowMapper implements RowMapper<Cliente> {
+
+    private final Timer tiempoMapeo;
+
+    public ClienteRowMapper() {
+        this(null);
+    }
+
+    /**
+     * @param tiempoMapeo Timer donde se registra la duración del mapeo de cada fila; {@code null} para no medir.
+     */
+    public ClienteRowMapper(Timer tiempoMapeo) {
+        this.tiempoMapeo = tiempoMapeo;
+    }
+
+    @Override
+    public Cliente mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return mapear(rs, Columnas.de(rs));
+    }
+
+    /**
+     * Mapeador para un único {@link ResultSet}: resuelve los índices de las columnas en la primera fila y
+     * los reutiliza en las siguientes. Cada consulta debe pedir uno nuevo, como hace
+     * {@link RowMapperResultSetExtractor} al recorrer las filas en orden y en un solo hilo.
+     *
+     * @return Mapeador con estado, de un solo uso.
+     */
+    public RowMapper<Cliente> paraConsulta() {
+        return new RowMapper<>() {
+            private Columnas columnas;
+
+            @Override
+            public Cliente mapRow(ResultSet rs, int rowNum) throws SQLException {
+                if (columnas == null) {
+                    columnas = Columnas.de(rs);
+                }
+                return mapear(rs, columnas);
+            }
+        };
+    }
+
+    private Cliente mapear(ResultSet rs, Columnas columnas) throws SQLException {
+        if (tiempoMapeo == null) {
+            return columnas.leer(rs);
+        }
+        long inicio = System.nanoTime();
+        try {
+            return columnas.leer(rs);
+        } finally {
+            tiempoMapeo.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Posición de cada columna de Clientes en un resultado concreto. No se asume el orden: el de
+     * {@code sp_ObtenerCliente} lo define el procedimiento.
+     */
+    private record Columnas(int tipoDocumento, int numeroDocumento, int primerNombre, int segundoNombre,
+                            int primerApellido, int segundoApellido, int telefono, int direccion, int ciudadResidencia) {
+
+        static Columnas de(ResultSet rs) throws SQLException {
+            return new Columnas(
+                    rs.findColumn("TipoDocumento"),
+                    rs.findColumn("NumeroDocumento"),
+                    rs.findColumn("PrimerNombre"),
+                    rs.findColumn("SegundoNombre"),
+                    rs.findColumn("PrimerApellido"),
+                    rs.findColumn("SegundoApellido"),
+                    rs.findColumn("Telefono"),
+                    rs.findColumn("Direccion"),
+                    rs.findColumn("CiudadResidencia"));
+        }
+
+        Cliente leer(ResultSet rs) throws SQLException {
+            return new Cliente(
+                    rs.getString(tipoDocumento),
+                    rs.getLong(numeroDocumento),
+                    rs.getString(primerNombre),
+                    rs.getString(segundoNombre),
+                    rs.getString(primerApellido),
+                    rs.getString(segundoApellido),
+                    rs.getString(telefono),
+                    rs.getString(direccion),
+                    rs.getString(ciudadResidencia)
+            );
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkData;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fuente de datos para {@code SQLServerBulkCopy} a partir de una lista de {@link Cliente}.
+ * <p>
+ * Expone las columnas de la tabla Clientes en el mismo orden que el INSERT de
+ * {@link ClienteRepositoryImpl}, recorriendo la lista sin copiarla.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+class ClientesBulkData implements ISQLServerBulkData {
+
+    static final String[] COLUMNAS = {
+            "TipoDocumento", "NumeroDocumento", "PrimerNombre", "SegundoNombre", "PrimerApellido",
+            "SegundoApellido", "Telefono", "Direccion", "CiudadResidencia"
+    };
+
+    private static final Set<Integer> ORDINALES = Set.of(1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+    private final transient List<Cliente> clientes;
+    private int actual = -1;
+
+    ClientesBulkData(List<Cliente> clientes) {
+        this.clientes = clientes;
+    }
+
+    @Override
+    public Set<Integer> getColumnOrdinals() {
+        return ORDINALES;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return COLUMNAS[columna - 1];
+    }
+
+    @Override
+    public int getColumnType(int columna) {
+        return columna == 2 ? Types.BIGINT : Types.NVARCHAR;
+    }
+
+    @Override
+    public int getPrecision(int columna) {
+        return columna == 2 ? 19 : 255;
+    }
+
+    @Override
+    public int getScale(int columna) {
+        return 0;
+    }
+
+    @Override
+    public Object[] getRowData() {
+        Cliente cliente = clientes.get(actual);
+        return new Object[]{
+                cliente.getTipoDocumento(),
+                cliente.getNumeroDocumento(),
+                cliente.getPrimerNombre(),
+                cliente.getSegundoNombre(),
+                cliente.getPrimerApellido(),
+                cliente.getSegundoApellido(),
+                cliente.getTelefono(),
+                cliente.getDireccion(),
+                cliente.getCiudadResidencia()
+        };
+    }
+
+    @Override
+    public boolean next() {
+        return ++actual < clientes.size();
+    }
+}
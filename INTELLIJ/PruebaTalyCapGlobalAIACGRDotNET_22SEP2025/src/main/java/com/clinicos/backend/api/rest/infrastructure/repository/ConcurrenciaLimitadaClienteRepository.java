@@ -0,0 +1,182 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Decorador de {@link ClienteRepository} que limita el número de operaciones simultáneas contra la base de datos.
+ * <p>
+ * Con hilos virtuales cada solicitud tiene su propio hilo, por lo que la concurrencia ya no la limita el pool
+ * de Tomcat. Un {@link Semaphore} del tamaño del pool de conexiones evita que miles de hilos compitan por
+ * las conexiones: los que exceden el límite esperan en el semáforo (sin fijar el hilo portador) y, si la espera
+ * supera {@code esperaMaxima}, la operación falla con {@link BaseDatosNoDisponibleException} (HTTP 503).
+ * <p>
+ * Como el semáforo va delante del pool, la espera por una conexión ocurre aquí y no en Hikari. Métricas:
+ * <ul>
+ *   <li>{@code clientes.db.permisos.espera}: tiempo de espera por un permiso, con histograma de percentiles.</li>
+ *   <li>{@code clientes.db.permisos.rechazados}: operaciones que no obtuvieron permiso en {@code esperaMaxima}.</li>
+ *   <li>{@code clientes.db.consultas.timeout}: operaciones canceladas por el tiempo máximo de consulta.</li>
+ * </ul>
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class ConcurrenciaLimitadaClienteRepository extends ClienteRepositoryDecorador {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrenciaLimitadaClienteRepository.class);
+
+    private final Semaphore permisos;
+    private final long esperaMaximaNanos;
+    private final Timer espera;
+    private final Counter rechazados;
+    private final Counter consultasAgotadas;
+
+    public ConcurrenciaLimitadaClienteRepository(ClienteRepository delegado, int concurrenciaMaxima, Duration esperaMaxima) {
+        this(delegado, concurrenciaMaxima, esperaMaxima, Metrics.globalRegistry);
+    }
+
+    /**
+     * @param delegado Repositorio que accede a la base de datos.
+     * @param concurrenciaMaxima Operaciones simultáneas permitidas (normalmente el tamaño del pool de conexiones).
+     * @param esperaMaxima Tiempo máximo de espera por un permiso.
+     * @param meterRegistry Registro de las métricas de espera, rechazos y tiempos de consulta agotados.
+     */
+    public ConcurrenciaLimitadaClienteRepository(ClienteRepository delegado, int concurrenciaMaxima, Duration esperaMaxima,
+                                                 MeterRegistry meterRegistry) {
+        super(delegado);
+        if (concurrenciaMaxima <= 0) {
+            throw new IllegalArgumentException("La concurrencia máxima debe ser mayor que 0");
+        }
+        this.permisos = new Semaphore(concurrenciaMaxima, true);
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.espera = Timer.builder("clientes.db.permisos.espera")
+                .description("Espera por capacidad de base de datos antes de pedir una conexión")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rechazados = meterRegistry.counter("clientes.db.permisos.rechazados");
+        this.consultasAgotadas = meterRegistry.counter("clientes.db.consultas.timeout");
+    }
+
+    @Override
+    public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
+        return ejecutar(() -> delegado.obtenerCliente(tipoDocumento, numeroDocumento));
+    }
+
+    @Override
+    public List<Cliente> obtenerClientes(Collection<ClaveCliente> claves) {
+        return ejecutar(() -> delegado.obtenerClientes(claves));
+    }
+
+    @Override
+    public void insertarCliente(Cliente cliente) {
+        ejecutar(() -> {
+            delegado.insertarCliente(cliente);
+            return null;
+        });
+    }
+
+    @Override
+    public ResultadoLote insertarClientes(List<Cliente> clientes) {
+        return ejecutar(() -> delegado.insertarClientes(clientes));
+    }
+
+    @Override
+    public long recorrerClientes(Consumer<Cliente> consumidor) {
+        return ejecutar(() -> delegado.recorrerClientes(consumidor));
+    }
+
+    @Override
+    public List<Cliente> listarClientes(String ciudadResidencia, String primerApellido, ClaveCliente despuesDe, int limite) {
+        return ejecutar(() -> delegado.listarClientes(ciudadResidencia, primerApellido, despuesDe, limite));
+    }
+
+    @Override
+    public List<Cliente> buscarClientesPorNombre(String texto, int limite) {
+        return ejecutar(() -> delegado.buscarClientesPorNombre(texto, limite));
+    }
+
+    /**
+     * Permisos libres en este momento.
+     *
+     * @return Número de operaciones adicionales que pueden iniciar sin esperar.
+     */
+    public int permisosDisponibles() {
+        return permisos.availablePermits();
+    }
+
+    /**
+     * Hilos esperando un permiso (estimado).
+     *
+     * @return Número de operaciones en espera.
+     */
+    public int operacionesEnEspera() {
+        return permisos.getQueueLength();
+    }
+
+    private <T> T ejecutar(Supplier<T> operacion) {
+        long inicio = System.nanoTime();
+        try {
+            boolean concedido = permisos.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+            espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            if (!concedido) {
+                rechazados.increment();
+                logger.warn("⏳ Sin capacidad de base de datos tras esperar {} ms ({} operaciones en espera)",
+                        TimeUnit.NANOSECONDS.toMillis(esperaMaximaNanos), permisos.getQueueLength());
+                throw new BaseDatosNoDisponibleException("No hay capacidad disponible en la base de datos", Duration.ofSeconds(1));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Espera de capacidad de base de datos interrumpida", e);
+        }
+        try {
+            return operacion.get();
+        } catch (RuntimeException e) {
+            if (esTiempoAgotado(e)) {
+                consultasAgotadas.increment();
+                logger.warn("⏱️ Consulta cancelada por tiempo máximo de ejecución: {}", e.getMessage());
+            }
+            throw e;
+        } finally {
+            permisos.release();
+        }
+    }
+
+    /**
+     * Spring traduce {@link SQLTimeoutException} a {@link QueryTimeoutException}; algunos drivers solo
+     * informan el SQLState de cancelación ({@code HYT00}, {@code HY008}).
+     */
+    private static boolean esTiempoAgotado(Throwable e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof QueryTimeoutException || causa instanceof SQLTimeoutException) {
+                return true;
+            }
+            if (causa instanceof SQLException sql && sql.getSQLState() != null
+                    && (sql.getSQLState().startsWith("HYT") || sql.getSQLState().equals("HY008"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,114 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorador de {@link ClienteRepository} que comparte una misma consulta en curso entre todas las
+ * solicitudes simultáneas del mismo documento (<i>single-flight</i>).
+ * <p>
+ * En una campaña, muchas solicitudes piden el mismo cliente a la vez y cada una ejecutaría su propio
+ * {@code sp_ObtenerCliente}. Con este decorador:
+ * <ul>
+ *   <li>La primera solicitud de una clave ejecuta la consulta; las que llegan mientras está en curso
+ *       esperan y reciben el mismo resultado (o la misma excepción).</li>
+ *   <li>Al terminar, la clave se libera: no se guarda nada, así que no hay datos vencidos como en una caché.</li>
+ *   <li>Tras insertar un cliente se libera también su clave, para que ninguna lectura posterior reciba el
+ *       resultado de una consulta iniciada antes de la inserción.</li>
+ * </ul>
+ * Las solicitudes que no ejecutaron la consulta se cuentan en {@code colapsadas}.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class ConsultaCompartidaClienteRepository extends ClienteRepositoryDecorador {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsultaCompartidaClienteRepository.class);
+
+    private final Map<ClaveCliente, CompletableFuture<Optional<Cliente>>> enCurso = new ConcurrentHashMap<>();
+    private final Counter colapsadas;
+
+    /**
+     * @param delegado Repositorio que ejecuta las consultas.
+     * @param colapsadas Contador de solicitudes atendidas con la consulta en curso de otra.
+     */
+    public ConsultaCompartidaClienteRepository(ClienteRepository delegado, Counter colapsadas) {
+        super(delegado);
+        this.colapsadas = colapsadas;
+    }
+
+    @Override
+    public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
+        ClaveCliente clave = new ClaveCliente(tipoDocumento, numeroDocumento);
+        CompletableFuture<Optional<Cliente>> propia = new CompletableFuture<>();
+        CompletableFuture<Optional<Cliente>> existente = enCurso.putIfAbsent(clave, propia);
+        if (existente != null) {
+            colapsadas.increment();
+            logger.debug("🔗 Consulta compartida con tipoDocumento={} y numeroDocumento={}", tipoDocumento, numeroDocumento);
+            return esperar(existente);
+        }
+        try {
+            Optional<Cliente> cliente = delegado.obtenerCliente(tipoDocumento, numeroDocumento);
+            propia.complete(cliente);
+            return cliente;
+        } catch (Throwable e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+
+    private static Optional<Cliente> esperar(CompletableFuture<Optional<Cliente>> consulta) {
+        try {
+            return consulta.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void insertarCliente(Cliente cliente) {
+        delegado.insertarCliente(cliente);
+        enCurso.remove(ClaveCliente.de(cliente));
+    }
+
+    @Override
+    public ResultadoLote insertarClientes(List<Cliente> clientes) {
+        ResultadoLote resultado = delegado.insertarClientes(clientes);
+        if (!enCurso.isEmpty()) {
+            for (Cliente cliente : clientes) {
+                enCurso.remove(ClaveCliente.de(cliente));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Claves con una consulta en curso.
+     *
+     * @return Número de consultas que otras solicitudes podrían compartir en este momento.
+     */
+    public int consultasEnCurso() {
+        return enCurso.size();
+    }
+}
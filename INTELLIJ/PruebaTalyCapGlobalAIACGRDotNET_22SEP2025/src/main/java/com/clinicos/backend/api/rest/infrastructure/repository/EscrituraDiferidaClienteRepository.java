@@ -0,0 +1,302 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.FalloInsercion;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Decorador de {@link ClienteRepository} que difiere las inserciones individuales (<i>write-behind</i>)
+ * y las escribe agrupadas en lotes (<i>group commit</i>).
+ * <p>
+ * {@link #insertarCliente(Cliente)} deja el cliente en una cola acotada y retorna; un hilo escritor
+ * vacía la cola con {@link ClienteRepository#insertarClientes(List)}, una transacción por lote en lugar
+ * de una por cliente.
+ * <ul>
+ *   <li><b>Lotes:</b> se escriben al reunir {@code tamanoLote} clientes o al pasar {@code intervalo}
+ *       desde el primero, lo que ocurra antes.</li>
+ *   <li><b>Contrapresión:</b> con la cola llena, la inserción espera hasta {@code esperaMaxima} y luego
+ *       falla con {@link DataAccessResourceFailureException}, como la falta de conexiones.</li>
+ *   <li><b>Lectura de lo escrito:</b> los clientes pendientes se devuelven en las consultas por clave de
+ *       esta instancia. Las búsquedas y los listados los ven cuando se escriben.</li>
+ *   <li><b>Duplicados:</b> una clave ya pendiente falla de inmediato con {@link DuplicateKeyException};
+ *       una clave que ya estaba en la base de datos solo se detecta al escribir el lote. Esos rechazos
+ *       se registran y se cuentan en {@code clientes.escritura.diferida.fallos}.</li>
+ *   <li><b>Cierre:</b> {@link #close()} deja de diferir (las inserciones siguientes son síncronas) y
+ *       escribe todo lo pendiente.</li>
+ * </ul>
+ * Las inserciones en lote ({@link #insertarClientes(List)}) ya están agrupadas y pasan sin diferir.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class EscrituraDiferidaClienteRepository extends ClienteRepositoryDecorador implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EscrituraDiferidaClienteRepository.class);
+
+    private static final int INTENTOS = 3;
+    private static final long ESPERA_ENTRE_INTENTOS_MS = 200;
+    private static final Duration ESPERA_CIERRE = Duration.ofSeconds(30);
+    private static final long SONDEO_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final BlockingQueue<Cliente> cola;
+    private final Map<ClaveCliente, Cliente> pendientes = new ConcurrentHashMap<>();
+    private final ReadWriteLock cierre = new ReentrantReadWriteLock();
+    private final int tamanoLote;
+    private final long intervaloNanos;
+    private final long esperaMaximaNanos;
+    private final Thread escritor;
+    private final Counter escritos;
+    private final Counter fallos;
+    private final Counter rechazados;
+    private final DistributionSummary lotes;
+    private volatile boolean cerrado;
+    /** Solo lo usa el hilo escritor: se interrumpió y debe restaurar la interrupción al terminar. */
+    private boolean interrumpido;
+
+    /**
+     * Crea el decorador e inicia su hilo escritor.
+     *
+     * @param delegado Repositorio donde se escriben los lotes.
+     * @param capacidad Clientes que caben en la cola.
+     * @param tamanoLote Clientes máximos por lote.
+     * @param intervalo Espera máxima desde el primer cliente de un lote hasta escribirlo.
+     * @param esperaMaxima Espera máxima por espacio en la cola antes de rechazar una inserción.
+     * @param meterRegistry Registro de métricas {@code clientes.escritura.diferida.*}.
+     */
+    public EscrituraDiferidaClienteRepository(ClienteRepository delegado, int capacidad, int tamanoLote, Duration intervalo,
+                                              Duration esperaMaxima, MeterRegistry meterRegistry) {
+        super(delegado);
+        if (capacidad <= 0 || tamanoLote <= 0) {
+            throw new IllegalArgumentException("La capacidad y el tamaño de lote deben ser mayores que 0");
+        }
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+        this.tamanoLote = tamanoLote;
+        this.intervaloNanos = intervalo.toNanos();
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.escritos = meterRegistry.counter("clientes.escritura.diferida.escritos");
+        this.fallos = meterRegistry.counter("clientes.escritura.diferida.fallos");
+        this.rechazados = meterRegistry.counter("clientes.escritura.diferida.rechazados");
+        this.lotes = DistributionSummary.builder("clientes.escritura.diferida.lote")
+                .description("Clientes por lote escrito")
+                .register(meterRegistry);
+        this.escritor = Thread.ofPlatform().name("escritura-diferida").daemon().start(this::escribirMientrasAbierto);
+        logger.info("✍️ Escritura diferida de clientes: capacidad={}, tamanoLote={}, intervalo={}", capacidad, tamanoLote, intervalo);
+    }
+
+    @Override
+    public void insertarCliente(Cliente cliente) {
+        ClaveCliente clave = ClaveCliente.de(cliente);
+        cierre.readLock().lock();
+        try {
+            if (cerrado) {
+                delegado.insertarCliente(cliente);
+                return;
+            }
+            if (pendientes.putIfAbsent(clave, cliente) != null) {
+                throw new DuplicateKeyException("El cliente " + clave + " ya está pendiente de escritura");
+            }
+            if (!cola.offer(cliente, esperaMaximaNanos, TimeUnit.NANOSECONDS)) {
+                pendientes.remove(clave, cliente);
+                rechazados.increment();
+                logger.warn("⏳ Cola de escritura llena tras esperar {} ms ({} clientes pendientes)",
+                        TimeUnit.NANOSECONDS.toMillis(esperaMaximaNanos), cola.size());
+                throw new DataAccessResourceFailureException("La cola de escritura de clientes está llena");
+            }
+        } catch (InterruptedException e) {
+            pendientes.remove(clave, cliente);
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Espera de espacio en la cola de escritura interrumpida", e);
+        } finally {
+            cierre.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
+        if (!pendientes.isEmpty()) {
+            Cliente pendiente = pendientes.get(new ClaveCliente(tipoDocumento, numeroDocumento));
+            if (pendiente != null) {
+                return Optional.of(pendiente);
+            }
+        }
+        return delegado.obtenerCliente(tipoDocumento, numeroDocumento);
+    }
+
+    @Override
+    public List<Cliente> obtenerClientes(Collection<ClaveCliente> claves) {
+        if (pendientes.isEmpty()) {
+            return delegado.obtenerClientes(claves);
+        }
+        List<Cliente> encontrados = new ArrayList<>(claves.size());
+        List<ClaveCliente> restantes = new ArrayList<>(claves.size());
+        for (ClaveCliente clave : claves) {
+            Cliente pendiente = pendientes.get(clave);
+            if (pendiente != null) {
+                encontrados.add(pendiente);
+            } else {
+                restantes.add(clave);
+            }
+        }
+        if (!restantes.isEmpty()) {
+            encontrados.addAll(delegado.obtenerClientes(restantes));
+        }
+        return encontrados;
+    }
+
+    private void escribirMientrasAbierto() {
+        List<Cliente> lote = new ArrayList<>(tamanoLote);
+        while (!cerrado || !cola.isEmpty()) {
+            try {
+                Cliente primero = cola.poll(SONDEO_NANOS, TimeUnit.NANOSECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                cola.drainTo(lote, tamanoLote - lote.size());
+                long limite = System.nanoTime() + intervaloNanos;
+                while (lote.size() < tamanoLote && !cerrado) {
+                    long restante = limite - System.nanoTime();
+                    if (restante <= 0) {
+                        break;
+                    }
+                    // Esperas cortas para que close() no tenga que esperar el intervalo completo
+                    Cliente siguiente = cola.poll(Math.min(restante, SONDEO_NANOS), TimeUnit.NANOSECONDS);
+                    if (siguiente != null) {
+                        lote.add(siguiente);
+                        cola.drainTo(lote, tamanoLote - lote.size());
+                    }
+                }
+            } catch (InterruptedException e) {
+                registrarInterrupcion();
+            }
+            // La marca se limpia antes de escribir: con ella, la espera de capacidad y los reintentos fallarían
+            // de inmediato y se perdería todo lo pendiente
+            if (Thread.interrupted()) {
+                registrarInterrupcion();
+            }
+            escribir(lote);
+            lote.clear();
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void registrarInterrupcion() {
+        if (!interrumpido) {
+            interrumpido = true;
+            logger.warn("⚠️ Hilo de escritura diferida interrumpido; se escribe lo pendiente y se detiene");
+            dejarDeDiferir();
+        }
+    }
+
+    /**
+     * Las inserciones que ya pasaron la comprobación de {@code cerrado} terminan de encolar antes de que se
+     * tome el bloqueo de escritura, así que el escritor las ve en la cola antes de detenerse.
+     */
+    private void dejarDeDiferir() {
+        cierre.writeLock().lock();
+        try {
+            cerrado = true;
+        } finally {
+            cierre.writeLock().unlock();
+        }
+    }
+
+    private void escribir(List<Cliente> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        List<Cliente> copia = List.copyOf(lote);
+        try {
+            ResultadoLote resultado = insertarConReintentos(copia);
+            escritos.increment(resultado.insertados());
+            lotes.record(copia.size());
+            for (FalloInsercion fallo : resultado.fallos()) {
+                fallos.increment();
+                logger.error("💥 Cliente diferido rechazado por la base de datos: {} ({})", fallo.clave(), fallo.motivo());
+            }
+        } catch (InterruptedException e) {
+            // Interrumpido entre reintentos: el lote no se escribió y se informa como perdido; los siguientes
+            // se escriben sin la marca, que se restaura al terminar el hilo
+            registrarInterrupcion();
+            fallos.increment(copia.size());
+            logger.error("💥 Se perdió un lote de {} clientes diferidos al interrumpirse sus reintentos: {}",
+                    copia.size(), copia.stream().map(ClaveCliente::de).toList());
+        } catch (Exception e) {
+            fallos.increment(copia.size());
+            logger.error("💥 Se perdió un lote de {} clientes diferidos: {}", copia.size(),
+                    copia.stream().map(ClaveCliente::de).toList(), e);
+        } finally {
+            for (Cliente cliente : copia) {
+                pendientes.remove(ClaveCliente.de(cliente), cliente);
+            }
+        }
+    }
+
+    private ResultadoLote insertarConReintentos(List<Cliente> lote) throws InterruptedException {
+        for (int intento = 1; ; intento++) {
+            try {
+                return delegado.insertarClientes(lote);
+            } catch (RuntimeException e) {
+                if (intento == INTENTOS) {
+                    throw e;
+                }
+                logger.warn("⚠️ Falló la escritura de un lote de {} clientes (intento {} de {}): {}", lote.size(),
+                        intento, INTENTOS, e.getMessage());
+                Thread.sleep(ESPERA_ENTRE_INTENTOS_MS * intento);
+            }
+        }
+    }
+
+    /**
+     * Clientes aceptados que aún no se escriben.
+     *
+     * @return Número de clientes en la cola o en el lote en curso.
+     */
+    public int pendientes() {
+        return pendientes.size();
+    }
+
+    /**
+     * Deja de diferir inserciones y espera a que se escriba todo lo pendiente.
+     * Spring lo invoca al cerrar el contexto, después de detener el servidor web.
+     */
+    @Override
+    public void close() {
+        dejarDeDiferir();
+        try {
+            if (!escritor.join(ESPERA_CIERRE)) {
+                logger.error("💥 La escritura diferida no terminó en {}; quedan {} clientes sin escribir", ESPERA_CIERRE, pendientes.size());
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("💾 Escritura diferida cerrada; {} clientes pendientes", pendientes.size());
+    }
+}
@@ -0,0 +1,86 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decorador de {@link ClienteRepository} que descarta consultas de documentos inexistentes
+ * usando un {@link FiltroBloomClientes}.
+ * <p>
+ * Si el filtro indica que la clave con certeza no existe, se devuelve {@link Optional#empty()}
+ * sin ejecutar {@code sp_ObtenerCliente}. Las inserciones agregan la clave al filtro antes de
+ * delegar, para que ninguna lectura posterior al commit pueda ser descartada.
+ * <p>
+ * Solo conoce las claves cargadas al arrancar y las que se insertan a través de él (o que otras instancias
+ * avisan). Una fila insertada directamente en la tabla se descarta como inexistente hasta reconstruir el
+ * filtro, por lo que solo conviene cuando la aplicación es la única que escribe clientes.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class FiltroBloomClienteRepository extends ClienteRepositoryDecorador {
+
+    private static final Logger logger = LoggerFactory.getLogger(FiltroBloomClienteRepository.class);
+
+    private final FiltroBloomClientes filtro;
+    private final Counter descartes;
+
+    /**
+     * @param delegado Repositorio que atiende las claves que pueden existir.
+     * @param filtro Filtro de Bloom con las claves existentes.
+     * @param descartes Contador de consultas resueltas sin acceder a la base de datos.
+     */
+    public FiltroBloomClienteRepository(ClienteRepository delegado, FiltroBloomClientes filtro, Counter descartes) {
+        super(delegado);
+        this.filtro = filtro;
+        this.descartes = descartes;
+    }
+
+    @Override
+    public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
+        if (!filtro.puedeContener(tipoDocumento, numeroDocumento)) {
+            descartes.increment();
+            logger.debug("🚫 Cliente descartado por filtro de Bloom con tipoDocumento={} y numeroDocumento={}", tipoDocumento, numeroDocumento);
+            return Optional.empty();
+        }
+        return delegado.obtenerCliente(tipoDocumento, numeroDocumento);
+    }
+
+    @Override
+    public List<Cliente> obtenerClientes(Collection<ClaveCliente> claves) {
+        List<ClaveCliente> posibles = new ArrayList<>(claves.size());
+        for (ClaveCliente clave : claves) {
+            if (filtro.puedeContener(clave.tipoDocumento(), clave.numeroDocumento())) {
+                posibles.add(clave);
+            } else {
+                descartes.increment();
+            }
+        }
+        return posibles.isEmpty() ? List.of() : delegado.obtenerClientes(posibles);
+    }
+
+    @Override
+    public void insertarCliente(Cliente cliente) {
+        filtro.agregar(cliente.getTipoDocumento(), cliente.getNumeroDocumento());
+        delegado.insertarCliente(cliente);
+    }
+
+    @Override
+    public ResultadoLote insertarClientes(List<Cliente> clientes) {
+        for (Cliente cliente : clientes) {
+            filtro.agregar(cliente.getTipoDocumento(), cliente.getNumeroDocumento());
+        }
+        return delegado.insertarClientes(clientes);
+    }
+}
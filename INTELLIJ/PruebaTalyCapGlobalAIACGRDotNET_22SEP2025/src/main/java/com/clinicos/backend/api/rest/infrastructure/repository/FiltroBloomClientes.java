@@ -0,0 +1,171 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom sobre las claves de clientes existentes.
+ * <p>
+ * Responde si una clave <b>puede</b> existir. Un resultado negativo es definitivo (no hay falsos
+ * negativos), por lo que el repositorio puede responder "no encontrado" sin consultar la base de datos.
+ * <ul>
+ *   <li>Los bits se guardan en un {@link AtomicLongArray}: las inserciones concurrentes son seguras sin bloqueos.</li>
+ *   <li>Se usa doble hashing ({@code h1 + i·h2}) sobre la clave, sin crear objetos por consulta.</li>
+ *   <li>Mientras no se marque como listo (carga inicial desde la tabla), no descarta ninguna clave.</li>
+ * </ul>
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class FiltroBloomClientes {
+
+    private final AtomicLongArray bits;
+    private final long numeroBits;
+    private final int numeroHashes;
+    private final LongAdder elementos = new LongAdder();
+    private volatile boolean listo;
+
+    /**
+     * Dimensiona el filtro para la capacidad y tasa de falsos positivos esperadas.
+     *
+     * @param capacidadEsperada Número de claves que se espera almacenar, mayor que 0.
+     * @param tasaFalsosPositivos Tasa objetivo de falsos positivos, entre 0 y 1 (exclusivo).
+     */
+    public FiltroBloomClientes(long capacidadEsperada, double tasaFalsosPositivos) {
+        if (capacidadEsperada <= 0) {
+            throw new IllegalArgumentException("La capacidad del filtro debe ser mayor que 0");
+        }
+        if (tasaFalsosPositivos <= 0 || tasaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("La tasa de falsos positivos debe estar entre 0 y 1");
+        }
+        long bitsOptimos = (long) Math.ceil(-capacidadEsperada * Math.log(tasaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        int palabras = (int) Math.min(Integer.MAX_VALUE - 8, (bitsOptimos + 63) / 64);
+        this.bits = new AtomicLongArray(palabras);
+        this.numeroBits = (long) palabras * 64;
+        this.numeroHashes = Math.max(1, (int) Math.round((double) numeroBits / capacidadEsperada * Math.log(2)));
+    }
+
+    /**
+     * Agrega una clave al filtro.
+     *
+     * @param tipoDocumento Tipo de documento.
+     * @param numeroDocumento Número de documento.
+     */
+    public void agregar(String tipoDocumento, long numeroDocumento) {
+        long h1 = hash1(tipoDocumento, numeroDocumento);
+        long h2 = hash2(h1);
+        for (int i = 0; i < numeroHashes; i++) {
+            long indice = Math.floorMod(h1 + i * h2, numeroBits);
+            int palabra = (int) (indice >>> 6);
+            long mascara = 1L << indice;
+            long actual = bits.get(palabra);
+            while ((actual & mascara) == 0) {
+                long previo = bits.compareAndExchange(palabra, actual, actual | mascara);
+                if (previo == actual) {
+                    break;
+                }
+                actual = previo;
+            }
+        }
+        elementos.increment();
+    }
+
+    /**
+     * Agrega una clave al filtro.
+     *
+     * @param clave Clave del cliente.
+     */
+    public void agregar(ClaveCliente clave) {
+        agregar(clave.tipoDocumento(), clave.numeroDocumento());
+    }
+
+    /**
+     * Indica si la clave puede existir.
+     *
+     * @param tipoDocumento Tipo de documento.
+     * @param numeroDocumento Número de documento.
+     * @return {@code false} solo si la clave con certeza no existe; {@code true} si puede existir
+     *         o si el filtro aún no está listo.
+     */
+    public boolean puedeContener(String tipoDocumento, long numeroDocumento) {
+        if (!listo) {
+            return true;
+        }
+        long h1 = hash1(tipoDocumento, numeroDocumento);
+        long h2 = hash2(h1);
+        for (int i = 0; i < numeroHashes; i++) {
+            long indice = Math.floorMod(h1 + i * h2, numeroBits);
+            if ((bits.get((int) (indice >>> 6)) & (1L << indice)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marca el filtro como completo: a partir de aquí los negativos se consideran definitivos.
+     */
+    public void marcarListo() {
+        this.listo = true;
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    /**
+     * Tasa estimada de falsos positivos con los elementos agregados hasta ahora:
+     * {@code (1 - e^(-k·n/m))^k}.
+     *
+     * @return Probabilidad estimada de falso positivo.
+     */
+    public double tasaFalsosPositivosEstimada() {
+        double n = elementos.sum();
+        return Math.pow(1 - Math.exp(-numeroHashes * n / numeroBits), numeroHashes);
+    }
+
+    /**
+     * Memoria ocupada por el arreglo de bits.
+     *
+     * @return Tamaño en bytes.
+     */
+    public long memoriaBytes() {
+        return numeroBits / 8;
+    }
+
+    /**
+     * Número de inserciones realizadas (puede incluir claves repetidas).
+     *
+     * @return Cantidad de elementos agregados.
+     */
+    public long elementos() {
+        return elementos.sum();
+    }
+
+    public int getNumeroHashes() {
+        return numeroHashes;
+    }
+
+    private static long hash1(String tipoDocumento, long numeroDocumento) {
+        return mezclar(numeroDocumento ^ (tipoDocumento.hashCode() * 0x9E3779B97F4A7C15L));
+    }
+
+    private static long hash2(long h1) {
+        return mezclar(h1 + 0x9E3779B97F4A7C15L) | 1L;
+    }
+
+    /**
+     * Función de mezcla final de MurmurHash3 (64 bits).
+     */
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,66 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.FalloInsercion;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+
+import java.util.List;
+
+/**
+ * Decorador de {@link ClienteRepository} que resuelve las búsquedas por nombre con un
+ * {@link IndiceNombresClientes} en memoria.
+ * <p>
+ * El índice devuelve las claves que coinciden y los clientes se leen del repositorio envuelto por
+ * clave primaria, en una sola consulta múltiple. Mientras el índice no está listo, la búsqueda se
+ * delega completa (con {@code LIKE} en el adaptador JDBC). Las inserciones se indexan después de
+ * confirmarse, omitiendo las filas rechazadas del lote.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class IndiceNombresClienteRepository extends ClienteRepositoryDecorador {
+
+    private final IndiceNombresClientes indice;
+
+    /**
+     * @param delegado Repositorio que almacena los clientes.
+     * @param indice Índice de nombres, mantenido por este decorador.
+     */
+    public IndiceNombresClienteRepository(ClienteRepository delegado, IndiceNombresClientes indice) {
+        super(delegado);
+        this.indice = indice;
+    }
+
+    @Override
+    public List<Cliente> buscarClientesPorNombre(String texto, int limite) {
+        if (!indice.isListo()) {
+            return delegado.buscarClientesPorNombre(texto, limite);
+        }
+        List<ClaveCliente> claves = indice.buscar(texto, limite);
+        return claves.isEmpty() ? List.of() : delegado.obtenerClientes(claves);
+    }
+
+    @Override
+    public void insertarCliente(Cliente cliente) {
+        delegado.insertarCliente(cliente);
+        indice.agregar(cliente);
+    }
+
+    @Override
+    public ResultadoLote insertarClientes(List<Cliente> clientes) {
+        ResultadoLote resultado = delegado.insertarClientes(clientes);
+        boolean[] rechazados = new boolean[clientes.size()];
+        for (FalloInsercion fallo : resultado.fallos()) {
+            rechazados[fallo.indice()] = true;
+        }
+        for (int i = 0; i < clientes.size(); i++) {
+            if (!rechazados[i]) {
+                indice.agregar(clientes.get(i));
+            }
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,341 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice invertido en memoria sobre los nombres y apellidos de los clientes.
+ * <p>
+ * Cada palabra de {@code primerNombre}, {@code segundoNombre}, {@code primerApellido} y
+ * {@code segundoApellido} se normaliza (sin tildes ni mayúsculas: "Rodríguez" → "rodriguez") y se
+ * asocia al identificador interno del cliente.
+ * <ul>
+ *   <li>Las palabras se guardan ordenadas en un {@link ConcurrentSkipListMap}: una búsqueda por prefijo
+ *       es un rango del mapa, sin recorrer todos los clientes.</li>
+ *   <li>Cada palabra apunta a una lista de identificadores {@code int}. Los identificadores se asignan
+ *       en orden creciente, así que las listas quedan ordenadas con solo agregar al final (4 bytes por entrada).</li>
+ *   <li>Una consulta con varias palabras intersecta las listas avanzando sobre todas a la vez con búsqueda
+ *       exponencial (leapfrog), sin consultar cada candidato por separado.</li>
+ *   <li>Las inserciones se serializan entre sí; las búsquedas no toman bloqueos y ven las listas tal como
+ *       estaban al empezar.</li>
+ *   <li>Mientras no se marque como listo (carga inicial desde la tabla), el índice no responde búsquedas.</li>
+ * </ul>
+ * <b>Memoria:</b> todo vive en el heap. Por cliente se retiene su {@link ClaveCliente} (unos 24 bytes; el tipo
+ * de documento se comparte desde un diccionario, como en {@code CodificadorClientes.canonica}), su referencia
+ * en el arreglo de claves, entre 8 y 16 bytes de la tabla clave → identificador y unos cuatro identificadores
+ * con la holgura de crecimiento de las listas: del orden de 60 a 70 bytes por cliente, más las palabras
+ * distintas. Con diez millones de clientes son unos 700 MB,
+ * que hay que sumar al tamaño del heap antes de habilitarlo.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class IndiceNombresClientes {
+
+    private static final int SIN_RESULTADO = Integer.MAX_VALUE;
+
+    private final ConcurrentSkipListMap<String, ListaIds> indice = new ConcurrentSkipListMap<>();
+    private final Map<String, String> tipos = new HashMap<>();
+    private volatile ClaveCliente[] claves = new ClaveCliente[1024];
+    /** Tabla de claves a identificador + 1 ({@code 0} = libre), a lo sumo medio llena; solo bajo el bloqueo. */
+    private int[] posiciones = new int[2048];
+    private volatile int clientes;
+    private volatile boolean listo;
+
+    /**
+     * Agrega las palabras del nombre y apellidos de un cliente al índice. Una clave ya indexada se omite,
+     * así que la carga inicial, las inserciones de esta instancia y los avisos de las demás pueden
+     * solaparse sin duplicar clientes.
+     *
+     * @param cliente Cliente a indexar. No puede ser {@code null}.
+     * @return {@code true} si se agregó; {@code false} si su clave ya estaba indexada.
+     */
+    public synchronized boolean agregar(Cliente cliente) {
+        int posicion = posicion(cliente.getTipoDocumento(), cliente.getNumeroDocumento());
+        if (posiciones[posicion] != 0) {
+            return false;
+        }
+        int id = clientes;
+        ClaveCliente[] actuales = claves;
+        if (id == actuales.length) {
+            actuales = Arrays.copyOf(actuales, id * 2);
+            claves = actuales;
+        }
+        // Un String de tipo por cliente duplicaría la memoria de la clave: se usa la instancia compartida
+        actuales[id] = new ClaveCliente(tipos.computeIfAbsent(cliente.getTipoDocumento(), tipo -> tipo),
+                cliente.getNumeroDocumento());
+        posiciones[posicion] = id + 1;
+        agregarPalabras(id, cliente.getPrimerNombre());
+        agregarPalabras(id, cliente.getSegundoNombre());
+        agregarPalabras(id, cliente.getPrimerApellido());
+        agregarPalabras(id, cliente.getSegundoApellido());
+        clientes = id + 1;
+        if ((long) clientes * 2 > posiciones.length) {
+            ampliarPosiciones();
+        }
+        return true;
+    }
+
+    /**
+     * Casilla de la clave en {@link #posiciones}: la que ya la contiene o la libre donde iría (sondeo lineal).
+     */
+    private int posicion(String tipoDocumento, long numeroDocumento) {
+        int mascara = posiciones.length - 1;
+        int i = mezclar(tipoDocumento.hashCode() * 31 + Long.hashCode(numeroDocumento)) & mascara;
+        while (true) {
+            int id = posiciones[i] - 1;
+            if (id < 0) {
+                return i;
+            }
+            ClaveCliente clave = claves[id];
+            if (clave.numeroDocumento() == numeroDocumento && clave.tipoDocumento().equals(tipoDocumento)) {
+                return i;
+            }
+            i = (i + 1) & mascara;
+        }
+    }
+
+    private void ampliarPosiciones() {
+        int[] anteriores = posiciones;
+        posiciones = new int[anteriores.length * 2];
+        for (int id = 0; id < clientes; id++) {
+            ClaveCliente clave = claves[id];
+            posiciones[posicion(clave.tipoDocumento(), clave.numeroDocumento())] = id + 1;
+        }
+    }
+
+    private static int mezclar(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void agregarPalabras(int id, String valor) {
+        for (String palabra : palabras(valor)) {
+            indice.computeIfAbsent(palabra, p -> new ListaIds()).agregar(id);
+        }
+    }
+
+    /**
+     * Busca los clientes cuyo nombre contiene todas las palabras del texto como prefijo de alguna
+     * de sus palabras, sin distinguir tildes ni mayúsculas ("rodr vel" encuentra a "Ana Rodríguez Velásquez").
+     * <p>
+     * El costo depende del tamaño de las listas de las palabras consultadas, no del número de
+     * clientes, y se detiene al reunir {@code limite} resultados.
+     *
+     * @param texto Texto de búsqueda con una o más palabras.
+     * @param limite Número máximo de claves a devolver, mayor que 0.
+     * @return Claves encontradas en orden de inserción; vacío si el texto no tiene palabras.
+     */
+    public List<ClaveCliente> buscar(String texto, int limite) {
+        List<String> consulta = palabras(texto);
+        if (consulta.isEmpty()) {
+            return List.of();
+        }
+        CursorPalabra[] cursores = new CursorPalabra[consulta.size()];
+        for (int i = 0; i < cursores.length; i++) {
+            String prefijo = consulta.get(i);
+            cursores[i] = new CursorPalabra(indice.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false).values());
+            if (cursores[i].candidatos() == 0) {
+                return List.of();
+            }
+        }
+        Arrays.sort(cursores, Comparator.comparingLong(CursorPalabra::candidatos));
+        ClaveCliente[] porId = claves;
+
+        Set<ClaveCliente> resultado = new LinkedHashSet<>();
+        int candidato = 0;
+        while (resultado.size() < limite) {
+            int id = cursores[0].avanzarA(candidato);
+            if (id == SIN_RESULTADO) {
+                break;
+            }
+            boolean enTodas = true;
+            for (int i = 1; i < cursores.length && enTodas; i++) {
+                int siguiente = cursores[i].avanzarA(id);
+                if (siguiente == SIN_RESULTADO) {
+                    return new ArrayList<>(resultado);
+                }
+                enTodas = siguiente == id;
+                candidato = siguiente;
+            }
+            if (enTodas) {
+                resultado.add(porId[id]);
+                candidato = id + 1;
+            }
+        }
+        return new ArrayList<>(resultado);
+    }
+
+    /**
+     * Divide un texto en palabras normalizadas: sin tildes ni diacríticos, en minúsculas y separadas
+     * por cualquier carácter que no sea letra o dígito.
+     *
+     * @param texto Texto a normalizar; {@code null} se trata como vacío.
+     * @return Palabras normalizadas, sin repetidos, en orden de aparición.
+     */
+    static List<String> palabras(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        Set<String> palabras = new LinkedHashSet<>();
+        StringBuilder palabra = new StringBuilder(descompuesto.length());
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                palabra.append(c);
+            } else if (!palabra.isEmpty()) {
+                palabras.add(palabra.toString().toLowerCase(Locale.ROOT));
+                palabra.setLength(0);
+            }
+        }
+        if (!palabra.isEmpty()) {
+            palabras.add(palabra.toString().toLowerCase(Locale.ROOT));
+        }
+        return List.copyOf(palabras);
+    }
+
+    /**
+     * Marca el índice como completo: a partir de aquí puede responder búsquedas.
+     */
+    public void marcarListo() {
+        this.listo = true;
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    /**
+     * Número de clientes indexados.
+     *
+     * @return Cantidad de clientes agregados.
+     */
+    public long clientes() {
+        return clientes;
+    }
+
+    /**
+     * Número de palabras distintas en el índice.
+     *
+     * @return Cantidad de palabras.
+     */
+    public int palabrasDistintas() {
+        return indice.size();
+    }
+
+    /**
+     * Identificadores de los clientes que contienen una palabra, en orden creciente.
+     * <p>
+     * Solo {@link #agregar(Cliente)} escribe, con el bloqueo del índice. El arreglo se publica antes
+     * que el tamaño, de modo que un lector que lee primero {@code tamano} siempre ve al menos esas entradas.
+     */
+    private static final class ListaIds {
+
+        private volatile int[] ids = new int[4];
+        private volatile int tamano;
+
+        void agregar(int id) {
+            int n = tamano;
+            int[] actuales = ids;
+            if (n > 0 && actuales[n - 1] == id) {
+                return; // la misma palabra en dos campos del cliente
+            }
+            if (n == actuales.length) {
+                actuales = Arrays.copyOf(actuales, n * 2);
+                ids = actuales;
+            }
+            actuales[n] = id;
+            tamano = n + 1;
+        }
+    }
+
+    /**
+     * Recorre en orden creciente la unión de las listas de las palabras que empiezan por un prefijo.
+     */
+    private static final class CursorPalabra {
+
+        private final int[][] listas;
+        private final int[] tamanos;
+        private final int[] posiciones;
+        private final long candidatos;
+
+        CursorPalabra(Collection<ListaIds> rango) {
+            int n = rango.size();
+            this.listas = new int[n][];
+            this.tamanos = new int[n];
+            this.posiciones = new int[n];
+            int i = 0;
+            long total = 0;
+            for (ListaIds lista : rango) {
+                if (i == n) {
+                    break; // palabra nueva agregada durante la búsqueda
+                }
+                tamanos[i] = lista.tamano;
+                listas[i] = lista.ids;
+                total += tamanos[i];
+                i++;
+            }
+            this.candidatos = total;
+        }
+
+        long candidatos() {
+            return candidatos;
+        }
+
+        /**
+         * @return Menor identificador mayor o igual que {@code objetivo}, o {@link #SIN_RESULTADO}.
+         */
+        int avanzarA(int objetivo) {
+            int menor = SIN_RESULTADO;
+            for (int i = 0; i < listas.length; i++) {
+                if (listas[i] == null) {
+                    continue;
+                }
+                int posicion = galopar(listas[i], posiciones[i], tamanos[i], objetivo);
+                posiciones[i] = posicion;
+                if (posicion < tamanos[i] && listas[i][posicion] < menor) {
+                    menor = listas[i][posicion];
+                }
+            }
+            return menor;
+        }
+
+        /**
+         * Primera posición desde {@code desde} con un valor mayor o igual que {@code objetivo}:
+         * búsqueda exponencial seguida de búsqueda binaria.
+         */
+        private static int galopar(int[] ids, int desde, int tamano, int objetivo) {
+            if (desde >= tamano || ids[desde] >= objetivo) {
+                return desde;
+            }
+            int paso = 1;
+            int bajo = desde;
+            int alto = desde + 1;
+            while (alto < tamano && ids[alto] < objetivo) {
+                bajo = alto;
+                paso <<= 1;
+                alto = desde + paso;
+            }
+            int indice = Arrays.binarySearch(ids, bajo + 1, Math.min(alto, tamano), objetivo);
+            return indice >= 0 ? indice : -indice - 1;
+        }
+    }
+}
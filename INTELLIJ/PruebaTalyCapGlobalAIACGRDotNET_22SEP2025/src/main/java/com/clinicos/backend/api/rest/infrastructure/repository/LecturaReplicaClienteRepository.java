@@ -0,0 +1,171 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Decorador de {@link ClienteRepository} que cubre la búsqueda por documento con una réplica de lectura
+ * (<b>hedged request</b>).
+ * <p>
+ * La latencia de cola de {@link #obtenerCliente} la dominan bloqueos ocasionales del primario. La consulta va
+ * primero al primario; si no responde en el percentil {@code percentil} de su propia latencia reciente (o falla
+ * antes), se lanza la misma consulta a la réplica y gana la primera respuesta:
+ * <ul>
+ *   <li>Un cliente encontrado en la réplica gana. Un cliente no encontrado en la réplica no: puede ser un
+ *       cliente recién creado que aún no se replicó, así que se espera al primario.</li>
+ *   <li>Si el primario falla y la réplica no encuentra el cliente o también falla, se propaga el error del
+ *       primario.</li>
+ *   <li>La consulta perdedora no se cancela: termina en segundo plano y libera su conexión.</li>
+ * </ul>
+ * El retraso se recalcula cada segundo desde el timer {@code clientes.db.primario.latencia} (ventana de un minuto,
+ * éxitos y fallos) y nunca baja de {@code retrasoMinimo}; hasta reunir {@value #MUESTRAS_MINIMAS} muestras se usa
+ * {@code retrasoInicial}. Con el percentil 95 se cubre como mucho un 5 % de las consultas.
+ * <p>
+ * Las demás operaciones, incluidas todas las escrituras, van solo al primario. Métricas:
+ * {@code clientes.db.replica.cubiertas} (consultas enviadas también a la réplica) y
+ * {@code clientes.db.replica.ganadas} (respondidas por la réplica).
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class LecturaReplicaClienteRepository extends ClienteRepositoryDecorador {
+
+    static final int MUESTRAS_MINIMAS = 100;
+
+    private static final long RECALCULO_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ClienteRepository replica;
+    private final long retrasoMinimoNanos;
+    private final Timer latenciaPrimario;
+    private final Counter cubiertas;
+    private final Counter ganadas;
+    private final ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile long retrasoNanos;
+    private volatile long proximoCalculo = System.nanoTime();
+
+    /**
+     * @param primario Repositorio del primario; recibe todas las operaciones.
+     * @param replica Repositorio de la réplica; solo recibe búsquedas por documento cubiertas.
+     * @param percentil Percentil de la latencia del primario tras el que se consulta la réplica (0 a 1).
+     * @param retrasoInicial Retraso mientras no hay suficientes muestras del primario.
+     * @param retrasoMinimo Retraso mínimo, para no duplicar consultas cuando el primario es muy rápido.
+     * @param meterRegistry Registro de la latencia del primario y de las métricas de cobertura.
+     */
+    public LecturaReplicaClienteRepository(ClienteRepository primario, ClienteRepository replica, double percentil,
+                                           Duration retrasoInicial, Duration retrasoMinimo, MeterRegistry meterRegistry) {
+        super(primario);
+        if (percentil <= 0 || percentil >= 1) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 1 (excluidos)");
+        }
+        this.replica = replica;
+        this.retrasoMinimoNanos = retrasoMinimo.toNanos();
+        this.retrasoNanos = Math.max(retrasoInicial.toNanos(), retrasoMinimoNanos);
+        this.latenciaPrimario = Timer.builder("clientes.db.primario.latencia")
+                .description("Latencia de la búsqueda por documento en el primario")
+                .publishPercentiles(percentil)
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+        this.cubiertas = meterRegistry.counter("clientes.db.replica.cubiertas");
+        this.ganadas = meterRegistry.counter("clientes.db.replica.ganadas");
+    }
+
+    @Override
+    public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
+        long inicio = System.nanoTime();
+        CompletableFuture<Optional<Cliente>> primario =
+                CompletableFuture.supplyAsync(() -> delegado.obtenerCliente(tipoDocumento, numeroDocumento), ejecutor);
+        primario.whenComplete((cliente, error) ->
+                latenciaPrimario.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS));
+        try {
+            return primario.get(retraso(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Primario lento o con error: se consulta también la réplica
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Búsqueda de cliente interrumpida", e);
+        }
+
+        cubiertas.increment();
+        CompletableFuture<Optional<Cliente>> enReplica =
+                CompletableFuture.supplyAsync(() -> replica.obtenerCliente(tipoDocumento, numeroDocumento), ejecutor);
+        CompletableFuture<Respuesta> primero = new CompletableFuture<>();
+        primario.whenComplete((cliente, error) -> {
+            if (error == null) {
+                primero.complete(new Respuesta(cliente, false));
+            } else {
+                enReplica.whenComplete((deReplica, errorReplica) -> {
+                    if (errorReplica != null || deReplica.isEmpty()) {
+                        primero.completeExceptionally(error);
+                    }
+                });
+            }
+        });
+        enReplica.whenComplete((cliente, error) -> {
+            if (error == null && cliente.isPresent()) {
+                primero.complete(new Respuesta(cliente, true));
+            } else {
+                primario.whenComplete((dePrimario, errorPrimario) -> {
+                    if (errorPrimario != null) {
+                        primero.completeExceptionally(errorPrimario);
+                    }
+                });
+            }
+        });
+        try {
+            Respuesta respuesta = primero.join();
+            if (respuesta.deReplica()) {
+                ganadas.increment();
+            }
+            return respuesta.cliente();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : e;
+        }
+    }
+
+    /**
+     * Retraso actual antes de consultar la réplica.
+     *
+     * @return Tiempo que se espera al primario.
+     */
+    public Duration retrasoActual() {
+        return Duration.ofNanos(retrasoNanos);
+    }
+
+    private long retraso() {
+        long ahora = System.nanoTime();
+        if (ahora - proximoCalculo >= 0) {
+            proximoCalculo = ahora + RECALCULO_NANOS;
+            if (latenciaPrimario.count() >= MUESTRAS_MINIMAS) {
+                for (ValueAtPercentile valor : latenciaPrimario.takeSnapshot().percentileValues()) {
+                    long nanos = (long) valor.value(TimeUnit.NANOSECONDS);
+                    // Sin muestras en la ventana (tras un periodo inactivo) se conserva el último retraso
+                    if (nanos > 0) {
+                        retrasoNanos = Math.max(nanos, retrasoMinimoNanos);
+                    }
+                }
+            }
+        }
+        return retrasoNanos;
+    }
+
+    /** Respuesta ganadora y su origen. */
+    private record Respuesta(Optional<Cliente> cliente, boolean deReplica) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Decorador de {@link ClienteRepository} que descarta carga cuando la base de datos se vuelve lenta, con un
+ * límite de operaciones en curso que se adapta a la latencia observada (<b>AIMD</b>).
+ * <p>
+ * {@link ConcurrenciaLimitadaClienteRepository} acota las operaciones simultáneas al tamaño del pool, pero las
+ * demás esperan su turno hasta {@code clientes.db.espera-maxima}: si la base de datos se degrada, la cola crece y
+ * cada solicitud tarda la espera completa antes de fallar. Este decorador va delante y rechaza de inmediato, con
+ * {@link BaseDatosNoDisponibleException}, las operaciones que exceden el límite actual:
+ * <ul>
+ *   <li><b>Aumento aditivo:</b> cada operación que termina dentro de {@code latenciaObjetivo} mientras el límite
+ *       está al menos a medio usar lo sube en 1, hasta {@code limiteMaximo}.</li>
+ *   <li><b>Reducción multiplicativa:</b> cada operación lenta o con un fallo de disponibilidad lo multiplica por
+ *       {@value #FACTOR_REDUCCION}, hasta {@code limiteMinimo}.</li>
+ * </ul>
+ * La latencia medida incluye la espera en el semáforo del pool, de modo que la cola también reduce el límite.
+ * {@link #recorrerClientes} no se limita ni se mide. Métrica {@code clientes.db.limite.rechazados}: operaciones
+ * descartadas por superar el límite.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class LimiteAdaptativoClienteRepository extends ClienteRepositoryDecorador {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteAdaptativoClienteRepository.class);
+
+    static final double FACTOR_REDUCCION = 0.9;
+
+    /** Reintento sugerido al descartar por carga: la cola se vacía en el orden de la latencia objetivo. */
+    private static final Duration REINTENTO = Duration.ofSeconds(1);
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final long latenciaObjetivoNanos;
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final Counter rechazados;
+
+    // Límite actual; se lee sin bloqueo y se ajusta bajo el monitor de esta instancia
+    private volatile double limite;
+
+    /**
+     * @param delegado Repositorio que accede a la base de datos.
+     * @param limiteInicial Operaciones en curso permitidas al arrancar.
+     * @param limiteMinimo Límite por debajo del cual no se reduce.
+     * @param limiteMaximo Límite por encima del cual no se aumenta.
+     * @param latenciaObjetivo Duración a partir de la cual una operación indica sobrecarga.
+     * @param meterRegistry Registro de la métrica de rechazos.
+     */
+    public LimiteAdaptativoClienteRepository(ClienteRepository delegado, int limiteInicial, int limiteMinimo,
+                                             int limiteMaximo, Duration latenciaObjetivo, MeterRegistry meterRegistry) {
+        super(delegado);
+        if (limiteMinimo <= 0 || limiteMinimo > limiteMaximo) {
+            throw new IllegalArgumentException("Los límites deben ser mayores que 0, con mínimo <= máximo");
+        }
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.limite = Math.clamp(limiteInicial, limiteMinimo, limiteMaximo);
+        this.latenciaObjetivoNanos = latenciaObjetivo.toNanos();
+        this.rechazados = meterRegistry.counter("clientes.db.limite.rechazados");
+    }
+
+    @Override
+    public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
+        return ejecutar(() -> delegado.obtenerCliente(tipoDocumento, numeroDocumento));
+    }
+
+    @Override
+    public List<Cliente> obtenerClientes(Collection<ClaveCliente> claves) {
+        return ejecutar(() -> delegado.obtenerClientes(claves));
+    }
+
+    @Override
+    public void insertarCliente(Cliente cliente) {
+        ejecutar(() -> {
+            delegado.insertarCliente(cliente);
+            return null;
+        });
+    }
+
+    @Override
+    public ResultadoLote insertarClientes(List<Cliente> clientes) {
+        return ejecutar(() -> delegado.insertarClientes(clientes));
+    }
+
+    @Override
+    public List<Cliente> listarClientes(String ciudadResidencia, String primerApellido, ClaveCliente despuesDe, int limite) {
+        return ejecutar(() -> delegado.listarClientes(ciudadResidencia, primerApellido, despuesDe, limite));
+    }
+
+    @Override
+    public List<Cliente> buscarClientesPorNombre(String texto, int limite) {
+        return ejecutar(() -> delegado.buscarClientesPorNombre(texto, limite));
+    }
+
+    /**
+     * Límite actual de operaciones en curso.
+     *
+     * @return Operaciones simultáneas que se admiten ahora.
+     */
+    public int limiteActual() {
+        return (int) limite;
+    }
+
+    /**
+     * Operaciones admitidas que aún no terminan.
+     *
+     * @return Operaciones en curso.
+     */
+    public int operacionesEnCurso() {
+        return enCurso.get();
+    }
+
+    private <T> T ejecutar(Supplier<T> operacion) {
+        int actuales;
+        do {
+            actuales = enCurso.get();
+            if (actuales >= (int) limite) {
+                rechazados.increment();
+                logger.debug("🚧 Operación descartada: {} en curso con límite {}", actuales, (int) limite);
+                throw new BaseDatosNoDisponibleException("La base de datos está saturada", REINTENTO);
+            }
+        } while (!enCurso.compareAndSet(actuales, actuales + 1));
+
+        long inicio = System.nanoTime();
+        boolean sobrecarga = true;
+        try {
+            T resultado = operacion.get();
+            sobrecarga = System.nanoTime() - inicio > latenciaObjetivoNanos;
+            return resultado;
+        } catch (BaseDatosNoDisponibleException e) {
+            // Descartada más abajo (semáforo del pool): la espera ya indica sobrecarga
+            throw e;
+        } catch (RuntimeException e) {
+            sobrecarga = CircuitoClienteRepository.esFalloDeDisponibilidad(e)
+                    || System.nanoTime() - inicio > latenciaObjetivoNanos;
+            throw e;
+        } finally {
+            ajustar(actuales + 1, sobrecarga);
+            enCurso.decrementAndGet();
+        }
+    }
+
+    private synchronized void ajustar(int enCursoAlAdmitir, boolean sobrecarga) {
+        if (sobrecarga) {
+            double anterior = limite;
+            limite = Math.max(limiteMinimo, limite * FACTOR_REDUCCION);
+            if ((int) limite < (int) anterior) {
+                logger.debug("📉 Límite de base de datos reducido a {}", (int) limite);
+            }
+        } else if (enCursoAlAdmitir * 2 >= limite && limite < limiteMaximo) {
+            limite = Math.min(limiteMaximo, limite + 1);
+        }
+    }
+}
@@ -0,0 +1,725 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.FalloInsercion;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Implementación de {@link ClienteRepository} sobre dos archivos proyectados en memoria, sin base de datos.
+ * <p>
+ * Pensada para nodos donde la latencia de lectura es crítica: una consulta por clave es una búsqueda en
+ * una tabla hash fuera del heap, sin red ni objetos retenidos por cliente, así que millones de clientes
+ * no aumentan el trabajo del recolector.
+ * <ul>
+ *   <li><b>Clave:</b> un {@code long} con los dos caracteres ASCII del tipo de documento en los 16 bits altos
+ *       y el número de documento en los 48 bajos. El orden de las claves coincide con el orden por
+ *       tipo y número de documento. Tipos de más de dos caracteres o fuera de ASCII no se admiten.</li>
+ *   <li><b>{@value #ARCHIVO_DATOS}:</b> registros de solo agregado ({@code clave}, longitud y los siete
+ *       campos como UTF-8 con longitud), alineados a 8 bytes y sin cruzar tramos.</li>
+ *   <li><b>{@value #ARCHIVO_INDICE}:</b> tabla hash de direccionamiento abierto ({@code clave → posición}),
+ *       16 bytes por entrada. Al superar el 75 % de ocupación se reconstruye con el doble de capacidad en
+ *       un archivo nuevo ({@code clientes.indice.N}) y la cabecera de datos pasa a apuntarlo. El anterior no
+ *       se reemplaza mientras está proyectado (Windows no lo permite): se borra después, o al reabrir si el
+ *       sistema operativo aún no lo soltó.</li>
+ *   <li><b>Reinicio:</b> ambos archivos se vuelven a proyectar y quedan listos al instante. El índice
+ *       recuerda hasta qué registro indexó; los registros posteriores (por ejemplo, tras una caída entre
+ *       las dos escrituras) se indexan al abrir.</li>
+ *   <li><b>Concurrencia:</b> las escrituras se serializan; las lecturas no toman bloqueos. Cada entrada del
+ *       índice se publica con una escritura de liberación después de su registro.</li>
+ *   <li><b>Durabilidad:</b> las páginas modificadas las escribe el sistema operativo, por lo que una caída
+ *       del proceso no pierde datos; {@link #close()} las fuerza a disco antes de terminar.</li>
+ * </ul>
+ * {@link #listarClientes} y {@link #buscarClientesPorNombre} recorren el archivo de datos completo; con
+ * {@code clientes.busqueda.enabled} la búsqueda por nombre la atiende el índice en memoria.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public class MapeadoClienteRepository implements ClienteRepository, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapeadoClienteRepository.class);
+
+    static final String ARCHIVO_DATOS = "clientes.datos";
+    static final String ARCHIVO_INDICE = "clientes.indice";
+
+    /** Tramos de 1 GiB: el máximo de un {@link java.nio.MappedByteBuffer} redondeado a potencia de dos. */
+    public static final int BITS_TRAMO_DEFECTO = 30;
+
+    private static final long MAGIA_DATOS = 0x314F5441_44494C43L; // "CLIDATO1"
+    private static final long MAGIA_INDICE = 0x3158444E_49494C43L; // "CLIINDX1"
+    private static final int CABECERA = 64;
+    /** Posición en la cabecera de datos de la versión del archivo de índice vigente. */
+    private static final int VERSION_INDICE = 16;
+    private static final int CAMPO_PRIMER_APELLIDO = 2;
+    private static final int CAMPO_CIUDAD = 6;
+    private static final int INICIO_CAMPOS = 12;
+    private static final long MAXIMO_NUMERO = (1L << 48) - 1;
+    private static final long CAPACIDAD_MINIMA_INDICE = 1024;
+
+    private final Path directorio;
+    private final int bitsTramo;
+    private final ArchivoMapeado datos;
+    private final String[] tipos = new String[1 << 16];
+    private volatile Indice indice;
+    private volatile long fin;
+    private long versionIndice;
+    private byte[] registro = new byte[512];
+    private final AtomicBoolean cerrado = new AtomicBoolean();
+
+    /**
+     * Abre el repositorio con tramos de {@value #BITS_TRAMO_DEFECTO} bits.
+     *
+     * @see #abrir(Path, long, int)
+     */
+    public static MapeadoClienteRepository abrir(Path directorio, long capacidadInicial) {
+        return abrir(directorio, capacidadInicial, BITS_TRAMO_DEFECTO);
+    }
+
+    /**
+     * Abre los archivos del directorio, o los crea si no existen.
+     *
+     * @param directorio Directorio de {@value #ARCHIVO_DATOS} y {@value #ARCHIVO_INDICE}; se crea si no existe.
+     * @param capacidadInicial Clientes esperados; dimensiona el índice al crearlo para no reconstruirlo al cargar.
+     * @param bitsTramo Logaritmo en base 2 del tamaño de cada tramo proyectado, entre 12 y 30.
+     * @return Repositorio abierto.
+     * @throws UncheckedIOException Si los archivos no pueden abrirse.
+     * @throws IllegalStateException Si {@value #ARCHIVO_DATOS} existe pero no es un archivo de clientes.
+     */
+    public static MapeadoClienteRepository abrir(Path directorio, long capacidadInicial, int bitsTramo) {
+        MapeadoClienteRepository repositorio = new MapeadoClienteRepository(directorio, capacidadInicial, bitsTramo);
+        logger.info("🗺️ Repositorio de clientes mapeado en {}: {} clientes, {} bytes de datos, capacidad del índice {}",
+                directorio, repositorio.clientes(), repositorio.bytesDatos(), repositorio.capacidadIndice());
+        return repositorio;
+    }
+
+    private MapeadoClienteRepository(Path directorio, long capacidadInicial, int bitsTramo) {
+        this.directorio = directorio;
+        this.bitsTramo = bitsTramo;
+        try {
+            Files.createDirectories(directorio);
+            this.datos = new ArchivoMapeado(directorio.resolve(ARCHIVO_DATOS), bitsTramo);
+            long magia = datos.getLong(0);
+            if (magia == 0) {
+                datos.putLong(0, MAGIA_DATOS);
+                datos.putLong(8, CABECERA);
+            } else if (magia != MAGIA_DATOS) {
+                throw new IllegalStateException(directorio.resolve(ARCHIVO_DATOS) + " no es un archivo de clientes");
+            }
+            this.fin = datos.getLong(8);
+            this.versionIndice = datos.getLong(VERSION_INDICE);
+            datos.asegurar(fin);
+            this.indice = abrirIndice(capacidadInicial);
+            borrarIndicesAnteriores();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el repositorio de clientes en " + directorio, e);
+        }
+    }
+
+    private Indice abrirIndice(long capacidadInicial) throws IOException {
+        Path ruta = rutaIndice(versionIndice);
+        Indice existente = Files.exists(ruta) ? Indice.abrir(ruta, bitsTramo) : null;
+        if (existente != null && existente.finIndexado() <= fin) {
+            return indexarDesde(existente, existente.finIndexado());
+        }
+        if (existente != null) {
+            existente.archivo.close();
+            logger.warn("⚠️ El índice de {} no corresponde al archivo de datos; se reconstruye", directorio);
+        }
+        Files.deleteIfExists(ruta);
+        long capacidad = Math.max(CAPACIDAD_MINIMA_INDICE, Long.highestOneBit(Math.max(1, capacidadInicial * 4 / 3)) << 1);
+        Indice nuevo = Indice.crear(ruta, capacidad, bitsTramo);
+        return indexarDesde(nuevo, CABECERA);
+    }
+
+    /**
+     * @return Archivo de índice de una versión; la {@code 0} conserva el nombre de los repositorios anteriores.
+     */
+    private Path rutaIndice(long version) {
+        return directorio.resolve(version == 0 ? ARCHIVO_INDICE : ARCHIVO_INDICE + "." + version);
+    }
+
+    /**
+     * Borra los índices de versiones anteriores que no pudieron borrarse al ampliar, y los de una ampliación
+     * interrumpida antes de registrarse en la cabecera de datos.
+     */
+    private void borrarIndicesAnteriores() throws IOException {
+        Path vigente = rutaIndice(versionIndice);
+        try (DirectoryStream<Path> indices = Files.newDirectoryStream(directorio, ARCHIVO_INDICE + "*")) {
+            for (Path ruta : indices) {
+                if (!ruta.equals(vigente)) {
+                    Files.deleteIfExists(ruta);
+                    logger.info("🧹 Índice anterior borrado: {}", ruta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Agrega al índice los registros que faltan desde {@code desde}. Las claves ya indexadas se omiten.
+     *
+     * @return El índice resultante, que puede ser uno ampliado.
+     */
+    private Indice indexarDesde(Indice destino, long desde) throws IOException {
+        long[] indexados = new long[1];
+        Indice[] actual = {destino};
+        recorrerRegistros(desde, posicion -> {
+            long clave = datos.getLong(posicion);
+            if (actual[0].buscar(clave) < 0) {
+                try {
+                    actual[0] = conEspacio(actual[0]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                actual[0].poner(clave, posicion);
+                indexados[0]++;
+            }
+            return true;
+        });
+        actual[0].finIndexado(fin);
+        if (indexados[0] > 0) {
+            logger.info("🗂️ Se indexaron {} registros pendientes de {}", indexados[0], directorio);
+        }
+        return actual[0];
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Lecturas
+    // ---------------------------------------------------------------------------------------------
+
+    @Override
+    public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
+        long clave = clave(tipoDocumento, numeroDocumento);
+        long posicion = clave < 0 ? -1 : indice.buscar(clave);
+        if (logger.isDebugEnabled()) {
+            logger.atDebug()
+                    .addKeyValue("tipoDocumento", tipoDocumento)
+                    .addKeyValue("numeroDocumento", numeroDocumento)
+                    .addKeyValue("encontrado", posicion >= 0)
+                    .log("🔍 Cliente consultado en archivo mapeado");
+        }
+        return posicion < 0 ? Optional.empty() : Optional.of(leer(posicion));
+    }
+
+    /**
+     * Las claves se ordenan como {@code long} para descartar repetidos sin crear objetos por clave.
+     */
+    @Override
+    public List<Cliente> obtenerClientes(Collection<ClaveCliente> claves) {
+        long[] valores = new long[claves.size()];
+        int n = 0;
+        for (ClaveCliente clave : claves) {
+            long valor = clave(clave.tipoDocumento(), clave.numeroDocumento());
+            if (valor >= 0) {
+                valores[n++] = valor;
+            }
+        }
+        Arrays.sort(valores, 0, n);
+        Indice actual = indice;
+        List<Cliente> encontrados = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            long posicion = i > 0 && valores[i] == valores[i - 1] ? -1 : actual.buscar(valores[i]);
+            if (posicion >= 0) {
+                encontrados.add(leer(posicion));
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public long recorrerClientes(Consumer<Cliente> consumidor) {
+        long[] total = new long[1];
+        recorrerRegistros(CABECERA, posicion -> {
+            consumidor.accept(leer(posicion));
+            total[0]++;
+            return true;
+        });
+        return total[0];
+    }
+
+    /**
+     * Recorre el archivo de datos conservando en arreglos ordenados las {@code limite} claves menores
+     * que pasan los filtros; solo esas se decodifican. Los filtros se comparan sobre los bytes UTF-8
+     * del registro, sin crear cadenas.
+     */
+    @Override
+    public List<Cliente> listarClientes(String ciudadResidencia, String primerApellido, ClaveCliente despuesDe, int limite) {
+        long desde = despuesDe == null ? -1 : claveCursor(despuesDe);
+        byte[] ciudad = ciudadResidencia == null ? null : ciudadResidencia.getBytes(StandardCharsets.UTF_8);
+        byte[] apellido = primerApellido == null ? null : primerApellido.getBytes(StandardCharsets.UTF_8);
+        if (limite <= 0) {
+            return List.of();
+        }
+        long[] claves = new long[limite];
+        long[] posiciones = new long[limite];
+        int[] cantidad = new int[1];
+        recorrerRegistros(CABECERA, posicion -> {
+            long clave = datos.getLong(posicion);
+            int n = cantidad[0];
+            if (clave <= desde || (n == limite && clave >= claves[n - 1])) {
+                return true;
+            }
+            ByteBuffer tramo = datos.tramo(posicion);
+            int campos = datos.desplazamiento(posicion) + INICIO_CAMPOS;
+            if ((apellido != null && !campoIgual(tramo, campos, CAMPO_PRIMER_APELLIDO, apellido))
+                    || (ciudad != null && !campoIgual(tramo, campos, CAMPO_CIUDAD, ciudad))) {
+                return true;
+            }
+            int i = n == limite ? n - 1 : n;
+            while (i > 0 && claves[i - 1] > clave) {
+                claves[i] = claves[i - 1];
+                posiciones[i] = posiciones[i - 1];
+                i--;
+            }
+            claves[i] = clave;
+            posiciones[i] = posicion;
+            cantidad[0] = Math.min(n + 1, limite);
+            return true;
+        });
+        List<Cliente> pagina = new ArrayList<>(cantidad[0]);
+        for (int i = 0; i < cantidad[0]; i++) {
+            pagina.add(leer(posiciones[i]));
+        }
+        return pagina;
+    }
+
+    /**
+     * Recorre todos los clientes comparando las palabras normalizadas de sus nombres, como lo hace
+     * {@link IndiceNombresClientes}.
+     */
+    @Override
+    public List<Cliente> buscarClientesPorNombre(String texto, int limite) {
+        List<String> consulta = IndiceNombresClientes.palabras(texto);
+        List<Cliente> encontrados = new ArrayList<>();
+        if (consulta.isEmpty()) {
+            return encontrados;
+        }
+        recorrerRegistros(CABECERA, posicion -> {
+            Cliente cliente = leer(posicion);
+            List<String> palabras = IndiceNombresClientes.palabras(String.join(" ",
+                    Arrays.asList(cliente.getPrimerNombre(), cliente.getSegundoNombre(),
+                            cliente.getPrimerApellido(), cliente.getSegundoApellido())));
+            if (consulta.stream().allMatch(prefijo -> palabras.stream().anyMatch(p -> p.startsWith(prefijo)))) {
+                encontrados.add(cliente);
+            }
+            return encontrados.size() < limite;
+        });
+        return encontrados;
+    }
+
+    /**
+     * Entrega la posición de cada registro desde {@code desde} hasta el final publicado en ese momento,
+     * mientras {@code consumidor} devuelva {@code true}.
+     */
+    private void recorrerRegistros(long desde, LongPredicate consumidor) {
+        long limite = fin;
+        long posicion = desde;
+        while (posicion < limite) {
+            if (datos.getLong(posicion) == 0) { // relleno hasta el final del tramo
+                posicion = (posicion | (datos.tamanoTramo() - 1)) + 1;
+                continue;
+            }
+            if (!consumidor.test(posicion)) {
+                return;
+            }
+            posicion += datos.tramo(posicion).getInt(datos.desplazamiento(posicion) + 8);
+        }
+    }
+
+    /**
+     * Copia el registro al heap con una sola lectura y decodifica sus campos desde esa copia.
+     */
+    private Cliente leer(long posicion) {
+        ByteBuffer tramo = datos.tramo(posicion);
+        int desplazamiento = datos.desplazamiento(posicion);
+        long clave = tramo.getLong(desplazamiento);
+        byte[] bytes = new byte[tramo.getInt(desplazamiento + 8) - INICIO_CAMPOS];
+        tramo.get(desplazamiento + INICIO_CAMPOS, bytes);
+        ByteBuffer campos = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        return new Cliente(tipo(clave), clave & MAXIMO_NUMERO, campo(campos), campo(campos), campo(campos),
+                campo(campos), campo(campos), campo(campos), campo(campos));
+    }
+
+    private static String campo(ByteBuffer campos) {
+        short longitud = campos.getShort();
+        if (longitud < 0) {
+            return null;
+        }
+        String valor = new String(campos.array(), campos.position(), longitud, StandardCharsets.UTF_8);
+        campos.position(campos.position() + longitud);
+        return valor;
+    }
+
+    private static boolean campoIgual(ByteBuffer tramo, int o, int campo, byte[] esperado) {
+        for (int i = 0; i < campo; i++) {
+            o += 2 + Math.max(0, tramo.getShort(o));
+        }
+        if (tramo.getShort(o) != esperado.length) {
+            return false;
+        }
+        for (int i = 0; i < esperado.length; i++) {
+            if (tramo.get(o + 2 + i) != esperado[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Escrituras
+    // ---------------------------------------------------------------------------------------------
+
+    @Override
+    public synchronized void insertarCliente(Cliente cliente) {
+        try {
+            insertar(cliente);
+            if (logger.isDebugEnabled()) {
+                logger.debug("✅ Cliente insertado en archivo mapeado: {}", cliente);
+            }
+        } catch (Exception e) {
+            logger.error("💥 Error al insertar cliente en archivo mapeado: {}", cliente, e);
+            throw e; // Re-lanzar para manejo global
+        }
+    }
+
+    @Override
+    public synchronized ResultadoLote insertarClientes(List<Cliente> clientes) {
+        logger.info("📝 Insertando lote de {} clientes en archivo mapeado", clientes.size());
+        List<FalloInsercion> fallos = new ArrayList<>();
+        for (int i = 0; i < clientes.size(); i++) {
+            try {
+                insertar(clientes.get(i));
+            } catch (DataAccessException e) {
+                fallos.add(new FalloInsercion(i, ClaveCliente.de(clientes.get(i)), e.getMessage()));
+            }
+        }
+        ResultadoLote resultado = new ResultadoLote(clientes.size(), clientes.size() - fallos.size(), fallos);
+        if (resultado.exitoso()) {
+            logger.info("✅ Lote insertado correctamente: {} clientes", resultado.insertados());
+        } else {
+            logger.warn("⚠️ Lote insertado parcialmente: {} de {} clientes, {} fallos",
+                    resultado.insertados(), clientes.size(), fallos.size());
+        }
+        return resultado;
+    }
+
+    /**
+     * Agrega el registro al archivo de datos y luego su entrada al índice. Se llama con el bloqueo del repositorio.
+     */
+    private void insertar(Cliente cliente) {
+        long clave = clave(cliente.getTipoDocumento(), cliente.getNumeroDocumento());
+        if (clave < 0) {
+            throw new DataIntegrityViolationException("Tipo o número de documento no soportado: tipoDocumento='"
+                    + cliente.getTipoDocumento() + "', numeroDocumento=" + cliente.getNumeroDocumento());
+        }
+        if (indice.buscar(clave) >= 0) {
+            throw new DuplicateKeyException("Ya existe el cliente " + ClaveCliente.de(cliente));
+        }
+        int longitud = codificar(clave, cliente);
+        try {
+            long posicion = fin;
+            long restante = datos.tamanoTramo() - datos.desplazamiento(posicion);
+            if (longitud > restante) {
+                datos.putLong(posicion, 0);
+                posicion += restante;
+            }
+            datos.asegurar(posicion + longitud);
+            datos.put(posicion, registro, longitud);
+            fin = posicion + longitud;
+            datos.putLong(8, fin);
+
+            Indice actual = conEspacio(indice);
+            indice = actual;
+            actual.poner(clave, posicion);
+            actual.finIndexado(fin);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("No se pudo ampliar el archivo de clientes en " + directorio, e);
+        }
+    }
+
+    /**
+     * Escribe el registro en {@link #registro}.
+     *
+     * @return Longitud del registro, múltiplo de 8.
+     */
+    private int codificar(long clave, Cliente cliente) {
+        String[] campos = {cliente.getPrimerNombre(), cliente.getSegundoNombre(), cliente.getPrimerApellido(),
+                cliente.getSegundoApellido(), cliente.getTelefono(), cliente.getDireccion(), cliente.getCiudadResidencia()};
+        ByteBuffer salida = ByteBuffer.wrap(registro).order(ByteOrder.LITTLE_ENDIAN);
+        salida.putLong(0, clave);
+        int o = INICIO_CAMPOS;
+        for (String campo : campos) {
+            byte[] bytes = campo == null ? null : campo.getBytes(StandardCharsets.UTF_8);
+            if (bytes != null && bytes.length > Short.MAX_VALUE) {
+                throw new DataIntegrityViolationException("Campo demasiado largo en el cliente " + ClaveCliente.de(cliente));
+            }
+            int necesarios = o + 2 + (bytes == null ? 0 : bytes.length) + 7;
+            if (necesarios > registro.length) {
+                registro = Arrays.copyOf(registro, Math.max(registro.length * 2, necesarios));
+                salida = ByteBuffer.wrap(registro).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            salida.putShort(o, (short) (bytes == null ? -1 : bytes.length));
+            o += 2;
+            if (bytes != null) {
+                salida.put(o, bytes);
+                o += bytes.length;
+            }
+        }
+        int longitud = (o + 7) & ~7;
+        Arrays.fill(registro, o, longitud, (byte) 0);
+        salida.putInt(8, longitud);
+        if (longitud > datos.tamanoTramo() - CABECERA) {
+            throw new DataIntegrityViolationException("El cliente " + ClaveCliente.de(cliente) + " no cabe en un tramo");
+        }
+        return longitud;
+    }
+
+    /**
+     * Devuelve un índice con espacio para una entrada más, reconstruyéndolo con el doble de capacidad si hace falta.
+     * El nuevo se escribe en el archivo de la versión siguiente y se fuerza a disco antes de anotar esa versión en
+     * la cabecera de datos: tras una caída se abre el índice anterior completo o el nuevo completo.
+     */
+    private Indice conEspacio(Indice actual) throws IOException {
+        if ((actual.ocupados() + 1) * 4 <= actual.capacidad * 3) {
+            return actual;
+        }
+        long inicio = System.nanoTime();
+        Path anterior = rutaIndice(versionIndice);
+        Path ruta = rutaIndice(versionIndice + 1);
+        Files.deleteIfExists(ruta);
+        Indice nuevo = Indice.crear(ruta, actual.capacidad * 2, bitsTramo);
+        for (long i = 0; i < actual.capacidad; i++) {
+            long clave = actual.archivo.getLong(Indice.entrada(i));
+            if (clave != 0) {
+                nuevo.poner(clave, actual.archivo.getLong(Indice.entrada(i) + 8));
+            }
+        }
+        nuevo.finIndexado(actual.finIndexado());
+        nuevo.archivo.forzar();
+        versionIndice++;
+        datos.putLong(VERSION_INDICE, versionIndice);
+        actual.archivo.close();
+        try {
+            Files.deleteIfExists(anterior);
+        } catch (IOException e) {
+            // Sigue proyectado hasta que el recolector libere sus buffers; se borra al reabrir
+            logger.warn("⚠️ No se pudo borrar el índice anterior {}: {}", anterior, e.toString());
+        }
+        logger.info("🗂️ Índice de clientes ampliado de {} a {} entradas en {} ms", actual.capacidad, nuevo.capacidad,
+                (System.nanoTime() - inicio) / 1_000_000);
+        return nuevo;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Claves
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * @return Clave primitiva del cliente, o {@code -1} si el tipo o el número no son representables.
+     */
+    private static long clave(String tipoDocumento, long numeroDocumento) {
+        if (tipoDocumento == null || tipoDocumento.isEmpty() || tipoDocumento.length() > 2
+                || numeroDocumento < 0 || numeroDocumento > MAXIMO_NUMERO) {
+            return -1;
+        }
+        char primero = tipoDocumento.charAt(0);
+        char segundo = tipoDocumento.length() == 2 ? tipoDocumento.charAt(1) : 0;
+        if (primero == 0 || primero > 127 || (tipoDocumento.length() == 2 && (segundo == 0 || segundo > 127))) {
+            return -1;
+        }
+        return ((long) primero << 56) | ((long) segundo << 48) | numeroDocumento;
+    }
+
+    /**
+     * Clave a partir de la cual continúa una página: la mayor clave representable que no supera al cursor.
+     */
+    private static long claveCursor(ClaveCliente cursor) {
+        String tipo = cursor.tipoDocumento();
+        if (cursor.numeroDocumento() < 0) {
+            return Math.max(-1, clave(tipo, 0) - 1);
+        }
+        long clave = clave(tipo, Math.min(cursor.numeroDocumento(), MAXIMO_NUMERO));
+        if (clave < 0 && tipo != null && tipo.length() > 2) {
+            clave = clave(tipo.substring(0, 2), MAXIMO_NUMERO); // "CCX" va después de todos los "CC"
+        }
+        if (clave < 0) {
+            throw new IllegalArgumentException("Tipo de documento no soportado en el cursor: '" + tipo + "'");
+        }
+        return clave;
+    }
+
+    /** Tipo de documento de una clave; cada tipo distinto se crea una sola vez. */
+    private String tipo(long clave) {
+        int codigo = (int) (clave >>> 48);
+        String tipo = tipos[codigo];
+        if (tipo == null) {
+            char primero = (char) (codigo >>> 8);
+            char segundo = (char) (codigo & 0xFF);
+            tipo = segundo == 0 ? String.valueOf(primero) : new String(new char[]{primero, segundo});
+            tipos[codigo] = tipo;
+        }
+        return tipo;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Métricas y ciclo de vida
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * @return Clientes guardados.
+     */
+    public long clientes() {
+        return indice.ocupados();
+    }
+
+    /**
+     * @return Bytes usados del archivo de datos, incluida la cabecera.
+     */
+    public long bytesDatos() {
+        return fin;
+    }
+
+    /**
+     * @return Entradas del índice (ocupadas y libres).
+     */
+    public long capacidadIndice() {
+        return indice.capacidad;
+    }
+
+    /**
+     * Fuerza los archivos a disco y los cierra. Spring lo invoca al detener el contexto; las llamadas
+     * siguientes no hacen nada (el mismo objeto puede estar registrado también como {@code clienteRepository}).
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!cerrado.compareAndSet(false, true)) {
+            return;
+        }
+        datos.close();
+        indice.archivo.close();
+        logger.info("💾 Repositorio de clientes mapeado cerrado: {} clientes en {}", clientes(), directorio);
+    }
+
+    /**
+     * Tabla hash de direccionamiento abierto (sondeo lineal) sobre {@value #ARCHIVO_INDICE}.
+     * <p>
+     * Cabecera: magia, capacidad, entradas ocupadas y posición del archivo de datos hasta la que se indexó.
+     * Cada entrada son dos {@code long}: clave ({@code 0} = libre) y posición del registro.
+     */
+    private static final class Indice {
+
+        final ArchivoMapeado archivo;
+        final long capacidad;
+        private final long mascara;
+
+        private Indice(ArchivoMapeado archivo, long capacidad) {
+            this.archivo = archivo;
+            this.capacidad = capacidad;
+            this.mascara = capacidad - 1;
+        }
+
+        static Indice crear(Path ruta, long capacidad, int bitsTramo) throws IOException {
+            ArchivoMapeado archivo = new ArchivoMapeado(ruta, bitsTramo);
+            archivo.asegurar(entrada(capacidad));
+            archivo.putLong(8, capacidad);
+            archivo.putLong(16, 0);
+            archivo.putLong(24, CABECERA);
+            archivo.putLong(0, MAGIA_INDICE);
+            return new Indice(archivo, capacidad);
+        }
+
+        /**
+         * @return El índice, o {@code null} si el archivo no es un índice válido.
+         */
+        static Indice abrir(Path ruta, int bitsTramo) throws IOException {
+            ArchivoMapeado archivo = new ArchivoMapeado(ruta, bitsTramo);
+            long capacidad = archivo.getLong(8);
+            if (archivo.getLong(0) != MAGIA_INDICE || capacidad < 1 || Long.bitCount(capacidad) != 1) {
+                archivo.close();
+                return null;
+            }
+            archivo.asegurar(entrada(capacidad));
+            return new Indice(archivo, capacidad);
+        }
+
+        static long entrada(long i) {
+            return CABECERA + (i << 4);
+        }
+
+        /**
+         * @return Posición del registro, o {@code -1} si la clave no está.
+         */
+        long buscar(long clave) {
+            long i = mezclar(clave) & mascara;
+            while (true) {
+                long entrada = entrada(i);
+                long actual = archivo.getLongAcquire(entrada);
+                if (actual == 0) {
+                    return -1;
+                }
+                if (actual == clave) {
+                    return archivo.getLong(entrada + 8);
+                }
+                i = (i + 1) & mascara;
+            }
+        }
+
+        /** Agrega una clave ausente. Solo la llama el escritor. */
+        void poner(long clave, long posicion) {
+            long i = mezclar(clave) & mascara;
+            while (archivo.getLong(entrada(i)) != 0) {
+                i = (i + 1) & mascara;
+            }
+            archivo.putLong(entrada(i) + 8, posicion);
+            archivo.putLongRelease(entrada(i), clave);
+            archivo.putLong(16, archivo.getLong(16) + 1);
+        }
+
+        long ocupados() {
+            return archivo.getLong(16);
+        }
+
+        long finIndexado() {
+            return archivo.getLong(24);
+        }
+
+        void finIndexado(long posicion) {
+            archivo.putLong(24, posicion);
+        }
+
+        private static long mezclar(long h) {
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
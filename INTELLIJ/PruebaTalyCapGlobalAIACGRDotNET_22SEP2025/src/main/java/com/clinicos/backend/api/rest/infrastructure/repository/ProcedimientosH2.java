@@ -0,0 +1,44 @@
+package com.clinicos.backend.api.rest.infrastructure.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Procedimientos almacenados de SQL Server emulados en H2 para el perfil {@code local}.
+ * <p>
+ * {@code db/local/schema.sql} los registra con {@code CREATE ALIAS}; H2 inyecta la conexión de la sesión
+ * como primer argumento. No dependen del driver de H2: solo usan JDBC estándar.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 16 Oct 2026
+ */
+public final class ProcedimientosH2 {
+
+    private static final String SQL_OBTENER_CLIENTE = "SELECT TipoDocumento, NumeroDocumento, PrimerNombre, SegundoNombre, " +
+            "PrimerApellido, SegundoApellido, Telefono, Direccion, CiudadResidencia FROM Clientes " +
+            "WHERE TipoDocumento = ? AND NumeroDocumento = ?";
+
+    private ProcedimientosH2() {
+    }
+
+    /**
+     * Equivalente a {@code sp_ObtenerCliente @TipoDocumento, @NumeroDocumento}: las columnas de la fila del
+     * cliente, o ninguna fila si no existe.
+     *
+     * @param conexion Conexión de la sesión que invoca el procedimiento.
+     * @param tipoDocumento Tipo de documento.
+     * @param numeroDocumento Número de documento.
+     * @return Resultado con cero o una fila; H2 lo cierra al consumirlo.
+     * @throws SQLException Si falla la consulta.
+     */
+    public static ResultSet obtenerCliente(Connection conexion, String tipoDocumento, long numeroDocumento) throws SQLException {
+        PreparedStatement ps = conexion.prepareStatement(SQL_OBTENER_CLIENTE);
+        ps.setString(1, tipoDocumento);
+        ps.setLong(2, numeroDocumento);
+        ps.closeOnCompletion();
+        return ps.executeQuery();
+    }
+}
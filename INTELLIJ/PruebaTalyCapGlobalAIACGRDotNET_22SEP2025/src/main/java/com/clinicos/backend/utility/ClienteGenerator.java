@@ -2,26 +2,54 @@ package com.clinicos.backend.utility;
 
 import com.clinicos.backend.api.rest.application.ClienteService;
 import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Random;
-
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generador de clientes de prueba para poblar la tabla Clientes.
+ * <p>
+ * La generación es <b>determinista</b> y <b>paralela</b>:
+ * <ul>
+ *   <li>Las filas se dividen en bloques de {@code clientes.seed.lote}; cada bloque usa su propio
+ *       {@link SplittableRandom} derivado de {@code clientes.seed.semilla} y del número de bloque,
+ *       por lo que la misma semilla produce los mismos datos sin importar el número de hilos.</li>
+ *   <li>El documento de la fila {@code i} se obtiene con una permutación del espacio de claves
+ *       (tipo C/P × números entre 10.000.000 y 99.999.999), así que no hay claves repetidas.</li>
+ *   <li>Cada bloque se inserta con {@link ClienteService#crearClientes(List)} (inserción por lotes).</li>
+ * </ul>
+ * Al finalizar se registra el número de filas insertadas, fallidas y la tasa en filas por segundo.
+ *
+ * @author Aura
+ * Cristina Garzon Rodriguez
+ * @since 23 Sep 2025
+ */
 @Component
 public class ClienteGenerator {
 
-    private final ClienteService clienteService;
-    private final Random random = new Random();
+    private static final Logger logger = LoggerFactory.getLogger(ClienteGenerator.class);
 
-    @Value("${clientes.seed.enabled:false}")
-    private boolean seedEnabled;
+    private static final long NUMERO_MINIMO = 10_000_000L;
+    private static final long NUMEROS_POR_TIPO = 90_000_000L; // entre 10M y 99,999,999
+    private static final long MULTIPLICADOR = 2_654_435_761L; // primo, coprimo con el espacio de claves
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
 
-    @Value("${clientes.seed.cantidad:1000}")
-    private int cantidad;
+    private static final String[] TIPOS_DOCUMENTO = {"C", "P"}; // Cédula o Pasaporte
 
-    private final String[] tiposDocumento = {"C", "P"}; // Cédula o Pasaporte
+    private static final long ESPACIO_CLAVES = TIPOS_DOCUMENTO.length * NUMEROS_POR_TIPO;
 
-    private final String[] nombres = {
+    private static final String[] NOMBRES = {
             "Sofía","Valentina","Isabella","Camila","María","Lucía","Martina","Emma","Daniela","Sara",
             "Juan","Sebastián","Mateo","Santiago","Samuel","Gabriel","Alejandro","David","Lucas","Nicolás",
             "Laura","Paula","Andrea","Juliana","Carolina","Diego","Carlos","Julián","Andrés",
@@ -31,7 +59,7 @@ public class ClienteGenerator {
             "Jorge","Héctor","Diana","Carla","Lorena","Esteban","Felipe","Juan Pablo","José Miguel"
     };
 
-    private final String[] apellidos = {
+    private static final String[] APELLIDOS = {
             "Gómez","Rodríguez","López","Martínez","Pérez","García","Sánchez","Ramírez","Torres","Flores",
             "Rojas","Morales","Cruz","Vásquez","Castillo","Alvarez","Mendoza","Gutiérrez","Ortiz","Silva",
             "González","Jiménez","Hernández","Chávez","Romero","Suárez","Bravo","Paredes","Salazar","Córdoba",
@@ -39,51 +67,169 @@ public class ClienteGenerator {
             "Ospina","Mejía","Arias","Velásquez","Cano","Montoya","Quintero","Medina","Reyes","Restrepo"
     };
 
-    private final String[] ciudades = {
+    private static final String[] CIUDADES = {
             "Bogotá","Medellín","Cali","Barranquilla","Cartagena","Cúcuta","Bucaramanga","Pereira","Santa Marta","Ibagué"
     };
 
-    public ClienteGenerator(ClienteService clienteService) {
+    private final ClienteService clienteService;
+    private final boolean seedEnabled;
+    private final long cantidad;
+    private final long semilla;
+    private final int hilos;
+    private final int tamanoLote;
+    private final long desplazamiento;
+
+    /**
+     * @param clienteService Servicio usado para insertar los bloques generados.
+     * @param seedEnabled Habilita la generación ({@code clientes.seed.enabled}).
+     * @param cantidad Número de clientes a generar ({@code clientes.seed.cantidad}).
+     * @param semilla Semilla que determina los datos generados ({@code clientes.seed.semilla}).
+     * @param hilos Hilos de generación; {@code 0} usa todos los núcleos ({@code clientes.seed.hilos}).
+     * @param tamanoLote Clientes por bloque insertado ({@code clientes.seed.lote}).
+     */
+    public ClienteGenerator(
+            ClienteService clienteService,
+            @Value("${clientes.seed.enabled:false}") boolean seedEnabled,
+            @Value("${clientes.seed.cantidad:1000}") long cantidad,
+            @Value("${clientes.seed.semilla:42}") long semilla,
+            @Value("${clientes.seed.hilos:0}") int hilos,
+            @Value("${clientes.seed.lote:5000}") int tamanoLote
+    ) {
+        if (cantidad > ESPACIO_CLAVES) {
+            throw new IllegalArgumentException("La cantidad de clientes no puede superar " + ESPACIO_CLAVES);
+        }
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser mayor que 0");
+        }
         this.clienteService = clienteService;
+        this.seedEnabled = seedEnabled;
+        this.cantidad = cantidad;
+        this.semilla = semilla;
+        this.hilos = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        this.tamanoLote = tamanoLote;
+        this.desplazamiento = Math.floorMod(mezclar(semilla), ESPACIO_CLAVES);
     }
 
     public void generarClientes() {
         if (!seedEnabled) {
-            System.out.println("⚡ Generación de clientes deshabilitada por configuración");
+            logger.info("⚡ Generación de clientes deshabilitada por configuración");
             return;
         }
 
-        for (int i = 1; i <= cantidad; i++) {
-            String tipoDocumento = tiposDocumento[random.nextInt(tiposDocumento.length)];
-            long numeroDocumento = 10000000L + random.nextInt(90000000); // entre 10M y 99,999,999
-
-            String primerNombre = nombres[random.nextInt(nombres.length)];
-            String segundoNombre = nombres[random.nextInt(nombres.length)];
-
-            String primerApellido = apellidos[random.nextInt(apellidos.length)];
-            String segundoApellido = apellidos[random.nextInt(apellidos.length)];
-
-            String telefono = String.format("%03d-%07d", 300 + random.nextInt(1000), random.nextInt(10000000));
+        long bloques = (cantidad + tamanoLote - 1) / tamanoLote;
+        logger.info("⚡ Generando {} clientes en {} bloques de {} con {} hilos (semilla={})",
+                cantidad, bloques, tamanoLote, hilos, semilla);
+
+        LongAdder insertados = new LongAdder();
+        LongAdder fallidos = new LongAdder();
+        long inicio = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(hilos)) {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (long bloque = 0; bloque < bloques; bloque++) {
+                long numeroBloque = bloque;
+                tareas.add(executor.submit(() -> {
+                    ResultadoLote resultado = clienteService.crearClientes(generarBloque(numeroBloque));
+                    insertados.add(resultado.insertados());
+                    fallidos.add(resultado.fallos().size());
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generación de clientes interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al generar clientes", e.getCause());
+        }
 
-            String direccion = "Calle " + (random.nextInt(150) + 1) + " # " + (random.nextInt(100) + 1) + "-" + (random.nextInt(50) + 1);
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        logger.info("✅ Se han generado {} registros de prueba en la tabla Clientes ({} fallidos) en {} s: {} filas/s",
+                insertados.sum(), fallidos.sum(), String.format("%.1f", segundos),
+                String.format("%.0f", insertados.sum() / Math.max(segundos, 1e-9)));
+    }
 
-            String ciudad = ciudades[random.nextInt(ciudades.length)];
+    /**
+     * Genera los clientes de un bloque. El resultado depende solo de la semilla y del número de bloque.
+     *
+     * @param numeroBloque Número de bloque, desde 0.
+     * @return Clientes del bloque (el último bloque puede ser más corto).
+     */
+    public List<Cliente> generarBloque(long numeroBloque) {
+        long desde = numeroBloque * tamanoLote;
+        long hasta = Math.min(desde + tamanoLote, cantidad);
+        SplittableRandom random = new SplittableRandom(mezclar(semilla + numeroBloque * GOLDEN));
+        StringBuilder sb = new StringBuilder(32);
+        List<Cliente> clientes = new ArrayList<>((int) Math.max(0, hasta - desde));
+        for (long indice = desde; indice < hasta; indice++) {
+            clientes.add(generarCliente(indice, random, sb));
+        }
+        return clientes;
+    }
 
-            Cliente cliente = new Cliente(
-                    tipoDocumento,
-                    numeroDocumento,
-                    primerNombre,
-                    segundoNombre,
-                    primerApellido,
-                    segundoApellido,
-                    telefono,
-                    direccion,
-                    ciudad
-            );
+    /**
+     * Genera el cliente de la fila {@code indice}. La clave (tipo y número de documento) es única por índice.
+     *
+     * @param indice Posición de la fila, entre 0 y {@code cantidad - 1}.
+     * @param random Fuente de aleatoriedad del bloque.
+     * @param sb Buffer reutilizable para construir teléfono y dirección.
+     * @return Cliente generado.
+     */
+    Cliente generarCliente(long indice, SplittableRandom random, StringBuilder sb) {
+        long posicion = Math.floorMod(indice * MULTIPLICADOR + desplazamiento, ESPACIO_CLAVES);
+        String tipoDocumento = TIPOS_DOCUMENTO[(int) (posicion % TIPOS_DOCUMENTO.length)];
+        long numeroDocumento = NUMERO_MINIMO + posicion / TIPOS_DOCUMENTO.length;
+
+        String primerNombre = NOMBRES[random.nextInt(NOMBRES.length)];
+        String segundoNombre = NOMBRES[random.nextInt(NOMBRES.length)];
+
+        String primerApellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+        String segundoApellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+
+        sb.setLength(0);
+        rellenar(sb, 300 + random.nextInt(1000), 3).append('-');
+        rellenar(sb, random.nextInt(10_000_000), 7);
+        String telefono = sb.toString();
+
+        sb.setLength(0);
+        sb.append("Calle ").append(random.nextInt(150) + 1)
+                .append(" # ").append(random.nextInt(100) + 1)
+                .append('-').append(random.nextInt(50) + 1);
+        String direccion = sb.toString();
+
+        String ciudad = CIUDADES[random.nextInt(CIUDADES.length)];
+
+        return new Cliente(
+                tipoDocumento,
+                numeroDocumento,
+                primerNombre,
+                segundoNombre,
+                primerApellido,
+                segundoApellido,
+                telefono,
+                direccion,
+                ciudad
+        );
+    }
 
-            clienteService.crearCliente(cliente);
+    /**
+     * Equivalente a {@code String.format("%0<ancho>d", valor)} para valores no negativos, sin crear objetos intermedios.
+     */
+    private static StringBuilder rellenar(StringBuilder sb, int valor, int ancho) {
+        int digitos = 1;
+        for (int resto = valor; resto >= 10; resto /= 10) {
+            digitos++;
+        }
+        for (; digitos < ancho; digitos++) {
+            sb.append('0');
         }
+        return sb.append(valor);
+    }
 
-        System.out.println("✅ Se han generado " + cantidad + " registros de prueba en la tabla Clientes");
+    private static long mezclar(long h) {
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
     }
-}
\ No newline at end of file
+}
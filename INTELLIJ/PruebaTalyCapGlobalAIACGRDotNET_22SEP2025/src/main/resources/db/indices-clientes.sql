@@ -0,0 +1,26 @@
+-- Índices de apoyo para el listado paginado de clientes (GET /clientes).
+--
+-- La paginación es por clave (keyset) sobre (TipoDocumento, NumeroDocumento), la clave primaria
+-- agrupada de Clientes. Cada índice empieza por las columnas filtradas por igualdad y sigue con la
+-- clave, de modo que cada página es una búsqueda (seek) seguida de un recorrido ordenado de N filas,
+-- sin ordenamiento ni OFFSET, sin importar la profundidad de la página.
+--
+-- Sin columnas INCLUDE: una página trae como máximo 500 filas y las búsquedas en el índice agrupado
+-- para completarlas son más baratas que triplicar el tamaño de la tabla y el costo de cada inserción.
+--
+-- Sin filtros se usa directamente la clave primaria agrupada.
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Clientes_Ciudad_Apellido_Clave' AND object_id = OBJECT_ID('dbo.Clientes'))
+    CREATE INDEX IX_Clientes_Ciudad_Apellido_Clave
+        ON dbo.Clientes (CiudadResidencia, PrimerApellido, TipoDocumento, NumeroDocumento);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Clientes_Ciudad_Clave' AND object_id = OBJECT_ID('dbo.Clientes'))
+    CREATE INDEX IX_Clientes_Ciudad_Clave
+        ON dbo.Clientes (CiudadResidencia, TipoDocumento, NumeroDocumento);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Clientes_Apellido_Clave' AND object_id = OBJECT_ID('dbo.Clientes'))
+    CREATE INDEX IX_Clientes_Apellido_Clave
+        ON dbo.Clientes (PrimerApellido, TipoDocumento, NumeroDocumento);
+GO
@@ -0,0 +1,28 @@
+-- Esquema de Clientes para el perfil local (H2 en memoria, MODE=MSSQLServer).
+--
+-- Equivale a la tabla de SQL Server con los índices de db/indices-clientes.sql y el procedimiento
+-- sp_ObtenerCliente, emulado por ProcedimientosH2 e invocado con la sintaxis {call} de JDBC.
+--
+-- La intercalación de la base de datos compara sin tildes ni mayúsculas, como Latin1_General_CI_AI en la
+-- búsqueda por nombre de SQL Server; H2 solo permite fijarla antes de crear la primera tabla.
+
+SET COLLATION ENGLISH STRENGTH PRIMARY;
+
+CREATE TABLE Clientes (
+    TipoDocumento    VARCHAR(2)   NOT NULL,
+    NumeroDocumento  BIGINT       NOT NULL,
+    PrimerNombre     VARCHAR(50),
+    SegundoNombre    VARCHAR(50),
+    PrimerApellido   VARCHAR(50),
+    SegundoApellido  VARCHAR(50),
+    Telefono         VARCHAR(20),
+    Direccion        VARCHAR(100),
+    CiudadResidencia VARCHAR(50),
+    PRIMARY KEY (TipoDocumento, NumeroDocumento)
+);
+
+CREATE INDEX IX_Clientes_Ciudad_Apellido_Clave ON Clientes (CiudadResidencia, PrimerApellido, TipoDocumento, NumeroDocumento);
+CREATE INDEX IX_Clientes_Ciudad_Clave ON Clientes (CiudadResidencia, TipoDocumento, NumeroDocumento);
+CREATE INDEX IX_Clientes_Apellido_Clave ON Clientes (PrimerApellido, TipoDocumento, NumeroDocumento);
+
+CREATE ALIAS sp_ObtenerCliente FOR 'com.clinicos.backend.api.rest.infrastructure.repository.ProcedimientosH2.obtenerCliente';
@@ -1,13 +1,27 @@
 package application;
 
 import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
 import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ErrorImportacion;
+import com.clinicos.backend.api.rest.domain.model.FalloInsercion;
+import com.clinicos.backend.api.rest.domain.model.LineaImportacion;
+import com.clinicos.backend.api.rest.domain.model.PaginaClientes;
+import com.clinicos.backend.api.rest.domain.model.ResultadoConsultaMultiple;
+import com.clinicos.backend.api.rest.domain.model.ResultadoImportacion;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
 import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.domain.ports.PublicadorCambiosCliente;
+import com.clinicos.backend.api.rest.infrastructure.cache.CaffeineClienteCache;
+import com.clinicos.backend.api.rest.infrastructure.repository.BaseDatosNoDisponibleException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -65,6 +79,19 @@ class ClienteServiceTest {
         verify(clienteRepository, times(1)).obtenerCliente("CC", 999L);
     }
 
+    @Test
+    @DisplayName("🚧 obtenerCliente debe propagar el rechazo por base de datos no disponible")
+    void testObtenerClienteBaseDatosNoDisponible() {
+        // Arrange
+        BaseDatosNoDisponibleException rechazo =
+                new BaseDatosNoDisponibleException("Circuito abierto", Duration.ofSeconds(5));
+        when(clienteRepository.obtenerCliente("CC", 123L)).thenThrow(rechazo);
+
+        // Act & Assert
+        assertSame(rechazo, assertThrows(BaseDatosNoDisponibleException.class,
+                () -> clienteService.obtenerCliente("CC", 123L)));
+    }
+
     @Test
     @DisplayName("🆕 crearCliente debe invocar insertarCliente en el repositorio")
     void testCrearCliente() {
@@ -90,4 +117,168 @@ class ClienteServiceTest {
         assertEquals("Alejandra", capturado.getSegundoNombre());
         assertEquals("Medellín", capturado.getCiudadResidencia());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("🗃️ obtenerCliente con caché solo consulta el repositorio una vez")
+    void testObtenerClienteConCache() {
+        // Arrange
+        CaffeineClienteCache cache = new CaffeineClienteCache(100, Duration.ofMinutes(5));
+        ClienteService servicioConCache = new ClienteService(clienteRepository, cache);
+        Cliente cliente = new Cliente(
+                "CC", 123L,
+                "Juan", "Carlos",
+                "Pérez", "Gómez",
+                "3001234567", "Calle 123", "Bogotá"
+        );
+        when(clienteRepository.obtenerCliente("CC", 123L))
+                .thenReturn(Optional.of(cliente));
+
+        // Act
+        servicioConCache.obtenerCliente("CC", 123L);
+        Optional<Cliente> resultado = servicioConCache.obtenerCliente("CC", 123L);
+
+        // Assert
+        assertTrue(resultado.isPresent());
+        verify(clienteRepository, times(1)).obtenerCliente("CC", 123L);
+    }
+
+    @Test
+    @DisplayName("🧹 crearCliente invalida la entrada de caché del cliente insertado")
+    void testCrearClienteInvalidaCache() {
+        // Arrange
+        CaffeineClienteCache cache = new CaffeineClienteCache(100, Duration.ofMinutes(5));
+        ClienteService servicioConCache = new ClienteService(clienteRepository, cache);
+        Cliente cliente = new Cliente(
+                "CE", 456L,
+                "María", "Alejandra",
+                "Gómez", "López",
+                "3119876543", "Carrera 45", "Medellín"
+        );
+        when(clienteRepository.obtenerCliente("CE", 456L))
+                .thenReturn(Optional.of(cliente));
+        servicioConCache.obtenerCliente("CE", 456L);
+
+        // Act
+        servicioConCache.crearCliente(cliente);
+        servicioConCache.obtenerCliente("CE", 456L);
+
+        // Assert
+        verify(clienteRepository, times(2)).obtenerCliente("CE", 456L);
+        assertEquals(1, cache.getNativeCache().asMap().size());
+        assertNotNull(cache.getNativeCache().getIfPresent(new ClaveCliente("CE", 456L)));
+    }
+
+    @Test
+    @DisplayName("📣 crearCliente y crearClientes publican los clientes insertados para las demás instancias")
+    void testCrearClientesPublicaCambios() {
+        // Arrange
+        PublicadorCambiosCliente publicador = mock(PublicadorCambiosCliente.class);
+        ClienteService servicio = new ClienteService(clienteRepository,
+                new CaffeineClienteCache(100, Duration.ofMinutes(5)), publicador);
+        Cliente ana = new Cliente("CC", 1L, "Ana", null, "López", null, "300", "Calle 1", "Cali");
+        Cliente luis = new Cliente("CE", 2L, "Luis", null, "Mora", null, "301", "Calle 2", "Pasto");
+        Cliente eva = new Cliente("CC", 3L, "Eva", null, "Ríos", null, "302", "Calle 3", "Neiva");
+        when(clienteRepository.insertarClientes(anyList())).thenReturn(new ResultadoLote(3, 2,
+                List.of(new FalloInsercion(1, new ClaveCliente("CE", 2L), "duplicado"))));
+
+        // Act
+        servicio.crearCliente(ana);
+        servicio.crearClientes(List.of(ana, luis, eva));
+
+        // Assert
+        verify(publicador).publicar(List.of(ana));
+        verify(publicador).publicar(List.of(ana, eva));
+    }
+
+    @Test
+    @DisplayName("📋 obtenerClientes conserva el orden y reporta los no encontrados")
+    void testObtenerClientesMultiple() {
+        // Arrange
+        CaffeineClienteCache cache = new CaffeineClienteCache(100, Duration.ofMinutes(5));
+        ClienteService servicioConCache = new ClienteService(clienteRepository, cache);
+        Cliente juan = new Cliente("CC", 1L, "Juan", "Carlos", "Pérez", "Gómez", "3001234567", "Calle 1", "Bogotá");
+        Cliente maria = new Cliente("CC", 3L, "María", "Alejandra", "Gómez", "López", "3119876543", "Carrera 45", "Medellín");
+        when(clienteRepository.obtenerCliente("CC", 3L)).thenReturn(Optional.of(maria));
+        servicioConCache.obtenerCliente("CC", 3L);
+        when(clienteRepository.obtenerClientes(anyCollection())).thenReturn(List.of(juan));
+
+        // Act
+        ResultadoConsultaMultiple resultado = servicioConCache.obtenerClientes(List.of(
+                new ClaveCliente("CC", 3L), new ClaveCliente("CC", 2L), new ClaveCliente("CC", 1L)));
+
+        // Assert
+        assertEquals(List.of(maria, juan), resultado.clientes());
+        assertEquals(List.of(new ClaveCliente("CC", 2L)), resultado.noEncontrados());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<ClaveCliente>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(clienteRepository, times(1)).obtenerClientes(captor.capture());
+        assertFalse(captor.getValue().contains(new ClaveCliente("CC", 3L)));
+    }
+
+    @Test
+    @DisplayName("🔠 obtenerClientes asocia las filas a las claves pedidas como las compara la base de datos")
+    void testObtenerClientesMultiple_TipoEnMinusculas() {
+        // Arrange
+        Cliente juan = new Cliente("CC", 1L, "Juan", null, "Pérez", null, "3001234567", "Calle 1", "Bogotá");
+        when(clienteRepository.obtenerClientes(anyCollection())).thenReturn(List.of(juan));
+
+        // Act
+        ResultadoConsultaMultiple resultado = clienteService.obtenerClientes(
+                List.of(new ClaveCliente("cc", 1L), new ClaveCliente("CC", 2L)));
+
+        // Assert
+        assertEquals(List.of(juan), resultado.clientes());
+        assertEquals(List.of(new ClaveCliente("CC", 2L)), resultado.noEncontrados());
+    }
+
+    @Test
+    @DisplayName("📥 importarClientes inserta los válidos y reporta cada error con su línea")
+    void importarClientes_ReportaErroresPorLinea() {
+        Cliente ana = new Cliente("CC", 1L, "Ana", null, "López", null, "300", "Calle 1", "Cali");
+        Cliente luis = new Cliente("CC", 2L, "Luis", null, "Mora", null, "301", "Calle 2", "Pasto");
+        Cliente sinNombre = new Cliente("CC", 3L, null, null, "Gil", null, "302", "Calle 3", "Tunja");
+        when(clienteRepository.insertarClientes(anyList())).thenReturn(new ResultadoLote(2, 1,
+                List.of(new FalloInsercion(1, ClaveCliente.de(luis), "PK duplicada"))));
+
+        ResultadoImportacion resultado = clienteService.importarClientes(List.of(
+                LineaImportacion.valida(2, ana),
+                LineaImportacion.invalida(3, "JSON inválido"),
+                LineaImportacion.valida(4, sinNombre),
+                LineaImportacion.valida(5, luis)).iterator());
+
+        assertEquals(4, resultado.registros());
+        assertEquals(1, resultado.insertados());
+        assertEquals(3, resultado.rechazados());
+        assertEquals(List.of(
+                new ErrorImportacion(3, "JSON inválido"),
+                new ErrorImportacion(4, "El primer nombre no puede estar vacío"),
+                new ErrorImportacion(5, "PK duplicada")), resultado.errores());
+        verify(clienteRepository, times(1)).insertarClientes(List.of(ana, luis));
+    }
+
+    @Test
+    @DisplayName("📄 listarClientes pide una fila extra para saber si hay página siguiente")
+    void listarClientes_CursorSoloSiHayMasFilas() {
+        Cliente uno = new Cliente("CC", 1L, "Ana", null, "López", null, "300", "Calle 1", "Cali");
+        Cliente dos = new Cliente("CC", 2L, "Luis", null, "López", null, "301", "Calle 2", "Cali");
+        Cliente tres = new Cliente("CC", 3L, "Eva", null, "López", null, "302", "Calle 3", "Cali");
+        when(clienteRepository.listarClientes("Cali", null, null, 3)).thenReturn(List.of(uno, dos, tres));
+        when(clienteRepository.listarClientes("Cali", null, new ClaveCliente("CC", 2L), 3)).thenReturn(List.of(tres));
+
+        PaginaClientes primera = clienteService.listarClientes("Cali", null, null, 2);
+        PaginaClientes ultima = clienteService.listarClientes("Cali", null, primera.siguiente(), 2);
+
+        assertEquals(List.of(uno, dos), primera.clientes());
+        assertEquals(new ClaveCliente("CC", 2L), primera.siguiente());
+        assertEquals(List.of(tres), ultima.clientes());
+        assertNull(ultima.siguiente());
+    }
+
+    @Test
+    void buscarClientes_DelegaEnElRepositorio() {
+        Cliente cliente = new Cliente("C", 1L, "Ana", null, "Rodríguez", null, "300", "Calle 1", "Cali");
+        when(clienteRepository.buscarClientesPorNombre("rodr", 20)).thenReturn(List.of(cliente));
+
+        assertEquals(List.of(cliente), clienteService.buscarClientes("rodr", 20));
+    }
+}
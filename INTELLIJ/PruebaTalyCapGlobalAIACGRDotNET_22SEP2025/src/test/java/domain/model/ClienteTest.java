@@ -65,4 +65,21 @@ class ClienteTest {
         assertEquals("Carrera 45", cliente.getDireccion());
         assertEquals("Medellín", cliente.getCiudadResidencia());
     }
+
+    @Test
+    void testToStringSoloMuestraLaClave() {
+        Cliente cliente = new Cliente(
+                "CC",
+                123456789L,
+                "Juan",
+                "Carlos",
+                "Pérez",
+                "Gómez",
+                "3001234567",
+                "Calle 123",
+                "Bogotá"
+        );
+
+        assertEquals("Cliente[CC:123456789]", cliente.toString());
+    }
 }
@@ -0,0 +1,70 @@
+package infrastructure.cache;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.cache.CaffeineClienteCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaffeineClienteCacheTest {
+
+    private CaffeineClienteCache cache;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CaffeineClienteCache(100, Duration.ofMinutes(5));
+        cargas = new AtomicInteger();
+    }
+
+    private Optional<Cliente> cargar(ClaveCliente clave) {
+        cargas.incrementAndGet();
+        return Optional.of(new Cliente(clave.tipoDocumento(), clave.numeroDocumento(), "Juan", "Carlos",
+                "Pérez", "Gómez", "3001234567", "Calle 1", "Bogotá"));
+    }
+
+    @Test
+    void obtener_ShouldLoadOnlyOnce_WhenKeyIsRepeated() {
+        ClaveCliente clave = new ClaveCliente("CC", 123L);
+
+        Optional<Cliente> primero = cache.obtener(clave, this::cargar);
+        Optional<Cliente> segundo = cache.obtener(clave, this::cargar);
+
+        assertTrue(primero.isPresent());
+        assertSame(primero.get(), segundo.get());
+        assertEquals(1, cargas.get());
+        assertEquals(1, cache.estadisticas().hitCount());
+        assertEquals(1, cache.estadisticas().missCount());
+    }
+
+    @Test
+    void obtener_ShouldNotStoreMisses() {
+        ClaveCliente clave = new ClaveCliente("CC", 999L);
+
+        cache.obtener(clave, c -> {
+            cargas.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<Cliente> resultado = cache.obtener(clave, this::cargar);
+
+        assertTrue(resultado.isPresent());
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    void invalidar_ShouldForceReload() {
+        ClaveCliente clave = new ClaveCliente("CC", 123L);
+        cache.obtener(clave, this::cargar);
+
+        cache.invalidar(clave);
+        cache.obtener(clave, this::cargar);
+
+        assertEquals(2, cargas.get());
+    }
+}
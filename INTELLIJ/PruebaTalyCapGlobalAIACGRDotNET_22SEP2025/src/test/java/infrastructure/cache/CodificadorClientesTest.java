@@ -0,0 +1,75 @@
+package infrastructure.cache;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.cache.CodificadorClientes;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodificadorClientesTest {
+
+    private static void assertMismoCliente(Cliente esperado, Cliente actual) {
+        assertEquals(esperado.getTipoDocumento(), actual.getTipoDocumento());
+        assertEquals(esperado.getNumeroDocumento(), actual.getNumeroDocumento());
+        assertEquals(esperado.getPrimerNombre(), actual.getPrimerNombre());
+        assertEquals(esperado.getSegundoNombre(), actual.getSegundoNombre());
+        assertEquals(esperado.getPrimerApellido(), actual.getPrimerApellido());
+        assertEquals(esperado.getSegundoApellido(), actual.getSegundoApellido());
+        assertEquals(esperado.getTelefono(), actual.getTelefono());
+        assertEquals(esperado.getDireccion(), actual.getDireccion());
+        assertEquals(esperado.getCiudadResidencia(), actual.getCiudadResidencia());
+    }
+
+    @Test
+    void decodificar_ShouldRestoreAllFields_IncludingNullsAndAccents() {
+        CodificadorClientes codificador = new CodificadorClientes();
+        Cliente cliente = new Cliente("CC", 123L, "José", null, "Rodríguez", "Núñez",
+                "3001234567", "Carrera 7 # 45-12, Ñuñoa", "Bogotá");
+        ClaveCliente clave = ClaveCliente.de(cliente);
+
+        Cliente decodificado = codificador.decodificar(clave, codificador.codificar(cliente));
+
+        assertMismoCliente(cliente, decodificado);
+    }
+
+    @Test
+    void codificar_ShouldShareDictionaryValues_AndUseFewBytes() {
+        CodificadorClientes codificador = new CodificadorClientes();
+        Cliente primero = new Cliente("CC", 1L, "Ana", "María", "Pérez", "Gómez", "3001", "Calle 1", "Cali");
+        Cliente segundo = new Cliente("CC", 2L, new String("Ana"), null, new String("Pérez"), null, "3002", null, new String("Cali"));
+
+        codificador.codificar(primero);
+        byte[] datos = codificador.codificar(segundo);
+        Cliente decodificado = codificador.decodificar(ClaveCliente.de(segundo), datos);
+
+        // 5 campos de diccionario o nulos de 1 byte + teléfono (1 + 4) + dirección nula
+        assertEquals(11, datos.length);
+        assertSame(primero.getPrimerNombre(), decodificado.getPrimerNombre());
+        assertSame(primero.getCiudadResidencia(), decodificado.getCiudadResidencia());
+        assertEquals(5, codificador.valoresEnDiccionarios()); // Ana, María | Pérez, Gómez | Cali
+    }
+
+    @Test
+    void codificar_ShouldWriteInline_WhenDictionaryIsFull() {
+        CodificadorClientes codificador = new CodificadorClientes(2);
+        codificador.codificar(new Cliente("CC", 1L, "Ana", "Luz", "Pérez", null, null, null, "Cali"));
+        Cliente cliente = new Cliente("CC", 2L, "Sofía", "Ana", "Vélez", null, null, null, "Medellín");
+
+        Cliente decodificado = codificador.decodificar(ClaveCliente.de(cliente), codificador.codificar(cliente));
+
+        assertMismoCliente(cliente, decodificado);
+        assertEquals(2 + 2 + 2, codificador.valoresEnDiccionarios());
+    }
+
+    @Test
+    void canonica_ShouldReuseDocumentTypeInstance() {
+        CodificadorClientes codificador = new CodificadorClientes();
+        ClaveCliente primera = codificador.canonica(new ClaveCliente(new String("CC"), 1L));
+
+        ClaveCliente segunda = codificador.canonica(new ClaveCliente(new String("CC"), 2L));
+
+        assertEquals(new ClaveCliente("CC", 2L), segunda);
+        assertSame(primera.tipoDocumento(), segunda.tipoDocumento());
+    }
+}
@@ -0,0 +1,81 @@
+package infrastructure.cache;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.cache.CodificadorClientes;
+import com.clinicos.backend.api.rest.infrastructure.cache.CompactaClienteCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactaClienteCacheTest {
+
+    private CompactaClienteCache cache;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CompactaClienteCache(100, Duration.ofMinutes(5), new CodificadorClientes());
+        cargas = new AtomicInteger();
+    }
+
+    private Optional<Cliente> cargar(ClaveCliente clave) {
+        cargas.incrementAndGet();
+        return Optional.of(new Cliente(clave.tipoDocumento(), clave.numeroDocumento(), "Juan", "Carlos",
+                "Pérez", "Gómez", "3001234567", "Calle 1", "Bogotá"));
+    }
+
+    @Test
+    void obtener_ShouldDecodeCachedClient_WithoutReloading() {
+        ClaveCliente clave = new ClaveCliente("CC", 123L);
+
+        cache.obtener(clave, this::cargar);
+        Optional<Cliente> segundo = cache.obtener(clave, this::cargar);
+
+        assertTrue(segundo.isPresent());
+        assertEquals(123L, segundo.get().getNumeroDocumento());
+        assertEquals("Pérez", segundo.get().getPrimerApellido());
+        assertEquals("3001234567", segundo.get().getTelefono());
+        assertEquals(1, cargas.get());
+        assertEquals(1, cache.estadisticas().hitCount());
+    }
+
+    @Test
+    void obtenerTodos_ShouldLoadOnlyMissingKeys() {
+        ClaveCliente enCache = new ClaveCliente("CC", 1L);
+        ClaveCliente ausente = new ClaveCliente("CC", 2L);
+        ClaveCliente inexistente = new ClaveCliente("CC", 3L);
+        cache.obtener(enCache, this::cargar);
+
+        Map<ClaveCliente, Cliente> resultado = cache.obtenerTodos(List.of(enCache, ausente, inexistente), claves -> {
+            assertEquals(2, claves.size());
+            Map<ClaveCliente, Cliente> encontrados = new HashMap<>();
+            encontrados.put(ausente, cargar(ausente).orElseThrow());
+            return encontrados;
+        });
+
+        assertEquals(2, resultado.size());
+        assertEquals("Juan", resultado.get(enCache).getPrimerNombre());
+        assertEquals(2L, resultado.get(ausente).getNumeroDocumento());
+        assertFalse(resultado.containsKey(inexistente));
+    }
+
+    @Test
+    void invalidar_ShouldForceReload() {
+        ClaveCliente clave = new ClaveCliente("CC", 123L);
+        cache.obtener(clave, this::cargar);
+
+        cache.invalidar(clave);
+        cache.obtener(clave, this::cargar);
+
+        assertEquals(2, cargas.get());
+    }
+}
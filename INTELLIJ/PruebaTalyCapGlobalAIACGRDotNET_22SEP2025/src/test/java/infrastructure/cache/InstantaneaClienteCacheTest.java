@@ -0,0 +1,93 @@
+package infrastructure.cache;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.cache.CaffeineClienteCache;
+import com.clinicos.backend.api.rest.infrastructure.cache.InstantaneaClienteCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstantaneaClienteCacheTest {
+
+    @TempDir
+    Path directorio;
+
+    private Path archivo;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        archivo = directorio.resolve("instantanea.bin");
+        cargas = new AtomicInteger();
+    }
+
+    private Optional<Cliente> cargar(ClaveCliente clave) {
+        cargas.incrementAndGet();
+        return Optional.of(new Cliente(clave.tipoDocumento(), clave.numeroDocumento(), "Ana", null,
+                "Peña", "Córdoba", "3001234567", "Calle " + clave.numeroDocumento(), "Bogotá"));
+    }
+
+    /** Escribe una instantánea con los clientes 1..3 desde una caché ya usada. */
+    private void escribirInstantanea() throws IOException {
+        CaffeineClienteCache anterior = new CaffeineClienteCache(100, Duration.ofMinutes(5));
+        for (long n = 1; n <= 3; n++) {
+            anterior.obtener(new ClaveCliente("CC", n), this::cargar);
+        }
+        int escritos = new InstantaneaClienteCache(anterior, archivo, 100, Duration.ofMinutes(5)).guardar();
+        assertEquals(3, escritos);
+        cargas.set(0);
+    }
+
+    @Test
+    void cargar_ShouldPreloadSnapshot_SoRestartedCacheHitsWithoutLoader() throws IOException {
+        escribirInstantanea();
+        CaffeineClienteCache reiniciada = new CaffeineClienteCache(100, Duration.ofMinutes(5));
+
+        int cargados = new InstantaneaClienteCache(reiniciada, archivo, 100, Duration.ofMinutes(5)).cargar();
+        Cliente cliente = reiniciada.obtener(new ClaveCliente("CC", 2L), this::cargar).orElseThrow();
+
+        assertEquals(3, cargados);
+        assertEquals(0, cargas.get());
+        assertEquals("Peña", cliente.getPrimerApellido());
+        assertNull(cliente.getSegundoNombre());
+        assertEquals("Calle 2", cliente.getDireccion());
+        assertFalse(Files.exists(directorio.resolve("instantanea.bin.tmp")));
+    }
+
+    @Test
+    void cargar_ShouldIgnoreCorruptOrTruncatedSnapshot() throws IOException {
+        escribirInstantanea();
+        byte[] datos = Files.readAllBytes(archivo);
+        datos[datos.length / 2] ^= 0x5A;
+        Files.write(archivo, datos);
+        CaffeineClienteCache reiniciada = new CaffeineClienteCache(100, Duration.ofMinutes(5));
+        InstantaneaClienteCache instantanea = new InstantaneaClienteCache(reiniciada, archivo, 100, Duration.ofMinutes(5));
+
+        assertEquals(0, instantanea.cargar());
+        Files.write(archivo, Arrays.copyOf(datos, datos.length - 12));
+        assertEquals(0, instantanea.cargar());
+        reiniciada.obtener(new ClaveCliente("CC", 2L), this::cargar);
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    void cargar_ShouldIgnoreSnapshotOlderThanMaximumAge() throws IOException, InterruptedException {
+        escribirInstantanea();
+        Thread.sleep(20);
+        CaffeineClienteCache reiniciada = new CaffeineClienteCache(100, Duration.ofMinutes(5));
+
+        assertEquals(0, new InstantaneaClienteCache(reiniciada, archivo, 100, Duration.ofMillis(10)).cargar());
+        assertEquals(0, new InstantaneaClienteCache(reiniciada, directorio.resolve("no-existe.bin"), 100, Duration.ofMinutes(5)).cargar());
+    }
+}
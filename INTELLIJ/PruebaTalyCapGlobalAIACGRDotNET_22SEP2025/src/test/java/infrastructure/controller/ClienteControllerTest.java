@@ -1,15 +1,32 @@
 package infrastructure.controller;
 
 import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
 import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.LineaImportacion;
+import com.clinicos.backend.api.rest.domain.model.PaginaClientes;
+import com.clinicos.backend.api.rest.domain.model.ResultadoConsultaMultiple;
+import com.clinicos.backend.api.rest.domain.model.ResultadoImportacion;
 import com.clinicos.backend.api.rest.infrastructure.controller.ClienteController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.NoSuchElementException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,7 +39,7 @@ class ClienteControllerTest {
     @BeforeEach
     void setUp() {
         clienteService = mock(ClienteService.class);
-        clienteController = new ClienteController(clienteService);
+        clienteController = new ClienteController(clienteService, Duration.ofHours(1));
     }
 
     @Test
@@ -61,11 +78,10 @@ class ClienteControllerTest {
     void obtenerCliente_NotFound_404() {
         when(clienteService.obtenerCliente("CC", 12345L)).thenReturn(Optional.empty());
 
-        NoSuchElementException exception = assertThrows(NoSuchElementException.class, () ->
-                clienteController.obtenerCliente("CC", 12345L)
-        );
+        ResponseEntity<Cliente> response = clienteController.obtenerCliente("CC", 12345L);
 
-        assertEquals("Cliente no encontrado", exception.getMessage());
+        assertEquals(404, response.getStatusCode().value());
+        assertNull(response.getBody());
         verify(clienteService, times(1)).obtenerCliente("CC", 12345L);
     }
 
@@ -80,4 +96,161 @@ class ClienteControllerTest {
         assertEquals("DB caída", exception.getMessage());
         verify(clienteService, times(1)).obtenerCliente("CC", 12345L);
     }
+
+    @Test
+    void obtenerClientes_Success_200() {
+        List<ClaveCliente> claves = List.of(new ClaveCliente("CC", 12345L), new ClaveCliente("CC", 2L));
+        Cliente cliente = new Cliente("CC", 12345L, "Juan", "Carlos", "Pérez", "Gómez", "3001234567", "Calle 1", "Bogotá");
+        ResultadoConsultaMultiple resultado = new ResultadoConsultaMultiple(List.of(cliente), List.of(new ClaveCliente("CC", 2L)));
+        when(clienteService.obtenerClientes(claves)).thenReturn(resultado);
+
+        ResponseEntity<ResultadoConsultaMultiple> response = clienteController.obtenerClientes(claves);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(resultado, response.getBody());
+    }
+
+    @Test
+    void obtenerClientes_BadRequest_400_ListaVacia() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                clienteController.obtenerClientes(List.of())
+        );
+
+        assertEquals("Debe indicar al menos un documento", exception.getMessage());
+        verify(clienteService, never()).obtenerClientes(anyList());
+    }
+
+    @Test
+    void obtenerClientes_BadRequest_400_DemasiadosDocumentos() {
+        List<ClaveCliente> claves = Collections.nCopies(1001, new ClaveCliente("CC", 1L));
+
+        assertThrows(IllegalArgumentException.class, () -> clienteController.obtenerClientes(claves));
+        verify(clienteService, never()).obtenerClientes(anyList());
+    }
+
+    @Test
+    void obtenerClientes_BadRequest_400_DocumentoInvalido() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                clienteController.obtenerClientes(List.of(new ClaveCliente("CC", 0L)))
+        );
+
+        assertEquals("El número de documento debe ser mayor que 0", exception.getMessage());
+    }
+
+    @SuppressWarnings("unchecked")
+    private String exportar(String formato, Cliente... clientes) throws Exception {
+        when(clienteService.exportarClientes(any())).thenAnswer(inv -> {
+            Consumer<Cliente> consumidor = inv.getArgument(0);
+            for (Cliente cliente : clientes) {
+                consumidor.accept(cliente);
+            }
+            return (long) clientes.length;
+        });
+        ResponseEntity<StreamingResponseBody> response = clienteController.exportarClientes(formato, new MockHttpServletRequest());
+        assertEquals(200, response.getStatusCode().value());
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        response.getBody().writeTo(salida);
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void exportarClientes_Ndjson_UnObjetoPorLinea() throws Exception {
+        String cuerpo = exportar("ndjson",
+                new Cliente("CC", 1L, "Juan", "Carlos", "Pérez", "Gómez", "300", "Calle 1", "Bogotá"),
+                new Cliente("CE", 2L, "Ana", null, "López", null, "301", "Calle 2", "Cali"));
+
+        String[] lineas = cuerpo.split("\n");
+        assertEquals(2, lineas.length);
+        assertTrue(lineas[0].startsWith("{\"tipoDocumento\":\"CC\",\"numeroDocumento\":1,"));
+        assertTrue(lineas[1].contains("\"ciudadResidencia\":\"Cali\""));
+        assertTrue(cuerpo.endsWith("\n"));
+    }
+
+    @Test
+    void exportarClientes_Csv_EncabezadoYCamposEscapados() throws Exception {
+        String cuerpo = exportar("CSV",
+                new Cliente("CC", 1L, "Juan", null, "Pérez", "Gómez", "300", "Calle 1, \"Sur\"", "Bogotá"));
+
+        assertEquals("tipoDocumento,numeroDocumento,primerNombre,segundoNombre,primerApellido,segundoApellido,telefono,direccion,ciudadResidencia\r\n"
+                + "CC,1,Juan,,Pérez,Gómez,300,\"Calle 1, \"\"Sur\"\"\",Bogotá\r\n", cuerpo);
+    }
+
+    @Test
+    void exportarClientes_AjustaElTiempoDeEsperaSoloDeEstaSolicitud() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        AsyncWebRequest solicitudAsincrona = mock(AsyncWebRequest.class);
+        WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(solicitudAsincrona);
+
+        clienteController.exportarClientes("ndjson", request);
+
+        verify(solicitudAsincrona).setTimeout(Duration.ofHours(1).toMillis());
+    }
+
+    @Test
+    void exportarClientes_BadRequest_400_FormatoNoSoportado() {
+        assertThrows(IllegalArgumentException.class, () -> clienteController.exportarClientes("xml", new MockHttpServletRequest()));
+        verify(clienteService, never()).exportarClientes(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importarClientes_Csv_EntregaLosRegistrosAlServicio() throws Exception {
+        ResultadoImportacion resultado = new ResultadoImportacion(1, 1, 0, List.of());
+        List<LineaImportacion> recibidos = new ArrayList<>();
+        when(clienteService.importarClientes(any())).thenAnswer(inv -> {
+            inv.getArgument(0, Iterator.class).forEachRemaining(r -> recibidos.add((LineaImportacion) r));
+            return resultado;
+        });
+        String csv = "tipoDocumento,numeroDocumento,primerNombre,primerApellido\nCC,1,Ana,López\n";
+
+        ResponseEntity<ResultadoImportacion> response = clienteController.importarClientes("csv",
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(resultado, response.getBody());
+        assertEquals(1, recibidos.size());
+        assertEquals("Ana", recibidos.get(0).cliente().getPrimerNombre());
+    }
+
+    @Test
+    void listarClientes_ConCursor_200() {
+        PaginaClientes pagina = new PaginaClientes(List.of(), null);
+        when(clienteService.listarClientes("Cali", null, new ClaveCliente("CC", 10L), 20)).thenReturn(pagina);
+
+        ResponseEntity<PaginaClientes> response = clienteController.listarClientes("Cali", " ", "CC", 10L, 20);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(pagina, response.getBody());
+    }
+
+    @Test
+    void listarClientes_BadRequest_400_CursorIncompleto() {
+        assertThrows(IllegalArgumentException.class, () -> clienteController.listarClientes(null, null, "CC", null, 20));
+        verify(clienteService, never()).listarClientes(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void listarClientes_BadRequest_400_TamanoInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> clienteController.listarClientes(null, null, null, null, 501));
+        assertThrows(IllegalArgumentException.class, () -> clienteController.listarClientes(null, null, null, null, 0));
+    }
+
+    @Test
+    void buscarClientes_Success_200() {
+        Cliente cliente = new Cliente("C", 1L, "Ana", null, "Rodríguez", null, "300", "Calle 1", "Cali");
+        when(clienteService.buscarClientes("rodr", 20)).thenReturn(List.of(cliente));
+
+        ResponseEntity<List<Cliente>> response = clienteController.buscarClientes("rodr", 20);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(List.of(cliente), response.getBody());
+    }
+
+    @Test
+    void buscarClientes_BadRequest_400_TextoVacioOLimiteInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> clienteController.buscarClientes("  ", 20));
+        assertThrows(IllegalArgumentException.class, () -> clienteController.buscarClientes("rodr", 101));
+        verify(clienteService, never()).buscarClientes(any(), anyInt());
+    }
 }
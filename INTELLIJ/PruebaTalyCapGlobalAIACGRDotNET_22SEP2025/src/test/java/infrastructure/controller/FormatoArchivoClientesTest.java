@@ -0,0 +1,127 @@
+package infrastructure.controller;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.LineaImportacion;
+import com.clinicos.backend.api.rest.infrastructure.controller.FormatoArchivoClientes;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatoArchivoClientesTest {
+
+    private static List<LineaImportacion> leer(FormatoArchivoClientes formato, String contenido) throws Exception {
+        Iterator<LineaImportacion> lector = formato.abrirLector(new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)));
+        List<LineaImportacion> registros = new ArrayList<>();
+        lector.forEachRemaining(registros::add);
+        return registros;
+    }
+
+    @Test
+    void csv_ExportadoSePuedeImportar() throws Exception {
+        Cliente original = new Cliente("CC", 7L, "Ana", null, "López", "Ruiz", "300", "Calle 1, \"Sur\"\nPiso 2", "Cali");
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (FormatoArchivoClientes.Escritor escritor = FormatoArchivoClientes.CSV.abrirEscritor(salida)) {
+            escritor.escribir(original);
+            escritor.escribir(new Cliente("CE", 8L, "Luis", "", "Mora", "", "", "", "Pasto"));
+        }
+
+        List<LineaImportacion> registros = leer(FormatoArchivoClientes.CSV, salida.toString(StandardCharsets.UTF_8));
+
+        assertEquals(2, registros.size());
+        Cliente leido = registros.get(0).cliente();
+        assertEquals(2, registros.get(0).numeroLinea());
+        assertEquals("Calle 1, \"Sur\"\nPiso 2", leido.getDireccion());
+        assertNull(leido.getSegundoNombre());
+        assertEquals("Cali", leido.getCiudadResidencia());
+        assertEquals(4, registros.get(1).numeroLinea());
+        assertEquals(8L, registros.get(1).cliente().getNumeroDocumento());
+    }
+
+    @Test
+    void csv_ColumnasEnCualquierOrdenYRegistrosInvalidos() throws Exception {
+        String contenido = "numeroDocumento,primerNombre,tipoDocumento,primerApellido,extra\n"
+                + "1,Ana,CC,López,x\n"
+                + "\n"
+                + "abc,Luis,CC,Mora,x\n"
+                + "3,Eva,CC\n"
+                + "4,\"Ro\"sa,CC,Gil,x\n"
+                + "5,Juan,CC,Paz,x";
+
+        List<LineaImportacion> registros = leer(FormatoArchivoClientes.CSV, contenido);
+
+        assertEquals(5, registros.size());
+        assertEquals("CC", registros.get(0).cliente().getTipoDocumento());
+        assertEquals("López", registros.get(0).cliente().getPrimerApellido());
+        assertEquals(4, registros.get(1).numeroLinea());
+        assertEquals("Número de documento inválido: 'abc'", registros.get(1).error());
+        assertEquals("Se esperaban 5 campos y se encontraron 3", registros.get(2).error());
+        assertNotNull(registros.get(3).error());
+        assertEquals(5L, registros.get(4).cliente().getNumeroDocumento());
+        assertEquals(7, registros.get(4).numeroLinea());
+    }
+
+    @Test
+    void csv_EncabezadoSinClave_LanzaIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> leer(FormatoArchivoClientes.CSV, "primerNombre,primerApellido\nAna,López\n"));
+    }
+
+    @Test
+    void csv_RegistroDemasiadoLargo_SeReportaSinDetenerLaLectura() throws Exception {
+        String largo = "x".repeat(20_000);
+        String contenido = "tipoDocumento,numeroDocumento,direccion\n"
+                + "CC,1,\"" + largo + "\n" + largo + "\"\n"
+                + "CC,2," + largo + "\"" + largo + "\n"
+                + "CC,3,Calle 3\n";
+
+        List<LineaImportacion> registros = leer(FormatoArchivoClientes.CSV, contenido);
+
+        assertEquals(3, registros.size());
+        assertEquals(2, registros.get(0).numeroLinea());
+        assertTrue(registros.get(0).error().startsWith("El registro supera el máximo"));
+        assertEquals(4, registros.get(1).numeroLinea());
+        assertTrue(registros.get(1).error().startsWith("El registro supera el máximo"));
+        assertEquals(3L, registros.get(2).cliente().getNumeroDocumento());
+        assertEquals(5, registros.get(2).numeroLinea());
+    }
+
+    @Test
+    void ndjson_ExportadoSePuedeImportarYReportaLineasInvalidas() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (FormatoArchivoClientes.Escritor escritor = FormatoArchivoClientes.NDJSON.abrirEscritor(salida)) {
+            escritor.escribir(new Cliente("CC", 9L, "Ana", null, "López", null, "300", "Calle 1", "Cali"));
+        }
+        String contenido = salida.toString(StandardCharsets.UTF_8)
+                + "{\"tipoDocumento\":\"CC\",\"numeroDocumento\":\"10\",\"primerNombre\":\"Luis\",\"otro\":{\"a\":1}}\n"
+                + "{\"tipoDocumento\":\"CC\",\n"
+                + "[1,2]\n";
+
+        List<LineaImportacion> registros = leer(FormatoArchivoClientes.NDJSON, contenido);
+
+        assertEquals(4, registros.size());
+        assertEquals("Calle 1", registros.get(0).cliente().getDireccion());
+        assertEquals(10L, registros.get(1).cliente().getNumeroDocumento());
+        assertEquals(3, registros.get(2).numeroLinea());
+        assertTrue(registros.get(2).error().startsWith("JSON inválido"));
+        assertEquals("Se esperaba un objeto JSON", registros.get(3).error());
+    }
+
+    @Test
+    void ndjson_LineaDemasiadoLarga_SeReportaSinDetenerLaLectura() throws Exception {
+        String contenido = "{\"direccion\":\"" + "x".repeat(20_000) + "\"}\r\n"
+                + "{\"tipoDocumento\":\"CC\",\"numeroDocumento\":11}\r\n";
+
+        List<LineaImportacion> registros = leer(FormatoArchivoClientes.NDJSON, contenido);
+
+        assertEquals(2, registros.size());
+        assertTrue(registros.get(0).error().startsWith("El registro supera el máximo"));
+        assertEquals(11L, registros.get(1).cliente().getNumeroDocumento());
+        assertEquals(2, registros.get(1).numeroLinea());
+    }
+}
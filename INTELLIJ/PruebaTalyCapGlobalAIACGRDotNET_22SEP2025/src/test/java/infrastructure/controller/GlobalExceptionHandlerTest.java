@@ -1,10 +1,13 @@
 package infrastructure.controller;
 
 import com.clinicos.backend.api.rest.infrastructure.controller.GlobalExceptionHandler;
+import com.clinicos.backend.api.rest.infrastructure.repository.BaseDatosNoDisponibleException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
 import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -47,4 +50,16 @@ class GlobalExceptionHandlerTest {
         assertEquals(500, response.getStatusCodeValue());
         assertTrue(response.getBody().contains("⚠️ Error interno en el servidor: Falla inesperada"));
     }
+
+    @Test
+    void handleServiceUnavailable_ShouldReturn503WithRetryAfter() {
+        BaseDatosNoDisponibleException ex =
+                new BaseDatosNoDisponibleException("circuito abierto", Duration.ofMillis(7200));
+
+        ResponseEntity<String> response = exceptionHandler.handleServiceUnavailable(ex);
+
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("8", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getBody().contains("Servicio no disponible"));
+    }
 }
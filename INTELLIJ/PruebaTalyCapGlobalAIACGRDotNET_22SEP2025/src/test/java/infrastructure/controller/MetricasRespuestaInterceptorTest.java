@@ -0,0 +1,43 @@
+package infrastructure.controller;
+
+import com.clinicos.backend.api.rest.infrastructure.controller.MetricasRespuestaInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasRespuestaInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MetricasRespuestaInterceptor interceptor = new MetricasRespuestaInterceptor(registry);
+
+    private double respuestas(String estado) {
+        return registry.counter("clientes.respuestas", "estado", estado).count();
+    }
+
+    @Test
+    void afterCompletion_ShouldCountUnresolvedException_As500() {
+        interceptor.afterCompletion(new MockHttpServletRequest(), new MockHttpServletResponse(), null,
+                new IOException("conexión cerrada"));
+
+        assertEquals(1, respuestas("500"));
+        assertEquals(0, respuestas("200"));
+    }
+
+    @Test
+    void afterCompletion_ShouldKeepSentStatus_WhenResponseIsCommitted() throws IOException {
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        respuesta.setStatus(404);
+        interceptor.afterCompletion(new MockHttpServletRequest(), respuesta, null, null);
+        MockHttpServletResponse enviada = new MockHttpServletResponse();
+        enviada.flushBuffer();
+        interceptor.afterCompletion(new MockHttpServletRequest(), enviada, null, new IOException("cliente desconectado"));
+
+        assertEquals(1, respuestas("404"));
+        assertEquals(1, respuestas("200"));
+    }
+}
@@ -0,0 +1,166 @@
+package infrastructure.eventos;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.cache.CaffeineClienteCache;
+import com.clinicos.backend.api.rest.infrastructure.eventos.InvalidacionClienteCacheListener;
+import com.clinicos.backend.api.rest.infrastructure.eventos.KafkaPublicadorCambiosCliente;
+import com.clinicos.backend.api.rest.infrastructure.repository.FiltroBloomClientes;
+import com.clinicos.backend.api.rest.infrastructure.repository.IndiceNombresClientes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dos instancias simuladas (A y B), cada una con su caché, publicador y consumidor, sobre un broker embebido.
+ */
+@EmbeddedKafka(partitions = 1, topics = InvalidacionClienteCacheKafkaTest.TOPICO)
+class InvalidacionClienteCacheKafkaTest {
+
+    static final String TOPICO = "clientes-cambios";
+
+    private final List<ConcurrentMessageListenerContainer<String, String>> contenedores = new ArrayList<>();
+    private EmbeddedKafkaBroker broker;
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp(EmbeddedKafkaBroker broker) {
+        this.broker = broker;
+        this.kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(), new StringSerializer()));
+        this.cargas = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        contenedores.forEach(ConcurrentMessageListenerContainer::stop);
+        kafkaTemplate.destroy();
+    }
+
+    private Optional<Cliente> cargar(ClaveCliente clave) {
+        cargas.incrementAndGet();
+        return Optional.of(new Cliente(clave.tipoDocumento(), clave.numeroDocumento(), "Ana", null, "Peña", null,
+                null, null, "Bogotá"));
+    }
+
+    private CaffeineClienteCache escuchar(String origen, MeterRegistry registro) {
+        CaffeineClienteCache cache = new CaffeineClienteCache(100, Duration.ofMinutes(5));
+        InvalidacionClienteCacheListener listener = new InvalidacionClienteCacheListener(cache, origen,
+                registro.counter("clientes.cache.invalidacion.recibidas"));
+        Map<String, Object> propiedades = KafkaTestUtils.consumerProps("no-usado", "false", broker);
+        ConcurrentMessageListenerContainer<String, String> contenedor = listener.contenedor(
+                new DefaultKafkaConsumerFactory<>(propiedades, new StringDeserializer(), new StringDeserializer()), TOPICO,
+                "instancia-" + origen);
+        contenedor.start();
+        contenedores.add(contenedor);
+        ContainerTestUtils.waitForAssignment(contenedor, 1);
+        return cache;
+    }
+
+    private KafkaPublicadorCambiosCliente publicador(String origen, MeterRegistry registro) {
+        return new KafkaPublicadorCambiosCliente(kafkaTemplate, TOPICO, origen,
+                registro.counter("clientes.cache.invalidacion.publicadas"),
+                registro.counter("clientes.cache.invalidacion.errores"));
+    }
+
+    @Test
+    void publicar_ShouldEvictEntryInOtherInstances_AndIgnoreOwnEvents() throws InterruptedException {
+        SimpleMeterRegistry registroA = new SimpleMeterRegistry();
+        SimpleMeterRegistry registroB = new SimpleMeterRegistry();
+        CaffeineClienteCache cacheA = escuchar("a", registroA);
+        CaffeineClienteCache cacheB = escuchar("b", registroB);
+        ClaveCliente clave = new ClaveCliente("CC", 1L);
+        cacheA.obtener(clave, this::cargar);
+        cacheB.obtener(clave, this::cargar);
+
+        publicador("a", registroA).publicar(List.of(new Cliente("CC", 1L, "Ana", null, "Peña", null, null, null, null)));
+
+        long limite = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        while (registroB.counter("clientes.cache.invalidacion.recibidas").count() < 1 && System.nanoTime() < limite) {
+            Thread.sleep(20);
+        }
+        cacheB.obtener(clave, this::cargar);
+        cacheA.obtener(clave, this::cargar);
+
+        assertEquals(1, registroB.counter("clientes.cache.invalidacion.recibidas").count());
+        assertEquals(0, registroA.counter("clientes.cache.invalidacion.recibidas").count());
+        assertEquals(3, cargas.get(), "B recarga la entrada invalidada; A la conserva");
+    }
+
+    @Test
+    void publicar_ShouldSendEachKeyOnce_WithOriginAndNamesAsValue() {
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        Map<String, Object> propiedades = KafkaTestUtils.consumerProps("verificacion", "false", broker);
+        try (var consumidor = new DefaultKafkaConsumerFactory<>(propiedades, new StringDeserializer(), new StringDeserializer())
+                .createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumidor, TOPICO);
+
+            Cliente cliente = new Cliente("CC", 7L, "Ana", null, "Peña", "Ríos", null, null, null);
+            publicador("a", registro).publicar(List.of(cliente, cliente,
+                    new Cliente("P", 8L, "Ana", null, "Peña", "Ríos", null, null, null)));
+            kafkaTemplate.flush();
+            ConsumerRecords<String, String> mensajes = KafkaTestUtils.getRecords(consumidor, Duration.ofSeconds(10), 2);
+
+            List<String> claves = new ArrayList<>();
+            mensajes.forEach(m -> {
+                assertEquals("a\u001FAna\u001F\u001FPeña\u001FRíos", m.value());
+                claves.add(m.key());
+            });
+            assertTrue(claves.containsAll(List.of("CC:7", "P:8")));
+            assertEquals(2, registro.counter("clientes.cache.invalidacion.publicadas").count());
+        }
+    }
+
+    @Test
+    void onMessage_ShouldAddOtherInstancesInsertsToBloomFilterAndNameIndex_Once() {
+        FiltroBloomClientes filtro = new FiltroBloomClientes(1000, 0.01);
+        filtro.marcarListo();
+        IndiceNombresClientes indice = new IndiceNombresClientes();
+        indice.marcarListo();
+        InvalidacionClienteCacheListener listener = new InvalidacionClienteCacheListener(
+                new CaffeineClienteCache(100, Duration.ofMinutes(5)), filtro, indice, "b",
+                new SimpleMeterRegistry().counter("clientes.cache.invalidacion.recibidas"));
+        ConsumerRecord<String, String> aviso = new ConsumerRecord<>(TOPICO, 0, 0L, "CC:5", "a\u001FAna\u001F\u001FPeña\u001F");
+        ConsumerRecord<String, String> anterior = new ConsumerRecord<>(TOPICO, 0, 1L, "CC:6", "a");
+
+        listener.onMessage(List.of(aviso, anterior));
+        listener.onMessage(List.of(aviso));
+
+        assertTrue(filtro.puedeContener("CC", 5L));
+        assertEquals(List.of(new ClaveCliente("CC", 5L)), indice.buscar("peña", 10));
+        assertTrue(filtro.puedeContener("CC", 6L));
+        assertEquals(1, indice.clientes(), "El aviso repetido no duplica el cliente y el anterior no trae nombres");
+    }
+
+    @Test
+    void desdeTexto_ShouldRoundTripKeys() {
+        ClaveCliente clave = new ClaveCliente("C:E", 123L);
+
+        assertEquals(clave, KafkaPublicadorCambiosCliente.desdeTexto(KafkaPublicadorCambiosCliente.comoTexto(clave)));
+        assertThrows(IllegalArgumentException.class, () -> KafkaPublicadorCambiosCliente.desdeTexto("sin-separador"));
+    }
+}
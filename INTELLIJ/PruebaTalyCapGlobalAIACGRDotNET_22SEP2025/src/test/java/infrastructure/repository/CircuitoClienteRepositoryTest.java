@@ -0,0 +1,151 @@
+package infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.BaseDatosNoDisponibleException;
+import com.clinicos.backend.api.rest.infrastructure.repository.CircuitoClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.CircuitoClienteRepository.Estado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CircuitoClienteRepositoryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private CircuitoClienteRepository circuito(ClienteRepository delegado, Duration llamadaLenta, Duration esperaAbierto) {
+        return new CircuitoClienteRepository(delegado, 10, 4, 0.5, 0.5, llamadaLenta, esperaAbierto, 2, registry);
+    }
+
+    private double transiciones(String desde, String hacia) {
+        return registry.counter("clientes.db.circuito.transiciones", "desde", desde, "hacia", hacia).count();
+    }
+
+    @Test
+    void obtenerCliente_ShouldFailFast_WhenErrorRateTripsCircuit() {
+        ClienteRepository delegado = mock(ClienteRepository.class);
+        when(delegado.obtenerCliente(anyString(), anyLong()))
+                .thenThrow(new QueryTimeoutException("tiempo agotado"));
+        CircuitoClienteRepository repositorio = circuito(delegado, Duration.ofSeconds(5), Duration.ofMinutes(1));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(QueryTimeoutException.class, () -> repositorio.obtenerCliente("CC", 1L));
+        }
+        BaseDatosNoDisponibleException rechazo =
+                assertThrows(BaseDatosNoDisponibleException.class, () -> repositorio.obtenerCliente("CC", 1L));
+
+        assertEquals(Estado.ABIERTO, repositorio.getEstado());
+        assertTrue(rechazo.segundosReintento() > 50, "Retry-After: " + rechazo.segundosReintento());
+        verify(delegado, times(4)).obtenerCliente("CC", 1L);
+        assertEquals(1, transiciones("cerrado", "abierto"));
+        assertEquals(1, registry.counter("clientes.db.circuito.rechazados").count());
+    }
+
+    @Test
+    void obtenerCliente_ShouldTrip_WhenCallsAreSlow() {
+        ClienteRepository delegado = mock(ClienteRepository.class);
+        when(delegado.obtenerCliente(anyString(), anyLong())).thenAnswer(inv -> {
+            Thread.sleep(5);
+            return Optional.<Cliente>empty();
+        });
+        CircuitoClienteRepository repositorio = circuito(delegado, Duration.ofMillis(1), Duration.ofMinutes(1));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(repositorio.obtenerCliente("CC", 1L).isEmpty());
+        }
+
+        assertEquals(Estado.ABIERTO, repositorio.getEstado());
+        assertThrows(BaseDatosNoDisponibleException.class, () -> repositorio.obtenerCliente("CC", 1L));
+    }
+
+    @Test
+    void insertarCliente_ShouldNotTrip_WhenDatabaseRejectsDuplicates() {
+        ClienteRepository delegado = mock(ClienteRepository.class);
+        doThrow(new DuplicateKeyException("duplicado")).when(delegado).insertarCliente(any());
+        CircuitoClienteRepository repositorio = circuito(delegado, Duration.ofSeconds(5), Duration.ofMinutes(1));
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(DuplicateKeyException.class, () -> repositorio.insertarCliente(
+                    new Cliente("CC", 1L, "Ana", null, "Pérez", null, "300", "Calle 1", "Cali")));
+        }
+
+        assertEquals(Estado.CERRADO, repositorio.getEstado());
+        verify(delegado, times(10)).insertarCliente(any());
+    }
+
+    @Test
+    void obtenerCliente_ShouldCloseAfterSuccessfulTrialCalls() throws Exception {
+        ClienteRepository delegado = mock(ClienteRepository.class);
+        when(delegado.obtenerCliente(anyString(), anyLong()))
+                .thenThrow(new DataAccessResourceFailureException("caída"))
+                .thenThrow(new DataAccessResourceFailureException("caída"))
+                .thenThrow(new DataAccessResourceFailureException("caída"))
+                .thenThrow(new DataAccessResourceFailureException("caída"))
+                .thenReturn(Optional.empty());
+        CircuitoClienteRepository repositorio = circuito(delegado, Duration.ofSeconds(5), Duration.ofMillis(20));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(DataAccessResourceFailureException.class, () -> repositorio.obtenerCliente("CC", 1L));
+        }
+        assertEquals(Estado.ABIERTO, repositorio.getEstado());
+
+        Thread.sleep(30);
+        repositorio.obtenerCliente("CC", 1L);
+        assertEquals(Estado.SEMIABIERTO, repositorio.getEstado());
+        repositorio.obtenerCliente("CC", 1L);
+
+        assertEquals(Estado.CERRADO, repositorio.getEstado());
+        assertEquals(1, transiciones("abierto", "semiabierto"));
+        assertEquals(1, transiciones("semiabierto", "cerrado"));
+    }
+
+    @Test
+    void obtenerCliente_ShouldReopen_WhenTrialCallFails() throws Exception {
+        ClienteRepository delegado = mock(ClienteRepository.class);
+        when(delegado.obtenerCliente(anyString(), anyLong()))
+                .thenThrow(new DataAccessResourceFailureException("caída"));
+        CircuitoClienteRepository repositorio = circuito(delegado, Duration.ofSeconds(5), Duration.ofMillis(20));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(DataAccessResourceFailureException.class, () -> repositorio.obtenerCliente("CC", 1L));
+        }
+
+        Thread.sleep(30);
+        assertThrows(DataAccessResourceFailureException.class, () -> repositorio.obtenerCliente("CC", 1L));
+
+        assertEquals(Estado.ABIERTO, repositorio.getEstado());
+        assertEquals(1, transiciones("semiabierto", "abierto"));
+        verify(delegado, times(5)).obtenerCliente("CC", 1L);
+    }
+
+    @Test
+    void obtenerCliente_ShouldReleaseTrialSlot_WhenTrialCallThrowsError() throws Exception {
+        ClienteRepository delegado = mock(ClienteRepository.class);
+        when(delegado.obtenerCliente(anyString(), anyLong()))
+                .thenThrow(new DataAccessResourceFailureException("caída"))
+                .thenThrow(new DataAccessResourceFailureException("caída"))
+                .thenThrow(new DataAccessResourceFailureException("caída"))
+                .thenThrow(new DataAccessResourceFailureException("caída"))
+                .thenThrow(new StackOverflowError())
+                .thenThrow(new StackOverflowError())
+                .thenReturn(Optional.empty());
+        CircuitoClienteRepository repositorio = circuito(delegado, Duration.ofSeconds(5), Duration.ofMillis(20));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(DataAccessResourceFailureException.class, () -> repositorio.obtenerCliente("CC", 1L));
+        }
+
+        Thread.sleep(30);
+        assertThrows(StackOverflowError.class, () -> repositorio.obtenerCliente("CC", 1L));
+        assertThrows(StackOverflowError.class, () -> repositorio.obtenerCliente("CC", 1L));
+        repositorio.obtenerCliente("CC", 1L);
+        repositorio.obtenerCliente("CC", 1L);
+
+        assertEquals(Estado.CERRADO, repositorio.getEstado(), "Las pruebas que terminaron con un Error no ocupan su lugar");
+    }
+}
@@ -1,14 +1,35 @@
 package infrastructure.repository;
 
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
 import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
 import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 
+import java.sql.BatchUpdateException;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,13 +47,45 @@ class ClienteRepositoryImplTest {
 
 
     @Test
+    @SuppressWarnings("unchecked")
     void obtenerCliente_ShouldReturnEmpty_WhenNotFound() throws Exception {
-        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq("CC"), eq(99999)))
-                .thenThrow(new RuntimeException("No encontrado"));
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), eq("CC"), eq(99999L)))
+                .thenReturn(null);
 
         Optional<Cliente> result = clienteRepository.obtenerCliente("CC", 99999);
 
         assertFalse(result.isPresent());
+        verify(jdbcTemplate, never()).queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void obtenerCliente_ShouldPropagateDatabaseFailure() {
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), eq("CC"), eq(12345L)))
+                .thenThrow(new DataAccessResourceFailureException("DB caída"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> clienteRepository.obtenerCliente("CC", 12345));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void obtenerCliente_ShouldUseCallableStatement_WhenStrategyIsCall() throws Exception {
+        ClienteRepositoryImpl repositorioCall = new ClienteRepositoryImpl(jdbcTemplate, 1000, true, 5000,
+                ClienteRepositoryImpl.ConsultaCliente.CALL, "", new SimpleMeterRegistry());
+        Connection connection = mock(Connection.class);
+        CallableStatement cs = mock(CallableStatement.class);
+        when(connection.prepareCall("{call sp_ObtenerCliente(?, ?)}")).thenReturn(cs);
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(ResultSetExtractor.class))).thenAnswer(inv -> {
+            assertSame(cs, inv.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection));
+            return cliente(7);
+        });
+
+        Optional<Cliente> result = repositorioCall.obtenerCliente("CC", 7L);
+
+        assertEquals(7L, result.orElseThrow().getNumeroDocumento());
+        verify(cs).setString(1, "CC");
+        verify(cs).setLong(2, 7L);
+        verify(jdbcTemplate, never()).query(anyString(), any(ResultSetExtractor.class), any(Object[].class));
     }
 
     @Test
@@ -50,4 +103,175 @@ class ClienteRepositoryImplTest {
         assertEquals("Juan", values[2]);
         assertEquals("Bogotá", values[8]);
     }
+
+    private static Cliente cliente(long numeroDocumento) {
+        return new Cliente("CC", numeroDocumento, "Juan", "Carlos", "Perez", "Gomez", "123456789", "Calle 1", "Bogotá");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Connection conexionSimulada(PreparedStatement ps) throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(ps);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(inv -> inv.getArgument(0, ConnectionCallback.class).doInConnection(connection));
+        return connection;
+    }
+
+    @Test
+    void insertarClientes_ShouldSplitIntoBatches() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Connection connection = conexionSimulada(ps);
+        ClienteRepositoryImpl repositorioLotes = new ClienteRepositoryImpl(jdbcTemplate, 2, true);
+
+        ResultadoLote resultado = repositorioLotes.insertarClientes(List.of(cliente(1), cliente(2), cliente(3)));
+
+        assertTrue(resultado.exitoso());
+        assertEquals(3, resultado.insertados());
+        verify(ps, times(3)).addBatch();
+        verify(ps, times(2)).executeBatch();
+        verify(connection, times(2)).commit();
+    }
+
+    @Test
+    void insertarClientes_ShouldReportFailedRows_WhenDriverContinuesAfterError() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        conexionSimulada(ps);
+        when(ps.executeBatch()).thenThrow(new BatchUpdateException("PK duplicada", new int[]{1, Statement.EXECUTE_FAILED, 1}));
+
+        ResultadoLote resultado = clienteRepository.insertarClientes(List.of(cliente(1), cliente(2), cliente(3)));
+
+        assertEquals(3, resultado.total());
+        assertEquals(2, resultado.insertados());
+        assertEquals(1, resultado.fallos().size());
+        assertEquals(1, resultado.fallos().get(0).indice());
+        assertEquals(2L, resultado.fallos().get(0).clave().numeroDocumento());
+        assertEquals("PK duplicada", resultado.fallos().get(0).motivo());
+    }
+
+    @Test
+    void insertarClientes_ShouldResumeAfterFailedRow_WhenDriverStopsAtError() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        conexionSimulada(ps);
+        when(ps.executeBatch())
+                .thenThrow(new BatchUpdateException("PK duplicada", new int[]{1}))
+                .thenReturn(new int[]{1});
+
+        ResultadoLote resultado = clienteRepository.insertarClientes(List.of(cliente(1), cliente(2), cliente(3)));
+
+        assertEquals(2, resultado.insertados());
+        assertEquals(1, resultado.fallos().size());
+        assertEquals(1, resultado.fallos().get(0).indice());
+        verify(ps, times(2)).executeBatch();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void obtenerClientes_ShouldUseSingleQueryWithPaddedValues() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(cliente(1)));
+
+        List<Cliente> resultado = clienteRepository.obtenerClientes(List.of(
+                new ClaveCliente("CC", 1L), new ClaveCliente("CC", 2L), new ClaveCliente("CC", 1L)));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> parametros = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(1)).query(sql.capture(), any(RowMapper.class), parametros.capture());
+        assertEquals(1, resultado.size());
+        assertTrue(sql.getValue().contains("JOIN (VALUES"));
+        assertEquals(16, parametros.getValue().length);
+        assertEquals(2L, parametros.getValue()[3]);
+        SqlParameterValue relleno = assertInstanceOf(SqlParameterValue.class, parametros.getValue()[15]);
+        assertNull(relleno.getValue());
+    }
+
+    @Test
+    void obtenerClientes_ShouldReturnEachClientOnce_WhenValuesArePadded() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/local/schema.sql")).execute(dataSource);
+        JdbcTemplate h2 = new JdbcTemplate(dataSource);
+        ClienteRepositoryImpl repositorio = new ClienteRepositoryImpl(h2, 1000, false, 5000,
+                ClienteRepositoryImpl.ConsultaCliente.SELECT, "", new SimpleMeterRegistry());
+        repositorio.insertarCliente(cliente(1));
+        repositorio.insertarCliente(cliente(2));
+
+        List<Cliente> resultado = repositorio.obtenerClientes(List.of(
+                new ClaveCliente("CC", 1L), new ClaveCliente("CC", 2L), new ClaveCliente("CC", 9L)));
+
+        assertEquals(2, resultado.size());
+        assertEquals(Set.of(1L, 2L), Set.of(resultado.get(0).getNumeroDocumento(), resultado.get(1).getNumeroDocumento()));
+    }
+
+    @Test
+    void recorrerClientes_ShouldUseForwardOnlyCursorWithFetchSize() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(ps);
+        doAnswer(inv -> {
+            inv.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        long total = clienteRepository.recorrerClientes(cliente -> { });
+
+        assertEquals(0, total);
+        verify(ps).setFetchSize(5000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listarClientes_ShouldSeekAfterCursorWithOnlyPresentFilters() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> parametros = ArgumentCaptor.forClass(Object[].class);
+        Cliente mismoTipo = new Cliente("CC", 51L, "Ana", null, "Gómez", null, "300", "Calle 1", "Cali");
+        when(jdbcTemplate.query(sql.capture(), any(RowMapper.class), parametros.capture()))
+                .thenReturn(List.of(mismoTipo), List.of());
+
+        List<Cliente> clientes = clienteRepository.listarClientes(null, "Gómez", new ClaveCliente("CC", 50L), 21);
+
+        assertEquals(List.of(mismoTipo), clientes);
+        assertEquals(2, sql.getAllValues().size());
+        String mismoTipoSql = sql.getAllValues().get(0);
+        String siguientesTiposSql = sql.getAllValues().get(1);
+        assertFalse(mismoTipoSql.contains("CiudadResidencia ="));
+        assertFalse(mismoTipoSql.contains("OFFSET ? "));
+        assertTrue(mismoTipoSql.contains("WHERE PrimerApellido = ? AND TipoDocumento = ? AND NumeroDocumento > ?"));
+        assertTrue(mismoTipoSql.endsWith("ORDER BY PrimerApellido, TipoDocumento, NumeroDocumento OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY"));
+        assertArrayEquals(new Object[]{"Gómez", "CC", 50L, 21}, parametros.getAllValues().get(0));
+        assertTrue(siguientesTiposSql.contains("WHERE PrimerApellido = ? AND TipoDocumento > ?"));
+        assertArrayEquals(new Object[]{"Gómez", "CC", 20}, parametros.getAllValues().get(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listarClientes_ShouldRunSingleQuery_WhenPageFilledWithinDocumentType() {
+        Cliente uno = new Cliente("CC", 51L, "Ana", null, "Gómez", null, "300", "Calle 1", "Cali");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(uno));
+
+        clienteRepository.listarClientes("Cali", null, new ClaveCliente("CC", 50L), 1);
+
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void buscarClientesPorNombre_ShouldMatchEachNormalizedWordAsPrefix() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> parametros = ArgumentCaptor.forClass(Object[].class);
+        when(jdbcTemplate.query(sql.capture(), any(RowMapper.class), parametros.capture())).thenReturn(List.of());
+
+        clienteRepository.buscarClientesPorNombre("Rodr, VELÁSQUEZ", 20);
+
+        assertTrue(sql.getValue().startsWith("SELECT TOP (?)"));
+        assertTrue(sql.getValue().endsWith("COLLATE Latin1_General_CI_AI LIKE ? AND (' ' + CONCAT_WS(' ', PrimerNombre, "
+                + "SegundoNombre, PrimerApellido, SegundoApellido)) COLLATE Latin1_General_CI_AI LIKE ?"));
+        assertArrayEquals(new Object[]{20, "% rodr%", "% velasquez%"}, parametros.getValue());
+    }
+
+    @Test
+    void buscarClientesPorNombre_ShouldSkipQuery_WhenTextHasNoWords() {
+        assertTrue(clienteRepository.buscarClientesPorNombre(" - ", 20).isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
 }
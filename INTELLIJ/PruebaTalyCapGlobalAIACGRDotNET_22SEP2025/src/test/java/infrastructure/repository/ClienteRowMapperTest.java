@@ -0,0 +1,58 @@
+package infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRowMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ClienteRowMapperTest {
+
+    private static final String[] COLUMNAS = {"TipoDocumento", "NumeroDocumento", "PrimerNombre", "SegundoNombre",
+            "PrimerApellido", "SegundoApellido", "Telefono", "Direccion", "CiudadResidencia"};
+
+    /** Resultado con las columnas en orden inverso, como podría devolverlas un procedimiento. */
+    private static ResultSet resultado() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        for (int i = 0; i < COLUMNAS.length; i++) {
+            when(rs.findColumn(COLUMNAS[i])).thenReturn(COLUMNAS.length - i);
+        }
+        when(rs.getString(9)).thenReturn("CC");
+        when(rs.getLong(8)).thenReturn(10L, 11L);
+        when(rs.getString(7)).thenReturn("Ana");
+        when(rs.getString(1)).thenReturn("Cali");
+        return rs;
+    }
+
+    @Test
+    void paraConsulta_ShouldResolveColumnIndexesOncePerResultSet() throws Exception {
+        ResultSet rs = resultado();
+        RowMapper<Cliente> mapeo = new ClienteRowMapper().paraConsulta();
+
+        Cliente primero = mapeo.mapRow(rs, 0);
+        Cliente segundo = mapeo.mapRow(rs, 1);
+
+        assertEquals(10L, primero.getNumeroDocumento());
+        assertEquals(11L, segundo.getNumeroDocumento());
+        assertEquals("Ana", segundo.getPrimerNombre());
+        assertEquals("Cali", segundo.getCiudadResidencia());
+        verify(rs, times(1)).findColumn("TipoDocumento");
+        verify(rs, never()).getString("TipoDocumento");
+    }
+
+    @Test
+    void mapRow_ShouldResolveColumnIndexesOnEachRow() throws Exception {
+        ResultSet rs = resultado();
+        ClienteRowMapper mapeo = new ClienteRowMapper();
+
+        mapeo.mapRow(rs, 0);
+        Cliente segundo = mapeo.mapRow(rs, 1);
+
+        assertEquals("CC", segundo.getTipoDocumento());
+        verify(rs, times(2)).findColumn("CiudadResidencia");
+    }
+}
@@ -0,0 +1,98 @@
+package infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.ConcurrenciaLimitadaClienteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConcurrenciaLimitadaClienteRepositoryTest {
+
+    @Test
+    void obtenerCliente_ShouldNeverExceedMaxConcurrency() throws Exception {
+        AtomicInteger enCurso = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        ClienteRepository delegado = mock(ClienteRepository.class);
+        when(delegado.obtenerCliente(anyString(), anyLong())).thenAnswer(inv -> {
+            maximo.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            enCurso.decrementAndGet();
+            return Optional.empty();
+        });
+        ConcurrenciaLimitadaClienteRepository repositorio =
+                new ConcurrenciaLimitadaClienteRepository(delegado, 3, Duration.ofSeconds(10));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 100; i++) {
+                executor.submit(() -> repositorio.obtenerCliente("CC", 1L));
+            }
+        }
+
+        assertTrue(maximo.get() <= 3, "Concurrencia observada: " + maximo.get());
+        assertEquals(3, repositorio.permisosDisponibles());
+        verify(delegado, times(100)).obtenerCliente("CC", 1L);
+    }
+
+    @Test
+    void obtenerCliente_ShouldFail_WhenNoCapacityWithinTimeout() throws Exception {
+        CountDownLatch bloqueado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ClienteRepository delegado = mock(ClienteRepository.class);
+        when(delegado.obtenerCliente(anyString(), anyLong())).thenAnswer(inv -> {
+            bloqueado.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return Optional.<Cliente>empty();
+        });
+        ConcurrenciaLimitadaClienteRepository repositorio =
+                new ConcurrenciaLimitadaClienteRepository(delegado, 1, Duration.ofMillis(50));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> ocupado = executor.submit(() -> repositorio.obtenerCliente("CC", 1L));
+            bloqueado.await();
+
+            assertThrows(DataAccessResourceFailureException.class, () -> repositorio.obtenerCliente("CC", 2L));
+
+            liberar.countDown();
+            ocupado.get();
+        }
+        verify(delegado, never()).obtenerCliente("CC", 2L);
+    }
+
+    @Test
+    void obtenerCliente_ShouldCountQueryTimeouts_AndRecordPermitWait() {
+        ClienteRepository delegado = mock(ClienteRepository.class);
+        when(delegado.obtenerCliente("CC", 1L)).thenThrow(new QueryTimeoutException("timeout",
+                new SQLTimeoutException("The query has timed out.")));
+        when(delegado.obtenerCliente("CC", 2L)).thenThrow(new DataAccessResourceFailureException("caída",
+                new SQLException("cancelada", "HY008")));
+        when(delegado.obtenerCliente("CC", 3L)).thenThrow(new DataAccessResourceFailureException("caída"));
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        ConcurrenciaLimitadaClienteRepository repositorio =
+                new ConcurrenciaLimitadaClienteRepository(delegado, 1, Duration.ofSeconds(1), registro);
+
+        assertThrows(QueryTimeoutException.class, () -> repositorio.obtenerCliente("CC", 1L));
+        assertThrows(DataAccessResourceFailureException.class, () -> repositorio.obtenerCliente("CC", 2L));
+        assertThrows(DataAccessResourceFailureException.class, () -> repositorio.obtenerCliente("CC", 3L));
+
+        assertEquals(2, registro.counter("clientes.db.consultas.timeout").count());
+        assertEquals(3, registro.timer("clientes.db.permisos.espera").count());
+        assertEquals(0, registro.counter("clientes.db.permisos.rechazados").count());
+        assertEquals(1, repositorio.permisosDisponibles());
+    }
+}
@@ -0,0 +1,121 @@
+package infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.ConsultaCompartidaClienteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConsultaCompartidaClienteRepositoryTest {
+
+    private static final Cliente CLIENTE =
+            new Cliente("CC", 1L, "Juan", null, "Pérez", null, "3001234567", "Calle 1", "Bogotá");
+
+    private ClienteRepository delegado;
+    private Counter colapsadas;
+    private ConsultaCompartidaClienteRepository repositorio;
+    private CountDownLatch enCurso;
+    private CountDownLatch liberar;
+
+    @BeforeEach
+    void setUp() {
+        delegado = mock(ClienteRepository.class);
+        colapsadas = new SimpleMeterRegistry().counter("clientes.db.consultas.colapsadas");
+        repositorio = new ConsultaCompartidaClienteRepository(delegado, colapsadas);
+        enCurso = new CountDownLatch(1);
+        liberar = new CountDownLatch(1);
+    }
+
+    /** Lanza {@code cantidad} búsquedas de CC-1 mientras la primera está bloqueada en el delegado. */
+    private List<Future<Optional<Cliente>>> buscarMientrasBloqueado(ExecutorService executor, int cantidad) throws Exception {
+        List<Future<Optional<Cliente>>> resultados = new ArrayList<>();
+        resultados.add(executor.submit(() -> repositorio.obtenerCliente("CC", 1L)));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < cantidad; i++) {
+            resultados.add(executor.submit(() -> repositorio.obtenerCliente("CC", 1L)));
+        }
+        while (colapsadas.count() < cantidad - 1) {
+            Thread.sleep(1);
+        }
+        liberar.countDown();
+        return resultados;
+    }
+
+    @Test
+    void obtenerCliente_ShouldShareInFlightCall_AmongConcurrentRequests() throws Exception {
+        when(delegado.obtenerCliente("CC", 1L)).thenAnswer(inv -> {
+            enCurso.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return Optional.of(CLIENTE);
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<Optional<Cliente>> resultado : buscarMientrasBloqueado(executor, 20)) {
+                assertSame(CLIENTE, resultado.get().orElseThrow());
+            }
+        }
+
+        verify(delegado, times(1)).obtenerCliente("CC", 1L);
+        assertEquals(19, colapsadas.count());
+        assertEquals(0, repositorio.consultasEnCurso());
+
+        repositorio.obtenerCliente("CC", 1L);
+        verify(delegado, times(2)).obtenerCliente("CC", 1L);
+    }
+
+    @Test
+    void obtenerCliente_ShouldPropagateSameFailure_ToAllWaitingRequests() throws Exception {
+        QueryTimeoutException fallo = new QueryTimeoutException("timeout");
+        when(delegado.obtenerCliente("CC", 1L)).thenAnswer(inv -> {
+            enCurso.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            throw fallo;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<Optional<Cliente>> resultado : buscarMientrasBloqueado(executor, 5)) {
+                Exception e = assertThrows(Exception.class, resultado::get);
+                assertSame(fallo, e.getCause());
+            }
+        }
+
+        assertEquals(0, repositorio.consultasEnCurso());
+    }
+
+    @Test
+    void insertarCliente_ShouldReleaseKey_SoLaterReadsStartANewCall() throws Exception {
+        when(delegado.obtenerCliente("CC", 1L)).thenAnswer(inv -> {
+            enCurso.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        }).thenReturn(Optional.of(CLIENTE));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Optional<Cliente>> anterior = executor.submit(() -> repositorio.obtenerCliente("CC", 1L));
+            assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+            repositorio.insertarCliente(CLIENTE);
+            Optional<Cliente> posterior = repositorio.obtenerCliente("CC", 1L);
+
+            liberar.countDown();
+            assertTrue(anterior.get().isEmpty());
+            assertSame(CLIENTE, posterior.orElseThrow());
+        }
+        assertEquals(0, colapsadas.count());
+    }
+}
@@ -0,0 +1,162 @@
+package infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.ConcurrenciaLimitadaClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.EscrituraDiferidaClienteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EscrituraDiferidaClienteRepositoryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ClienteRepository delegado;
+    private EscrituraDiferidaClienteRepository repositorio;
+    private CountDownLatch escribiendo;
+    private CountDownLatch liberar;
+
+    @BeforeEach
+    void setUp() {
+        delegado = mock(ClienteRepository.class);
+        escribiendo = new CountDownLatch(1);
+        liberar = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        repositorio.close();
+    }
+
+    private static Cliente cliente(long numero) {
+        return new Cliente("CC", numero, "Ana", null, "Peña", null, "300", "Calle " + numero, "Cali");
+    }
+
+    private void abrir(int capacidad, int tamanoLote, Duration intervalo) {
+        repositorio = new EscrituraDiferidaClienteRepository(delegado, capacidad, tamanoLote, intervalo,
+                Duration.ofMillis(50), registry);
+    }
+
+    /** El primer lote queda bloqueado en la base de datos hasta {@code liberar}. */
+    private void bloquearPrimeraEscritura() {
+        when(delegado.insertarClientes(anyList())).thenAnswer(inv -> {
+            List<Cliente> lote = inv.getArgument(0);
+            escribiendo.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return new ResultadoLote(lote.size(), lote.size(), List.of());
+        });
+    }
+
+    @Test
+    void insertarCliente_ShouldGroupInsertsIntoOneBatch() {
+        when(delegado.insertarClientes(anyList())).thenAnswer(inv -> {
+            List<Cliente> lote = inv.getArgument(0);
+            return new ResultadoLote(lote.size(), lote.size(), List.of());
+        });
+        abrir(100, 5, Duration.ofSeconds(5));
+
+        for (long n = 1; n <= 5; n++) {
+            repositorio.insertarCliente(cliente(n));
+        }
+
+        verify(delegado, timeout(2000)).insertarClientes(argThat(lote -> lote.size() == 5));
+        verify(delegado, never()).insertarCliente(any());
+    }
+
+    @Test
+    void obtenerCliente_ShouldReturnPendingClient_BeforeItIsWritten() throws InterruptedException {
+        bloquearPrimeraEscritura();
+        abrir(100, 1, Duration.ofMillis(1));
+
+        repositorio.insertarCliente(cliente(1L));
+        assertTrue(escribiendo.await(5, TimeUnit.SECONDS));
+
+        assertEquals("Calle 1", repositorio.obtenerCliente("CC", 1L).orElseThrow().getDireccion());
+        assertEquals(1, repositorio.obtenerClientes(List.of(new ClaveCliente("CC", 1L))).size());
+        verify(delegado, never()).obtenerCliente("CC", 1L);
+        assertThrows(DuplicateKeyException.class, () -> repositorio.insertarCliente(cliente(1L)));
+
+        liberar.countDown();
+        repositorio.close();
+        assertEquals(0, repositorio.pendientes());
+    }
+
+    @Test
+    void insertarCliente_ShouldRejectAfterWaiting_WhenQueueIsFull() throws InterruptedException {
+        bloquearPrimeraEscritura();
+        abrir(1, 1, Duration.ofMillis(1));
+
+        repositorio.insertarCliente(cliente(1L));
+        assertTrue(escribiendo.await(5, TimeUnit.SECONDS));
+        repositorio.insertarCliente(cliente(2L));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> repositorio.insertarCliente(cliente(3L)));
+        assertEquals(2, repositorio.pendientes());
+    }
+
+    @Test
+    void close_ShouldFlushPendingClients_AndInsertSynchronouslyAfterwards() {
+        when(delegado.insertarClientes(anyList())).thenAnswer(inv -> {
+            List<Cliente> lote = inv.getArgument(0);
+            return new ResultadoLote(lote.size(), lote.size(), List.of());
+        });
+        abrir(100, 100, Duration.ofSeconds(30));
+        repositorio.insertarCliente(cliente(1L));
+        repositorio.insertarCliente(cliente(2L));
+
+        repositorio.close();
+        repositorio.insertarCliente(cliente(3L));
+
+        verify(delegado).insertarClientes(argThat(lote -> lote.stream().map(Cliente::getNumeroDocumento).toList().equals(List.of(1L, 2L))));
+        verify(delegado).insertarCliente(argThat(c -> c.getNumeroDocumento() == 3L));
+        assertEquals(0, repositorio.pendientes());
+    }
+
+    @Test
+    void escritor_ShouldFlushRemainingQueue_WhenInterruptedBetweenRetries() throws InterruptedException {
+        AtomicReference<Thread> escritor = new AtomicReference<>();
+        when(delegado.insertarClientes(anyList()))
+                .thenAnswer(inv -> {
+                    escritor.set(Thread.currentThread());
+                    escribiendo.countDown();
+                    throw new DataAccessResourceFailureException("caída");
+                })
+                .thenAnswer(inv -> {
+                    List<Cliente> lote = inv.getArgument(0);
+                    return new ResultadoLote(lote.size(), lote.size(), List.of());
+                });
+        // La concurrencia limitada real rechaza de inmediato a un hilo con la marca de interrupción
+        repositorio = new EscrituraDiferidaClienteRepository(
+                new ConcurrenciaLimitadaClienteRepository(delegado, 1, Duration.ofSeconds(1), registry),
+                100, 1, Duration.ofMillis(1), Duration.ofMillis(50), registry);
+        repositorio.insertarCliente(cliente(1L));
+        repositorio.insertarCliente(cliente(2L));
+        repositorio.insertarCliente(cliente(3L));
+        assertTrue(escribiendo.await(5, TimeUnit.SECONDS));
+
+        escritor.get().interrupt();
+        escritor.get().join(5000);
+
+        assertFalse(escritor.get().isAlive());
+        assertEquals(1, registry.counter("clientes.escritura.diferida.fallos").count());
+        assertEquals(2, registry.counter("clientes.escritura.diferida.escritos").count());
+        assertEquals(0, repositorio.pendientes());
+        repositorio.insertarCliente(cliente(4L));
+        verify(delegado).insertarCliente(argThat(c -> c.getNumeroDocumento() == 4L));
+    }
+}
@@ -0,0 +1,63 @@
+package infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.FiltroBloomClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.FiltroBloomClientes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FiltroBloomClienteRepositoryTest {
+
+    private ClienteRepository delegado;
+    private FiltroBloomClientes filtro;
+    private Counter descartes;
+    private FiltroBloomClienteRepository repositorio;
+
+    @BeforeEach
+    void setUp() {
+        delegado = mock(ClienteRepository.class);
+        filtro = new FiltroBloomClientes(1_000, 0.01);
+        descartes = new SimpleMeterRegistry().counter("clientes.bloom.descartes");
+        repositorio = new FiltroBloomClienteRepository(delegado, filtro, descartes);
+    }
+
+    @Test
+    void obtenerCliente_ShouldSkipDelegate_WhenKeyDefinitelyMissing() {
+        filtro.marcarListo();
+
+        Optional<Cliente> resultado = repositorio.obtenerCliente("CC", 99999L);
+
+        assertTrue(resultado.isEmpty());
+        assertEquals(1.0, descartes.count());
+        verifyNoInteractions(delegado);
+    }
+
+    @Test
+    void obtenerCliente_ShouldDelegate_AfterInsert() {
+        Cliente cliente = new Cliente("CC", 12345L, "Juan", "Carlos", "Perez", "Gomez", "123456789", "Calle 1", "Bogotá");
+        filtro.marcarListo();
+        when(delegado.obtenerCliente("CC", 12345L)).thenReturn(Optional.of(cliente));
+
+        repositorio.insertarCliente(cliente);
+        Optional<Cliente> resultado = repositorio.obtenerCliente("CC", 12345L);
+
+        assertTrue(resultado.isPresent());
+        verify(delegado, times(1)).insertarCliente(cliente);
+        assertEquals(0.0, descartes.count());
+    }
+
+    @Test
+    void obtenerCliente_ShouldDelegate_WhileFilterIsLoading() {
+        repositorio.obtenerCliente("CC", 99999L);
+
+        verify(delegado, times(1)).obtenerCliente("CC", 99999L);
+    }
+}
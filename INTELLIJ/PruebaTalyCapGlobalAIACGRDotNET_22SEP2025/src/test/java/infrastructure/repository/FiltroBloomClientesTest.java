@@ -0,0 +1,55 @@
+package infrastructure.repository;
+
+import com.clinicos.backend.api.rest.infrastructure.repository.FiltroBloomClientes;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomClientesTest {
+
+    @Test
+    void puedeContener_ShouldNeverReturnFalseForAddedKeys() {
+        FiltroBloomClientes filtro = new FiltroBloomClientes(10_000, 0.01);
+        for (long i = 0; i < 10_000; i++) {
+            filtro.agregar(i % 2 == 0 ? "C" : "P", 10_000_000L + i);
+        }
+        filtro.marcarListo();
+
+        for (long i = 0; i < 10_000; i++) {
+            assertTrue(filtro.puedeContener(i % 2 == 0 ? "C" : "P", 10_000_000L + i));
+        }
+    }
+
+    @Test
+    void puedeContener_ShouldKeepFalsePositivesNearTarget() {
+        FiltroBloomClientes filtro = new FiltroBloomClientes(10_000, 0.01);
+        for (long i = 0; i < 10_000; i++) {
+            filtro.agregar("C", 10_000_000L + i);
+        }
+        filtro.marcarListo();
+
+        int falsosPositivos = 0;
+        for (long i = 0; i < 100_000; i++) {
+            if (filtro.puedeContener("C", 50_000_000L + i)) {
+                falsosPositivos++;
+            }
+        }
+
+        assertTrue(falsosPositivos < 2_000, "Falsos positivos: " + falsosPositivos);
+        assertEquals(0.01, filtro.tasaFalsosPositivosEstimada(), 0.005);
+        assertTrue(filtro.memoriaBytes() > 0);
+    }
+
+    @Test
+    void puedeContener_ShouldAllowEverything_WhenNotReady() {
+        FiltroBloomClientes filtro = new FiltroBloomClientes(100, 0.01);
+
+        assertFalse(filtro.isListo());
+        assertTrue(filtro.puedeContener("C", 12345L));
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloomClientes(100, 1.5));
+    }
+}
@@ -0,0 +1,118 @@
+package infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.FalloInsercion;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRepositoryImpl;
+import com.clinicos.backend.api.rest.infrastructure.repository.IndiceNombresClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.IndiceNombresClientes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IndiceNombresClienteRepositoryTest {
+
+    private final Cliente ana = new Cliente("C", 1L, "Ana", "María", "Rodríguez", "Velásquez", "300", "Calle 1", "Bogotá");
+    private final Cliente jose = new Cliente("C", 2L, "José", null, "Peña", "Córdoba", "301", "Calle 2", "Cali");
+    private final Cliente sofia = new Cliente("P", 3L, "Sofía", "Lucía", "Rodríguez", "Gómez", "302", "Calle 3", "Cali");
+
+    private ClienteRepository delegado;
+    private IndiceNombresClientes indice;
+    private IndiceNombresClienteRepository repositorio;
+
+    @BeforeEach
+    void setUp() {
+        delegado = mock(ClienteRepository.class);
+        indice = new IndiceNombresClientes();
+        repositorio = new IndiceNombresClienteRepository(delegado, indice);
+    }
+
+    @Test
+    void buscar_ShouldMatchPrefixesIgnoringAccentsAndCase() {
+        indice.agregar(ana);
+        indice.agregar(jose);
+        indice.agregar(sofia);
+
+        assertEquals(List.of(new ClaveCliente("C", 2L)), indice.buscar("CORDOBA", 10));
+        assertEquals(List.of(new ClaveCliente("C", 2L)), indice.buscar("pena jos", 10));
+        assertEquals(List.of(new ClaveCliente("C", 1L)), indice.buscar("rodr velas", 10));
+        assertEquals(2, indice.buscar("Rodr", 10).size());
+        assertEquals(1, indice.buscar("Rodr", 1).size());
+        assertTrue(indice.buscar("rodr pena", 10).isEmpty());
+        assertTrue(indice.buscar("  ,  ", 10).isEmpty());
+    }
+
+    @Test
+    void agregar_ShouldShareDocumentTypeInstanceAcrossClients() {
+        indice.agregar(new Cliente(new String("CC"), 1L, "Ana", null, "Peña", null, "300", "Calle 1", "Cali"));
+        indice.agregar(new Cliente(new String("CC"), 2L, "Ana", null, "Peña", null, "301", "Calle 2", "Cali"));
+
+        List<ClaveCliente> claves = indice.buscar("ana", 10);
+
+        assertEquals(2, claves.size());
+        assertSame(claves.get(0).tipoDocumento(), claves.get(1).tipoDocumento());
+    }
+
+    @Test
+    void buscarClientesPorNombre_ShouldResolveIndexedKeysThroughDelegate() {
+        indice.marcarListo();
+        repositorio.insertarCliente(ana);
+        when(delegado.obtenerClientes(List.of(new ClaveCliente("C", 1L)))).thenReturn(List.of(ana));
+
+        List<Cliente> resultado = repositorio.buscarClientesPorNombre("maria velasquez", 10);
+
+        assertEquals(List.of(ana), resultado);
+        verify(delegado, never()).buscarClientesPorNombre(anyString(), anyInt());
+    }
+
+    @Test
+    void buscarClientesPorNombre_ShouldDelegate_WhileIndexIsLoading() {
+        repositorio.buscarClientesPorNombre("rodr", 10);
+
+        verify(delegado, times(1)).buscarClientesPorNombre("rodr", 10);
+    }
+
+    @Test
+    void insertarClientes_ShouldSkipRejectedRows() {
+        indice.marcarListo();
+        when(delegado.insertarClientes(List.of(ana, jose))).thenReturn(
+                new ResultadoLote(2, 1, List.of(new FalloInsercion(1, ClaveCliente.de(jose), "Clave duplicada"))));
+
+        repositorio.insertarClientes(List.of(ana, jose));
+
+        assertEquals(1, indice.clientes());
+        assertTrue(indice.buscar("jose", 10).isEmpty());
+    }
+
+    @Test
+    void buscarClientesPorNombre_ShouldReturnEachMatchOnce_WithJdbcAdapter() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/local/schema.sql")).execute(dataSource);
+        JdbcTemplate h2 = new JdbcTemplate(dataSource);
+        IndiceNombresClienteRepository conJdbc = new IndiceNombresClienteRepository(new ClienteRepositoryImpl(h2, 1000,
+                false, 5000, ClienteRepositoryImpl.ConsultaCliente.SELECT, "", new SimpleMeterRegistry()), indice);
+        indice.marcarListo();
+        conJdbc.insertarCliente(ana);
+        conJdbc.insertarCliente(jose);
+        conJdbc.insertarCliente(sofia);
+
+        List<Cliente> resultado = conJdbc.buscarClientesPorNombre("rodr", 10);
+
+        assertEquals(2, resultado.size());
+        assertEquals(Set.of(1L, 3L), Set.of(resultado.get(0).getNumeroDocumento(), resultado.get(1).getNumeroDocumento()));
+    }
+}
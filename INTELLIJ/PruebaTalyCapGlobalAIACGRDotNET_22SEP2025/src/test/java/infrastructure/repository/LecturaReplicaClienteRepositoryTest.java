@@ -0,0 +1,128 @@
+package infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRepositoryDecorador;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRepositoryImpl;
+import com.clinicos.backend.api.rest.infrastructure.repository.ClienteRepositoryImpl.ConsultaCliente;
+import com.clinicos.backend.api.rest.infrastructure.repository.LecturaReplicaClienteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Primario y réplica son dos bases H2 en memoria independientes; el primario se retrasa a voluntad.
+ */
+class LecturaReplicaClienteRepositoryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private JdbcTemplate primarioDb;
+    private JdbcTemplate replicaDb;
+    private ClienteRepositoryImpl primario;
+    private ClienteRepositoryImpl replica;
+    private volatile long pausaPrimarioMs;
+
+    private static JdbcTemplate baseDatos() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/local/schema.sql")).execute(dataSource);
+        return new JdbcTemplate(dataSource);
+    }
+
+    private static Cliente cliente(long numero, String ciudad) {
+        return new Cliente("CC", numero, "Ana", null, "Pérez", null, "300", "Calle 1", ciudad);
+    }
+
+    @BeforeEach
+    void setUp() {
+        primarioDb = baseDatos();
+        replicaDb = baseDatos();
+        primario = new ClienteRepositoryImpl(primarioDb, 1000, false, 5000, ConsultaCliente.SELECT, "", registry);
+        replica = primario.sobre(replicaDb.getDataSource());
+    }
+
+    private LecturaReplicaClienteRepository repositorio(Duration retrasoInicial) {
+        ClienteRepository primarioLento = new ClienteRepositoryDecorador(primario) {
+            @Override
+            public Optional<Cliente> obtenerCliente(String tipoDocumento, long numeroDocumento) {
+                try {
+                    Thread.sleep(pausaPrimarioMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.obtenerCliente(tipoDocumento, numeroDocumento);
+            }
+        };
+        return new LecturaReplicaClienteRepository(primarioLento, replica, 0.95, retrasoInicial,
+                Duration.ofMillis(1), registry);
+    }
+
+    @Test
+    void obtenerCliente_ShouldAnswerFromReplica_WhenPrimaryStalls() {
+        primario.insertarCliente(cliente(1L, "Primario"));
+        replica.insertarCliente(cliente(1L, "Replica"));
+        pausaPrimarioMs = 2000;
+        LecturaReplicaClienteRepository repositorio = repositorio(Duration.ofMillis(20));
+
+        long inicio = System.nanoTime();
+        Optional<Cliente> cliente = repositorio.obtenerCliente("CC", 1L);
+        long duracionMs = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+
+        assertEquals("Replica", cliente.orElseThrow().getCiudadResidencia());
+        assertTrue(duracionMs < 1000, "Duración: " + duracionMs + " ms");
+        assertEquals(1, registry.counter("clientes.db.replica.cubiertas").count());
+        assertEquals(1, registry.counter("clientes.db.replica.ganadas").count());
+    }
+
+    @Test
+    void obtenerCliente_ShouldWaitForPrimary_WhenReplicaHasNotCaughtUp() {
+        primario.insertarCliente(cliente(2L, "Primario"));
+        pausaPrimarioMs = 100;
+        LecturaReplicaClienteRepository repositorio = repositorio(Duration.ofMillis(10));
+
+        Optional<Cliente> cliente = repositorio.obtenerCliente("CC", 2L);
+
+        assertEquals("Primario", cliente.orElseThrow().getCiudadResidencia());
+        assertEquals(1, registry.counter("clientes.db.replica.cubiertas").count());
+        assertEquals(0, registry.counter("clientes.db.replica.ganadas").count());
+    }
+
+    @Test
+    void insertarCliente_ShouldWriteOnlyToPrimary() {
+        LecturaReplicaClienteRepository repositorio = repositorio(Duration.ofSeconds(1));
+
+        repositorio.insertarCliente(cliente(3L, "Primario"));
+
+        assertEquals(1, primarioDb.queryForObject("SELECT COUNT(*) FROM Clientes", Integer.class));
+        assertEquals(0, replicaDb.queryForObject("SELECT COUNT(*) FROM Clientes", Integer.class));
+        assertTrue(repositorio.obtenerCliente("CC", 3L).isPresent());
+        assertEquals(0, registry.counter("clientes.db.replica.cubiertas").count());
+    }
+
+    @Test
+    void retrasoActual_ShouldFollowPrimaryLatencyPercentile() throws Exception {
+        primario.insertarCliente(cliente(4L, "Primario"));
+        LecturaReplicaClienteRepository repositorio = repositorio(Duration.ofSeconds(1));
+        for (int i = 0; i < 200; i++) {
+            repositorio.obtenerCliente("CC", 4L);
+        }
+        assertEquals(Duration.ofSeconds(1), repositorio.retrasoActual());
+
+        Thread.sleep(1100);
+        repositorio.obtenerCliente("CC", 4L);
+
+        Duration retraso = repositorio.retrasoActual();
+        assertTrue(retraso.compareTo(Duration.ofMillis(1)) >= 0 && retraso.compareTo(Duration.ofMillis(500)) < 0,
+                "Retraso: " + retraso);
+    }
+}
@@ -0,0 +1,75 @@
+package infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.ports.ClienteRepository;
+import com.clinicos.backend.api.rest.infrastructure.repository.BaseDatosNoDisponibleException;
+import com.clinicos.backend.api.rest.infrastructure.repository.LimiteAdaptativoClienteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LimiteAdaptativoClienteRepositoryTest {
+
+    @Test
+    void obtenerCliente_ShouldShedLoad_WhenLimitIsReached() throws Exception {
+        CountDownLatch bloqueado = new CountDownLatch(2);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ClienteRepository delegado = mock(ClienteRepository.class);
+        when(delegado.obtenerCliente(anyString(), anyLong())).thenAnswer(inv -> {
+            bloqueado.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return Optional.<Cliente>empty();
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LimiteAdaptativoClienteRepository repositorio = new LimiteAdaptativoClienteRepository(delegado, 2, 1, 10,
+                Duration.ofSeconds(10), registry);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> primero = executor.submit(() -> repositorio.obtenerCliente("CC", 1L));
+            Future<?> segundo = executor.submit(() -> repositorio.obtenerCliente("CC", 2L));
+            assertTrue(bloqueado.await(5, TimeUnit.SECONDS));
+
+            assertThrows(BaseDatosNoDisponibleException.class, () -> repositorio.obtenerCliente("CC", 3L));
+
+            liberar.countDown();
+            primero.get();
+            segundo.get();
+        }
+        assertEquals(1, registry.counter("clientes.db.limite.rechazados").count());
+        assertEquals(0, repositorio.operacionesEnCurso());
+        verify(delegado, never()).obtenerCliente("CC", 3L);
+    }
+
+    @Test
+    void obtenerCliente_ShouldAdaptLimitToLatency() {
+        ClienteRepository delegado = mock(ClienteRepository.class);
+        when(delegado.obtenerCliente(anyString(), anyLong())).thenReturn(Optional.empty());
+        when(delegado.obtenerCliente("CC", 99L)).thenAnswer(inv -> {
+            Thread.sleep(20);
+            return Optional.<Cliente>empty();
+        });
+        delegado.obtenerCliente("CC", 1L); // la primera llamada al mock es lenta
+        LimiteAdaptativoClienteRepository repositorio = new LimiteAdaptativoClienteRepository(delegado, 2, 1, 3,
+                Duration.ofMillis(5), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 5; i++) {
+            repositorio.obtenerCliente("CC", 1L);
+        }
+        assertEquals(3, repositorio.limiteActual());
+
+        for (int i = 0; i < 10; i++) {
+            repositorio.obtenerCliente("CC", 99L);
+        }
+        assertEquals(1, repositorio.limiteActual());
+    }
+}
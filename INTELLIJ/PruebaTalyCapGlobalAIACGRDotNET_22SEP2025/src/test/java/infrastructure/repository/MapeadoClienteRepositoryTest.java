@@ -0,0 +1,185 @@
+package infrastructure.repository;
+
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.api.rest.infrastructure.repository.MapeadoClienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapeadoClienteRepositoryTest {
+
+    /** Tramos de 4 KiB para que pocos clientes crucen tramos y amplíen el índice. */
+    private static final int BITS_TRAMO = 12;
+
+    @TempDir
+    Path directorio;
+
+    private MapeadoClienteRepository repositorio;
+
+    private MapeadoClienteRepository abrir() {
+        repositorio = MapeadoClienteRepository.abrir(directorio, 10, BITS_TRAMO);
+        return repositorio;
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repositorio.close();
+    }
+
+    private static Cliente cliente(String tipo, long numero, String apellido, String ciudad) {
+        return new Cliente(tipo, numero, "Nombre" + numero, null, apellido, "Gómez", "300-" + numero,
+                "Calle " + numero, ciudad);
+    }
+
+    @Test
+    void obtenerCliente_ShouldReturnInsertedClient_WithAllFields() {
+        abrir();
+        Cliente jose = new Cliente("CC", 123L, "José", null, "Rodríguez", "Núñez", "3001234567", "Carrera 7 # 45-12", "Bogotá");
+
+        repositorio.insertarCliente(jose);
+        Cliente leido = repositorio.obtenerCliente("CC", 123L).orElseThrow();
+
+        assertEquals("CC", leido.getTipoDocumento());
+        assertEquals(123L, leido.getNumeroDocumento());
+        assertEquals("José", leido.getPrimerNombre());
+        assertNull(leido.getSegundoNombre());
+        assertEquals("Rodríguez", leido.getPrimerApellido());
+        assertEquals("Núñez", leido.getSegundoApellido());
+        assertEquals("3001234567", leido.getTelefono());
+        assertEquals("Carrera 7 # 45-12", leido.getDireccion());
+        assertEquals("Bogotá", leido.getCiudadResidencia());
+        assertEquals(Optional.empty(), repositorio.obtenerCliente("CC", 124L));
+        assertEquals(Optional.empty(), repositorio.obtenerCliente("C", 123L));
+        assertEquals(Optional.empty(), repositorio.obtenerCliente("Pasaporte", 123L));
+    }
+
+    @Test
+    void insertar_ShouldRejectDuplicatesAndUnsupportedKeys() {
+        abrir();
+        repositorio.insertarCliente(cliente("C", 1L, "Pérez", "Cali"));
+
+        assertThrows(DuplicateKeyException.class, () -> repositorio.insertarCliente(cliente("C", 1L, "Pérez", "Cali")));
+        ResultadoLote resultado = repositorio.insertarClientes(List.of(
+                cliente("C", 2L, "Pérez", "Cali"),
+                cliente("C", 1L, "Pérez", "Cali"),
+                cliente("CCC", 3L, "Pérez", "Cali")));
+
+        assertEquals(3, resultado.total());
+        assertEquals(1, resultado.insertados());
+        assertEquals(List.of(1, 2), resultado.fallos().stream().map(f -> f.indice()).toList());
+        assertEquals(2, repositorio.clientes());
+    }
+
+    @Test
+    void reabrir_ShouldRemapFiles_AcrossSegmentsAndIndexGrowth() throws IOException {
+        abrir();
+        List<Cliente> clientes = new ArrayList<>();
+        for (long n = 1; n <= 2000; n++) {
+            clientes.add(cliente(n % 2 == 0 ? "C" : "P", n, "Apellido" + (n % 7), "Ciudad" + (n % 5)));
+        }
+        assertTrue(repositorio.insertarClientes(clientes).exitoso());
+        long capacidad = repositorio.capacidadIndice();
+        repositorio.close();
+        Files.createFile(directorio.resolve("clientes.indice.9")); // ampliación interrumpida
+
+        abrir();
+
+        assertTrue(capacidad > 1024);
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(List.of("clientes.datos", "clientes.indice.2"),
+                    archivos.map(a -> a.getFileName().toString()).sorted().toList(),
+                    "Cada ampliación escribe una versión nueva del índice y las demás se borran");
+        }
+        assertEquals(2000, repositorio.clientes());
+        assertEquals(capacidad, repositorio.capacidadIndice());
+        for (long n = 1; n <= 2000; n++) {
+            Cliente leido = repositorio.obtenerCliente(n % 2 == 0 ? "C" : "P", n).orElseThrow();
+            assertEquals("Calle " + n, leido.getDireccion());
+        }
+        assertEquals(2000, repositorio.recorrerClientes(c -> { }));
+    }
+
+    @Test
+    void reabrir_ShouldRebuildIndex_WhenIndexFileIsMissing() throws IOException {
+        abrir();
+        repositorio.insertarCliente(cliente("C", 1L, "Pérez", "Cali"));
+        repositorio.insertarCliente(cliente("C", 2L, "Pérez", "Cali"));
+        repositorio.close();
+        Files.delete(directorio.resolve("clientes.indice"));
+
+        abrir();
+
+        assertEquals(2, repositorio.clientes());
+        assertTrue(repositorio.obtenerCliente("C", 2L).isPresent());
+    }
+
+    @Test
+    void obtenerClientes_ShouldIgnoreRepeatedAndMissingKeys() {
+        abrir();
+        repositorio.insertarCliente(cliente("C", 1L, "Pérez", "Cali"));
+        repositorio.insertarCliente(cliente("P", 2L, "Pérez", "Cali"));
+
+        List<Cliente> encontrados = repositorio.obtenerClientes(List.of(new ClaveCliente("C", 1L),
+                new ClaveCliente("C", 1L), new ClaveCliente("P", 2L), new ClaveCliente("P", 9L)));
+
+        assertEquals(List.of(1L, 2L), encontrados.stream().map(Cliente::getNumeroDocumento).sorted().toList());
+    }
+
+    @Test
+    void listarClientes_ShouldMatchSortedFilteredScan() {
+        abrir();
+        List<Cliente> clientes = new ArrayList<>();
+        for (long n = 1; n <= 300; n++) {
+            clientes.add(cliente(n % 3 == 0 ? "CC" : n % 3 == 1 ? "C" : "P", 1000 - n, "Apellido" + (n % 4), "Ciudad" + (n % 3)));
+        }
+        repositorio.insertarClientes(clientes);
+        Comparator<Cliente> orden = Comparator.comparing(Cliente::getTipoDocumento).thenComparingLong(Cliente::getNumeroDocumento);
+        List<Long> esperados = clientes.stream()
+                .filter(c -> c.getPrimerApellido().equals("Apellido1"))
+                .sorted(orden)
+                .map(Cliente::getNumeroDocumento)
+                .toList();
+
+        List<Long> paginados = new ArrayList<>();
+        ClaveCliente cursor = null;
+        List<Cliente> pagina;
+        do {
+            pagina = repositorio.listarClientes(null, "Apellido1", cursor, 7);
+            pagina.forEach(c -> paginados.add(c.getNumeroDocumento()));
+            cursor = pagina.isEmpty() ? null : ClaveCliente.de(pagina.get(pagina.size() - 1));
+        } while (pagina.size() == 7);
+
+        assertEquals(esperados, paginados);
+        assertTrue(repositorio.listarClientes("Ciudad1", "Apellido1", null, 100).stream()
+                .allMatch(c -> c.getCiudadResidencia().equals("Ciudad1")));
+        assertEquals(List.of("P"), repositorio.listarClientes(null, null, new ClaveCliente("CCX", 0L), 1).stream()
+                .map(Cliente::getTipoDocumento).toList());
+        assertEquals(List.of(), repositorio.listarClientes(null, null, null, 0));
+    }
+
+    @Test
+    void buscarClientesPorNombre_ShouldMatchWordPrefixesIgnoringAccents() {
+        abrir();
+        repositorio.insertarCliente(new Cliente("C", 1L, "Ana", "María", "Rodríguez", "Velásquez", null, null, null));
+        repositorio.insertarCliente(new Cliente("C", 2L, "José", null, "Peña", "Córdoba", null, null, null));
+
+        List<Cliente> encontrados = repositorio.buscarClientesPorNombre("rodr VEL", 10);
+
+        assertEquals(List.of(1L), encontrados.stream().map(Cliente::getNumeroDocumento).toList());
+        assertTrue(repositorio.buscarClientesPorNombre("   ", 10).isEmpty());
+    }
+}
@@ -0,0 +1,73 @@
+package utility;
+
+import com.clinicos.backend.api.rest.application.ClienteService;
+import com.clinicos.backend.api.rest.domain.model.ClaveCliente;
+import com.clinicos.backend.api.rest.domain.model.Cliente;
+import com.clinicos.backend.api.rest.domain.model.ResultadoLote;
+import com.clinicos.backend.utility.ClienteGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ClienteGeneratorTest {
+
+    @Test
+    void generarBloque_ShouldBeDeterministicForSameSeed() {
+        ClienteGenerator a = new ClienteGenerator(mock(ClienteService.class), true, 1000, 7L, 4, 100);
+        ClienteGenerator b = new ClienteGenerator(mock(ClienteService.class), true, 1000, 7L, 1, 100);
+
+        List<Cliente> bloqueA = a.generarBloque(3);
+        List<Cliente> bloqueB = b.generarBloque(3);
+
+        assertEquals(100, bloqueA.size());
+        for (int i = 0; i < bloqueA.size(); i++) {
+            assertEquals(bloqueA.get(i).getNumeroDocumento(), bloqueB.get(i).getNumeroDocumento());
+            assertEquals(bloqueA.get(i).getPrimerNombre(), bloqueB.get(i).getPrimerNombre());
+            assertEquals(bloqueA.get(i).getTelefono(), bloqueB.get(i).getTelefono());
+        }
+    }
+
+    @Test
+    void generarBloque_ShouldProduceUniqueKeysAndValidFormat() {
+        ClienteGenerator generador = new ClienteGenerator(mock(ClienteService.class), true, 50_000, 42L, 0, 5_000);
+        Set<ClaveCliente> claves = new HashSet<>();
+
+        for (int bloque = 0; bloque < 10; bloque++) {
+            for (Cliente cliente : generador.generarBloque(bloque)) {
+                assertTrue(claves.add(ClaveCliente.de(cliente)), "Clave repetida: " + ClaveCliente.de(cliente));
+                assertTrue(cliente.getNumeroDocumento() >= 10_000_000L && cliente.getNumeroDocumento() <= 99_999_999L);
+                assertTrue(cliente.getTelefono().matches("\\d{3,4}-\\d{7}"), cliente.getTelefono());
+            }
+        }
+
+        assertEquals(50_000, claves.size());
+    }
+
+    @Test
+    void generarClientes_ShouldInsertEveryBlock() {
+        ClienteService clienteService = mock(ClienteService.class);
+        when(clienteService.crearClientes(anyList()))
+                .thenAnswer(inv -> new ResultadoLote(inv.getArgument(0, List.class).size(), inv.getArgument(0, List.class).size(), List.of()));
+        ClienteGenerator generador = new ClienteGenerator(clienteService, true, 2_500, 42L, 2, 1_000);
+
+        generador.generarClientes();
+
+        verify(clienteService, times(3)).crearClientes(anyList());
+    }
+
+    @Test
+    void generarClientes_ShouldDoNothing_WhenDisabled() {
+        ClienteService clienteService = mock(ClienteService.class);
+        ClienteGenerator generador = new ClienteGenerator(clienteService, false, 2_500, 42L, 2, 1_000);
+
+        generador.generarClientes();
+
+        verifyNoInteractions(clienteService);
+    }
+}